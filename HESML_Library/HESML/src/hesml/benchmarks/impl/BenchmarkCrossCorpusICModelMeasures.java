@@ -28,6 +28,7 @@ import hesml.benchmarks.CorrelationOutputMetrics;
 import hesml.measures.*;
 import hesml.measures.impl.MeasureFactory;
 import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.configurators.*;
 import hesml.configurators.icmodels.ICModelsFactory;
 import static hesml.benchmarks.impl.AbstractBenchmark.saveCSVfile;
@@ -135,7 +136,7 @@ class BenchmarkCrossCorpusICModelMeasures extends WordNetSimBenchmark
         
             // We compute and saves the IC values per node
 
-            intrinsicMethod.setTaxonomyData(m_Taxonomy);
+            TaxonomyFactory.setICmodelData(m_Taxonomy, intrinsicMethod);
 
             System.out.println("*************************************");
             System.out.println("Corpus-based IC model " + m_strICmodelFiles[i]);
@@ -28,6 +28,7 @@ import hesml.benchmarks.CorrelationOutputMetrics;
 import hesml.measures.*;
 import hesml.measures.impl.MeasureFactory;
 import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.configurators.*;
 import hesml.configurators.icmodels.ICModelsFactory;
 import static hesml.benchmarks.impl.AbstractBenchmark.saveCSVfile;
@@ -146,7 +147,7 @@ class BenchmarkCrossICModelMeasures extends WordNetSimBenchmark
             System.out.println("*************************************");
             System.out.println("Intrinsic IC-node " + m_ICmodels[i].toString());
             
-            m_ICmodels[i].setTaxonomyData(m_Taxonomy);
+            TaxonomyFactory.setICmodelData(m_Taxonomy, m_ICmodels[i]);
 
             // We iterate over the measures
             
@@ -27,6 +27,7 @@ import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.measures.SimilarityMeasureType;
 import hesml.measures.impl.MeasureFactory;
 import hesml.taxonomy.ITaxonomy;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.taxonomyreaders.wordnet.IWordNetDB;
 import java.io.File;
 import java.security.InvalidParameterException;
@@ -247,7 +248,7 @@ public class BenchmarkMultipleDatasets extends WordNetSimBenchmark
                 
                 if (m_ICmodels[iMeasure] != null)
                 {
-                    m_ICmodels[iMeasure].setTaxonomyData(m_Taxonomy);
+                    TaxonomyFactory.setICmodelData(m_Taxonomy, m_ICmodels[iMeasure]);
                     
                     strDebugMsg += " + " + m_ICmodels[iMeasure].toString()
                             + " IC model on " + m_WordNetDbVersions[iWordNet].getVersion();
@@ -28,6 +28,7 @@ import hesml.benchmarks.CorrelationOutputMetrics;
 import hesml.measures.*;
 import hesml.measures.impl.MeasureFactory;
 import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.configurators.*;
 import hesml.configurators.icmodels.ICModelsFactory;
 import static hesml.benchmarks.impl.AbstractBenchmark.saveCSVfile;
@@ -141,7 +142,7 @@ class BenchmarkSingleICmeasure  extends WordNetSimBenchmark
             System.out.println("*************************************");
             System.out.println("Computing intrinsic IC model " + m_ICmodels[i].toString());
             
-            intrinsicMethod.setTaxonomyData(m_Taxonomy);
+            TaxonomyFactory.setICmodelData(m_Taxonomy, intrinsicMethod);
 
             // The measure needs to be cretaed every time in this place,
             // to allow the upgrade of the internal parameters depending
@@ -321,31 +321,37 @@ class BenchmarkSynsetsInfo extends WordNetSimBenchmark
         
         int i;  // Counter
         
+        // We create the features of the synset pair, which are
+        // computed once and shared by all the measures
+        
+        ISynsetPairFeatures features = MeasureFactory.getSynsetPairFeatures(left, right);
+        
         // We compute the shortest path length
         
-        shortestPathLength = (long) left.getShortestPathDistanceTo(right, false);
+        shortestPathLength = (long) features.getShortestPathLength(false);
         
         // We compute the MICA and LCS vertexes
         
-        lcsVertex = m_Taxonomy.getLCS(left, right, false);
-        longestLCSvertex = m_Taxonomy.getLCS(left, right, true);
+        lcsVertex = features.getLCS(false);
+        longestLCSvertex = features.getLCS(true);
                
         // We save the results in the matrix
         
         strResultMatrix[iRow][0] = Long.toString(left.getID());
         strResultMatrix[iRow][1] = Long.toString(right.getID());
         strResultMatrix[iRow][2] = Long.toString(shortestPathLength);
-        strResultMatrix[iRow][3] = Long.toString(lcsVertex.getID());
-        strResultMatrix[iRow][4] = Long.toString(longestLCSvertex.getID());
+        strResultMatrix[iRow][3] = getVertexId(lcsVertex);
+        strResultMatrix[iRow][4] = getVertexId(longestLCSvertex);
         
         // We copy the IC-based features
         
         if (m_SaveICfeatures)
         {
             iColumnOffset = 7;
-            micaVertex = m_Taxonomy.getMICA(left, right);            
-            strResultMatrix[iRow][5] = Long.toString(micaVertex.getID());
-            strResultMatrix[iRow][6] = Double.toString(micaVertex.getICvalue());
+            micaVertex = features.getMICA();            
+            strResultMatrix[iRow][5] = getVertexId(micaVertex);
+            strResultMatrix[iRow][6] = (micaVertex != null) ?
+                                        Double.toString(micaVertex.getICvalue()) : "NaN";
         }
         else
         {
@@ -356,9 +362,23 @@ class BenchmarkSynsetsInfo extends WordNetSimBenchmark
         
         for (i = 0; i < measures.length; i++)
         {
-            similarity = measures[i].getSimilarity(left, right);
+            similarity = measures[i].getSimilarity(features);
             strResultMatrix[iRow][iColumnOffset + i] = Double.toString(similarity);
         }
     }
+    
+    /**
+     * This function returns the ID of a LCS or MICA vertex, or -1 when
+     * the synsets do not share any common ancestor, as it happens
+     * in the WordNet verb taxonomy.
+     * @param vertex LCS or MICA vertex, or null
+     * @return ID of the vertex
+     */
+    
+    private String getVertexId(
+            IVertex vertex)
+    {
+        return ((vertex != null) ? Long.toString(vertex.getID()) : "-1");
+    }
 }
 
@@ -45,4 +45,15 @@ public interface ITaxonomyInfoConfigurator
      */
     
     void setTaxonomyData(ITaxonomy taxonomy) throws Exception;
+    
+    /**
+     * This function returns a stable identifier of the IC model, which
+     * encodes its type, the value of its parameters and the fingerprint
+     * of the data files which it depends on. The identifier is used
+     * to store and to restore the IC model in the taxonomy snapshots.
+     * @return Identifier of the IC model
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    String getICmodelKey() throws Exception;
 }
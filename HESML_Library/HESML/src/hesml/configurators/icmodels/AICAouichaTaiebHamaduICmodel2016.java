@@ -197,32 +197,33 @@ public class AICAouichaTaiebHamaduICmodel2016 implements ITaxonomyInfoConfigurat
     private double HypoInfo(
         IVertex conceptVertex) throws Exception
     {
-        double  hypoInfoValue = 0.0;    // Returned value
+        double[]    hypoInfoValue = new double[1];  // Returned value
         
-        IVertexList descendants;    // Descendants of the vertex
-        
-        // We get the non-inclusive descendant set of the base vertex.
+        // We visit the non-inclusive descendant set of the base vertex.
         // However, this definition must be chekced with the authors
         // of the IC model becuase it is not detailed in their paper.
-        
-        descendants = conceptVertex.getHyponyms(false);
-        
         // We compute the function value using the depth max value
         // which is defined as the length of the longest ascending
         // path from the vertex to the root.
         
-        for (IVertex descendant: descendants)
-        {
-            hypoInfoValue += 1.0 / descendant.getDepthMax();
-        }
-        
-        // We release the descendant list
-        
-        descendants.clear();
+        conceptVertex.visitHyponyms(false,
+                descendant -> hypoInfoValue[0] += 1.0 / descendant.getDepthMax());
         
         // We return the result
         
-        return (hypoInfoValue);
+        return (hypoInfoValue[0]);
+    }
+    
+    /**
+     * This function returns the identifier of the IC model used to store
+     * it in the taxonomy snapshots, which is the name of its class.
+     * @return Identifier of the IC model
+     */
+    
+    @Override
+    public String getICmodelKey()
+    {
+        return (getClass().getSimpleName());
     }
     
     /**
@@ -58,24 +58,22 @@ abstract class AbstractCondProbICmodel extends AbstractICmodel
         
         double  log2 = Math.log(2.0);
         
-        // We reset the visiting flags for all the vertexes
-
-        taxonomy.getVertexes().setVisited(false);
-        
         // We set to 1 the probability of the root node
         
         root = taxonomy.getVertexes().getAt(0);
         root.setProbability(1.0);
         root.setICValue(0.0);
-        root.setVisited(true);
         
-        // We compute the probabilities for each vertex
+        // We compute the probabilities for each vertex. The vertexes
+        // are topologically sorted, thus, every vertex is visited once
+        // after its parents without using the global visiting flags,
+        // which cannot be shared by concurrent computations.
         
         for (IVertex vertex: taxonomy.getVertexes())
         {
-            // We check that the vertex has not been visited
+            // We skip the root vertex
             
-            if (!vertex.getVisited())
+            if (vertex.getID() != root.getID())
             {
                 // We initialize  the probability of the vertex
 
@@ -113,10 +111,6 @@ abstract class AbstractCondProbICmodel extends AbstractICmodel
                 // We set the IC value of the node
                 
                 vertex.setICValue(-Math.log(vertex.getProbability()) / log2);
-                
-                // We set the traverse flag
-                
-                vertex.setVisited(true);
             }
         }
         
@@ -229,9 +223,7 @@ abstract class AbstractCondProbICmodel extends AbstractICmodel
         ITaxonomy   taxonomy,
         boolean     setWeightsToICdiff) throws Exception
     {
-        IVertexList  leaves; // Subsumed leaves
-        
-        double  probability;            // Node probability
+        double[]    probability = new double[1];    // Node probability
         double  log2 = Math.log(2.0);
         
         // We set the probability and IC value of each node
@@ -244,30 +236,21 @@ abstract class AbstractCondProbICmodel extends AbstractICmodel
             
             if (!vertex.isRoot())
             {
-                // We get the subsumed leaves of the vertex
-                
-                leaves = vertex.getSubsumedLeaves(true);
-                
                 // We set the overall node probability to 0
                 
-                probability = 0.0;
+                probability[0] = 0.0;
                 
-                // We compute the accumulated probability
+                // We compute the accumulated probability by visiting
+                // the subsumed leaves of the vertex
                 
-                for (IVertex leaf: leaves)
-                {
-                    probability += leaf.getProbability();
-                }
+                vertex.visitSubsumedLeaves(true,
+                        leaf -> probability[0] += leaf.getProbability());
                 
                 // We set the overall probability and IC vlaue
                 // of the vertex
                 
-                vertex.setProbability(probability);
-                vertex.setICValue(-Math.log(probability) / log2);
-                
-                // We destroy the list of subsumed leaves
-                
-                leaves.clear();
+                vertex.setProbability(probability[0]);
+                vertex.setICValue(-Math.log(probability[0]) / log2);
             }
         }
         
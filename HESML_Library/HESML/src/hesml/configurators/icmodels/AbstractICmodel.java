@@ -34,6 +34,19 @@ import hesml.taxonomy.*;
 
 abstract class AbstractICmodel
 {
+    /**
+     * This function returns the identifier of the IC model used to store
+     * it in the taxonomy snapshots, which is the name of its class. The
+     * IC models with free parameters or data files override the function.
+     * @return Identifier of the IC model
+     * @throws Exception Unexpected error
+     */
+    
+    public String getICmodelKey() throws Exception
+    {
+        return (getClass().getSimpleName());
+    }
+    
     /**
      * This function sets the weigths for the edges as the difference
      * between the IC values between both incident nodes. This function
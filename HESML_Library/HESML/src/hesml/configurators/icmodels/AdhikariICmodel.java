@@ -25,7 +25,6 @@ import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.configurators.IntrinsicICModelType;
 import hesml.taxonomy.ITaxonomy;
 import hesml.taxonomy.IVertex;
-import hesml.taxonomy.IVertexList;
 
 /**
  * This class implements the intrinsic IC model introduced by Adhakari et al.
@@ -53,7 +52,7 @@ class AdhikariICmodel  extends AbstractICmodel
     {
         double  depth;      // Depth of each vertex
         double  leaves;     // Non-inclusive subsumed leaves count
-        double  hypoFactor; // Hyponym factor
+        double[]    hypoFactor = new double[1]; // Hyponym factor
         double  icValue;    // IC value of the vertex
         double  subsumers;  // Subsumer set count including the vertex
         
@@ -61,8 +60,6 @@ class AdhikariICmodel  extends AbstractICmodel
         double  leavesMax;  // Leaf vertexes count
         double  logNodeMax; // Logartihm of the concept count
         
-        IVertexList hyponymSet;   // Hyponym set
-        
         // We compute the constant terms
         
         logDmax = Math.log(1.0 + taxonomy.getVertexes().getGreatestDepthMin());
@@ -73,35 +70,28 @@ class AdhikariICmodel  extends AbstractICmodel
         
         for (IVertex vertex: taxonomy.getVertexes())
         {
-            // We get the vertex depth, leaves count and hyponym set
+            // We get the vertex depth and leaves count
             
             depth = vertex.getDepthMin();
             leaves = vertex.getNonInclusiveSubsumedLeafSetCount();
-            hyponymSet = vertex.getHyponyms(false);
             subsumers = vertex.getNonInclusiveAncestorSetCount() + 1;
             
-            // We compute the hypoFactor
+            // We compute the hypoFactor by visiting the hyponym set
             
-            hypoFactor = 0.0;
+            hypoFactor[0] = 0.0;
             
-            for (IVertex hyponym: hyponymSet)
-            {
-                hypoFactor += (1.0 / hyponym.getDepthMin());
-            }
+            vertex.visitHyponyms(false,
+                    hyponym -> hypoFactor[0] += (1.0 / hyponym.getDepthMin()));
             
             // We compute the IC value
             
             icValue = (Math.log(depth + 1.0) / logDmax)
                     * (1.0 - Math.log(1.0 + (leaves * vertex.getParentsCount() / leavesMax) / subsumers))
-                    * (1.0 - Math.log(1.0 + hypoFactor) / logNodeMax);
+                    * (1.0 - Math.log(1.0 + hypoFactor[0]) / logNodeMax);
             
             // We set the IC value
             
             vertex.setICValue(icValue);
-            
-            // We release the hyponym set which is computed on-the-fly
-            
-            hyponymSet.clear();
         }
         
         // We set the delta IC weights for the weighted Measures
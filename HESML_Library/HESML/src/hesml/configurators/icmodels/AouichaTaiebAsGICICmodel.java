@@ -64,9 +64,8 @@ class AouichaTaiebAsGICICmodel extends AbstractICmodel
         double  hypoOverlap;    // Hyponym graph overlapping factor (eq. 22)
 
         IVertexList ancestors;              // Ancestor set
-        IVertexList descendants;            // Descendant set (hyponyms)
-        IVertexList hypernymDescendants;    // Descendants of a hypernym node
-        IVertexList parents;                // Direct parents of an ancestor
+        double  descendants;            // Descendant count (hyponyms)
+        double  hypernymDescendants;    // Descendants count of a hypernym node
         
         int i = 1;  // Counter
         
@@ -92,30 +91,24 @@ class AouichaTaiebAsGICICmodel extends AbstractICmodel
             
             for (IVertex ancestor: ancestors)
             {
-                // We get the descendants and parent (hypernyms)
-                // of the ancestor node
+                // We get the inclusive descendant count of the
+                // ancestor node
                 
-                descendants = ancestor.getHyponyms(true);
-                parents = ancestor.getParents();
+                descendants = ancestor.getNonInclusiveHyponymSetCount() + 1;
                 
                 // We compute the ancestor specificity
                 
                 ancestorSpec = 0.0;
                 
-                for (IVertex hypernym: parents)
+                for (IVertex hypernym: ancestor.getParents())
                 {
-                    // We get the descendants of the parent node
+                    // We get the descendants count of the parent node
                     
-                    hypernymDescendants = hypernym.getHyponyms(true);
+                    hypernymDescendants = hypernym.getNonInclusiveHyponymSetCount() + 1;
                     
                     // We compute the hyponym overlapping factor
                     
-                    hypoOverlap = ((double)descendants.getCount()) /
-                                ((double)hypernymDescendants.getCount());
-                    
-                    // We release the hyperhym descendants
-                    
-                    hypernymDescendants.clear();
+                    hypoOverlap = descendants / hypernymDescendants;
                     
                     // We accumulate the ancestor specificity
                     
@@ -125,11 +118,6 @@ class AouichaTaiebAsGICICmodel extends AbstractICmodel
                 // We accumulate the ancestor specificity
                 
                 icValue += ancestorSpec;
-                
-                // We clear the vertexes lists
-                
-                descendants.clear();
-                parents.clear();
             }
             
             // We set the IC value
@@ -92,6 +92,19 @@ class CaiICmodel extends AbstractICmodel
         setICDeltaWeights(taxonomy);
     }
     
+    /**
+     * This function returns the identifier of the IC model, which
+     * includes the value of the lambda parameter.
+     * @return Identifier of the IC model
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public String getICmodelKey() throws Exception
+    {
+        return (super.getICmodelKey() + ",lambda=" + Double.toString(m_lambda));
+    }
+    
     /**
      * This function returns a String representing IC model type of the
      * current object.
@@ -204,6 +204,19 @@ class CondProbLogisticICmodel extends AbstractCondProbICmodel
         }
     }
     
+    /**
+     * This function returns the identifier of the IC model, which
+     * includes the value of the K parameter.
+     * @return Identifier of the IC model
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public String getICmodelKey() throws Exception
+    {
+        return (super.getICmodelKey() + ",K=" + Double.toString(m_K));
+    }
+    
     /**
      * This function returns a String representing IC model type of the
      * current object.
@@ -57,11 +57,11 @@ class HadjTaieb2013ICmodel extends AbstractICmodel
         double  avgDepth;   // Average depth for the hypernyms
         double  score;
         
+        double[]    hyperSums = new double[3];  // Count, depth and score sums
+        
         double  hypoVertex; // Hyponyms inclusive of the vertex
         double  hypoParent; // Hyponyms inclusive of the parent
         
-        IVertexList hyper;  // Set of hypernyms including the node
-        
         // (1) We compute the scores for each node
         
         for (IVertex vertex: taxonomy.getVertexes())
@@ -94,29 +94,27 @@ class HadjTaieb2013ICmodel extends AbstractICmodel
         
         for (IVertex vertex: taxonomy.getVertexes())
         {
-            // We get the hypernyms of the node
-            
-            hyper = vertex.getAncestors(true);
+            // We visit the hypernyms of the node to compute their count,
+            // and the sums of their depths and scores
             
-            // We compute the average depth
-            
-            avgDepth = 0.0;
+            hyperSums[0] = 0.0;
+            hyperSums[1] = 0.0;
+            hyperSums[2] = 0.0;
             
-            for (IVertex hypernym: hyper)
+            vertex.visitAncestors(true, hypernym ->
             {
-                avgDepth += hypernym.getDepthMin();
-            }
+                hyperSums[0] += 1.0;
+                hyperSums[1] += hypernym.getDepthMin();
+                hyperSums[2] += hypernym.getMinDistance();
+            });
             
-            avgDepth /= hyper.getCount();
+            // We compute the average depth
             
-            // We compute the ic-value
+            avgDepth = hyperSums[1] / hyperSums[0];
             
-            score = 0.0;
+            // We compute the ic-value
             
-            for (IVertex hypernym: hyper)
-            {
-                score += hypernym.getMinDistance();
-            }
+            score = hyperSums[2];
             
             icValue = score * avgDepth;
         
@@ -58,12 +58,10 @@ class HadjTaiebHypoValueICmodel extends AbstractCondProbICmodel
         
         double  prob;        // Probability
         double  nConcepts;   // Maximum depth
-        double  hypoValue;  // Acummulated probability
+        double[]    hypoValue = new double[1];  // Acummulated probability
         double  hypoMax;
         double  specHypo;   // Specificityvalue
         
-        IVertexList hyponyms;   // Hyponyms
-        
         // We get hte maximum depth
         
         nConcepts = taxonomy.getVertexes().getCount();
@@ -101,25 +99,16 @@ class HadjTaiebHypoValueICmodel extends AbstractCondProbICmodel
         
         for (IVertex vertex: taxonomy.getVertexes())
         {
-            // We get the hyponyms of the vertexes
-            
-            hyponyms = vertex.getHyponyms(false);
-            hypoValue = vertex.getProbability();
+            hypoValue[0] = vertex.getProbability();
             
             // We sum the hyponyms probabilities
             
-            for (IVertex hyponym: hyponyms)
-            {
-                hypoValue += hyponym.getProbability();
-            }
-            
-            // We clear the vertex list
-            
-            hyponyms.clear();
+            vertex.visitHyponyms(false,
+                    hyponym -> hypoValue[0] += hyponym.getProbability());
             
             // We save the hypoValue in the IC field
             
-            vertex.setICValue(hypoValue);
+            vertex.setICValue(hypoValue[0]);
         }
         
         // We get the maximum hypoValue
@@ -132,14 +121,14 @@ class HadjTaiebHypoValueICmodel extends AbstractCondProbICmodel
         {
             // We compute the specificity value
             
-            hypoValue = vertex.getICvalue();
+            hypoValue[0] = vertex.getICvalue();
             
-            specHypo = 1.0 - Math.log(hypoValue) / Math.log(hypoMax);
+            specHypo = 1.0 - Math.log(hypoValue[0]) / Math.log(hypoMax);
             
             // We save the IC value
             
             vertex.setICValue(specHypo);
-            vertex.setProbability(hypoValue);
+            vertex.setProbability(hypoValue[0]);
         }
     }
     
@@ -57,7 +57,7 @@ class Meng2012ICmodel extends AbstractICmodel
         
         double  logDepthMax;    // Depth max factor
         double  logMaxNodes;
-        double  sumFactor;  
+        double[]    sumFactor = new double[1];
         
         // We get the depth max factor
         
@@ -70,20 +70,18 @@ class Meng2012ICmodel extends AbstractICmodel
         {
             // We compute the right facrtor over the hyponums
             
-            sumFactor = 1.0;
+            sumFactor[0] = 1.0;
             
-            for (IVertex hyponym: vertex.getHyponyms(false))
-            {
-                sumFactor += (1.0 / hyponym.getDepthMinBase1());
-            }
+            vertex.visitHyponyms(false,
+                    hyponym -> sumFactor[0] += (1.0 / hyponym.getDepthMinBase1()));
             
             // We get the logarithm value
             
-            sumFactor = (1.0 - Math.log(sumFactor) / logMaxNodes);
+            sumFactor[0] = (1.0 - Math.log(sumFactor[0]) / logMaxNodes);
             
             // We compute the value
             
-            icValue = (Math.log(vertex.getDepthMinBase1()) / logDepthMax) * sumFactor;
+            icValue = (Math.log(vertex.getDepthMinBase1()) / logDepthMax) * sumFactor[0];
 
             // We set the ic-value
             
@@ -30,6 +30,7 @@ import java.util.StringTokenizer;
 // HESML references
 
 import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
 
 /**
  * This class implements the reader of the WN-based frequency files used
@@ -89,6 +90,26 @@ abstract class PedersenFilesICmodel extends AbstractCondProbICmodel
         m_strPedersenFile = strPedersenFile;
     }
 
+    /**
+     * This function returns the identifier of the IC model, which
+     * includes the name and the fingerprint of its IC data file.
+     * Thus, the stored IC model is not restored when the file changes.
+     * @return Identifier of the IC model
+     * @throws Exception The IC data file cannot be read
+     */
+    
+    @Override
+    public String getICmodelKey() throws Exception
+    {
+        String  strKey = super.getICmodelKey() + ","
+                        + new File(m_strPedersenFile).getName() + ",sha256="
+                        + TaxonomyFactory.getFileFingerprint(m_strPedersenFile);
+        
+        // We return the result
+        
+        return (strKey);
+    }
+    
     /**
      * This function reads the concept frequencies in the
      * input WordNet-based frequency file associated to the IC
@@ -54,10 +54,8 @@ class Sanchez2012ICmodel extends AbstractICmodel
         
         double  subSummers;  // Set of ancestors including the node
 
-        double  commonnessNode; // Node value
-        double  commonnessRoot; // Root value
-        
-        IVertexList leaves; // Non-inclusive subsumed leaf set
+        double[]    commonnessNode = new double[1]; // Node value
+        double      commonnessRoot;                 // Root value
         
         IVertex root;  // Root concept
         
@@ -74,12 +72,11 @@ class Sanchez2012ICmodel extends AbstractICmodel
                 // We ompute the leaf value
                 
                 subSummers = 1.0 + vertex.getNonInclusiveAncestorSetCount();
-                commonnessNode = 1.0 / subSummers;
+                commonnessNode[0] = 1.0 / subSummers;
                 
                 // We save the value in the IC field
                 
-                vertex.setICValue(commonnessNode);
-                vertex.setVisited(true);
+                vertex.setICValue(commonnessNode[0]);
             }
         }
         
@@ -93,26 +90,16 @@ class Sanchez2012ICmodel extends AbstractICmodel
             {
                 // We initializae the value
 
-                commonnessNode = 0.0;
+                commonnessNode[0] = 0.0;
 
-                // We get the set of non-inclusive subsumed leaves
-                
-                leaves = vertex.getSubsumedLeaves(false);
-                
-                // We sum all the Leaves values
+                // We sum the values of the non-inclusive subsumed leaves
 
-                for (IVertex leaf: leaves)
-                {
-                    commonnessNode += leaf.getICvalue();
-                }
-                
-                // We release the leaf set
-                
-                leaves.clear();
+                vertex.visitSubsumedLeaves(false,
+                        leaf -> commonnessNode[0] += leaf.getICvalue());
                 
                 // We set the commonness
                 
-                vertex.setICValue(commonnessNode);
+                vertex.setICValue(commonnessNode[0]);
             }
         }
         
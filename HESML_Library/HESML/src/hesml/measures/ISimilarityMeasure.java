@@ -82,6 +82,23 @@ public interface ISimilarityMeasure
             IVertex right)
             throws InterruptedException, Exception;
     
+    /**
+     * This function returns the degree of similarity between the vertexes
+     * of a synset pair, which is equal to the value returned by the
+     * getSimilarity() function for both vertexes. The taxonomical features
+     * required by the measure are retrieved from the input features,
+     * thus, they are computed once for all the measures evaluated
+     * on the same pair.
+     * @param features Features of the synset pair
+     * @return Similarity value
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    double getSimilarity(
+            ISynsetPairFeatures features)
+            throws InterruptedException, Exception;
+    
     /**
      * This function returns the value returned by the similarity measure when
      * there is none similarity between both input concepts, or the concept
@@ -105,4 +122,63 @@ public interface ISimilarityMeasure
             IVertexList left,
             IVertexList right)
             throws InterruptedException, Exception;
+    
+    /**
+     * This function computes the similarity between every pair of row
+     * and column vertexes, sharing the ancestors and distance field of
+     * each row vertex among all the columns. The similarity of the i-th
+     * row and j-th column vertexes is stored in the position
+     * i * columns.getCount() + j of the output vector, and it is equal
+     * to the value returned by the getSimilarity() function.
+     * @param rows Row vertexes
+     * @param columns Column vertexes
+     * @param similarities Output vector with rows x columns values
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    void getSimilarityMatrix(
+            IVertexList rows,
+            IVertexList columns,
+            double[]    similarities)
+            throws InterruptedException, Exception;
+    
+    /**
+     * This function computes the similarity between the source vertex and
+     * every vertex in the taxonomy by a single traversal from the source
+     * vertex, plus a single sweep of the ancestor sets for the measures
+     * based on the MICA or LCS vertexes. The similarity with the i-th
+     * vertex in the ordered collection of vertexes of the taxonomy is
+     * stored in the i-th position of the output vector.
+     * @param source Source vertex
+     * @param similarities Output vector with one value per vertex
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    void getSimilarityToAll(
+            IVertex     source,
+            double[]    similarities)
+            throws InterruptedException, Exception;
+    
+    /**
+     * This function returns the k vertexes most similar to the query
+     * vertex, excluding the query vertex, in decreasing order of
+     * similarity. The measures based on the length of the shortest path
+     * only visit the nearest vertexes, whilst the measures based on the
+     * IC of the MICA vertex skip the subtrees of the ancestors whose
+     * upper bound cannot improve the result. The vertexes with the same
+     * similarity than the k-th one are returned in arbitrary order.
+     * @param query Query vertex
+     * @param k Number of vertexes to be retrieved
+     * @return Most similar vertexes, which are less than k when the
+     * taxonomy has not enough vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    IVertex[] getTopKSimilar(
+            IVertex query,
+            int     k)
+            throws InterruptedException, Exception;
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This interface represents the taxonomical features of a pair of
+ * synsets (vertexes) which are required by the ontology-based similarity
+ * measures, such as the MICA and LCS vertexes, the length of the shortest
+ * path and the common ancestor count. The features are passed to the
+ * formula of each measure, and each feature is computed the first time
+ * that it is requested and it is reused by every measure evaluated
+ * on the pair, whilst the depth and IC values are retrieved from the
+ * cached attributes of the vertexes.
+ * @author Juan Lastra-Díaz
+ */
+
+public interface ISynsetPairFeatures
+{
+    /**
+     * This function returns the first vertex of the pair.
+     * @return First vertex
+     */
+    
+    IVertex getLeft();
+    
+    /**
+     * This function returns the second vertex of the pair.
+     * @return Second vertex
+     */
+    
+    IVertex getRight();
+    
+    /**
+     * This function returns the most informative common ancestor (MICA)
+     * of the pair, as defined by the getMICA() function of the taxonomy.
+     * @return MICA vertex, or null if the vertexes do not share any ancestor
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    IVertex getMICA() throws InterruptedException, Exception;
+    
+    /**
+     * This function returns the lowest common subsumer (LCS) of the
+     * pair, as defined by the getLCS() function of the taxonomy.
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @return LCS vertex, or null if the vertexes do not share any ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    IVertex getLCS(
+            boolean useLongestDepth) throws Exception;
+    
+    /**
+     * This function returns the length of the shortest path between
+     * the vertexes of the pair.
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
+     */
+    
+    double getShortestPathLength(
+            boolean weighted);
+    
+    /**
+     * This function returns the length of the unweighted shortest path
+     * between the LCS vertex, using the minimum depth, and the target
+     * vertex, such as the vertexes of the pair or the first root of
+     * the taxonomy. Each distance is computed once per pair.
+     * @param target Target vertex
+     * @return Length of the shortest path, or infinite if the vertexes
+     * of the pair do not share any ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    double getDistanceToLCS(
+            IVertex target) throws Exception;
+    
+    /**
+     * This function returns the number of vertexes in the intersection
+     * of the inclusive ancestor sets of the vertexes of the pair.
+     * @return Number of common ancestors
+     * @throws Exception Unexpected error
+     */
+    
+    int getCommonAncestorCount() throws Exception;
+}
@@ -45,4 +45,23 @@ public interface IWordNetWordSimilarityMeasure extends IWordSimilarityMeasure
      */
     
     ISimilarityMeasure getConceptSimilarityMeasure();
+    
+    /**
+     * This function returns the k WordNet words most similar to the input
+     * word in decreasing order of similarity, excluding the input word.
+     * The similarity between two words is the highest similarity between
+     * their synsets, as defined by the getSimilarity() function, thus,
+     * the most similar words are searched among the synonyms of the
+     * concepts most similar to the synsets of the input word.
+     * @param strWord Query word
+     * @param k Number of words to be retrieved
+     * @return Most similar words, which are less than k when the
+     * word is not contained in WordNet
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    String[] getTopKSimilarWords(
+            String  strWord,
+            int     k) throws InterruptedException, Exception;
 }
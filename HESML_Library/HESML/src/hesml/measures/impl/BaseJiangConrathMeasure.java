@@ -107,6 +107,7 @@ abstract class BaseJiangConrathMeasure extends SimilaritySemanticMeasure
      * 
      * @param left
      * @param right
+     * @param micaVertex MICA vertex of both vertexes, or null
      * @return Jiang-Conrath distance
      * @throws InterruptedException
      * @throws Exception 
@@ -114,14 +115,11 @@ abstract class BaseJiangConrathMeasure extends SimilaritySemanticMeasure
     
     static double getClassicJiangConrathDist(
             IVertex left,
-            IVertex right) throws InterruptedException, Exception
+            IVertex right,
+            IVertex micaVertex) throws InterruptedException, Exception
     {
         double  distance = 1e10;   // Returned value
 
-        // We compute the MICA vertex
-        
-        IVertex micaVertex = left.getTaxonomy().getMICA(left, right);
-       
         // We check the existence of the MICA vertex. It only fails when
         // the taxonomy has more than one root node.
         
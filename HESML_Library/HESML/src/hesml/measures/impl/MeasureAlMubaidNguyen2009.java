@@ -77,13 +77,15 @@ class MeasureAlMubaidNguyen2009  extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  distance;   // Returned value
 
@@ -91,7 +93,7 @@ class MeasureAlMubaidNguyen2009  extends SimilaritySemanticMeasure
         double  maxDepth;   // Maximum depth of the taxonomy
         double  lcsDepth;   // Depth of the LCS vertex
         
-        IVertex lcsVertex = left.getTaxonomy().getLCS(left, right, false);
+        IVertex lcsVertex = features.getLCS(false);
         
         // We get the maximum depth in the taxonomy
         
@@ -103,7 +105,7 @@ class MeasureAlMubaidNguyen2009  extends SimilaritySemanticMeasure
         
         if (lcsVertex != null)
         {
-            path = left.getShortestPathDistanceTo(right, false);
+            path = features.getShortestPathLength(false);
             lcsDepth = lcsVertex.getDepthMin();
         }
         else
@@ -89,30 +89,39 @@ class MeasureCaiStrategy1 extends BaseJiangConrathMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
-        // We obtain the MICA vertex
-        
-        IVertex micaVertex = left.getTaxonomy().getMICA(left, right);
-
-        // We compute splW (Jiang-Coraanh distance)
+        double  sim1 = 0.0; // Returned value
         
-        double splW = left.getICvalue() + right.getICvalue() - 2 * micaVertex.getICvalue();
-        
-        // We compute the normalized shortest path (formula 5 in the paper)
+        // We obtain the MICA vertex
         
-        double splN = 0.5 * (double) left.getShortestPathDistanceTo(right, false)
-                        / (double) left.getTaxonomy().getVertexes().getGreatestDepthMax();
+        IVertex micaVertex = features.getMICA();
         
-        // Now we compute the similarity value
+        // We check the existence of the MICA vertex
         
-        double sim1 = Math.exp(-(m_alplha * splW + m_beta * splN));
+        if (micaVertex != null)
+        {
+            // We compute splW (Jiang-Coraanh distance)
+
+            double splW = left.getICvalue() + right.getICvalue() - 2 * micaVertex.getICvalue();
+
+            // We compute the normalized shortest path (formula 5 in the paper)
+
+            double splN = 0.5 * (double) features.getShortestPathLength(false)
+                            / (double) left.getTaxonomy().getVertexes().getGreatestDepthMax();
+
+            // Now we compute the similarity value
+
+            sim1 = Math.exp(-(m_alplha * splW + m_beta * splN));
+        }
         
         // We return the result
         
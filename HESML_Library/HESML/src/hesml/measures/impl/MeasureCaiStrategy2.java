@@ -89,32 +89,40 @@ class MeasureCaiStrategy2 extends BaseJiangConrathMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
-        // We obtain the MICA vertex
-        
-        IVertex micaVertex = left.getTaxonomy().getMICA(left, right);
-
-        // We compute splW (Jiang-Coraanh distance)
+        double  sim1 = 0.0; // Returned value
         
-        double splW = left.getICvalue() + right.getICvalue() - 2 * micaVertex.getICvalue();
-        
-        // We compute the splO term (formula 6 in the paper)
-        
-        ITaxonomy taxonomy = left.getTaxonomy();
+        // We obtain the MICA vertex
         
-        double splO = Math.log((1.0 + left.getDepthMax() + right.getDepthMax())
-                    / (1.0 + 2.0 * taxonomy.getLCS(left, right, true).getDepthMax()));
+        IVertex micaVertex = features.getMICA();
         
-        // Now we compute the similarity value
+        // We check the existence of the MICA vertex, which implies
+        // the existence of the LCS vertex
         
-        double sim1 = Math.exp(-(m_alplha * splW + m_beta * splO));
+        if (micaVertex != null)
+        {
+            // We compute splW (Jiang-Coraanh distance)
+
+            double splW = left.getICvalue() + right.getICvalue() - 2 * micaVertex.getICvalue();
+
+            // We compute the splO term (formula 6 in the paper)
+
+            double splO = Math.log((1.0 + left.getDepthMax() + right.getDepthMax())
+                        / (1.0 + 2.0 * features.getLCS(true).getDepthMax()));
+
+            // Now we compute the similarity value
+
+            sim1 = Math.exp(-(m_alplha * splW + m_beta * splO));
+        }
         
         // We return the result
         
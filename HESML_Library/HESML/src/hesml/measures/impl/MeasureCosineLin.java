@@ -75,17 +75,19 @@ class MeasureCosineLin extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
-        IVertex micaVertex = m_Taxonomy.getMICA(left, right);
+        IVertex micaVertex = features.getMICA();
        
         // It is necessary to check the existence of the MICA
         // vertex, because WordNet 2.0 contains multiple root nodes.
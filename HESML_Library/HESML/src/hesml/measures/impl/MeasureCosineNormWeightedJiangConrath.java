@@ -91,17 +91,19 @@ class MeasureCosineNormWeightedJiangConrath extends BaseJiangConrathMeasure
      * 
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the distance
         
-        double distance = left.getShortestPathDistanceTo(right, true);
+        double distance = features.getShortestPathLength(true);
         
         // We normalize the distance
         
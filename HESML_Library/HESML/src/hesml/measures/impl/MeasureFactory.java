@@ -353,6 +353,43 @@ public class MeasureFactory
         return (measure);
     }   
     
+    /**
+     * This function returns the k concepts most similar to the query
+     * vertex in decreasing order of similarity, which are searched by
+     * the measure with the pruning strategy of its family.
+     * @param query Query vertex
+     * @param k Number of concepts to be retrieved
+     * @param measureType Type of measure
+     * @return Most similar vertexes, excluding the query vertex
+     * @throws Exception Unexpected error
+     */
+    
+    public static IVertex[] getTopKSimilar(
+            IVertex                 query,
+            int                     k,
+            SimilarityMeasureType   measureType) throws Exception
+    {
+        return (getMeasure(query.getTaxonomy(), measureType).getTopKSimilar(query, k));
+    }
+    
+    /**
+     * This function creates the features of a synset pair, which
+     * are shared by all the measures evaluated on the pair through
+     * their getSimilarity() function. The MICA and LCS vertexes, and
+     * the common ancestor count, are computed together by a single
+     * intersection of the ancestor sets of the pair.
+     * @param left First vertex
+     * @param right Second vertex
+     * @return The features of the pair
+     */
+    
+    public static ISynsetPairFeatures getSynsetPairFeatures(
+            IVertex left,
+            IVertex right)
+    {
+        return (new SynsetPairFeatures(left, right, true));
+    }
+    
     /**
      * This function creates a new similarity measure based on WordNet.
      * @param wordnetDB WordNet database
@@ -372,6 +409,45 @@ public class MeasureFactory
         return (new WordNetWordSimilarityMeasure(wordnetDB, wordnetTaxonomy, measureType, icModel));
     }
     
+    /**
+     * This function returns the k WordNet words most similar to the input
+     * word for any word similarity measure. The WordNet-based measures
+     * on the same database search the words at concept level, whilst
+     * the remaining measures are evaluated on every word in WordNet.
+     * @param measure Word similarity measure
+     * @param wordnetDB WordNet database providing the candidate words
+     * @param strWord Query word
+     * @param k Number of words to be retrieved
+     * @return Most similar words, excluding the query word
+     * @throws Exception Unexpected error
+     */
+    
+    public static String[] getTopKSimilarWords(
+            IWordSimilarityMeasure  measure,
+            IWordNetDB              wordnetDB,
+            String                  strWord,
+            int                     k) throws Exception
+    {
+        String[]    topWords;   // Returned value
+        
+        // We use the concept-level search when it is available
+        
+        if ((measure instanceof IWordNetWordSimilarityMeasure)
+                && (((IWordNetWordSimilarityMeasure) measure).getWordNetDB() == wordnetDB))
+        {
+            topWords = ((IWordNetWordSimilarityMeasure) measure).getTopKSimilarWords(strWord, k);
+        }
+        else
+        {
+            topWords = WordNetWordSimilarityMeasure.getTopKSimilarWordsByScan(
+                            measure, wordnetDB, strWord, k);
+        }
+        
+        // We return the result
+        
+        return (topWords);
+    }
+    
     /**
      * This function loads a EMB word embedding model implementing
      * a word similarity measure.
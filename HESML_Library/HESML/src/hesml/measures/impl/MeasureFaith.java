@@ -79,13 +79,15 @@ class MeasureFaith extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -101,7 +103,7 @@ class MeasureFaith extends SimilaritySemanticMeasure
         {
             // We get the MICA vertex
 
-            micaVertex = m_Taxonomy.getMICA(left, right);
+            micaVertex = features.getMICA();
 
             // We compute the distance
 
@@ -93,13 +93,15 @@ class MeasureGao2015Method3 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
         
@@ -107,7 +109,7 @@ class MeasureGao2015Method3 extends SimilaritySemanticMeasure
         double  weight; // Weight    
         double  icMICAvalue;
 
-        IVertex micaVertex = m_Taxonomy.getMICA(left, right);
+        IVertex micaVertex = features.getMICA();
         
         // We check the existence of the MICA vertex
         
@@ -115,7 +117,7 @@ class MeasureGao2015Method3 extends SimilaritySemanticMeasure
         {
             // We get the shortest path length between the concepts
 
-            length = left.getShortestPathDistanceTo(right, false);
+            length = features.getShortestPathLength(false);
 
             // We get the IC value of the lowest common ancestor
 
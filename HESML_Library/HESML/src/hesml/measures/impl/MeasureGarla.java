@@ -76,13 +76,15 @@ class MeasureGarla extends BaseJiangConrathMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity; // Returned value
         
@@ -90,7 +92,7 @@ class MeasureGarla extends BaseJiangConrathMeasure
 
         // We compute the distance
         
-        distance = getClassicJiangConrathDist(left, right);
+        distance = getClassicJiangConrathDist(left, right, features.getMICA());
         
         // We normalize the distance
         
@@ -76,23 +76,45 @@ class MeasureJiangConrath extends BaseJiangConrathMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the distance
         
-        double distance = getClassicJiangConrathDist(left, right);
+        double distance = getClassicJiangConrathDist(left, right, features.getMICA());
         
         // We return the result
         
         return (distance);
     }
     
+    /**
+     * This function returns the Jiang-Conrath distance between the
+     * input vertexes for the given MICA vertex.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param micaVertex MICA vertex, or null if there is none
+     * @return The semantic distance between the nodes.
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected double compareWithMICA(
+            IVertex left,
+            IVertex right,
+            IVertex micaVertex) throws InterruptedException, Exception
+    {
+        return (getClassicJiangConrathDist(left, right, micaVertex));
+    }
+    
     /**
      * This function returns the value returned by the similarity measure when
      * there is none similarity between both input concepts, or the concept
@@ -106,4 +128,52 @@ class MeasureJiangConrath extends BaseJiangConrathMeasure
         //return (1.0 - m_Taxonomy.getVertexes().getGreatestICValue());
         return (Double.NEGATIVE_INFINITY);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex
+     * by visiting the ancestors of the query vertex in decreasing order
+     * of the upper bound of the similarity.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+            throws InterruptedException, Exception
+    {
+        selectByAncestorBounds(query, topVertexes);
+    }
+    
+    /**
+     * This function returns an upper bound of the similarity derived from
+     * the Jiang-Conrath distance for the vertexes whose MICA vertex with
+     * the query vertex is the input ancestor. The IC value of the
+     * compared vertex is bounded by zero.
+     * @param query Query vertex
+     * @param ancestor MICA vertex, or null if there is none
+     * @return Upper bound of the similarity
+     */
+    
+    @Override
+    protected double getAncestorUpperBound(
+            IVertex query,
+            IVertex ancestor)
+    {
+        double  distance = 1e10;    // Lower bound of the distance
+        
+        // We compute the distance bound when the MICA vertex exists
+        
+        if (ancestor != null)
+        {
+            distance = query.getICvalue() - 2.0 * ancestor.getICvalue();
+        }
+        
+        // We return the similarity bound
+        
+        return (1.0 - distance / 2.0);
+    }
 }
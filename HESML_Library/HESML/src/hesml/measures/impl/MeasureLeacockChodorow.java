@@ -88,21 +88,39 @@ class MeasureLeacockChodorow extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the similarity
 
-        double similarity = -Math.log((1.0 + left.getShortestPathDistanceTo(right, false))
+        double similarity = -Math.log((1.0 + features.getShortestPathLength(false))
                             / (2.0 * m_largestDepthMin));
        
         // We return the result
         
         return (similarity);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex,
+     * which are the nearest ones because the logarithm of the path
+     * length is monotonically increasing.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+    {
+        selectNearestVertexes(query, false, topVertexes);
+    }
 }
@@ -88,42 +88,34 @@ class MeasureLi2003Strategy3 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
-        return (simStrategyFun1(left, right, m_Alpha));
+        return (simStrategyFun1(features.getShortestPathLength(false), m_Alpha));
     }
     
     /**
      * This function computes the length-based similarity function.
      * We separate it in an static function to invoke it from the
      * other Li measures.
-     * @param left
-     * @param right
+     * @param length Shortest path length between the vertexes
      * @param alpha
      * @return
-     * @throws InterruptedException
-     * @throws Exception 
      */
     
     static double simStrategyFun1(
-            IVertex left,
-            IVertex right,
-            double  alpha) throws InterruptedException, Exception
+            double  length,
+            double  alpha)
     {
         double  similarity;   // Returned value
 
-        double  length; // Shortest path length
-        
-        // We compute the shortest path length between nodes
-        
-        length = left.getShortestPathDistanceTo(right, false);
-        
         // We compute the similarity
         
         similarity = Math.exp(-alpha * length);
@@ -132,5 +124,21 @@ class MeasureLi2003Strategy3 extends SimilaritySemanticMeasure
         
         return (similarity);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex.
+     * The exponential decay of the path length with a positive alpha
+     * parameter makes the nearest vertexes the most similar ones.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+    {
+        selectNearestVertexes(query, false, topVertexes);
+    }
 }
 
@@ -95,13 +95,15 @@ class MeasureLi2003Strategy4 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity;   // Returned value
 
@@ -109,11 +111,12 @@ class MeasureLi2003Strategy4 extends SimilaritySemanticMeasure
         
         // We compute the length-based similiarity function
 
-        f1 = MeasureLi2003Strategy3.simStrategyFun1(left, right, m_Alpha);
+        f1 = MeasureLi2003Strategy3.simStrategyFun1(
+                features.getShortestPathLength(false), m_Alpha);
 
         // We get the depth-based term
 
-        f2 = simStrategyFun2(left, right, m_Beta);
+        f2 = simStrategyFun2(features.getLCS(false), m_Beta);
 
         // We compute the similarity
 
@@ -126,29 +129,23 @@ class MeasureLi2003Strategy4 extends SimilaritySemanticMeasure
     
     /**
      * This function implements the F2 function in the strategy 4
-     * @param left
-     * @param right
+     * @param lcsVertex Lowest common subsumer of the vertexes, or null
      * @param beta
      * @return 
      */
     
     static double simStrategyFun2(
-            IVertex left,
-            IVertex right,
+            IVertex lcsVertex,
             double  beta) throws Exception
     {
         double  similarity = 0.0; // Returned value
         
         double  depth;      // Depth of the LCA node
-        IVertex lcsVertex;  // Lowest common subsumer
         
         double  expBeta, expNegBeta;    // Auxiliar terms
         
         // We compute the depth-based similarity function
-        
-        lcsVertex = left.getTaxonomy().getLCS(left, right, false);
-        
-        // We check the LCS value
+        // by checking the LCS value
         
         if (lcsVertex != null)
         {
@@ -101,17 +101,19 @@ class MeasureLi2003Strategy9 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
-        IVertex micavertex = m_Taxonomy.getMICA(left, right);
+        IVertex micavertex = features.getMICA();
         
         double  f1, f2, f3; // Strategy 3 and 4 terms
         
@@ -129,8 +131,11 @@ class MeasureLi2003Strategy9 extends SimilaritySemanticMeasure
 
             // We get the f1 and f2 terms
 
-            f1 = MeasureLi2003Strategy3.simStrategyFun1(left, right, m_Alpha);
-            f2 = MeasureLi2003Strategy4.simStrategyFun2(left, right, m_Beta);
+            f1 = MeasureLi2003Strategy3.simStrategyFun1(
+                    features.getShortestPathLength(false), m_Alpha);
+
+            f2 = MeasureLi2003Strategy4.simStrategyFun2(
+                    features.getLCS(false), m_Beta);
 
             // We compute the F3 function
 
@@ -76,17 +76,37 @@ class MeasureLin extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
+    {
+        return (compareWithMICA(left, right, features.getMICA()));
+    }
+    
+    /**
+     * This function returns the Lin similarity of the input vertexes
+     * for the given MICA vertex.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param micaVertex MICA vertex, or null if there is none
+     * @return Similarity value
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected double compareWithMICA(
             IVertex left,
-            IVertex right) throws InterruptedException, Exception
+            IVertex right,
+            IVertex micaVertex) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
-
-        IVertex micaVertex = m_Taxonomy.getMICA(left, right);
        
         // We compute the distance
         
@@ -100,4 +120,56 @@ class MeasureLin extends SimilaritySemanticMeasure
         
         return (similarity);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex
+     * by skipping the ancestors whose IC value is too low.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+            throws InterruptedException, Exception
+    {
+        selectByAncestorBounds(query, topVertexes);
+    }
+    
+    /**
+     * This function returns an upper bound of the Lin similarity for the
+     * vertexes whose MICA vertex with the query vertex is the input
+     * ancestor. The bound is derived from the non-negative IC value of
+     * the compared vertex, thus, it does not require a monotone IC model.
+     * @param query Query vertex
+     * @param ancestor MICA vertex, or null if there is none
+     * @return Upper bound of the similarity
+     */
+    
+    @Override
+    protected double getAncestorUpperBound(
+            IVertex query,
+            IVertex ancestor)
+    {
+        double  bound = 0.0;    // Returned value
+        
+        // We check the existence of the MICA vertex and the
+        // IC value of the query vertex
+        
+        if ((ancestor != null) && (query.getICvalue() > 0.0))
+        {
+            bound = 2.0 * ancestor.getICvalue() / query.getICvalue();
+        }
+        else if (ancestor != null)
+        {
+            bound = Double.POSITIVE_INFINITY;
+        }
+        
+        // We return the result
+        
+        return (bound);
+    }
 }
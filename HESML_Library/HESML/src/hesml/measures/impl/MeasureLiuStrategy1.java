@@ -21,6 +21,7 @@
 
 package hesml.measures.impl;
 
+import hesml.measures.ISynsetPairFeatures;
 import hesml.measures.SimilarityMeasureClass;
 import hesml.measures.SimilarityMeasureType;
 import hesml.taxonomy.ITaxonomy;
@@ -95,13 +96,15 @@ class MeasureLiuStrategy1 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -115,7 +118,7 @@ class MeasureLiuStrategy1 extends SimilaritySemanticMeasure
         {
             // We get the Lowest Common Subsummer (LCS) vertex
 
-            IVertex lcsVertex = m_Taxonomy.getLCS(left, right, false);
+            IVertex lcsVertex = features.getLCS(false);
 
             // We compute the distance
 
@@ -124,7 +127,7 @@ class MeasureLiuStrategy1 extends SimilaritySemanticMeasure
                 // We obtain the shortest path distance (edge weight = 1.0)
                 // between the input vertexes
 
-                double length = left.getShortestPathDistanceTo(right, false);
+                double length = features.getShortestPathLength(false);
 
                 // We obtain the depth of the LCS vertex defiend as the the
                 // length of shortest path from the vertex to the root
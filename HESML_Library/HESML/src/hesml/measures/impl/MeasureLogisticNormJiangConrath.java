@@ -83,17 +83,19 @@ class MeasureLogisticNormJiangConrath extends BaseJiangConrathMeasure
      * 
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the distance
         
-        double distance = getClassicJiangConrathDist(left, right);
+        double distance = getClassicJiangConrathDist(left, right, features.getMICA());
         
         // We normalize the distance
         
@@ -76,17 +76,19 @@ class MeasureMeng2012 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
-        IVertex micaVertex = m_Taxonomy.getMICA(left, right);
+        IVertex micaVertex = features.getMICA();
        
         // We check the existence of the MICA vertex
         
@@ -88,17 +88,19 @@ class MeasureMeng2014 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
-        IVertex micaVertex = m_Taxonomy.getMICA(left, right);
+        IVertex micaVertex = features.getMICA();
        
         double  length; // Length based in edge counting
         double  power;  // Power factor
@@ -109,7 +111,7 @@ class MeasureMeng2014 extends SimilaritySemanticMeasure
         {
             // We get the length among concepts
 
-            length = left.getShortestPathDistanceTo(right, false);
+            length = features.getShortestPathLength(false);
 
             // We measure the power factor
 
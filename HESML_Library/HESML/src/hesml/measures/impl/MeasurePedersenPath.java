@@ -77,22 +77,40 @@ class MeasurePedersenPath extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity;   // Returned value
 
         // We compute the shortest path length
         
-        similarity = 1.0 / (1.0 + left.getShortestPathDistanceTo(right, false));
+        similarity = 1.0 / (1.0 + features.getShortestPathLength(false));
         
         // We return the result
         
         return (similarity);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex,
+     * which are the nearest ones because the measure is the inverse
+     * of the path length.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+    {
+        selectNearestVertexes(query, false, topVertexes);
+    }
 }
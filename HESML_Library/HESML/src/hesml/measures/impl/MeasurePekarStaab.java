@@ -21,6 +21,7 @@
 
 package hesml.measures.impl;
 
+import hesml.measures.ISynsetPairFeatures;
 import hesml.measures.SimilarityMeasureClass;
 import hesml.measures.SimilarityMeasureType;
 import hesml.taxonomy.ITaxonomy;
@@ -78,13 +79,15 @@ class MeasurePekarStaab extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -98,7 +101,7 @@ class MeasurePekarStaab extends SimilaritySemanticMeasure
         {
             // We obtain the Lowest Common Subsumer
 
-            IVertex lcsVertex = left.getTaxonomy().getLCS(left, right, false);
+            IVertex lcsVertex = features.getLCS(false);
 
             // We check that there is a LCS vertex
 
@@ -110,9 +113,9 @@ class MeasurePekarStaab extends SimilaritySemanticMeasure
 
                 // We compute the distance between the input vertexes, LCS and root
 
-                double distLcsRoot = lcsVertex.getShortestPathDistanceTo(root, false);
-                double distLeftLcs = left.getShortestPathDistanceTo(lcsVertex, false);
-                double distRightLcs = right.getShortestPathDistanceTo(lcsVertex, false);
+                double distLcsRoot = features.getDistanceToLCS(root);
+                double distLeftLcs = features.getDistanceToLCS(left);
+                double distRightLcs = features.getDistanceToLCS(right);
 
                 // We compute the similarity as defined in equation (2) of the paper
 
@@ -78,13 +78,15 @@ class MeasurePirroSeco extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -100,7 +102,7 @@ class MeasurePirroSeco extends SimilaritySemanticMeasure
         {
             // We get the MICA vertex
 
-            micaVertex = m_Taxonomy.getMICA(left, right);
+            micaVertex = features.getMICA();
 
             // We compute the distance
 
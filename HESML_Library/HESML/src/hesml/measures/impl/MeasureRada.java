@@ -78,17 +78,19 @@ class MeasureRada extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the shortest path length
         
-        double distance = left.getShortestPathDistanceTo(right, false);
+        double distance = features.getShortestPathLength(false);
         
         // We return the result
         
@@ -107,4 +109,20 @@ class MeasureRada extends SimilaritySemanticMeasure
     {
         return (Double.NEGATIVE_INFINITY);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex.
+     * The Rada distance is the length of the shortest path, thus, the
+     * most similar vertexes are the nearest ones.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+    {
+        selectNearestVertexes(query, false, topVertexes);
+    }
 }
@@ -75,17 +75,37 @@ class MeasureResnik extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
+    {
+        return (compareWithMICA(left, right, features.getMICA()));
+    }
+    
+    /**
+     * This function returns the Resnik similarity of the input vertexes
+     * for the given MICA vertex.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param micaVertex MICA vertex, or null if there is none
+     * @return Similarity value
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected double compareWithMICA(
             IVertex left,
-            IVertex right) throws InterruptedException, Exception
+            IVertex right,
+            IVertex micaVertex) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
-
-        IVertex micaVertex = m_Taxonomy.getMICA(right, left);
         
         // We compute the similarity value, but we check before the
         // existence of the MICA vertex.
@@ -99,5 +119,40 @@ class MeasureResnik extends SimilaritySemanticMeasure
         
         return (similarity);
     }
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex
+     * by visiting the ancestors of the query vertex in decreasing IC order.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+            throws InterruptedException, Exception
+    {
+        selectByAncestorBounds(query, topVertexes);
+    }
+    
+    /**
+     * This function returns the similarity of the vertexes whose MICA
+     * vertex with the query vertex is the input ancestor, which is the
+     * IC value of the ancestor. Thus, the bound is exact.
+     * @param query Query vertex
+     * @param ancestor MICA vertex, or null if there is none
+     * @return Upper bound of the similarity
+     */
+    
+    @Override
+    protected double getAncestorUpperBound(
+            IVertex query,
+            IVertex ancestor)
+    {
+        return ((ancestor != null) ? ancestor.getICvalue() : 0.0);
+    }
 }
 
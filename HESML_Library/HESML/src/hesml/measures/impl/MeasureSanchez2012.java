@@ -76,13 +76,15 @@ class MeasureSanchez2012 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Dissimilarity value.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  dissimilarity;   // Returned value
        
@@ -91,21 +93,13 @@ class MeasureSanchez2012 extends SimilaritySemanticMeasure
         
         double  featuresRatio;    // Argfument
         
-        // We get the ancestro sets
+        // We measure the intersection of the inclusive ancestor sets
+        // and the difference sets from their cardinals
         
-        IVertexList leftAncestors = left.getAncestors(true);
-        IVertexList rightAncestors = right.getAncestors(true);
+        intersection = features.getCommonAncestorCount();
         
-        // We measure the difference sets and the intersection
-        
-        leftDif = leftAncestors.getDifferenceSetCount(rightAncestors);
-        rightDif = rightAncestors.getDifferenceSetCount(leftAncestors);
-        intersection = leftAncestors.getIntersectionSetCount(rightAncestors);
-        
-        // We clear the sets
-        
-        leftAncestors.clear();
-        rightAncestors.clear();
+        leftDif = left.getNonInclusiveAncestorSetCount() + 1 - intersection;
+        rightDif = right.getNonInclusiveAncestorSetCount() + 1 - intersection;
         
         // We compute the dissimilarity ratio
         
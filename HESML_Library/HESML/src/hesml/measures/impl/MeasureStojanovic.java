@@ -21,11 +21,11 @@
 
 package hesml.measures.impl;
 
+import hesml.measures.ISynsetPairFeatures;
 import hesml.measures.SimilarityMeasureClass;
 import hesml.measures.SimilarityMeasureType;
 import hesml.taxonomy.ITaxonomy;
 import hesml.taxonomy.IVertex;
-import hesml.taxonomy.IVertexList;
 
 /**
  * This class implements the similarity measures defined in equation (9)
@@ -78,30 +78,28 @@ class MeasureStojanovic extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return Similarity value.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
-        // We get the inclusive ancestors of the input vertexes
-        // in accordance with the definition provided in equation (7)
-        // of Stojanovic et al. (2001).
+        // We get the count of the intersection set of the inclusive
+        // ancestors of the input vertexes in accordance with the
+        // definition provided in equation (7) of Stojanovic et al. (2001).
         
-        IVertexList leftAncestors = left.getAncestors(true);
-        IVertexList rightAncestors = right.getAncestors(true);
+        double intersectionCount = features.getCommonAncestorCount();
         
-        // We get the count of the insersection set
+        // We get the count of the union set from the cardinals
+        // of the inclusive ancestor sets
         
-        double intersectionCount = leftAncestors.getIntersectionSetCount(rightAncestors);
-        double unionCount = leftAncestors.getUnionSetCount(rightAncestors);
-        
-        // We release the ancestor sets
-        
-        leftAncestors.clear();
-        rightAncestors.clear();
+        double unionCount = (left.getNonInclusiveAncestorSetCount() + 1)
+                + (right.getNonInclusiveAncestorSetCount() + 1)
+                - intersectionCount;
         
         // We compute the similarity as the ratio between the intersection
         // and union sets, as defined in equation (9) of the paper.
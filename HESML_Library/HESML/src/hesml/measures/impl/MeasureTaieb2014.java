@@ -117,7 +117,8 @@ class MeasureTaieb2014 extends SimilaritySemanticMeasure
             {
                 // We compoute the similarity value between left and right vertexes
                 
-                similarity = similarityWithFactor(leftVertex, rightVertex, factor);
+                similarity = similarityWithFactor(leftVertex, rightVertex,
+                                m_Taxonomy.getLCS(leftVertex, rightVertex, true), factor);
                 
                 // We save the best value
                 
@@ -135,26 +136,22 @@ class MeasureTaieb2014 extends SimilaritySemanticMeasure
      * introduced by HAdj Taieb et al. in their paper.
      * @param left
      * @param right
+     * @param lcsVertex LCS vertex using the maximum depth, or null
+     * @param factor Adjustment factor
      * @return The semantic distance between the nodes.
      */
     
     private double similarityWithFactor(
             IVertex left,
             IVertex right,
+            IVertex lcsVertex,
             double  factor) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
-        IVertex lcsVertex;  // Least common subsumer
-        
         double  termHypo;   // We compute the termHypo
         double  termDepth;
         
-        // We compute the termHYpo
-        // We get the LCS vertex
-
-        lcsVertex = m_Taxonomy.getLCS(left, right, true);
-
         // We evaluate the terms in the similarity measure. We recall that
         // the IC values contains the node-valued specificity function
         // defined by Hadj Taieb et al. in their paper.
@@ -233,17 +230,19 @@ class MeasureTaieb2014 extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We get the similarity value
         
-        double similarity = similarityWithFactor(left, right, 0.0);
+        double similarity = similarityWithFactor(left, right, features.getLCS(true), 0.0);
         
         // We return the result
         
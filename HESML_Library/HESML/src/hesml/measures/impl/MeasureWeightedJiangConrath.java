@@ -84,11 +84,15 @@ class MeasureWeightedJiangConrath extends BaseJiangConrathMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return IC-based Weighted distance between the nodes.
      */
     
     @Override
-    public double compare(IVertex left, IVertex right)
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         // We compute the weighted distance between the nodes.
         // Before to evaluate this measure is necessary to
@@ -96,7 +100,7 @@ class MeasureWeightedJiangConrath extends BaseJiangConrathMeasure
         // IC-based weights used by the wieghted Jiang-Conrath
         // measures like this one.
         
-        return (left.getShortestPathDistanceTo(right, true));
+        return (features.getShortestPathLength(true));
     }
     
     /**
@@ -112,4 +116,19 @@ class MeasureWeightedJiangConrath extends BaseJiangConrathMeasure
         //return (1.0 - m_Taxonomy.getVertexes().getGreatestICValue());
         return (Double.NEGATIVE_INFINITY);
     }    
+    
+    /**
+     * This function selects the vertexes most similar to the query vertex,
+     * which are the nearest ones using the IC-based edge weights.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    @Override
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+    {
+        selectNearestVertexes(query, true, topVertexes);
+    }
 }
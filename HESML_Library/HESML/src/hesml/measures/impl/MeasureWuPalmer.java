@@ -77,13 +77,15 @@ class MeasureWuPalmer extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -99,26 +101,26 @@ class MeasureWuPalmer extends SimilaritySemanticMeasure
         {
             // We get the LCS vertex
 
-            lcsVertex = m_Taxonomy.getLCS(left, right, false);
+            lcsVertex = features.getLCS(false);
 
             // We compute the distance field from the LCS vertex
             // and finally the similarity value
             
             if (lcsVertex != null)
             {
-                // In order to save computation time, we compute
-                // the distance field from the LCS vertex to the
-                // remainder vertexes within the taxonomy before
-                // to recover the two required distances from
-                // the minimum distance attribute of each vertex.
+                // We compute the distances from the LCS vertex to the
+                // input vertexes. We do not use the distance field of the
+                // LCS vertex because it is stored in the vertexes, thus,
+                // it would avoid the concurrent evaluation of the measure.
                 
-                lcsVertex.computeDistanceField(false);
+                double leftDistance = features.getDistanceToLCS(left);
+                double rightDistance = features.getDistanceToLCS(right);
                 
                 // We compute the similarity
                 
                 similarity = 2.0 * lcsVertex.getDepthMin() /
-                        (2.0 * lcsVertex.getDepthMin() + left.getMinDistance()
-                        + right.getMinDistance());
+                        (2.0 * lcsVertex.getDepthMin() + leftDistance
+                        + rightDistance);
             }
         }
         
@@ -77,13 +77,15 @@ class MeasureWuPalmerFast extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity = 0.0;   // Returned value
 
@@ -99,7 +101,7 @@ class MeasureWuPalmerFast extends SimilaritySemanticMeasure
         {
             // We get the LCS vertex
 
-            lcsVertex = m_Taxonomy.getLCS(left, right, false);
+            lcsVertex = features.getLCS(false);
 
             // We compute the distance field from the LCS vertex
             // and finally the similarity value
@@ -88,13 +88,15 @@ class MeasureZhou extends SimilaritySemanticMeasure
      * This function returns the comparison between nodes.
      * @param left
      * @param right
+     * @param features Features of the vertex pair
      * @return The semantic distance between the nodes.
      */
     
     @Override
-    public double compare(
-            IVertex left,
-            IVertex right) throws InterruptedException, Exception
+    protected double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception
     {
         double  similarity;   // Returned value
 
@@ -104,11 +106,12 @@ class MeasureZhou extends SimilaritySemanticMeasure
         
         // We get the Jiang-Conrath distance
         
-        distJC = BaseJiangConrathMeasure.getClassicJiangConrathDist(left, right);
+        distJC = BaseJiangConrathMeasure.getClassicJiangConrathDist(left, right,
+                    features.getMICA());
         
         // We get the edge length between the nodes
         
-        length = left.getShortestPathDistanceTo(right, false);
+        length = features.getShortestPathLength(false);
         
         // We compute the depth factor
         
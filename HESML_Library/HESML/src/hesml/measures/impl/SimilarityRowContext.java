@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.measures.ISynsetPairFeatures;
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the primitives shared by all the pairs in a row of a
+ * similarity matrix, which are the MICA and LCS vertexes, and the length
+ * of the shortest paths, between the row vertex and every column vertex.
+ * Each primitive is computed for the whole row the first time that it
+ * is requested by the measure, thus, the ancestors and the distance
+ * field of the row vertex are computed once per row instead of once
+ * per pair. The context represents the features of the current pair,
+ * which are passed to the formula of the measure. The remaining features
+ * are computed for the current pair when they are requested. The
+ * context is owned by a single thread, which reuses it
+ * for its successive matrices, and the vectors are only reallocated
+ * when the matrix has more columns than the previous ones.
+ * @author Juan Lastra-Díaz
+ */
+
+class SimilarityRowContext implements ISynsetPairFeatures
+{
+    /**
+     * Taxonomy of the measure
+     */
+    
+    private final ITaxonomy     m_Taxonomy;
+    
+    /**
+     * Column vertexes
+     */
+    
+    private IVertexList m_Columns;
+    
+    /**
+     * Current row and column vertexes, and position of the column
+     */
+    
+    private IVertex m_Row;
+    private IVertex m_Column;
+    private int     m_ColumnIndex;
+    
+    /**
+     * MICA vertexes, LCS vertexes using the minimum and maximum depth,
+     * and unweighted and weighted shortest path lengths of the current row.
+     * The vectors are null until the primitive is requested.
+     */
+    
+    private IVertex[]   m_MICAs;
+    private IVertex[]   m_LCSsByDepthMin;
+    private IVertex[]   m_LCSsByDepthMax;
+    private double[]    m_Distances;
+    private double[]    m_WeightedDistances;
+    
+    /**
+     * Flags indicating if the primitives were computed for the current row
+     */
+    
+    private boolean m_MICAsReady;
+    private boolean m_LCSsByDepthMinReady;
+    private boolean m_LCSsByDepthMaxReady;
+    private boolean m_DistancesReady;
+    private boolean m_WeightedDistancesReady;
+    
+    /**
+     * Constructor
+     * @param taxonomy Taxonomy of the measure
+     */
+    
+    SimilarityRowContext(
+            ITaxonomy   taxonomy)
+    {
+        m_Taxonomy = taxonomy;
+        m_ColumnIndex = -1;
+    }
+    
+    /**
+     * This function sets the column vertexes of a novel matrix, or it
+     * releases the current ones when the input list is null. The
+     * vectors of the primitives are kept in order to be reused.
+     * @param columns Column vertexes or null
+     */
+    
+    void setColumns(
+            IVertexList columns)
+    {
+        m_Columns = columns;
+        
+        setRow(null);
+    }
+    
+    /**
+     * This function returns the number of columns.
+     * @return Number of column vertexes
+     */
+    
+    int getColumnCount()
+    {
+        return (m_Columns.getCount());
+    }
+    
+    /**
+     * This function sets the current row and it discards the
+     * primitives computed for the previous row.
+     * @param row Row vertex
+     */
+    
+    void setRow(
+            IVertex row)
+    {
+        m_Row = row;
+        m_Column = null;
+        m_ColumnIndex = -1;
+        
+        m_MICAsReady = false;
+        m_LCSsByDepthMinReady = false;
+        m_LCSsByDepthMaxReady = false;
+        m_DistancesReady = false;
+        m_WeightedDistancesReady = false;
+    }
+    
+    /**
+     * This function sets the current column.
+     * @param columnIndex Position of the column
+     * @return Column vertex
+     */
+    
+    IVertex setColumn(
+            int columnIndex)
+    {
+        m_ColumnIndex = columnIndex;
+        m_Column = m_Columns.getAt(columnIndex);
+        
+        // We return the result
+        
+        return (m_Column);
+    }
+    
+    /**
+     * This function returns the row vertex of the current pair.
+     * @return Row vertex
+     */
+    
+    @Override
+    public IVertex getLeft()
+    {
+        return (m_Row);
+    }
+    
+    /**
+     * This function returns the column vertex of the current pair.
+     * @return Column vertex
+     */
+    
+    @Override
+    public IVertex getRight()
+    {
+        return (m_Column);
+    }
+    
+    /**
+     * This function returns the MICA vertex of the current pair.
+     * @return MICA vertex
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public IVertex getMICA() throws InterruptedException, Exception
+    {
+        // We compute the MICA vertexes of the row
+        
+        if (!m_MICAsReady)
+        {
+            if ((m_MICAs == null) || (m_MICAs.length < m_Columns.getCount()))
+            {
+                m_MICAs = new IVertex[m_Columns.getCount()];
+            }
+            
+            m_Taxonomy.getMICAs(m_Row, m_Columns, m_MICAs);
+            m_MICAsReady = true;
+        }
+        
+        // We return the result
+        
+        return (m_MICAs[m_ColumnIndex]);
+    }
+    
+    /**
+     * This function returns the LCS vertex of the current pair.
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @return LCS vertex
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public IVertex getLCS(
+            boolean useLongestDepth) throws Exception
+    {
+        IVertex lcsVertex;  // Returned value
+        
+        // We compute the LCS vertexes of the row
+        
+        if (useLongestDepth)
+        {
+            if (!m_LCSsByDepthMaxReady)
+            {
+                if ((m_LCSsByDepthMax == null)
+                        || (m_LCSsByDepthMax.length < m_Columns.getCount()))
+                {
+                    m_LCSsByDepthMax = new IVertex[m_Columns.getCount()];
+                }
+                
+                m_Taxonomy.getLCSs(m_Row, m_Columns, true, m_LCSsByDepthMax);
+                m_LCSsByDepthMaxReady = true;
+            }
+            
+            lcsVertex = m_LCSsByDepthMax[m_ColumnIndex];
+        }
+        else
+        {
+            if (!m_LCSsByDepthMinReady)
+            {
+                if ((m_LCSsByDepthMin == null)
+                        || (m_LCSsByDepthMin.length < m_Columns.getCount()))
+                {
+                    m_LCSsByDepthMin = new IVertex[m_Columns.getCount()];
+                }
+                
+                m_Taxonomy.getLCSs(m_Row, m_Columns, false, m_LCSsByDepthMin);
+                m_LCSsByDepthMinReady = true;
+            }
+            
+            lcsVertex = m_LCSsByDepthMin[m_ColumnIndex];
+        }
+        
+        // We return the result
+        
+        return (lcsVertex);
+    }
+    
+    /**
+     * This function returns the length of the shortest path
+     * between the vertexes of the current pair.
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
+     */
+    
+    @Override
+    public double getShortestPathLength(
+            boolean weighted)
+    {
+        double  distance;   // Returned value
+        
+        // We compute the distances from the row vertex to the columns
+        
+        if (weighted)
+        {
+            if (!m_WeightedDistancesReady)
+            {
+                if ((m_WeightedDistances == null)
+                        || (m_WeightedDistances.length < m_Columns.getCount()))
+                {
+                    m_WeightedDistances = new double[m_Columns.getCount()];
+                }
+                
+                m_Row.getShortestPathDistancesTo(m_Columns, true, m_WeightedDistances);
+                m_WeightedDistancesReady = true;
+            }
+            
+            distance = m_WeightedDistances[m_ColumnIndex];
+        }
+        else
+        {
+            if (!m_DistancesReady)
+            {
+                if ((m_Distances == null)
+                        || (m_Distances.length < m_Columns.getCount()))
+                {
+                    m_Distances = new double[m_Columns.getCount()];
+                }
+                
+                m_Row.getShortestPathDistancesTo(m_Columns, false, m_Distances);
+                m_DistancesReady = true;
+            }
+            
+            distance = m_Distances[m_ColumnIndex];
+        }
+        
+        // We return the result
+        
+        return (distance);
+    }
+    
+    /**
+     * This function returns the length of the unweighted shortest path
+     * between the LCS vertex of the current pair, using the minimum
+     * depth, and the target vertex.
+     * @param target Target vertex
+     * @return Length of the shortest path, or infinite if the vertexes
+     * of the current pair do not share any ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public double getDistanceToLCS(
+            IVertex target) throws Exception
+    {
+        IVertex lcsVertex = getLCS(false);
+        
+        return ((lcsVertex != null) ? lcsVertex.getShortestPathDistanceTo(target, false)
+                : Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * This function returns the number of common ancestors
+     * of the current pair.
+     * @return Number of common ancestors
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public int getCommonAncestorCount() throws Exception
+    {
+        return (m_Taxonomy.getCommonAncestorCount(m_Row, m_Column));
+    }
+}
@@ -25,6 +25,8 @@ package hesml.measures.impl;
 
 import hesml.measures.*;
 import hesml.taxonomy.*;
+import java.util.ArrayDeque;
+import java.util.HashSet;
 
 /**
  * This class implements a collection of common functions for all the
@@ -39,7 +41,14 @@ abstract class SimilaritySemanticMeasure implements ISimilarityMeasure
      */
     
     protected ITaxonomy   m_Taxonomy;
-
+    
+    /**
+     * Spare row context of each thread, which is reused by the successive
+     * matrices of the thread, or null while it is in use
+     */
+    
+    private final ThreadLocal<SimilarityRowContext> m_SpareRowContext;
+    
     /**
      * Constructor
      */
@@ -48,13 +57,500 @@ abstract class SimilaritySemanticMeasure implements ISimilarityMeasure
         ITaxonomy   taxonomy)
     {
         m_Taxonomy = taxonomy;
+        m_SpareRowContext = new ThreadLocal<>();
+    }
+    
+    /**
+     * This function computes the similarity matrix between the row and
+     * column vertexes, which is stored by rows in the output vector.
+     * The MICA and LCS vertexes, and the shortest path lengths, required
+     * by the measure are computed once per row for all the columns by
+     * the row context, which is passed to the measure as the features
+     * of each pair.
+     * @param rows Row vertexes
+     * @param columns Column vertexes
+     * @param similarities Output vector with rows x columns values
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void getSimilarityMatrix(
+            IVertexList rows,
+            IVertexList columns,
+            double[]    similarities)
+            throws InterruptedException, Exception
+    {
+        int columnCount = columns.getCount();
+        
+        // We check the size of the output vector
+        
+        if (similarities.length < rows.getCount() * columnCount)
+        {
+            throw (new Exception("The similarity vector is smaller than the matrix"));
+        }
+        
+        SimilarityRowContext    context = acquireRowContext(columns);
+        
+        // We compute the matrix by rows
+        
+        try
+        {
+            int offset = 0;
+            
+            for (IVertex row: rows)
+            {
+                getRowSimilarities(context, row, similarities, offset);
+                offset += columnCount;
+            }
+        }
+        finally
+        {
+            releaseRowContext(context);
+        }
+    }
+    
+    /**
+     * This function computes the similarity between the source vertex
+     * and every vertex in the taxonomy. The row context computes the
+     * whole distance field of the source vertex, and the MICA and LCS
+     * vertexes of all the vertexes are computed by a single sweep.
+     * @param source Source vertex
+     * @param similarities Output vector with one value per vertex
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void getSimilarityToAll(
+            IVertex     source,
+            double[]    similarities)
+            throws InterruptedException, Exception
+    {
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // All vertexes
+        
+        // We check the size of the output vector
+        
+        if (similarities.length < vertexes.getCount())
+        {
+            throw (new Exception("The similarity vector is smaller than the taxonomy"));
+        }
+        
+        SimilarityRowContext    context = acquireRowContext(vertexes);
+        
+        // We compute the similarity with all the vertexes
+        
+        try
+        {
+            getRowSimilarities(context, source, similarities, 0);
+        }
+        finally
+        {
+            releaseRowContext(context);
+        }
+    }
+    
+    /**
+     * This function returns the spare row context of the current thread
+     * set up for the input columns. A novel context is created when the
+     * spare one is in use by an enclosing matrix of the same thread.
+     * @param columns Column vertexes
+     * @return Row context, which must be returned by calling
+     * the releaseRowContext() function
+     */
+    
+    private SimilarityRowContext acquireRowContext(
+            IVertexList columns)
+    {
+        SimilarityRowContext    context = m_SpareRowContext.get();  // Returned value
+        
+        // We take the spare context or we create a novel one
+        
+        if (context != null)
+        {
+            m_SpareRowContext.set(null);
+        }
+        else
+        {
+            context = new SimilarityRowContext(m_Taxonomy);
+        }
+        
+        context.setColumns(columns);
+        
+        // We return the result
+        
+        return (context);
+    }
+    
+    /**
+     * This function returns a row context to the current thread in
+     * order to be reused by its next matrix.
+     * @param context Row context returned by the acquireRowContext() function
+     */
+    
+    private void releaseRowContext(
+            SimilarityRowContext    context)
+    {
+        context.setColumns(null);
+        
+        m_SpareRowContext.set(context);
+    }
+    
+    /**
+     * This function computes the similarity between the row vertex
+     * and all the column vertexes of the row context.
+     * @param context Row context of the current thread
+     * @param row Row vertex
+     * @param similarities Output vector
+     * @param offset Position of the first value in the output vector
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    private void getRowSimilarities(
+            SimilarityRowContext    context,
+            IVertex                 row,
+            double[]                similarities,
+            int                     offset)
+            throws InterruptedException, Exception
+    {
+        int columnCount = context.getColumnCount();
+        
+        // We set the row vertex and we compute the similarity
+        // with every column vertex
+        
+        context.setRow(row);
+        
+        for (int j = 0; j < columnCount; j++)
+        {
+            similarities[offset + j] = convertToSimilarity(
+                    compare(row, context.setColumn(j), context));
+        }
+    }
+    
+    /**
+     * This function returns the k vertexes most similar to the query
+     * vertex, excluding itself, in decreasing order of similarity.
+     * The vertexes are selected by the selectTopKSimilar() function,
+     * which is overriden by the measures able to prune the search.
+     * @param query Query vertex
+     * @param k Number of vertexes to be retrieved
+     * @return Most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public IVertex[] getTopKSimilar(
+            IVertex query,
+            int     k)
+            throws InterruptedException, Exception
+    {
+        // We create the selection of vertexes
+        
+        SimilarityTopKHeap  topVertexes = new SimilarityTopKHeap(Math.max(0,
+                                Math.min(k, m_Taxonomy.getVertexes().getCount() - 1)));
+        
+        // We select the most similar vertexes
+        
+        selectTopKSimilar(query, topVertexes);
+        
+        // We return the result
+        
+        return (topVertexes.getSortedVertexes());
+    }
+    
+    /**
+     * This function offers every vertex in the taxonomy to the selection
+     * of most similar vertexes. The similarity values are computed by
+     * the getSimilarityToAll() function.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    protected void selectTopKSimilar(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+            throws InterruptedException, Exception
+    {
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // All vertexes
+        
+        // We compute the similarity with all the vertexes
+        
+        double[]    similarities = new double[vertexes.getCount()];
+        
+        getSimilarityToAll(query, similarities);
+        
+        // We select the most similar vertexes
+        
+        for (int i = 0; i < similarities.length; i++)
+        {
+            IVertex vertex = vertexes.getAt(i);
+            
+            if (vertex != query)
+            {
+                topVertexes.offer(vertex, similarities[i]);
+            }
+        }
+    }
+    
+    /**
+     * This function selects the most similar vertexes for the measures
+     * whose similarity is a non-increasing function of the length of the
+     * shortest path between the concepts. Thus, the most similar vertexes
+     * are the nearest ones, which are retrieved by a traversal from the
+     * query vertex that stops once k vertexes are reached. The vertexes
+     * are ranked by their negative distance, and the vertexes which
+     * are not connected to the query vertex fill the selection when
+     * there are not enough connected vertexes.
+     * @param query Query vertex
+     * @param weighted Flag indicating if the edge weights are used
+     * @param topVertexes Selection of most similar vertexes
+     */
+    
+    protected void selectNearestVertexes(
+            IVertex             query,
+            boolean             weighted,
+            SimilarityTopKHeap  topVertexes)
+    {
+        int k = topVertexes.getCapacity();
+        
+        // We retrieve the nearest vertexes
+        
+        IVertex[]   nearest = new IVertex[k];
+        double[]    distances = new double[k];
+        
+        int count = query.getNearestVertexes(weighted, nearest, distances);
+        
+        for (int i = 0; i < count; i++)
+        {
+            topVertexes.offer(nearest[i], -distances[i]);
+        }
+        
+        // We fill the selection with disconnected vertexes
+        
+        if (count < k)
+        {
+            HashSet<IVertex>    selected = new HashSet<>();
+            
+            selected.add(query);
+            
+            for (int i = 0; i < count; i++)
+            {
+                selected.add(nearest[i]);
+            }
+            
+            for (IVertex vertex: m_Taxonomy.getVertexes())
+            {
+                if ((count < k) && !selected.contains(vertex))
+                {
+                    topVertexes.offer(vertex, Double.NEGATIVE_INFINITY);
+                    count++;
+                }
+            }
+        }
+    }
+    
+    /**
+     * This function selects the most similar vertexes for the measures
+     * based on the MICA vertex, which define an upper bound of the
+     * similarity as function of the MICA vertex. The ancestors of the
+     * query vertex are visited in decreasing IC order, and the hyponyms
+     * of each ancestor not visited yet are compared with the query vertex.
+     * Thus, the ancestor which reaches a vertex for the first time is
+     * its MICA vertex with the query vertex, and it is passed to the
+     * compareWithMICA() function. The search stops once the upper bound
+     * of the remaining ancestors cannot improve the selection, thus,
+     * their subtrees are skipped. The vertexes without any common
+     * ancestor with the query vertex are only compared when their upper
+     * bound can improve the selection.
+     * @param query Query vertex
+     * @param topVertexes Selection of most similar vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    protected void selectByAncestorBounds(
+            IVertex             query,
+            SimilarityTopKHeap  topVertexes)
+            throws InterruptedException, Exception
+    {
+        IVertexList ancestors = query.getAncestors(true);   // Ancestors
+        
+        int ancestorCount = ancestors.getCount();
+        
+        // We sort the ancestors in decreasing IC order
+        
+        IVertex[]   sorted = new IVertex[ancestorCount];
+        
+        for (int i = 0; i < ancestorCount; i++)
+        {
+            IVertex ancestor = ancestors.getAt(i);
+            
+            int j = i;
+            
+            while ((j > 0) && (sorted[j - 1].getICvalue() < ancestor.getICvalue()))
+            {
+                sorted[j] = sorted[j - 1];
+                j--;
+            }
+            
+            sorted[j] = ancestor;
+        }
+        
+        // We compute the highest upper bound among each ancestor
+        // and the following ones
+        
+        double[]    bounds = new double[ancestorCount + 1];
+        
+        bounds[ancestorCount] = Double.NEGATIVE_INFINITY;
+        
+        for (int i = ancestorCount - 1; i >= 0; i--)
+        {
+            bounds[i] = Math.max(bounds[i + 1], getAncestorUpperBound(query, sorted[i]));
+        }
+        
+        // We visit the hyponyms of the ancestors while their bound can
+        // improve the selection. The subtree of a visited vertex is never
+        // visited again, because it was fully visited before.
+        
+        HashSet<IVertex>    visited = new HashSet<>();
+        ArrayDeque<IVertex> pending = new ArrayDeque<>();
+        
+        for (int i = 0; (i < ancestorCount) && topVertexes.isImprovedBy(bounds[i]); i++)
+        {
+            IVertex ancestor = sorted[i];
+            
+            if (visited.add(ancestor))
+            {
+                pending.push(ancestor);
+            }
+            
+            while (!pending.isEmpty())
+            {
+                IVertex vertex = pending.pop();
+                
+                if (vertex != query)
+                {
+                    topVertexes.offer(vertex, convertToSimilarity(
+                            compareWithMICA(query, vertex, ancestor)));
+                }
+                
+                vertex.visitChildren(child ->
+                {
+                    if (visited.add(child))
+                    {
+                        pending.push(child);
+                    }
+                });
+            }
+        }
+        
+        // We compare the vertexes not visited when the vertexes
+        // without common ancestors can improve the selection
+        
+        if ((visited.size() < m_Taxonomy.getVertexes().getCount())
+                && topVertexes.isImprovedBy(getAncestorUpperBound(query, null)))
+        {
+            for (IVertex vertex: m_Taxonomy.getVertexes())
+            {
+                if ((vertex != query) && !visited.contains(vertex))
+                {
+                    topVertexes.offer(vertex, convertToSimilarity(
+                            compareWithMICA(query, vertex, null)));
+                }
+            }
+        }
+    }
+    
+    /**
+     * This function returns the value of the measure for the input
+     * vertexes when their MICA vertex is already known. The measures
+     * based on the MICA vertex override this function, whilst the
+     * remaining measures ignore the MICA vertex.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param micaVertex MICA vertex, or null if there is none
+     * @return Value of the measure
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    protected double compareWithMICA(
+            IVertex left,
+            IVertex right,
+            IVertex micaVertex) throws InterruptedException, Exception
+    {
+        return (compare(left, right));
+    }
+    
+    /**
+     * This function returns an upper bound of the similarity between the
+     * query vertex and any vertex whose MICA vertex with the query vertex
+     * is the input ancestor. The trivial bound is returned by default.
+     * @param query Query vertex
+     * @param ancestor Common ancestor, or null for the vertexes which
+     * do not share any ancestor with the query vertex
+     * @return Upper bound of the similarity
+     */
+    
+    protected double getAncestorUpperBound(
+            IVertex query,
+            IVertex ancestor)
+    {
+        return (Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * This function returns the value of the measure for the input
+     * vertexes. The features of the pair are computed on-demand
+     * for the formula of the measure.
+     * @param left First vertex
+     * @param right Second vertex
+     * @return Value of the measure
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public double compare(
+            IVertex left,
+            IVertex right) throws InterruptedException, Exception
+    {
+        return (compare(left, right, new SynsetPairFeatures(left, right, false)));
     }
     
+    /**
+     * This function evaluates the formula of the measure for the input
+     * vertexes. The MICA and LCS vertexes, the shortest path lengths and
+     * the common ancestor count are retrieved from the input features,
+     * which can be shared with other measures or the remaining pairs
+     * of a similarity matrix.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param features Features of the vertex pair
+     * @return Value of the measure
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    protected abstract double compare(
+            IVertex             left,
+            IVertex             right,
+            ISynsetPairFeatures features) throws InterruptedException, Exception;
+    
     /**
      * This function returns the best similarity value for the Cartesian
      * product of both concept set. This function is overriden by the
      * Hadj Taieb et al (2014) measure in order to manage their second
-     * measure which considers the number of synsets per word.
+     * measure which considers the number of synsets per word. The
+     * similarity values are computed by rows with the row context of the
+     * current thread in order to share the ancestors and distances of
+     * each left concept, and they are not stored. When the second set has
+     * a single concept, the context cannot share anything between the
+     * pairs, thus, their similarity is computed directly.
      * @param firstWordVertexes Vertexes associated to the concept set 1
      * @param secondWordVertexes Vertexes associated to the concept set 2
      * @return Best similarity value
@@ -72,21 +568,44 @@ abstract class SimilaritySemanticMeasure implements ISimilarityMeasure
         
         double  bestSimilarityValue = getNullSimilarityValue();
         
-        double  similarity; // Similarity value
+        int columnCount = secondWordVertexes.getCount();
         
-        // We search for the best similarity value
+        // We compute the similarity value between left and right vertexes
+        // directly when there is a single right vertex
         
-        for (IVertex leftVertex: firstWordVertexes)
+        if (columnCount < 2)
         {
-            for (IVertex rightVertex: secondWordVertexes)
+            for (IVertex left: firstWordVertexes)
             {
-                // We compoute the similarity value between left and right vertexes
-                
-                similarity = getSimilarity(leftVertex, rightVertex);
-                
-                // We save the best value
-                
-                bestSimilarityValue = Math.max(similarity, bestSimilarityValue);
+                for (IVertex right: secondWordVertexes)
+                {
+                    bestSimilarityValue = Math.max(getSimilarity(left, right),
+                                            bestSimilarityValue);
+                }
+            }
+        }
+        else
+        {
+            SimilarityRowContext    context = acquireRowContext(secondWordVertexes);
+            
+            // We search for the best similarity value by rows
+            
+            try
+            {
+                for (IVertex row: firstWordVertexes)
+                {
+                    context.setRow(row);
+                    
+                    for (int j = 0; j < columnCount; j++)
+                    {
+                        bestSimilarityValue = Math.max(convertToSimilarity(compare(row,
+                                                context.setColumn(j), context)), bestSimilarityValue);
+                    }
+                }
+            }
+            finally
+            {
+                releaseRowContext(context);
             }
         }
         
@@ -172,14 +691,41 @@ abstract class SimilaritySemanticMeasure implements ISimilarityMeasure
             IVertex left,
             IVertex right) throws InterruptedException, Exception
     {
-        double  similarity;   // Returned value
+        return (convertToSimilarity(compare(left, right)));
+    }
+    
+    /**
+     * This function returns the degree of similarity between the vertexes
+     * of the synset pair. The pair features are passed to the formula of
+     * the measure, thus, they are shared with the remaining measures.
+     * @param features Features of the synset pair
+     * @return Similarity value
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public double getSimilarity(
+            ISynsetPairFeatures features) throws InterruptedException, Exception
+    {
+        return (convertToSimilarity(compare(features.getLeft(),
+                features.getRight(), features)));
+    }
+    
+    /**
+     * This function converts the value returned by the compare() function
+     * into a similarity value according to the class of the measure.
+     * @param value Value returned by the measure
+     * @return Similarity value
+     */
+    
+    private double convertToSimilarity(
+            double  value)
+    {
+        double  similarity = value;   // Returned value
 
         SimilarityMeasureClass    funClass;   // Function class
         
-        // We compute the distance
-        
-        similarity = compare(left, right);
-        
         // We get the function class to convert it in a simkmilarity
         // if it was neeeded
         
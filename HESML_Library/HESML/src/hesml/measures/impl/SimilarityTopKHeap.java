@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class selects the k vertexes with the highest similarity among
+ * a stream of candidate vertexes. The selected vertexes are stored in
+ * a binary min-heap, thus, the lowest selected similarity is always
+ * available in order to prune the candidates, or the groups of
+ * candidates, which cannot improve the current selection.
+ * @author Juan Lastra-Díaz
+ */
+
+class SimilarityTopKHeap
+{
+    /**
+     * Selected vertexes and their similarity values, which are
+     * stored as a min-heap by similarity
+     */
+    
+    private final IVertex[] m_Vertexes;
+    private final double[]  m_Similarities;
+    
+    /**
+     * Number of selected vertexes
+     */
+    
+    private int m_Count;
+    
+    /**
+     * Constructor
+     * @param k Maximum number of selected vertexes
+     */
+    
+    SimilarityTopKHeap(
+            int k)
+    {
+        m_Vertexes = new IVertex[k];
+        m_Similarities = new double[k];
+        m_Count = 0;
+    }
+    
+    /**
+     * This function returns the maximum number of selected vertexes.
+     * @return Value of k
+     */
+    
+    int getCapacity()
+    {
+        return (m_Vertexes.length);
+    }
+    
+    /**
+     * This function checks if a candidate with the input similarity
+     * would be selected by the offer() function.
+     * @param similarity Similarity of the candidate
+     * @return True if the candidate improves the selection
+     */
+    
+    boolean isImprovedBy(
+            double  similarity)
+    {
+        return ((m_Count < m_Vertexes.length)
+                || ((m_Count > 0) && (similarity > m_Similarities[0])));
+    }
+    
+    /**
+     * This function inserts the candidate vertex when its similarity
+     * is higher than the lowest selected one, or the heap is not full.
+     * @param vertex Candidate vertex
+     * @param similarity Similarity of the candidate vertex
+     */
+    
+    void offer(
+            IVertex vertex,
+            double  similarity)
+    {
+        // We insert the vertex at the bottom of the heap, or we replace
+        // the top vertex when the heap is full
+        
+        if (m_Count < m_Vertexes.length)
+        {
+            int child = m_Count++;
+            
+            // We move the vertex up to its position
+            
+            while (child > 0)
+            {
+                int parent = (child - 1) >> 1;
+                
+                if (m_Similarities[parent] <= similarity)
+                {
+                    break;
+                }
+                
+                m_Vertexes[child] = m_Vertexes[parent];
+                m_Similarities[child] = m_Similarities[parent];
+                child = parent;
+            }
+            
+            m_Vertexes[child] = vertex;
+            m_Similarities[child] = similarity;
+        }
+        else if (isImprovedBy(similarity))
+        {
+            siftDown(vertex, similarity, m_Count);
+        }
+    }
+    
+    /**
+     * This function moves the input vertex down from the top of the heap
+     * to its position among the first 'count' vertexes.
+     * @param vertex Vertex to be inserted at the top
+     * @param similarity Similarity of the vertex
+     * @param count Number of vertexes in the heap
+     */
+    
+    private void siftDown(
+            IVertex vertex,
+            double  similarity,
+            int     count)
+    {
+        int parent = 0;
+        int child = 1;
+        
+        // We move the smallest child up until the vertex fits
+        
+        while (child < count)
+        {
+            if ((child + 1 < count)
+                    && (m_Similarities[child + 1] < m_Similarities[child]))
+            {
+                child++;
+            }
+            
+            if (similarity <= m_Similarities[child])
+            {
+                break;
+            }
+            
+            m_Vertexes[parent] = m_Vertexes[child];
+            m_Similarities[parent] = m_Similarities[child];
+            parent = child;
+            child = 2 * parent + 1;
+        }
+        
+        m_Vertexes[parent] = vertex;
+        m_Similarities[parent] = similarity;
+    }
+    
+    /**
+     * This function empties the heap and it returns the selected vertexes
+     * sorted in decreasing order of similarity.
+     * @return Selected vertexes
+     */
+    
+    IVertex[] getSortedVertexes()
+    {
+        IVertex[]   sorted = new IVertex[m_Count];  // Returned value
+        
+        // We remove the top vertex, which is the lowest one, and
+        // we store it at the end of the vector
+        
+        while (m_Count > 0)
+        {
+            sorted[--m_Count] = m_Vertexes[0];
+            
+            if (m_Count > 0)
+            {
+                siftDown(m_Vertexes[m_Count], m_Similarities[m_Count], m_Count);
+            }
+        }
+        
+        // We return the result
+        
+        return (sorted);
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.measures.ISynsetPairFeatures;
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the taxonomical features of a synset pair which are
+ * shared by all the similarity measures evaluated on the pair. Each
+ * feature is computed the first time that it is requested by any
+ * measure, thus, the MICA and LCS vertexes, and the shortest paths,
+ * are computed once per pair instead of once per measure. When the
+ * features are shared by several measures, the MICA and LCS vertexes,
+ * and the common ancestor count, are computed together by a single
+ * intersection of the ancestor sets the first time that any of them
+ * is requested. Otherwise, each feature is computed separately, because
+ * a single measure only requests some of them. The features are owned
+ * by a single thread.
+ * @author Juan Lastra-Díaz
+ */
+
+class SynsetPairFeatures implements ISynsetPairFeatures
+{
+    /**
+     * Taxonomy of the vertexes
+     */
+    
+    private final ITaxonomy m_Taxonomy;
+    
+    /**
+     * Vertexes of the pair
+     */
+    
+    private final IVertex   m_Left;
+    private final IVertex   m_Right;
+    
+    /**
+     * Flag indicating whether the ancestor-based features
+     * are computed together
+     */
+    
+    private final boolean   m_CombineAncestors;
+    
+    /**
+     * MICA vertex, and LCS vertexes using the minimum and maximum depth
+     */
+    
+    private IVertex m_MICA;
+    private IVertex m_LCSByDepthMin;
+    private IVertex m_LCSByDepthMax;
+    
+    /**
+     * Unweighted and weighted shortest path lengths of the pair
+     */
+    
+    private double  m_Distance;
+    private double  m_WeightedDistance;
+    
+    /**
+     * First targets whose distance to the LCS vertex was requested,
+     * which are the left and right vertexes and the first root
+     * for the measures in this package, and their distances.
+     */
+    
+    private IVertex[]   m_LCSTargets;
+    private double[]    m_LCSDistances;
+    
+    private int m_LCSTargetCount;
+    
+    /**
+     * Number of common ancestors
+     */
+    
+    private int m_CommonAncestorCount;
+    
+    /**
+     * Flags indicating if the features were computed
+     */
+    
+    private boolean m_MICAReady;
+    private boolean m_LCSByDepthMinReady;
+    private boolean m_LCSByDepthMaxReady;
+    private boolean m_DistanceReady;
+    private boolean m_WeightedDistanceReady;
+    private boolean m_CommonAncestorCountReady;
+    
+    /**
+     * Constructor
+     * @param left First vertex
+     * @param right Second vertex
+     * @param combineAncestors Flag indicating whether the MICA and LCS
+     * vertexes, and the common ancestor count, are computed together
+     */
+    
+    SynsetPairFeatures(
+            IVertex left,
+            IVertex right,
+            boolean combineAncestors)
+    {
+        m_Taxonomy = left.getTaxonomy();
+        m_Left = left;
+        m_Right = right;
+        m_CombineAncestors = combineAncestors;
+    }
+    
+    /**
+     * This function returns the first vertex of the pair.
+     * @return First vertex
+     */
+    
+    @Override
+    public IVertex getLeft()
+    {
+        return (m_Left);
+    }
+    
+    /**
+     * This function returns the second vertex of the pair.
+     * @return Second vertex
+     */
+    
+    @Override
+    public IVertex getRight()
+    {
+        return (m_Right);
+    }
+    
+    /**
+     * This function computes the MICA and LCS vertexes, and the
+     * common ancestor count, by a single intersection of the
+     * ancestor sets of the pair.
+     * @throws Exception Unexpected error
+     */
+    
+    private void computeAncestors() throws Exception
+    {
+        IVertex[]   bestAncestors = new IVertex[3]; // MICA and LCS vertexes
+        
+        m_CommonAncestorCount = m_Taxonomy.getCommonAncestors(
+                                    m_Left, m_Right, bestAncestors);
+        
+        m_MICA = bestAncestors[0];
+        m_LCSByDepthMin = bestAncestors[1];
+        m_LCSByDepthMax = bestAncestors[2];
+        
+        // We set the ancestor-based features as computed
+        
+        m_MICAReady = true;
+        m_LCSByDepthMinReady = true;
+        m_LCSByDepthMaxReady = true;
+        m_CommonAncestorCountReady = true;
+    }
+    
+    /**
+     * This function returns the MICA vertex of the pair.
+     * @return MICA vertex
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public IVertex getMICA() throws InterruptedException, Exception
+    {
+        // We compute the MICA vertex
+        
+        if (m_CombineAncestors && !m_MICAReady)
+        {
+            computeAncestors();
+        }
+        else if (!m_MICAReady)
+        {
+            m_MICA = m_Taxonomy.getMICA(m_Left, m_Right);
+            m_MICAReady = true;
+        }
+        
+        // We return the result
+        
+        return (m_MICA);
+    }
+    
+    /**
+     * This function returns the LCS vertex of the pair.
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @return LCS vertex
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public IVertex getLCS(
+            boolean useLongestDepth) throws Exception
+    {
+        IVertex lcsVertex;  // Returned value
+        
+        // We compute the LCS vertex
+        
+        if (m_CombineAncestors && !m_LCSByDepthMinReady)
+        {
+            computeAncestors();
+        }
+        
+        if (useLongestDepth)
+        {
+            if (!m_LCSByDepthMaxReady)
+            {
+                m_LCSByDepthMax = m_Taxonomy.getLCS(m_Left, m_Right, true);
+                m_LCSByDepthMaxReady = true;
+            }
+            
+            lcsVertex = m_LCSByDepthMax;
+        }
+        else
+        {
+            if (!m_LCSByDepthMinReady)
+            {
+                m_LCSByDepthMin = m_Taxonomy.getLCS(m_Left, m_Right, false);
+                m_LCSByDepthMinReady = true;
+            }
+            
+            lcsVertex = m_LCSByDepthMin;
+        }
+        
+        // We return the result
+        
+        return (lcsVertex);
+    }
+    
+    /**
+     * This function returns the length of the shortest path
+     * between the vertexes of the pair.
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
+     */
+    
+    @Override
+    public double getShortestPathLength(
+            boolean weighted)
+    {
+        double  distance;   // Returned value
+        
+        // We compute the length of the shortest path
+        
+        if (weighted)
+        {
+            if (!m_WeightedDistanceReady)
+            {
+                m_WeightedDistance = m_Left.getShortestPathDistanceTo(m_Right, true);
+                m_WeightedDistanceReady = true;
+            }
+            
+            distance = m_WeightedDistance;
+        }
+        else
+        {
+            if (!m_DistanceReady)
+            {
+                m_Distance = m_Left.getShortestPathDistanceTo(m_Right, false);
+                m_DistanceReady = true;
+            }
+            
+            distance = m_Distance;
+        }
+        
+        // We return the result
+        
+        return (distance);
+    }
+    
+    /**
+     * This function returns the length of the unweighted shortest path
+     * between the LCS vertex and the target vertex. The distances to
+     * the first targets are stored in order to be shared by the measures.
+     * @param target Target vertex
+     * @return Length of the shortest path
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public double getDistanceToLCS(
+            IVertex target) throws Exception
+    {
+        double  distance = Double.NaN;  // Returned value
+        
+        // We search the distance among the stored targets
+        
+        for (int i = 0; i < m_LCSTargetCount; i++)
+        {
+            if (m_LCSTargets[i] == target)
+            {
+                distance = m_LCSDistances[i];
+            }
+        }
+        
+        // We compute the distance to a novel target
+        
+        if (Double.isNaN(distance))
+        {
+            IVertex lcsVertex = getLCS(false);
+            
+            distance = (lcsVertex != null) ?
+                        lcsVertex.getShortestPathDistanceTo(target, false)
+                        : Double.POSITIVE_INFINITY;
+            
+            // We store the distance
+            
+            if (m_LCSTargets == null)
+            {
+                m_LCSTargets = new IVertex[3];
+                m_LCSDistances = new double[3];
+            }
+            
+            if (m_LCSTargetCount < m_LCSTargets.length)
+            {
+                m_LCSTargets[m_LCSTargetCount] = target;
+                m_LCSDistances[m_LCSTargetCount++] = distance;
+            }
+        }
+        
+        // We return the result
+        
+        return (distance);
+    }
+    
+    /**
+     * This function returns the number of common ancestors of the pair.
+     * @return Number of common ancestors
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public int getCommonAncestorCount() throws Exception
+    {
+        // We count the common ancestors
+        
+        if (m_CombineAncestors && !m_CommonAncestorCountReady)
+        {
+            computeAncestors();
+        }
+        else if (!m_CommonAncestorCountReady)
+        {
+            m_CommonAncestorCount = m_Taxonomy.getCommonAncestorCount(m_Left, m_Right);
+            m_CommonAncestorCountReady = true;
+        }
+        
+        // We return the result
+        
+        return (m_CommonAncestorCount);
+    }
+}
@@ -26,10 +26,17 @@ import hesml.measures.ISimilarityMeasure;
 import hesml.measures.IWordNetWordSimilarityMeasure;
 import hesml.measures.SimilarityMeasureClass;
 import hesml.measures.SimilarityMeasureType;
+import hesml.measures.IWordSimilarityMeasure;
 import hesml.taxonomy.ITaxonomy;
+import hesml.taxonomy.IVertex;
 import hesml.taxonomy.IVertexList;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.taxonomyreaders.wordnet.IWordNetDB;
 import hesml.taxonomyreaders.wordnet.IWordNetSynset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 /**
  * This class implements a word similarity measure based on WordNet.
@@ -84,7 +91,7 @@ class WordNetWordSimilarityMeasure implements IWordNetWordSimilarityMeasure
         
         if (icModel != null)
         {
-            icModel.setTaxonomyData(m_WordnetTaxonomy);
+            TaxonomyFactory.setICmodelData(m_WordnetTaxonomy, icModel);
         }
         
         // We create a new measure
@@ -228,6 +235,238 @@ class WordNetWordSimilarityMeasure implements IWordNetWordSimilarityMeasure
         return (m_Measure.getNullSimilarityValue());
     }
     
+    /**
+     * This function returns the k WordNet words most similar to the input
+     * word in decreasing order of similarity.
+     * @param strWord Query word
+     * @param k Number of words to be retrieved
+     * @return Most similar words
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public String[] getTopKSimilarWords(
+            String  strWord,
+            int     k) throws InterruptedException, Exception
+    {
+        String[]    topWords;   // Returned value
+        
+        // We check the existence of the word in WordNet
+        
+        if (!m_wordnetDB.contains(strWord) || (k <= 0))
+        {
+            topWords = new String[0];
+        }
+        else
+        {
+            topWords = searchTopKSimilarWords(strWord, k);
+        }
+        
+        // We return the result
+        
+        return (topWords);
+    }
+    
+    /**
+     * This function searches the k words most similar to the input word
+     * at concept level. The concepts most similar to each synset of the
+     * word are retrieved by the pruned search of the concept measure, and
+     * their similarity with the word is the highest one among all the
+     * synsets of the word. Any concept not retrieved for any synset is
+     * bounded by the lowest similarity retrieved for that synset, thus,
+     * the synonyms of the retrieved concepts above the highest bound are
+     * the most similar words. The number of concepts retrieved per synset
+     * is doubled until k words are found above the bound.
+     * @param strWord Query word
+     * @param k Number of words to be retrieved
+     * @return Most similar words
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    private String[] searchTopKSimilarWords(
+            String  strWord,
+            int     k) throws InterruptedException, Exception
+    {
+        ArrayList<String>   topWords = new ArrayList<>();   // Returned value
+        
+        IVertexList senses = getWordSynsetVertexes(m_wordnetDB.getWordSynsets(strWord));
+        
+        int senseCount = senses.getCount();
+        int maxConceptCount = m_WordnetTaxonomy.getVertexes().getCount() - 1;
+        int conceptCount = (int) Math.min(maxConceptCount, Math.max(16L, 2L * k));
+        
+        boolean completed = false;
+        
+        // We increase the number of concepts retrieved per synset until
+        // the k words are found above the bound of the missing concepts
+        
+        while (!completed)
+        {
+            // We collect the synsets of the word and their most
+            // similar concepts, and we compute the bound of the
+            // similarity of the remaining concepts
+            
+            LinkedHashSet<IVertex>  candidates = new LinkedHashSet<>();
+            
+            double  bound = Double.NEGATIVE_INFINITY;
+            
+            for (IVertex sense: senses)
+            {
+                IVertex[] nearest = m_Measure.getTopKSimilar(sense, conceptCount);
+                
+                candidates.add(sense);
+                candidates.addAll(Arrays.asList(nearest));
+                
+                if ((nearest.length == conceptCount) && (conceptCount < maxConceptCount))
+                {
+                    bound = Math.max(bound, m_Measure.getSimilarity(sense,
+                                nearest[conceptCount - 1]));
+                }
+            }
+            
+            // We compute the similarity between the synsets of the word
+            // and the candidate concepts
+            
+            long[]  ids = new long[candidates.size()];
+            int     next = 0;
+            
+            for (IVertex candidate: candidates)
+            {
+                ids[next++] = candidate.getID();
+            }
+            
+            IVertexList concepts = m_WordnetTaxonomy.getVertexes().getByIds(ids);
+            
+            int conceptTotal = concepts.getCount();
+            
+            double[] similarities = new double[senseCount * conceptTotal];
+            
+            m_Measure.getSimilarityMatrix(senses, concepts, similarities);
+            
+            // We sort the concepts above the bound by their highest
+            // similarity with the synsets of the word
+            
+            SimilarityTopKHeap  sortedConcepts = new SimilarityTopKHeap(conceptTotal);
+            
+            for (int j = 0; j < conceptTotal; j++)
+            {
+                double similarity = Double.NEGATIVE_INFINITY;
+                
+                for (int i = 0; i < senseCount; i++)
+                {
+                    similarity = Math.max(similarity, similarities[i * conceptTotal + j]);
+                }
+                
+                if (similarity >= bound)
+                {
+                    sortedConcepts.offer(concepts.getAt(j), similarity);
+                }
+            }
+            
+            // We collect the synonyms of the concepts in decreasing order
+            // of similarity, thus, each word is found first in its most
+            // similar concept
+            
+            HashSet<String> foundWords = new HashSet<>();
+            
+            topWords.clear();
+            
+            for (IVertex concept: sortedConcepts.getSortedVertexes())
+            {
+                for (String strSynonym: m_wordnetDB.getSynset(concept.getID()).getWords())
+                {
+                    if ((topWords.size() < k) && !strSynonym.equalsIgnoreCase(strWord)
+                            && foundWords.add(strSynonym))
+                    {
+                        topWords.add(strSynonym);
+                    }
+                }
+            }
+            
+            // We clear the candidate concepts and check if the search
+            // is complete
+            
+            concepts.clear();
+            
+            completed = (topWords.size() == k) || (conceptCount == maxConceptCount);
+            
+            conceptCount = (int) Math.min(maxConceptCount, 2L * conceptCount);
+        }
+        
+        // We clear the synsets list
+        
+        senses.clear();
+        
+        // We return the result
+        
+        return (topWords.toArray(new String[topWords.size()]));
+    }
+    
+    /**
+     * This function returns the k WordNet words most similar to the input
+     * word by computing the similarity with all the words in WordNet.
+     * It is used by the measures which cannot prune the search, and
+     * by the word measures not based on the WordNet taxonomy.
+     * @param measure Word similarity measure
+     * @param wordnetDB WordNet database
+     * @param strWord Query word
+     * @param k Number of words to be retrieved
+     * @return Most similar words, excluding the query word
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
+     */
+    
+    static String[] getTopKSimilarWordsByScan(
+            IWordSimilarityMeasure  measure,
+            IWordNetDB              wordnetDB,
+            String                  strWord,
+            int                     k) throws InterruptedException, Exception
+    {
+        // We collect the words in WordNet
+        
+        LinkedHashSet<String>   allWords = new LinkedHashSet<>();
+        
+        for (IWordNetSynset synset: wordnetDB)
+        {
+            for (String strSynonym: synset.getWords())
+            {
+                if (!strSynonym.equalsIgnoreCase(strWord))
+                {
+                    allWords.add(strSynonym);
+                }
+            }
+        }
+        
+        // We compute the similarity with every word
+        
+        String[]    words = allWords.toArray(new String[allWords.size()]);
+        Integer[]   order = new Integer[words.length];
+        double[]    similarities = new double[words.length];
+        
+        for (int i = 0; i < words.length; i++)
+        {
+            order[i] = i;
+            similarities[i] = measure.getSimilarity(strWord, words[i]);
+        }
+        
+        // We sort the words in decreasing order of similarity
+        
+        Arrays.sort(order, (a, b) -> Double.compare(similarities[b], similarities[a]));
+        
+        String[]    topWords = new String[Math.max(0, Math.min(k, words.length))];
+        
+        for (int i = 0; i < topWords.length; i++)
+        {
+            topWords[i] = words[order[i]];
+        }
+        
+        // We return the result
+        
+        return (topWords);
+    }
+    
     /**
      * This function recovers the list of vertexes in the taxonomy,ç
      * which corresponds to the synsets of the word.
@@ -240,7 +479,7 @@ class WordNetWordSimilarityMeasure implements IWordNetWordSimilarityMeasure
     {
         // We build the vector of vertxes ID (synsets)
         
-        Long[] ids = new Long[synsets.length];
+        long[] ids = new long[synsets.length];
         
         // We get the ids of the synsets
         
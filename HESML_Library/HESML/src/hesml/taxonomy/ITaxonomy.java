@@ -21,6 +21,10 @@
 
 package hesml.taxonomy;
 
+// HESML references
+
+import hesml.configurators.ITaxonomyInfoConfigurator;
+
 /**
  * This interface represents an abstract taxonomy as defined in the paper below.
  * Lastra-Díaz, J. J., and García-Serrano, A. (2016).
@@ -59,6 +63,57 @@ public interface ITaxonomy
     IVertex addVertex(
             Long     vertexId,
             Long[]   parentVertexes) throws Exception;
+    
+    /**
+     * This function inserts a novel IS-A edge between two vertexes of the
+     * taxonomy. The cached attributes are only updated for the descendants
+     * of the child vertex and the ancestors of the parent vertex.
+     * @param childId Key ID of the child vertex
+     * @param parentId Key ID of the parent vertex
+     * @return The new edge inserted into the taxonomy
+     * @throws java.lang.Exception Any ID does not match any existent vertex,
+     * both vertexes are already linked, or the parent vertex does not
+     * precede the child vertex in the ordered collection of vertexes
+     */
+    
+    IEdge addEdge(
+            Long    childId,
+            Long    parentId) throws Exception;
+    
+    /**
+     * This function removes a leaf vertex from the taxonomy. The cached
+     * attributes are only updated for the ancestors of the vertex.
+     * @param vertexId Key ID of the leaf vertex
+     * @throws java.lang.Exception The ID does not match any existent vertex,
+     * or the vertex is not a leaf vertex
+     */
+    
+    void removeLeaf(
+            Long    vertexId) throws Exception;
+    
+    /**
+     * This function sets the IC model which is computed again
+     * after every modification of the taxonomy.
+     * @param icModel Active IC model or null
+     */
+    
+    void setActiveICmodel(
+            ITaxonomyInfoConfigurator   icModel);
+    
+    /**
+     * This function creates a fork of the taxonomy, which is a read-only
+     * taxonomy that shares the topology and cached attributes of this
+     * taxonomy, but it owns its IC values, probabilities, edge weights
+     * and visiting flags. Thus, the forks can compute and evaluate
+     * different IC models in parallel, without affecting this taxonomy.
+     * The IC-based attributes are only copied by the forks of the frozen
+     * taxonomies when they are modified, whilst the forks of any other
+     * taxonomy require a frozen copy of it.
+     * @return A novel fork of the taxonomy
+     * @throws Exception The cached attributes cannot be computed
+     */
+    
+    ITaxonomy fork() throws Exception;
 
     /**
      * This functions computes several cached values such as
@@ -89,11 +144,16 @@ public interface ITaxonomy
      * This function returns the most informative common ancestor (MICA) vertex
      * between the two input vertexes. The computation is made by retrieving
      * on-the-fly the ancestor set from each vertex and searching for the
-     * common ancestor with the highest IC value.
+     * common ancestor with the highest IC value. The function returns
+     * null when the vertexes do not share any common ancestor, which
+     * happens in taxonomies with multiple roots, such as WordNet verbs.
+     * The ties among ancestors with the same IC value are broken by
+     * returning the ancestor with the lowest vertex ID.
      * @param begin First input vertex
      * @param end Second input vertex
-     * @return The most informative common ancestor (MICA) vertex
-     * @throws java.lang.InterruptedException A MICA vertex was not found
+     * @return The most informative common ancestor (MICA) vertex,
+     * or null if the vertexes do not share any common ancestor
+     * @throws java.lang.InterruptedException Unexpected error
      */
 
     IVertex getMICA(IVertex begin, IVertex end)
@@ -104,7 +164,8 @@ public interface ITaxonomy
      * which is defined as the common ancestor with highest depth.
      * The function returns the first vertex in the LCS set,
      * although could exist more than one on multiple inheritance
-     * taxonomies.
+     * taxonomies. The ties are broken by returning the ancestor with
+     * the lowest vertex ID.
      * @param begin First vertex
      * @param end Second vertex
      * @param useLongestDepth This parameter indicates whether the method
@@ -112,12 +173,115 @@ public interface ITaxonomy
      * as depth value for the search process, or the longest ascending
      * path (TRUE). We recall that depth attribute is ambiguous on
      * multiple-inheritance taxonomies as WordNet.
-     * @return The first LCS vertex
-     * @throws java.lang.Exception There is no any common subsumer
+     * @return The first LCS vertex, or null if the vertexes do not
+     * share any common ancestor
+     * @throws java.lang.Exception Unexpected error
      */
     
     IVertex getLCS(
             IVertex begin,
             IVertex end,
             boolean useLongestDepth) throws Exception;
+    
+    /**
+     * This function computes the most informative common ancestor (MICA)
+     * of the source vertex and each target vertex, which is the vertex
+     * returned by the getMICA() function for each pair. The ancestors of
+     * the source vertex are ranked only once for all the targets, thus,
+     * the function is intended to fill the rows of a similarity matrix.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param micas Output vector with the MICA vertex of each target,
+     * or null if the source and target do not share any common ancestor
+     * @throws java.lang.InterruptedException Unexpected error
+     */
+    
+    void getMICAs(
+            IVertex     source,
+            IVertexList targets,
+            IVertex[]   micas) throws InterruptedException, Exception;
+    
+    /**
+     * This function computes the lowest common subsumer (LCS) of the source
+     * vertex and each target vertex, which is the vertex returned by the
+     * getLCS() function for each pair. The ancestors of the source vertex
+     * are ranked only once for all the targets.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param useLongestDepth Use the longest ascending path to the root
+     * as depth (true) or the shortest one (false).
+     * @param lcsVertexes Output vector with the LCS vertex of each target,
+     * or null if the source and target do not share any common ancestor
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    void getLCSs(
+            IVertex     source,
+            IVertexList targets,
+            boolean     useLongestDepth,
+            IVertex[]   lcsVertexes) throws Exception;
+    
+    /**
+     * This function returns the number of vertexes in the intersection
+     * of the inclusive ancestor sets of the input vertexes.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return Number of common ancestors
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    int getCommonAncestorCount(
+            IVertex begin,
+            IVertex end) throws Exception;
+    
+    /**
+     * This function computes the MICA vertex, the LCS vertexes using the
+     * minimum and maximum depth, and the number of common ancestors of
+     * the input vertexes by a single intersection of their inclusive
+     * ancestor sets. The vertexes are the ones returned by the getMICA()
+     * and getLCS() functions, including the lowest vertex ID rule for
+     * the ties, thus, the function is intended to retrieve all the
+     * ancestor-based features of a vertex pair at once.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param bestAncestors Output vector with the MICA vertex, the LCS
+     * vertex using the minimum depth and the LCS vertex using the maximum
+     * depth, which are null if the vertexes do not share any ancestor
+     * @return Number of common ancestors
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    int getCommonAncestors(
+            IVertex     begin,
+            IVertex     end,
+            IVertex[]   bestAncestors) throws Exception;
+    
+    /**
+     * This function checks if the input vertexes share any common
+     * ancestor. Once the cached attributes have been computed, the check
+     * takes constant time for all the vertexes descending from a
+     * single root, thus, it allows to filter the disjoint vertex pairs
+     * of a taxonomy with multiple roots before any LCS or MICA query.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes share any common ancestor
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    boolean haveCommonAncestor(
+            IVertex begin,
+            IVertex end) throws Exception;
+    
+    /**
+     * This function checks if the first vertex belongs to the inclusive
+     * ancestor set of the second vertex.
+     * @param ancestor Candidate ancestor
+     * @param vertex Input vertex
+     * @return True if the first vertex is an ancestor of the second one
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    boolean isAncestor(
+            IVertex ancestor,
+            IVertex vertex) throws Exception;
 }
@@ -126,6 +126,30 @@ public interface IVertex extends Comparable<IVertex>
     
     IVertexList getSubsumedLeaves(boolean inclusive) throws Exception;
     
+    /**
+     * This function visits the hyponym set of the vertex following the
+     * same order as the getHyponyms() function, without creating any list.
+     * @param vertexInclusive Indicates whether the base vertex must be included.
+     * @param visitor Callback invoked for every hyponym
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    void visitHyponyms(
+            boolean         vertexInclusive,
+            IVertexVisitor  visitor) throws Exception;
+    
+    /**
+     * This function visits the leaves subsumed by the vertex following the
+     * same order as the getSubsumedLeaves() function, without creating any list.
+     * @param inclusive The vertex will be visited if it is a leaf node.
+     * @param visitor Callback invoked for every leaf
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    void visitSubsumedLeaves(
+            boolean         inclusive,
+            IVertexVisitor  visitor) throws Exception;
+    
     /**
      * This function returns the number of subsumed leaves
      * including the vertex.
@@ -146,6 +170,18 @@ public interface IVertex extends Comparable<IVertex>
     IVertexList getAncestors(
             boolean includeVertex) throws InterruptedException, Exception;
     
+    /**
+     * This function visits the ancestor set following the same order
+     * as the getAncestors() function, without creating any list.
+     * @param includeVertex Indicates that the current vertex will be visited.
+     * @param visitor Callback invoked for every ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    void visitAncestors(
+            boolean         includeVertex,
+            IVertexVisitor  visitor) throws Exception;
+    
     /**
      * This function returns the pre-computed hyponym count without including the
      * vertex.
@@ -193,6 +229,42 @@ public interface IVertex extends Comparable<IVertex>
             IVertex     target,
             boolean     weighted);
 
+    /**
+     * This function computes the length of the shortest path from the
+     * current vertex to each target vertex, which is the value returned
+     * by the getShortestPathDistanceTo() function for each target.
+     * The distances are computed by a single traversal from the current
+     * vertex, which stops once all the target vertexes are settled.
+     * @param targets Final path vertexes
+     * @param weighted Flag indicating the value for the weights
+     * @param distances Output vector with the distance to each target
+     */
+    
+    void getShortestPathDistancesTo(
+            IVertexList targets,
+            boolean     weighted,
+            double[]    distances);
+
+    /**
+     * This function retrieves the vertexes closest to the current vertex
+     * in increasing order of their shortest path length, which are
+     * settled by a single traversal from the current vertex that stops
+     * once the output vector is filled. The current vertex is not
+     * included in the output, and the vertexes at the same distance
+     * are returned in traversal order.
+     * @param weighted Flag indicating the value for the weights
+     * @param nearest Output vector with the nearest vertexes
+     * @param distances Output vector with the distance to each vertex
+     * @return Number of vertexes retrieved, which is lower than the
+     * length of the output vector when there are not enough vertexes
+     * connected to the current vertex.
+     */
+    
+    int getNearestVertexes(
+            boolean     weighted,
+            IVertex[]   nearest,
+            double[]    distances);
+
     /**
      * This function computes the distance field from the current vertex
      * using the Dijkstra algorithm and the edge weights
@@ -213,7 +285,13 @@ public interface IVertex extends Comparable<IVertex>
      * current vertex and the target vertex using the weights of the oriented
      * edges, instead of the weight of the non-oriented edges. Thus, this
      * method allows to define an asymmetric distance between vertexes
-     * in the taxonomy.
+     * in the taxonomy. The vertexes are expanded once in increasing
+     * order of their tentative distance, as in the Dijkstra algorithm.
+     * The conditional probability IC models set negative weights on the
+     * ascending edges, which form negative cycles with their descending
+     * edges. Thus, the shortest paths are not defined for these weights
+     * and the function returns the distance with which the target
+     * vertex is settled by the Dijkstra search.
      * @param target Target vertex
      * @return The length of the shortest path
      */
@@ -326,6 +404,15 @@ public interface IVertex extends Comparable<IVertex>
     
     IVertexList getChildren() throws Exception;
     
+    /**
+     * This function visits the children of the vertex.
+     * @param visitor Callback invoked for every child
+     * @throws Exception Unexpected error
+     */
+    
+    void visitChildren(
+            IVertexVisitor  visitor) throws Exception;
+    
     /**
      * This function returns the number of child vertexes.
      * @return Number of children nodes.
@@ -333,6 +420,28 @@ public interface IVertex extends Comparable<IVertex>
     
     int getChildrenCount();
     
+    /**
+     * This function returns the position within the vertex list of the
+     * taxonomy of the i-th child, following the order of the getChildren()
+     * function. Together with the getChildrenCount() function, it allows
+     * to iterate the children by an int cursor without creating any object.
+     * @param i Position of the child, between 0 and getChildrenCount() - 1
+     * @return Position of the child in the vertex list of the taxonomy
+     */
+    
+    int getChildIndexAt(int i);
+    
+    /**
+     * This function returns the position within the vertex list of the
+     * taxonomy of the i-th parent, following the order of the getParents()
+     * function. Together with the getParentsCount() function, it allows
+     * to iterate the parents by an int cursor without creating any object.
+     * @param i Position of the parent, between 0 and getParentsCount() - 1
+     * @return Position of the parent in the vertex list of the taxonomy
+     */
+    
+    int getParentIndexAt(int i);
+    
     /**
      * This function returns the parent list.
      * @return Parent vertex set
@@ -341,6 +450,15 @@ public interface IVertex extends Comparable<IVertex>
     
     IVertexList getParents() throws Exception;
     
+    /**
+     * This function visits the parents of the vertex.
+     * @param visitor Callback invoked for every parent
+     * @throws Exception Unexpected error
+     */
+    
+    void visitParents(
+            IVertexVisitor  visitor) throws Exception;
+    
     /**
      * This function gets the adjacent vertexes by computing them on-the-fly.
      * @return First-order adjacent vertex set
@@ -44,6 +44,16 @@ public interface IVertexList extends Iterable<IVertex>
     
     IVertexList getByIds(Long[] vertexIds) throws Exception;
     
+    /**
+     * This function returns an ordered list of vertexes matching the
+     * input ID sequence without boxing the IDs.
+     * @param vertexIds Vector of vertex Id values for the vertex to be retrieved.
+     * @return Ordered list of vertexes
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    IVertexList getByIds(long[] vertexIds) throws Exception;
+    
     /**
      * This function computes the difference set as regards the input set.
      * @param others Input vertex list to be compared with the current one.
@@ -219,6 +229,15 @@ public interface IVertexList extends Iterable<IVertex>
     
     boolean contains(Long vertexID);
     
+    /**
+     * This function checks whether a vertex with the input ID is contained
+     * in the list without boxing the ID.
+     * @param vertexId ID of the vertex whose existence in the list will be checked
+     * @return True if the list contains the vertex with input ID
+     */
+    
+    boolean containsId(long vertexId);
+    
     /**
      * This function returns the count of vertexes in the list.
      * @return The number of vertexes in the list
@@ -243,6 +262,15 @@ public interface IVertexList extends Iterable<IVertex>
     
     IVertex getById(Long vertexId);
     
+    /**
+     * This function returns a vertex by ID whether it is contained
+     * in the list, without boxing the ID.
+     * @param vertexId ID of the vertex
+     * @return The vertex with the id required, or null
+     */
+    
+    IVertex getById(long vertexId);
+    
     /**
      * This functions returns the lock state of the list.
      * @return 
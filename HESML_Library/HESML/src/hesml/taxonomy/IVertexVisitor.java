@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy;
+
+/**
+ * This interface represents a callback which is invoked for every vertex
+ * reached by a traversal of the taxonomy. The visitor traversals do not
+ * create any temporary vertex list, and they visit the vertexes in the
+ * same order as the list returned by the equivalent function of IVertex.
+ * @author Juan Lastra-Díaz
+ */
+
+public interface IVertexVisitor
+{
+    /**
+     * This function is invoked for every visited vertex.
+     * @param vertex Visited vertex
+     * @throws Exception Unexpected error
+     */
+    
+    void visit(IVertex vertex) throws Exception;
+}
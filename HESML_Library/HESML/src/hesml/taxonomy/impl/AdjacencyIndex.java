@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the parents and children of every vertex of a mutable
+ * taxonomy as primitive vectors indexed by vertex position, following the
+ * order of the half-edge ring of each vertex. The index allows to iterate
+ * the adjacent vertexes by an int cursor without creating any object,
+ * and it provides the adjacency relationships used to compute the
+ * cached attributes. The index is only valid for the topology it
+ * was built with.
+ * @author Juan Lastra-Díaz
+ */
+
+class AdjacencyIndex
+{
+    /**
+     * Position of the first parent and child of each vertex. The parents
+     * of the vertex 'i' are stored between the positions m_ParentStart[i]
+     * and m_ParentStart[i + 1] of the m_Parents vector, and likewise
+     * for the children.
+     */
+
+    private final int[] m_ParentStart;
+    private final int[] m_ChildStart;
+
+    /**
+     * Positions of the parents and children of the vertexes
+     */
+
+    private final int[] m_Parents;
+    private final int[] m_Children;
+
+    /**
+     * Constructor
+     * @param parentStart Position of the first parent of each vertex
+     * @param parents Parents of the vertexes
+     * @param childStart Position of the first child of each vertex
+     * @param children Children of the vertexes
+     */
+
+    private AdjacencyIndex(
+            int[]   parentStart,
+            int[]   parents,
+            int[]   childStart,
+            int[]   children)
+    {
+        m_ParentStart = parentStart;
+        m_Parents = parents;
+        m_ChildStart = childStart;
+        m_Children = children;
+    }
+
+    /**
+     * This function copies the adjacency relationships of the vertexes
+     * into primitive vectors.
+     * @param vertexes Vertexes of the taxonomy
+     * @return Adjacency index
+     */
+
+    static AdjacencyIndex build(
+            IVertexList vertexes)
+    {
+        int vertexCount = vertexes.getCount();
+
+        // We count the parents and children of each vertex
+
+        int[] parentStart = new int[vertexCount + 1];
+        int[] childStart = new int[vertexCount + 1];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            parentStart[i + 1] = parentStart[i];
+            childStart[i + 1] = childStart[i];
+
+            IHalfEdge firstEdge = vertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        parentStart[i + 1]++;
+                    }
+                    else
+                    {
+                        childStart[i + 1]++;
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+
+        // We copy the adjacent vertexes
+
+        int[] parents = new int[parentStart[vertexCount]];
+        int[] children = new int[childStart[vertexCount]];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            int nextParent = parentStart[i];
+            int nextChild = childStart[i];
+
+            IHalfEdge firstEdge = vertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    int adjacent = ((Vertex)loop.getTarget()).getIndex();
+
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        parents[nextParent++] = adjacent;
+                    }
+                    else
+                    {
+                        children[nextChild++] = adjacent;
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+
+        // We return the result
+
+        return (new AdjacencyIndex(parentStart, parents, childStart, children));
+    }
+
+    /**
+     * This function returns the position of the i-th parent of a vertex.
+     * @param vertex Position of the vertex
+     * @param i Position of the parent in the half-edge ring order
+     * @return Position of the parent
+     */
+
+    int getParentAt(
+            int vertex,
+            int i)
+    {
+        return (m_Parents[m_ParentStart[vertex] + i]);
+    }
+
+    /**
+     * This function returns the position of the i-th child of a vertex.
+     * @param vertex Position of the vertex
+     * @param i Position of the child in the half-edge ring order
+     * @return Position of the child
+     */
+
+    int getChildAt(
+            int vertex,
+            int i)
+    {
+        return (m_Children[m_ChildStart[vertex] + i]);
+    }
+
+    /**
+     * @return Position of the first parent of each vertex
+     */
+
+    int[] getParentStart()
+    {
+        return (m_ParentStart);
+    }
+
+    /**
+     * @return Parents of the vertexes
+     */
+
+    int[] getParents()
+    {
+        return (m_Parents);
+    }
+
+    /**
+     * @return Position of the first child of each vertex
+     */
+
+    int[] getChildStart()
+    {
+        return (m_ChildStart);
+    }
+
+    /**
+     * @return Children of the vertexes
+     */
+
+    int[] getChildren()
+    {
+        return (m_Children);
+    }
+}
@@ -0,0 +1,810 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.Arrays;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the inclusive ancestor set of every vertex in the
+ * taxonomy in order to answer the lowest common subsumer (LCS) queries
+ * without any traversal of the taxonomy. The ancestors of each vertex
+ * are stored twice: sorted by vertex position, which allows to check
+ * the ancestor relationship by a binary search, and sorted by decreasing
+ * depth, thus, the LCS of a pair of vertexes is the first vertex in the
+ * ordered list of the first vertex which is an ancestor of the second one.
+ * 
+ * The ties among vertexes with the same depth are broken by selecting
+ * the vertex with the lowest ID, in order to return the same LCS vertex
+ * as the Taxonomy class in multiple inheritance taxonomies. The index is
+ * only valid for the topology it was built with.
+ * @author Juan Lastra-Díaz
+ */
+
+class AncestorIndex
+{
+    /**
+     * Position of the first ancestor of each vertex. The ancestors
+     * of the vertex 'i' are stored between the positions m_Start[i]
+     * and m_Start[i + 1] of the ancestor vectors.
+     */
+
+    private final int[] m_Start;
+
+    /**
+     * Inclusive ancestors in BFS order
+     */
+
+    private final int[] m_Ancestors;
+
+    /**
+     * Rank of each vertex when the vertexes are sorted by ID
+     */
+
+    private final int[] m_IdRanks;
+
+    /**
+     * Inclusive ancestors sorted by vertex position
+     */
+
+    private final int[] m_Members;
+
+    /**
+     * Inclusive ancestors sorted by decreasing minimum and maximum depth
+     */
+
+    private final int[] m_ByDepthMin;
+    private final int[] m_ByDepthMax;
+
+    /**
+     * Constructor
+     * @param start Position of the first ancestor of each vertex
+     * @param ancestors Ancestors in BFS order
+     * @param idRanks Rank of each vertex by ID
+     * @param members Ancestors sorted by vertex position
+     * @param byDepthMin Ancestors sorted by minimum depth
+     * @param byDepthMax Ancestors sorted by maximum depth
+     */
+
+    private AncestorIndex(
+            int[]   start,
+            int[]   ancestors,
+            int[]   idRanks,
+            int[]   members,
+            int[]   byDepthMin,
+            int[]   byDepthMax)
+    {
+        m_Start = start;
+        m_Ancestors = ancestors;
+        m_IdRanks = idRanks;
+        m_Members = members;
+        m_ByDepthMin = byDepthMin;
+        m_ByDepthMax = byDepthMax;
+    }
+
+    /**
+     * This function builds the ancestor index of the taxonomy. The
+     * depths of the vertexes are computed on-demand if they were not
+     * already cached.
+     * @param taxonomy Input taxonomy
+     * @return Ancestor index
+     * @throws Exception Unexpected error
+     */
+
+    static AncestorIndex build(
+            Taxonomy    taxonomy) throws Exception
+    {
+        return (build(taxonomy, null, null, 0));
+    }
+
+    /**
+     * This function returns a novel index for the modified taxonomy,
+     * in which only the ancestors of the input vertexes are computed
+     * again, whilst the ancestors of the remaining vertexes are copied
+     * from the current index. The input vertexes must include
+     * the vertexes appended to the taxonomy since the creation of
+     * the current index.
+     * @param taxonomy Modified taxonomy
+     * @param modified Positions of the modified vertexes in ascending order
+     * @param modifiedCount Number of modified vertexes
+     * @return Updated index
+     * @throws Exception Unexpected error
+     */
+
+    AncestorIndex update(
+            Taxonomy    taxonomy,
+            int[]       modified,
+            int         modifiedCount) throws Exception
+    {
+        return (build(taxonomy, this, modified, modifiedCount));
+    }
+
+    /**
+     * This function returns a novel index without the vertex removed
+     * from the input position, whose ancestors are not included in
+     * the ancestor set of any other vertex because it is a leaf vertex.
+     * The positions of the subsequent vertexes are shifted.
+     * @param removed Position of the removed leaf vertex
+     * @return Updated index
+     */
+
+    AncestorIndex removeLeaf(
+            int removed)
+    {
+        int vertexCount = m_Start.length - 2;   // Remaining vertexes
+
+        int removedCount = m_Start[removed + 1] - m_Start[removed];
+
+        // We create the novel vectors
+
+        int[]   start = new int[vertexCount + 1];
+        int[]   idRanks = new int[vertexCount];
+        int[]   ancestors = new int[m_Ancestors.length - removedCount];
+        int[]   members = new int[ancestors.length];
+        int[]   byDepthMin = new int[ancestors.length];
+        int[]   byDepthMax = new int[ancestors.length];
+
+        // We copy the ancestors of the remaining vertexes by
+        // shifting the positions following the removed vertex
+
+        int next = 0;
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            int source = (i < removed) ? i : i + 1;
+
+            idRanks[i] = m_IdRanks[source];
+            start[i] = next;
+
+            for (int j = m_Start[source]; j < m_Start[source + 1]; j++, next++)
+            {
+                ancestors[next] = shiftPosition(m_Ancestors[j], removed);
+                members[next] = shiftPosition(m_Members[j], removed);
+                byDepthMin[next] = shiftPosition(m_ByDepthMin[j], removed);
+                byDepthMax[next] = shiftPosition(m_ByDepthMax[j], removed);
+            }
+        }
+
+        start[vertexCount] = next;
+
+        // We return the result
+
+        return (new AncestorIndex(start, ancestors, idRanks,
+                    members, byDepthMin, byDepthMax));
+    }
+
+    /**
+     * This function returns the position of a vertex once the vertex
+     * in the removed position has been removed.
+     * @param position Position of the vertex
+     * @param removed Position of the removed vertex
+     * @return Shifted position
+     */
+
+    private static int shiftPosition(
+            int position,
+            int removed)
+    {
+        return ((position > removed) ? position - 1 : position);
+    }
+
+    /**
+     * This function builds the ancestor index of the taxonomy by computing
+     * the ancestors of the modified vertexes, and copying the ancestors of
+     * the remaining vertexes from the previous index, if any.
+     * @param taxonomy Input taxonomy
+     * @param previous Previous index or null to compute all the vertexes
+     * @param modified Positions of the modified vertexes in ascending order
+     * @param modifiedCount Number of modified vertexes
+     * @return Ancestor index
+     * @throws Exception Unexpected error
+     */
+
+    private static AncestorIndex build(
+            Taxonomy        taxonomy,
+            AncestorIndex   previous,
+            int[]           modified,
+            int             modifiedCount) throws Exception
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        TraversalScratch    scratch = taxonomy.getScratch();    // Buffers
+
+        int vertexCount = vertexes.getCount();
+
+        // We retrieve the depths and IDs of the vertexes
+
+        int[] depthMin = new int[vertexCount];
+        int[] depthMax = new int[vertexCount];
+        long[] ids = new long[vertexCount];
+
+        int maxDepth = 0;
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            IVertex vertex = vertexes.getAt(i);
+
+            depthMin[i] = vertex.getDepthMin();
+            depthMax[i] = vertex.getDepthMax();
+            ids[i] = vertex.getID();
+
+            maxDepth = Math.max(maxDepth, depthMax[i]);
+        }
+
+        // We rank the vertexes by ID, and we store the vertex
+        // with each rank in order to decode the sorting keys
+
+        long[] sortedIds = ids.clone();
+
+        Arrays.sort(sortedIds);
+
+        int[] idRanks = new int[vertexCount];
+        int[] rankVertexes = new int[vertexCount];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            idRanks[i] = Arrays.binarySearch(sortedIds, ids[i]);
+            rankVertexes[idRanks[i]] = i;
+        }
+
+        // We create the ancestor vectors, which are enlarged on-demand
+
+        int[] start = new int[vertexCount + 1];
+        int[] ancestors = new int[(previous != null) ?
+                (previous.m_Ancestors.length + 4 * modifiedCount) : (4 * vertexCount)];
+        int[] members = new int[ancestors.length];
+        int[] byDepthMin = new int[members.length];
+        int[] byDepthMax = new int[members.length];
+
+        long[] keys = new long[16];
+
+        int nextModified = 0;
+
+        // We compute the ancestors of each vertex
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            // We check whether the ancestors of the vertex can be
+            // copied from the previous index
+
+            boolean copied = (previous != null) && ((nextModified == modifiedCount)
+                                || (modified[nextModified] != i));
+
+            int count;
+
+            if (copied)
+            {
+                count = previous.m_Start[i + 1] - previous.m_Start[i];
+            }
+            else
+            {
+                count = markAncestors(vertexes, i, scratch);
+                nextModified += (previous != null) ? 1 : 0;
+            }
+
+            int first = start[i];
+
+            start[i + 1] = first + count;
+
+            // We enlarge the vectors when they are full
+
+            if (start[i + 1] > members.length)
+            {
+                int capacity = Math.max(start[i + 1], 2 * members.length);
+
+                ancestors = Arrays.copyOf(ancestors, capacity);
+                members = Arrays.copyOf(members, capacity);
+                byDepthMin = Arrays.copyOf(byDepthMin, capacity);
+                byDepthMax = Arrays.copyOf(byDepthMax, capacity);
+            }
+
+            // We copy the ancestors of the unmodified vertexes
+
+            if (copied)
+            {
+                int previousFirst = previous.m_Start[i];
+
+                System.arraycopy(previous.m_Ancestors, previousFirst, ancestors, first, count);
+                System.arraycopy(previous.m_Members, previousFirst, members, first, count);
+                System.arraycopy(previous.m_ByDepthMin, previousFirst, byDepthMin, first, count);
+                System.arraycopy(previous.m_ByDepthMax, previousFirst, byDepthMax, first, count);
+
+                continue;
+            }
+
+            if (count > keys.length)
+            {
+                keys = new long[Math.max(count, 2 * keys.length)];
+            }
+
+            // We copy the ancestors in BFS order and sorted by position
+
+            System.arraycopy(scratch.m_Queue, 0, ancestors, first, count);
+            System.arraycopy(scratch.m_Queue, 0, members, first, count);
+            Arrays.sort(members, first, first + count);
+
+            // We sort the ancestors by depth
+
+            sortByDepth(scratch.m_Queue, count, depthMin, maxDepth,
+                    idRanks, rankVertexes, keys, byDepthMin, first);
+
+            sortByDepth(scratch.m_Queue, count, depthMax, maxDepth,
+                    idRanks, rankVertexes, keys, byDepthMax, first);
+        }
+
+        // We create the index
+
+        int total = start[vertexCount];
+
+        return (new AncestorIndex(start, Arrays.copyOf(ancestors, total),
+                    idRanks, Arrays.copyOf(members, total),
+                    Arrays.copyOf(byDepthMin, total),
+                    Arrays.copyOf(byDepthMax, total)));
+    }
+
+    /**
+     * This function leaves the inclusive ancestors of the seed vertex in
+     * the scratch queue in the same BFS order used by the Taxonomy class
+     * to fill its ancestor sets.
+     * @param vertexes Vertexes of the taxonomy
+     * @param seed Position of the seed vertex
+     * @param scratch Traversal buffers
+     * @return Number of ancestors
+     */
+
+    private static int markAncestors(
+            IVertexList         vertexes,
+            int                 seed,
+            TraversalScratch    scratch)
+    {
+        int[]   queue = scratch.m_Queue;    // Traversal queue
+        int[]   marks = scratch.m_Marks;    // Visited marks
+
+        int stamp = scratch.nextStamp();
+        int head = 0;
+        int tail = 0;
+
+        // We enqueue the seed vertex
+
+        queue[tail++] = seed;
+        marks[seed] = stamp;
+
+        // We traverse the parents of the queued vertexes
+
+        while (head < tail)
+        {
+            IHalfEdge firstEdge = vertexes.getAt(queue[head++]).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        int parent = ((Vertex)loop.getTarget()).getIndex();
+
+                        if (marks[parent] != stamp)
+                        {
+                            marks[parent] = stamp;
+                            queue[tail++] = parent;
+                        }
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+
+        // We return the result
+
+        return (tail);
+    }
+
+    /**
+     * This function sorts the ancestors of a vertex by decreasing depth.
+     * The ties are broken by the lowest vertex ID.
+     * @param ancestors Ancestors in BFS order
+     * @param count Number of ancestors
+     * @param depths Depth of the vertexes
+     * @param maxDepth Maximum depth in the taxonomy
+     * @param idRanks Rank of each vertex by ID
+     * @param rankVertexes Vertex with each rank
+     * @param keys Auxiliary vector of sorting keys
+     * @param output Output vector
+     * @param offset Position of the first ancestor in the output vector
+     */
+
+    private static void sortByDepth(
+            int[]   ancestors,
+            int     count,
+            int[]   depths,
+            int     maxDepth,
+            int[]   idRanks,
+            int[]   rankVertexes,
+            long[]  keys,
+            int[]   output,
+            int     offset)
+    {
+        // We encode the sorting criteria in a single key
+
+        for (int i = 0; i < count; i++)
+        {
+            keys[i] = ((long)(maxDepth - depths[ancestors[i]]) << Integer.SIZE)
+                    | idRanks[ancestors[i]];
+        }
+
+        Arrays.sort(keys, 0, count);
+
+        // We decode the sorted ancestors
+
+        for (int i = 0; i < count; i++)
+        {
+            output[offset + i] = rankVertexes[(int) keys[i]];
+        }
+    }
+
+    /**
+     * This function sorts the inclusive ancestors of every vertex
+     * by decreasing score, breaking the ties by the lowest vertex ID
+     * as for the depths. The vertexes with NaN or
+     * negative infinite score are moved to the end of each list.
+     * @param scores Score of each vertex
+     * @return Ancestors sorted by score, using the same layout
+     * as the remaining ancestor vectors
+     */
+
+    int[] sortByScore(
+            double[]    scores)
+    {
+        int[]   ordered = m_Ancestors.clone();  // Returned value
+
+        // We sort the ancestors of each vertex
+
+        for (int i = 0; i < m_Start.length - 1; i++)
+        {
+            int first = m_Start[i];
+            int last = m_Start[i + 1];
+
+            // We use an insertion sort because the ancestor sets are small
+
+            for (int j = first + 1; j < last; j++)
+            {
+                int vertex = ordered[j];
+                int k = j - 1;
+
+                while ((k >= first) && isPreceding(vertex, ordered[k], scores, m_IdRanks))
+                {
+                    ordered[k + 1] = ordered[k];
+                    k--;
+                }
+
+                ordered[k + 1] = vertex;
+            }
+        }
+
+        // We return the result
+
+        return (ordered);
+    }
+
+    /**
+     * This function checks if the first vertex strictly precedes
+     * the second one when they are sorted by decreasing score.
+     * @param first First vertex
+     * @param second Second vertex
+     * @param scores Score of each vertex
+     * @param idRanks Rank of each vertex by ID
+     * @return True if the first vertex precedes the second one
+     */
+
+    private static boolean isPreceding(
+            int         first,
+            int         second,
+            double[]    scores,
+            int[]       idRanks)
+    {
+        double  firstScore = scores[first];
+        double  secondScore = scores[second];
+
+        // We replace the non-selectable scores
+
+        if (!(firstScore > Double.NEGATIVE_INFINITY))
+        {
+            firstScore = Double.NEGATIVE_INFINITY;
+        }
+
+        if (!(secondScore > Double.NEGATIVE_INFINITY))
+        {
+            secondScore = Double.NEGATIVE_INFINITY;
+        }
+
+        // We compare the scores and IDs
+
+        return ((firstScore > secondScore)
+                || ((firstScore == secondScore) && (idRanks[first] < idRanks[second])));
+    }
+
+    /**
+     * This function returns the number of inclusive ancestors of a vertex.
+     * @param vertex Position of the vertex
+     * @return Number of ancestors
+     */
+
+    int getAncestorCount(
+            int vertex)
+    {
+        return (m_Start[vertex + 1] - m_Start[vertex]);
+    }
+
+    /**
+     * This function returns the i-th inclusive ancestor of a vertex
+     * in BFS order, thus, the first ancestor is the own vertex.
+     * @param vertex Position of the vertex
+     * @param i Position of the ancestor in BFS order
+     * @return Position of the ancestor
+     */
+
+    int getAncestor(
+            int vertex,
+            int i)
+    {
+        return (m_Ancestors[m_Start[vertex] + i]);
+    }
+
+    /**
+     * This function returns the number of common inclusive ancestors
+     * of the input vertexes by merging their sorted ancestor sets.
+     * @param begin Position of the first vertex
+     * @param end Position of the second vertex
+     * @return Cardinality of the intersection set
+     */
+
+    int getCommonAncestorCount(
+            int begin,
+            int end)
+    {
+        int count = 0;  // Returned value
+
+        int i = m_Start[begin];
+        int j = m_Start[end];
+
+        // We merge both sorted sets
+
+        while ((i < m_Start[begin + 1]) && (j < m_Start[end + 1]))
+        {
+            if (m_Members[i] < m_Members[j])
+            {
+                i++;
+            }
+            else if (m_Members[i] > m_Members[j])
+            {
+                j++;
+            }
+            else
+            {
+                count++;
+                i++;
+                j++;
+            }
+        }
+
+        // We return the result
+
+        return (count);
+    }
+
+    /**
+     * This function stores the common inclusive ancestors of the input
+     * vertexes by merging their sorted ancestor sets.
+     * @param begin Position of the first vertex
+     * @param end Position of the second vertex
+     * @param common Output vector with the positions of the common ancestors
+     * @return Cardinality of the intersection set
+     */
+
+    int getCommonAncestors(
+            int     begin,
+            int     end,
+            int[]   common)
+    {
+        int count = 0;  // Returned value
+
+        int i = m_Start[begin];
+        int j = m_Start[end];
+
+        // We merge both sorted sets
+
+        while ((i < m_Start[begin + 1]) && (j < m_Start[end + 1]))
+        {
+            if (m_Members[i] < m_Members[j])
+            {
+                i++;
+            }
+            else if (m_Members[i] > m_Members[j])
+            {
+                j++;
+            }
+            else
+            {
+                common[count++] = m_Members[i];
+                i++;
+                j++;
+            }
+        }
+
+        // We return the result
+
+        return (count);
+    }
+
+    /**
+     * This function checks if the first vertex is an inclusive ancestor
+     * of the second one.
+     * @param ancestor Position of the candidate ancestor
+     * @param vertex Position of the vertex
+     * @return True if the first vertex is an ancestor of the second one
+     */
+
+    boolean isAncestor(
+            int ancestor,
+            int vertex)
+    {
+        return (Arrays.binarySearch(m_Members, m_Start[vertex],
+                    m_Start[vertex + 1], ancestor) >= 0);
+    }
+
+    /**
+     * This function returns the lowest common subsumer of the input
+     * vertexes, or -1 if they do not share any ancestor.
+     * @param begin Position of the first vertex
+     * @param end Position of the second vertex
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @return Position of the LCS vertex
+     */
+
+    int getLCS(
+            int     begin,
+            int     end,
+            boolean useLongestDepth)
+    {
+        return (getFirstCommonAncestor(useLongestDepth ?
+                    m_ByDepthMax : m_ByDepthMin, begin, end));
+    }
+
+    /**
+     * This function returns the first ancestor of the first vertex in
+     * the input ordering which is also an ancestor of the second vertex,
+     * or -1 if they do not share any ancestor.
+     * @param ordered Ancestors sorted by any criteria
+     * @param begin Position of the first vertex
+     * @param end Position of the second vertex
+     * @return Position of the first common ancestor
+     */
+
+    int getFirstCommonAncestor(
+            int[]   ordered,
+            int     begin,
+            int     end)
+    {
+        int common = -1;   // Returned value
+
+        // We search the first ancestor of the first vertex
+        // which is also an ancestor of the second one
+
+        for (int i = m_Start[begin]; i < m_Start[begin + 1]; i++)
+        {
+            if (isAncestor(ordered[i], end))
+            {
+                common = ordered[i];
+                break;
+            }
+        }
+
+        // We return the result
+
+        return (common);
+    }
+
+    /**
+     * This function returns the lowest common subsumer of the source
+     * vertex and each target vertex, as defined by the getLCS() function.
+     * @param source Position of the source vertex
+     * @param targets Positions of the target vertexes
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @param lcsVertexes Output vector with the position of each LCS vertex
+     * @param scratch Traversal buffers
+     */
+
+    void getLCSs(
+            int         source,
+            int[]       targets,
+            boolean     useLongestDepth,
+            int[]       lcsVertexes,
+            TraversalScratch scratch)
+    {
+        getFirstCommonAncestors(useLongestDepth ? m_ByDepthMax : m_ByDepthMin,
+                source, targets, lcsVertexes, scratch);
+    }
+
+    /**
+     * This function returns the first common ancestor of the source vertex
+     * and each target vertex, as defined by the getFirstCommonAncestor()
+     * function. Instead of searching every ordered ancestor of the source
+     * vertex in the ancestor set of each target, the function labels the
+     * source ancestors with their rank in the input ordering, thus, the
+     * first common ancestor is the ancestor of the target vertex with
+     * the lowest rank, which is found by a single scan of its ancestors.
+     * @param ordered Ancestors sorted by any criteria
+     * @param source Position of the source vertex
+     * @param targets Positions of the target vertexes
+     * @param commons Output vector with the position of the first common
+     * ancestor of each target vertex, or -1 if there is none
+     * @param scratch Traversal buffers
+     */
+
+    void getFirstCommonAncestors(
+            int[]   ordered,
+            int     source,
+            int[]   targets,
+            int[]   commons,
+            TraversalScratch scratch)
+    {
+        int[]   marks = scratch.m_Marks;    // Source ancestors
+        int[]   ranks = scratch.m_Queue;    // Rank of each source ancestor
+
+        int stamp = scratch.nextStamp();
+
+        // We label the ancestors of the source vertex with their rank
+
+        for (int i = m_Start[source]; i < m_Start[source + 1]; i++)
+        {
+            marks[ordered[i]] = stamp;
+            ranks[ordered[i]] = i;
+        }
+
+        // We search the ancestor with the lowest rank of each target
+
+        for (int j = 0; j < targets.length; j++)
+        {
+            int best = Integer.MAX_VALUE;
+
+            for (int i = m_Start[targets[j]]; i < m_Start[targets[j] + 1]; i++)
+            {
+                int ancestor = m_Ancestors[i];
+
+                if ((marks[ancestor] == stamp) && (ranks[ancestor] < best))
+                {
+                    best = ranks[ancestor];
+                }
+            }
+
+            commons[j] = (best < Integer.MAX_VALUE) ? ordered[best] : -1;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements an exact index for the edge-counting distance
+ * between any pair of vertexes, which is based on the pruned landmark
+ * labeling method introduced in the paper below.
+ * Akiba, T., Iwata, Y., and Yoshida, Y. (2013). Fast exact shortest-path
+ * distance queries on large networks. In Proceedings of the 2013 ACM
+ * SIGMOD International Conference on Management of Data (pp. 349–360).
+ * 
+ * Every vertex stores a list of (hub, distance) pairs sorted by the rank
+ * of the hub, such that the distance between two vertexes is the minimum
+ * of the sums of the distances to their common hubs. All the labels are
+ * stored in three primitive arrays using a CSR format, and the vertexes
+ * are identified by their position within the taxonomy.
+ * @author Juan Lastra-Díaz
+ */
+
+class DistanceLabelIndex
+{
+    /**
+     * Signature and version of the index files
+     */
+
+    private static final int   FILE_SIGNATURE = 0x48504C4C;
+    private static final int   FILE_VERSION = 1;
+
+    /**
+     * IDs of the indexed vertexes, which are used to check that the
+     * index matches the taxonomy when it is loaded from a file.
+     */
+
+    private final long[]    m_Ids;
+
+    /**
+     * Labels in CSR format. The label of the vertex 'i' is stored
+     * in the [m_LabelStart[i], m_LabelStart[i+1]) range.
+     */
+
+    private final int[] m_LabelStart;
+    private final int[] m_Hubs;
+    private final int[] m_Distances;
+
+    /**
+     * Constructor
+     * @param ids IDs of the vertexes
+     * @param labelStart First position of each label
+     * @param hubs Rank of the hubs
+     * @param distances Distance to the hubs
+     */
+
+    private DistanceLabelIndex(
+            long[]  ids,
+            int[]   labelStart,
+            int[]   hubs,
+            int[]   distances)
+    {
+        m_Ids = ids;
+        m_LabelStart = labelStart;
+        m_Hubs = hubs;
+        m_Distances = distances;
+    }
+
+    /**
+     * This function builds the index of the input taxonomy. The vertexes
+     * are ranked by decreasing degree, and a pruned BFS is run from each
+     * one of them following this order.
+     * @param taxonomy Taxonomy to be indexed
+     * @return The novel index
+     */
+
+    static DistanceLabelIndex build(
+            ITaxonomy   taxonomy)
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        int vertexCount = vertexes.getCount();
+
+        // We build the adjacency of the taxonomy
+
+        int[]   adjacencyStart = new int[vertexCount + 1];
+        int[]   adjacency = buildAdjacency(vertexes, adjacencyStart);
+
+        // We rank the vertexes by decreasing degree
+
+        Integer[] order = new Integer[vertexCount];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Integer.compare(
+                adjacencyStart[b + 1] - adjacencyStart[b],
+                adjacencyStart[a + 1] - adjacencyStart[a]));
+
+        // We create the growable labels
+
+        int[][] hubs = new int[vertexCount][];
+        int[][] distances = new int[vertexCount][];
+        int[]   counts = new int[vertexCount];
+
+        // Buffers of the pruned BFS
+
+        int[]   rootDistances = new int[vertexCount];
+        int[]   bfsDistances = new int[vertexCount];
+        int[]   queue = new int[vertexCount];
+
+        Arrays.fill(rootDistances, Integer.MAX_VALUE);
+        Arrays.fill(bfsDistances, -1);
+
+        // We run a pruned BFS from each vertex in rank order
+
+        for (int rank = 0; rank < vertexCount; rank++)
+        {
+            int root = order[rank];
+
+            // We load the label of the root vertex
+
+            for (int i = 0; i < counts[root]; i++)
+            {
+                rootDistances[hubs[root][i]] = distances[root][i];
+            }
+
+            // We traverse the taxonomy from the root vertex
+
+            int head = 0;
+            int tail = 0;
+
+            queue[tail++] = root;
+            bfsDistances[root] = 0;
+
+            while (head < tail)
+            {
+                int current = queue[head++];
+                int distance = bfsDistances[current];
+
+                // We prune the vertex if the current labels
+                // already cover its distance to the root
+
+                boolean covered = false;
+
+                for (int i = 0; (i < counts[current]) && !covered; i++)
+                {
+                    int hubDistance = rootDistances[hubs[current][i]];
+
+                    covered = (hubDistance != Integer.MAX_VALUE)
+                            && (hubDistance + distances[current][i] <= distance);
+                }
+
+                if (covered)
+                {
+                    continue;
+                }
+
+                // We add the root vertex to the label
+
+                if (hubs[current] == null)
+                {
+                    hubs[current] = new int[4];
+                    distances[current] = new int[4];
+                }
+                else if (counts[current] == hubs[current].length)
+                {
+                    hubs[current] = Arrays.copyOf(hubs[current], 2 * counts[current]);
+                    distances[current] = Arrays.copyOf(distances[current], 2 * counts[current]);
+                }
+
+                hubs[current][counts[current]] = rank;
+                distances[current][counts[current]++] = distance;
+
+                // We enqueue the adjacent vertexes
+
+                for (int i = adjacencyStart[current]; i < adjacencyStart[current + 1]; i++)
+                {
+                    int adjacent = adjacency[i];
+
+                    if (bfsDistances[adjacent] < 0)
+                    {
+                        bfsDistances[adjacent] = distance + 1;
+                        queue[tail++] = adjacent;
+                    }
+                }
+            }
+
+            // We reset the buffers for the next root
+
+            for (int i = 0; i < tail; i++)
+            {
+                bfsDistances[queue[i]] = -1;
+            }
+
+            for (int i = 0; i < counts[root]; i++)
+            {
+                rootDistances[hubs[root][i]] = Integer.MAX_VALUE;
+            }
+        }
+
+        // We copy the labels into the CSR arrays
+
+        int[] labelStart = new int[vertexCount + 1];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            labelStart[i + 1] = labelStart[i] + counts[i];
+        }
+
+        int[] allHubs = new int[labelStart[vertexCount]];
+        int[] allDistances = new int[allHubs.length];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            if (counts[i] > 0)
+            {
+                System.arraycopy(hubs[i], 0, allHubs, labelStart[i], counts[i]);
+                System.arraycopy(distances[i], 0, allDistances, labelStart[i], counts[i]);
+            }
+        }
+
+        // We return the result
+
+        return (new DistanceLabelIndex(vertexes.getIDs(),
+                    labelStart, allHubs, allDistances));
+    }
+
+    /**
+     * This function builds the undirected adjacency of the taxonomy
+     * in CSR format, by following the ring of each vertex.
+     * @param vertexes Ordered vertexes of the taxonomy
+     * @param adjacencyStart Output first position of each vertex
+     * @return Adjacent vertexes
+     */
+
+    private static int[] buildAdjacency(
+            IVertexList vertexes,
+            int[]       adjacencyStart)
+    {
+        HashMap<IVertex, Integer>   positions;  // Position of each vertex
+
+        int vertexCount = vertexes.getCount();
+
+        // We index the vertexes and count the outcoming edges
+
+        positions = new HashMap<>(vertexCount + 1, 1.0f);
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            IVertex vertex = vertexes.getAt(i);
+
+            positions.put(vertex, i);
+
+            adjacencyStart[i + 1] = adjacencyStart[i]
+                    + vertex.getParentsCount() + vertex.getChildrenCount();
+        }
+
+        // We fill the adjacent vertexes
+
+        int[] adjacency = new int[adjacencyStart[vertexCount]];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            IHalfEdge firstOutEdge = vertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstOutEdge;
+
+            int cursor = adjacencyStart[i];
+
+            if (loop != null)
+            {
+                do
+                {
+                    adjacency[cursor++] = positions.get(loop.getTarget());
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstOutEdge);
+            }
+        }
+
+        // We release the auxiliary map
+
+        positions.clear();
+
+        // We return the result
+
+        return (adjacency);
+    }
+
+    /**
+     * This function returns the number of edges in the shortest path
+     * between two vertexes by merging their sorted labels.
+     * @param source Position of the source vertex
+     * @param target Position of the target vertex
+     * @return Edge-counting distance, or +infinity if the vertexes
+     * are not connected.
+     */
+
+    double getDistance(
+            int source,
+            int target)
+    {
+        int distance = Integer.MAX_VALUE;   // Minimum distance
+
+        int i = m_LabelStart[source];
+        int j = m_LabelStart[target];
+
+        int sourceEnd = m_LabelStart[source + 1];
+        int targetEnd = m_LabelStart[target + 1];
+
+        // We merge both labels looking for the common hubs
+
+        while ((i < sourceEnd) && (j < targetEnd))
+        {
+            if (m_Hubs[i] < m_Hubs[j])
+            {
+                i++;
+            }
+            else if (m_Hubs[i] > m_Hubs[j])
+            {
+                j++;
+            }
+            else
+            {
+                distance = Math.min(distance, m_Distances[i++] + m_Distances[j++]);
+            }
+        }
+
+        // We return the result
+
+        return ((distance == Integer.MAX_VALUE) ?
+                Double.POSITIVE_INFINITY : (double) distance);
+    }
+
+    /**
+     * This function checks that the index was built for the input
+     * taxonomy by comparing the IDs of the vertexes.
+     * @param taxonomy Taxonomy
+     * @return True if the index matches the taxonomy
+     */
+
+    boolean matches(
+            ITaxonomy   taxonomy)
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        boolean matching = (vertexes.getCount() == m_Ids.length);   // Returned value
+
+        // We compare the IDs
+
+        for (int i = 0; matching && (i < m_Ids.length); i++)
+        {
+            matching = (vertexes.getAt(i).getID() == m_Ids[i]);
+        }
+
+        // We return the result
+
+        return (matching);
+    }
+
+    /**
+     * This function saves the index into a binary file.
+     * @param strFilename Output file
+     * @throws Exception Unexpected error
+     */
+
+    void save(
+            String  strFilename) throws Exception
+    {
+        // We open the file
+
+        try (DataOutputStream writer = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(strFilename))))
+        {
+            // We write the header
+
+            writer.writeInt(FILE_SIGNATURE);
+            writer.writeInt(FILE_VERSION);
+            writer.writeInt(m_Ids.length);
+            writer.writeInt(m_Hubs.length);
+
+            // We write the arrays
+
+            for (long id: m_Ids)
+            {
+                writer.writeLong(id);
+            }
+
+            for (int start: m_LabelStart)
+            {
+                writer.writeInt(start);
+            }
+
+            for (int i = 0; i < m_Hubs.length; i++)
+            {
+                writer.writeInt(m_Hubs[i]);
+                writer.writeInt(m_Distances[i]);
+            }
+        }
+    }
+
+    /**
+     * This function loads an index from a binary file.
+     * @param strFilename Input file
+     * @return The loaded index
+     * @throws Exception The file is not a valid index file
+     */
+
+    static DistanceLabelIndex load(
+            String  strFilename) throws Exception
+    {
+        DistanceLabelIndex  index;  // Returned value
+
+        // We open the file
+
+        try (DataInputStream reader = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(strFilename))))
+        {
+            // We check the header
+
+            if ((reader.readInt() != FILE_SIGNATURE)
+                    || (reader.readInt() != FILE_VERSION))
+            {
+                throw (new Exception(strFilename + " is not a valid distance index file"));
+            }
+
+            int vertexCount = reader.readInt();
+            int labelCount = reader.readInt();
+
+            // We read the arrays
+
+            long[]  ids = new long[vertexCount];
+            int[]   labelStart = new int[vertexCount + 1];
+            int[]   hubs = new int[labelCount];
+            int[]   distances = new int[labelCount];
+
+            for (int i = 0; i < vertexCount; i++)
+            {
+                ids[i] = reader.readLong();
+            }
+
+            for (int i = 0; i <= vertexCount; i++)
+            {
+                labelStart[i] = reader.readInt();
+            }
+
+            for (int i = 0; i < labelCount; i++)
+            {
+                hubs[i] = reader.readInt();
+                distances[i] = reader.readInt();
+            }
+
+            index = new DistanceLabelIndex(ids, labelStart, hubs, distances);
+        }
+
+        // We return the result
+
+        return (index);
+    }
+
+    /**
+     * This function returns the overall number of (hub, distance) pairs.
+     * @return Size of the labels
+     */
+
+    int getLabelCount()
+    {
+        return (m_Hubs.length);
+    }
+}
@@ -60,16 +60,24 @@ class Edge implements IEdge
     
     private double  m_CondProbability;
     
+    /**
+     * Owner taxonomy, which is notified when the weight changes
+     */
+    
+    private final Taxonomy  m_Taxonomy;
+    
     /**
      * Constructor
+     * @param taxonomy Owner taxonomy
      * @param source for the Direct arc
      * @param target for the Inverse arc
      */
     
-    Edge(IVertex source, IVertex target)
+    Edge(Taxonomy taxonomy, IVertex source, IVertex target)
     {
         // We init the object
         
+        m_Taxonomy = taxonomy;
         m_Weight = 0.0;
         m_CondProbability = 0.0;
         
@@ -168,5 +176,9 @@ class Edge implements IEdge
         double  weight)
     {
         m_Weight = weight;
+        
+        // We notify the change to invalidate the weighted path indexes
+        
+        m_Taxonomy.incrementVersion();
     }
 }
@@ -85,6 +85,16 @@ class EdgeList implements IEdgeList
         m_Edges.add(edge);
     }
     
+    /**
+     * This function removes an edge from the list
+     * @param edge Edge to be removed
+     */
+    
+    void remove(IEdge  edge)
+    {
+        m_Edges.remove(edge);
+    }
+    
     /**
      * This function returns the edge count in the list.
      * @return The number of edges in the list
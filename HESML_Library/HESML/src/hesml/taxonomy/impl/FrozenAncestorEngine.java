@@ -0,0 +1,476 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the ancestor queries of the frozen taxonomies,
+ * which are answered by traversing the CSR parent arrays with the
+ * per-thread scratch buffers of the taxonomy. Each ancestor set is
+ * marked with a novel stamp, thus, the queries do not clear any buffer
+ * and they can be evaluated concurrently from several threads.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenAncestorEngine
+{
+    /**
+     * Owner taxonomy
+     */
+
+    private final FrozenTaxonomy    m_Taxonomy;
+
+    /**
+     * Constructor
+     * @param taxonomy Owner taxonomy
+     */
+
+    FrozenAncestorEngine(
+            FrozenTaxonomy  taxonomy)
+    {
+        m_Taxonomy = taxonomy;
+    }
+
+    /**
+     * This function marks the inclusive ancestor set of the seed vertex
+     * with a novel stamp and it leaves the ancestors in the scratch
+     * queue following a BFS ordering.
+     * @param seed Seed vertex
+     * @param scratch Traversal buffers
+     * @return Number of vertexes in the inclusive ancestor set
+     */
+
+    int markAncestors(
+            int     seed,
+            TraversalScratch scratch)
+    {
+        return (markAncestors(seed, scratch, scratch.m_Marks));
+    }
+
+    /**
+     * This function marks the inclusive ancestor set of the seed vertex
+     * in the input mark buffer.
+     * @param seed Seed vertex
+     * @param scratch Traversal buffers
+     * @param marks Mark buffer
+     * @return Number of vertexes in the inclusive ancestor set
+     */
+
+    private int markAncestors(
+            int     seed,
+            TraversalScratch scratch,
+            int[]   marks)
+    {
+        int[]   queue = scratch.m_Queue;    // Traversal queue
+        int[]   parentStart = m_Taxonomy.getAdjacencyStart(true);
+        int[]   parents = m_Taxonomy.getAdjacency(true);
+
+        int stamp = scratch.nextStamp();
+        int head = 0;
+        int tail = 0;
+
+        // We enqueue the seed vertex
+
+        queue[tail++] = seed;
+        marks[seed] = stamp;
+
+        // We traverse the ancestors
+
+        while (head < tail)
+        {
+            int current = queue[head++];
+
+            for (int i = parentStart[current]; i < parentStart[current + 1]; i++)
+            {
+                int parent = parents[i];
+
+                if (marks[parent] != stamp)
+                {
+                    marks[parent] = stamp;
+                    queue[tail++] = parent;
+                }
+            }
+        }
+
+        // We return the result
+
+        return (tail);
+    }
+
+    /**
+     * This function returns the number of vertexes in the intersection
+     * of the inclusive ancestor sets of the input vertexes.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return Number of common ancestors
+     */
+
+    int getCommonAncestorCount(
+            int begin,
+            int end)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        int commonCount = 0;    // Returned value
+
+        // We mark the ancestors of the second vertex
+
+        markAncestors(end, scratch, scratch.m_Common);
+
+        int endStamp = scratch.m_Stamp;
+
+        // We count the ancestors of the first vertex marked as common
+
+        int count = markAncestors(begin, scratch);
+
+        for (int i = 0; i < count; i++)
+        {
+            if (scratch.m_Common[scratch.m_Queue[i]] == endStamp)
+            {
+                commonCount++;
+            }
+        }
+
+        // We return the result
+
+        return (commonCount);
+    }
+
+    /**
+     * This function checks if the first vertex belongs to the inclusive
+     * ancestor set of the second vertex.
+     * @param ancestor Candidate ancestor
+     * @param vertex Input vertex
+     * @return True if the first vertex is an ancestor of the second one
+     */
+
+    boolean isAncestor(
+            int ancestor,
+            int vertex)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        // We mark the ancestors of the vertex
+
+        markAncestors(vertex, scratch);
+
+        // We check the mark of the candidate ancestor
+
+        return (scratch.m_Marks[ancestor] == scratch.m_Stamp);
+    }
+
+    /**
+     * This function returns the common ancestor of both vertexes with
+     * the highest score, or -1 if they do not share any ancestor.
+     * The ancestors of the second vertex are marked in the auxiliary
+     * buffer, whilst the ones of the first vertex are traversed in BFS
+     * order. In order to return the same vertex as the Taxonomy class,
+     * the ties are broken by selecting the ancestor with the lowest ID.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param realScores Score of each vertex, or null
+     * @param intScores Integer score of each vertex, used when realScores is null
+     * @return Best common ancestor
+     */
+
+    int getBestCommonAncestor(
+            int         begin,
+            int         end,
+            RealColumn  realScores,
+            int[]       intScores)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        double  maxScore = Double.NEGATIVE_INFINITY;    // Maximum
+
+        int     best = -1;      // Returned value
+        long    bestId = 0;     // ID of the best vertex
+
+        // We mark the ancestors of the second vertex
+
+        markAncestors(end, scratch, scratch.m_Common);
+
+        int endStamp = scratch.m_Stamp;
+
+        // We traverse the ancestors of the first vertex
+
+        int count = markAncestors(begin, scratch);
+
+        // We search the best common ancestor
+
+        for (int i = 0; i < count; i++)
+        {
+            int ancestor = scratch.m_Queue[i];
+
+            if (scratch.m_Common[ancestor] == endStamp)
+            {
+                double score = (realScores != null) ?
+                                realScores.get(ancestor) : intScores[ancestor];
+
+                long id = m_Taxonomy.getId(ancestor);
+
+                if ((score > maxScore) || ((best >= 0)
+                        && (score == maxScore) && (id < bestId)))
+                {
+                    maxScore = score;
+                    best = ancestor;
+                    bestId = id;
+                }
+            }
+        }
+
+        // We return the result
+
+        return (best);
+    }
+
+    /**
+     * This function computes the common ancestors with the highest IC
+     * value, minimum depth and maximum depth of both vertexes, and the
+     * number of common ancestors, by a single traversal of each ancestor
+     * set. The ties are broken as in the getBestCommonAncestor() function.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param icValues IC value of each vertex
+     * @param depthMin Minimum depth of each vertex
+     * @param depthMax Maximum depth of each vertex
+     * @param bestAncestors Output vector with the MICA vertex, and the
+     * LCS vertexes using the minimum and maximum depth
+     * @return Number of common ancestors
+     */
+
+    int getCommonAncestors(
+            int         begin,
+            int         end,
+            RealColumn  icValues,
+            int[]       depthMin,
+            int[]       depthMax,
+            IVertex[]   bestAncestors)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        int commonCount = 0;    // Returned value
+
+        int mica = -1;          // Best ancestors
+        int lcsByDepthMin = -1;
+        int lcsByDepthMax = -1;
+
+        double  maxICvalue = Double.NEGATIVE_INFINITY;  // Maximum scores
+        double  maxDepthMin = Double.NEGATIVE_INFINITY;
+        double  maxDepthMax = Double.NEGATIVE_INFINITY;
+
+        // We mark the ancestors of the second vertex
+
+        markAncestors(end, scratch, scratch.m_Common);
+
+        int endStamp = scratch.m_Stamp;
+
+        // We traverse the ancestors of the first vertex
+
+        int count = markAncestors(begin, scratch);
+
+        // We compare the scores and IDs of the common ancestors
+
+        for (int i = 0; i < count; i++)
+        {
+            int ancestor = scratch.m_Queue[i];
+
+            if (scratch.m_Common[ancestor] != endStamp)
+            {
+                continue;
+            }
+
+            commonCount++;
+
+            long    id = m_Taxonomy.getId(ancestor);
+            double  icValue = icValues.get(ancestor);
+
+            if ((icValue > maxICvalue) || ((mica >= 0)
+                    && (icValue == maxICvalue) && (id < m_Taxonomy.getId(mica))))
+            {
+                maxICvalue = icValue;
+                mica = ancestor;
+            }
+
+            if ((depthMin[ancestor] > maxDepthMin) || ((lcsByDepthMin >= 0)
+                    && (depthMin[ancestor] == maxDepthMin)
+                    && (id < m_Taxonomy.getId(lcsByDepthMin))))
+            {
+                maxDepthMin = depthMin[ancestor];
+                lcsByDepthMin = ancestor;
+            }
+
+            if ((depthMax[ancestor] > maxDepthMax) || ((lcsByDepthMax >= 0)
+                    && (depthMax[ancestor] == maxDepthMax)
+                    && (id < m_Taxonomy.getId(lcsByDepthMax))))
+            {
+                maxDepthMax = depthMax[ancestor];
+                lcsByDepthMax = ancestor;
+            }
+        }
+
+        // We save the result
+
+        bestAncestors[0] = (mica >= 0) ? m_Taxonomy.getVertex(mica) : null;
+        bestAncestors[1] = (lcsByDepthMin >= 0) ? m_Taxonomy.getVertex(lcsByDepthMin) : null;
+        bestAncestors[2] = (lcsByDepthMax >= 0) ? m_Taxonomy.getVertex(lcsByDepthMax) : null;
+
+        // We return the result
+
+        return (commonCount);
+    }
+
+    /**
+     * This function returns the common ancestor with the highest score of
+     * the source vertex and each target vertex, which is the vertex returned
+     * by the getBestCommonAncestor() function for each pair. The ancestors
+     * of the source vertex are sorted only once by decreasing score and
+     * increasing vertex ID, and their rank is stored in the m_BackQueue
+     * buffer, thus, the best common ancestor of each target is its
+     * ancestor with the lowest rank. When the targets are all the
+     * vertexes, the lowest ranks are computed by a single sweep in
+     * topological order, because the ancestors of each vertex are
+     * the own vertex and the ancestors of its parents.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param realScores Score of each vertex, or null
+     * @param intScores Integer score of each vertex, used when realScores is null
+     * @param output Output vector with the best common ancestors
+     */
+
+    void getBestCommonAncestors(
+            int         source,
+            IVertexList targets,
+            RealColumn  realScores,
+            int[]       intScores,
+            IVertex[]   output)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        RootIndex   roots = m_Taxonomy.getRootIndex();
+
+        int[]   ranks = scratch.m_BackQueue;    // Rank of the source ancestors
+
+        // We traverse the ancestors of the source vertex
+
+        int count = markAncestors(source, scratch);
+        int sourceStamp = scratch.m_Stamp;
+
+        // We sort the ancestors whose score can be selected by using
+        // an insertion sort, which breaks the ties by the lowest ID
+
+        int[]       ranked = new int[count];
+        long[]      ids = new long[count];
+        double[]    scores = new double[count];
+
+        int rankedCount = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            int ancestor = scratch.m_Queue[i];
+
+            double score = (realScores != null) ?
+                            realScores.get(ancestor) : intScores[ancestor];
+
+            ranks[ancestor] = Integer.MAX_VALUE;
+
+            if (score > Double.NEGATIVE_INFINITY)
+            {
+                long id = m_Taxonomy.getId(ancestor);
+
+                int k = rankedCount++;
+
+                while ((k > 0) && ((score > scores[k - 1])
+                        || ((score == scores[k - 1]) && (id < ids[k - 1]))))
+                {
+                    ranked[k] = ranked[k - 1];
+                    scores[k] = scores[k - 1];
+                    ids[k] = ids[k - 1];
+                    k--;
+                }
+
+                ranked[k] = ancestor;
+                scores[k] = score;
+                ids[k] = id;
+            }
+        }
+
+        for (int k = 0; k < rankedCount; k++)
+        {
+            ranks[ranked[k]] = k;
+        }
+
+        // We propagate the lowest ranks from the parents to their children
+        // when the targets are all the vertexes
+
+        if (targets == m_Taxonomy.getVertexes())
+        {
+            int[]   lowestRanks = scratch.m_Queue;
+            int[]   parentStart = m_Taxonomy.getAdjacencyStart(true);
+            int[]   parents = m_Taxonomy.getAdjacency(true);
+
+            for (int i = 0; i < m_Taxonomy.getVertexCount(); i++)
+            {
+                int best = (scratch.m_Marks[i] == sourceStamp) ? ranks[i] : Integer.MAX_VALUE;
+
+                for (int k = parentStart[i]; k < parentStart[i + 1]; k++)
+                {
+                    best = Math.min(best, lowestRanks[parents[k]]);
+                }
+
+                lowestRanks[i] = best;
+                output[i] = (best < Integer.MAX_VALUE) ? m_Taxonomy.getVertex(ranked[best]) : null;
+            }
+        }
+        else
+        {
+            // We search the ancestor with the lowest rank of each target
+
+            for (int j = 0; j < targets.getCount(); j++)
+            {
+                int target = ((FrozenVertex)targets.getAt(j)).getIndex();
+                int best = Integer.MAX_VALUE;
+
+                if (!roots.areDisjoint(source, target))
+                {
+                    int targetCount = markAncestors(target, scratch, scratch.m_Common);
+
+                    for (int i = 0; i < targetCount; i++)
+                    {
+                        int ancestor = scratch.m_Queue[i];
+
+                        if ((scratch.m_Marks[ancestor] == sourceStamp)
+                                && (ranks[ancestor] < best))
+                        {
+                            best = ranks[ancestor];
+                        }
+                    }
+                }
+
+                output[j] = (best < Integer.MAX_VALUE) ? m_Taxonomy.getVertex(ranked[best]) : null;
+            }
+        }
+    }
+}
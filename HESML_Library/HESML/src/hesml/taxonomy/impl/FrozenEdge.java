@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the non-oriented edges of a frozen taxonomy,
+ * whose weight and conditional probability are stored in the edge
+ * columns of the taxonomy.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenEdge implements IEdge
+{
+    /**
+     * Owner taxonomy
+     */
+
+    private final FrozenTaxonomy    m_Taxonomy;
+
+    /**
+     * Position of the edge within the taxonomy columns
+     */
+
+    private final int   m_Index;
+
+    /**
+     * Oriented edges pointing to the parent (direct) and child (inverse)
+     */
+
+    private final FrozenHalfEdge    m_Direct;
+    private final FrozenHalfEdge    m_Inverse;
+
+    /**
+     * Constructor
+     * @param taxonomy Owner taxonomy
+     * @param index Position of the edge
+     */
+
+    FrozenEdge(
+            FrozenTaxonomy  taxonomy,
+            int             index)
+    {
+        m_Taxonomy = taxonomy;
+        m_Index = index;
+        m_Direct = new FrozenHalfEdge(this, true);
+        m_Inverse = new FrozenHalfEdge(this, false);
+    }
+
+    /**
+     * @return Owner taxonomy
+     */
+
+    FrozenTaxonomy getFrozenTaxonomy()
+    {
+        return (m_Taxonomy);
+    }
+
+    /**
+     * @return Position of the edge
+     */
+
+    int getIndex()
+    {
+        return (m_Index);
+    }
+
+    /**
+     * This function returns the oriented edge pointing to the parent.
+     * @return Direct oriented edge
+     */
+
+    @Override
+    public IHalfEdge getDirect()
+    {
+        return (m_Direct);
+    }
+
+    /**
+     * This function returns the oriented edge pointing to the child.
+     * @return Inverse oriented edge
+     */
+
+    @Override
+    public IHalfEdge getInverse()
+    {
+        return (m_Inverse);
+    }
+
+    /**
+     * This function returns the weight of the edge.
+     * @return Edge weight
+     */
+
+    @Override
+    public double getWeight()
+    {
+        return (m_Taxonomy.getEdgeWeight(m_Index));
+    }
+
+    /**
+     * This function sets the weight of the edge.
+     * @param weight New weight
+     */
+
+    @Override
+    public void setWeight(double weight)
+    {
+        m_Taxonomy.setEdgeWeight(m_Index, weight);
+    }
+
+    /**
+     * This function sets the conditional probability of the edge.
+     * @param value New conditional probability
+     */
+
+    @Override
+    public void setCondProbability(double value)
+    {
+        m_Taxonomy.setEdgeCondProbability(m_Index, value);
+    }
+
+    /**
+     * This function returns the conditional probability of the edge.
+     * @return Conditional probability
+     */
+
+    @Override
+    public double getCondProbability()
+    {
+        return (m_Taxonomy.getEdgeCondProbability(m_Index));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the oriented edges of a frozen taxonomy.
+ * The oriented edges are only created on-demand to support the client
+ * code based on the PosetHERep traversal, such as the IC models, whilst
+ * their attributes are stored in the columns of the frozen taxonomy.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenHalfEdge implements IHalfEdge
+{
+    /**
+     * Parent edge
+     */
+
+    private final FrozenEdge    m_Edge;
+
+    /**
+     * Orientation of the edge: true for the child-to-parent edge
+     */
+
+    private final boolean   m_Ascending;
+
+    /**
+     * Constructor
+     * @param edge The owner edge
+     * @param ascending True for the edge pointing to the parent vertex
+     */
+
+    FrozenHalfEdge(
+            FrozenEdge  edge,
+            boolean     ascending)
+    {
+        m_Edge = edge;
+        m_Ascending = ascending;
+    }
+
+    /**
+     * This function returns the weight value of this half-edge
+     * @return Weight value used in asymmetric shortest path computation.
+     */
+
+    @Override
+    public double getWeight()
+    {
+        return (m_Edge.getFrozenTaxonomy().getOrientedEdgeWeight(
+                m_Edge.getIndex(), m_Ascending));
+    }
+
+    /**
+     * This function sets the weight value associated to the
+     * current instance of the oriented edge.
+     * @param weight New weight value
+     */
+
+    @Override
+    public void setWeight(double weight)
+    {
+        m_Edge.getFrozenTaxonomy().setOrientedEdgeWeight(
+                m_Edge.getIndex(), m_Ascending, weight);
+    }
+
+    /**
+     * This function returns the type of edge
+     * @return The type of edge
+     */
+
+    @Override
+    public OrientedEdgeType getEdgeType()
+    {
+        return (m_Ascending ? OrientedEdgeType.SubClassOf :
+                OrientedEdgeType.SuperClassOf);
+    }
+
+    /**
+     * This function returns the next outcoming edge from the target vertex.
+     * @return Next outcoming edge from the target vertex.
+     */
+
+    @Override
+    public IHalfEdge getNext()
+    {
+        return (m_Edge.getFrozenTaxonomy().getNextOutcomingEdge(
+                m_Edge.getIndex(), m_Ascending));
+    }
+
+    /**
+     * This function returns the target vertex pointed by the current half-edge.
+     * @return Target vertex
+     */
+
+    @Override
+    public IVertex getTarget()
+    {
+        FrozenTaxonomy  taxonomy = m_Edge.getFrozenTaxonomy();
+
+        int edge = m_Edge.getIndex();
+
+        return (taxonomy.getVertex(m_Ascending ? taxonomy.getEdgeParent(edge)
+                : taxonomy.getEdgeChild(edge)));
+    }
+
+    /**
+     * This function returns the parent non-oriented edge.
+     * @return Parent non-oriented edge.
+     */
+
+    @Override
+    public IEdge getEdge()
+    {
+        return (m_Edge);
+    }
+
+    /**
+     * This function returns the opposite oriented edge.
+     * @return Opposite edge
+     */
+
+    @Override
+    public IHalfEdge getOpposite()
+    {
+        return (m_Ascending ? m_Edge.getInverse() : m_Edge.getDirect());
+    }
+}
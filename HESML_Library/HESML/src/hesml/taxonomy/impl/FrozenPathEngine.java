@@ -0,0 +1,541 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the shortest path queries of the frozen
+ * taxonomies. The edge-counting distances are retrieved from the distance
+ * index of the taxonomy when it is available, or they are computed by a
+ * BFS traversal, whilst the weighted distances are computed by the
+ * Dijkstra algorithm with an indexed binary heap. The traversals use the
+ * per-thread scratch buffers of the taxonomy, thus, they do not allocate
+ * any object and they can be evaluated concurrently from several threads.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenPathEngine
+{
+    /**
+     * Owner taxonomy
+     */
+
+    private final FrozenTaxonomy    m_Taxonomy;
+
+    /**
+     * Constructor
+     * @param taxonomy Owner taxonomy
+     */
+
+    FrozenPathEngine(
+            FrozenTaxonomy  taxonomy)
+    {
+        m_Taxonomy = taxonomy;
+    }
+
+    /**
+     * This function computes the length of the shortest path between two
+     * vertexes. The unweighted length is computed by a BFS traversal,
+     * whilst the weighted one is computed by the Dijkstra algorithm.
+     * Both methods stop once the target vertex is reached.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param weightMode Edge weights: 0 = unit, 1 = edge weights,
+     * 2 = oriented edge weights
+     * @return The length of the shortest path
+     */
+
+    double getDistance(
+            int source,
+            int target,
+            int weightMode)
+    {
+        double  distance;   // Returned value
+
+        // We filter the trivial case
+
+        if (source == target)
+        {
+            distance = 0.0;
+        }
+        else if ((weightMode == 0) && (m_Taxonomy.getDistanceIndex() != null))
+        {
+            distance = m_Taxonomy.getDistanceIndex().getDistance(source, target);
+        }
+        else if (weightMode == 0)
+        {
+            distance = getBfsDistance(source, target, m_Taxonomy.getScratch());
+        }
+        else
+        {
+            distance = getDijkstraDistance(source, target, weightMode, m_Taxonomy.getScratch());
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function computes the length of the shortest path between the
+     * source vertex and each target vertex. Unless the distances are
+     * retrieved from the distance index, the function runs a single
+     * traversal from the source vertex, which stops once all the
+     * targets are reached. When the targets are all the vertexes of the
+     * taxonomy, the function computes the whole distance field.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param weightMode Edge weights: 0 = unit, 1 = edge weights,
+     * 2 = oriented edge weights
+     * @param distances Output vector with the distance to each target
+     */
+
+    void getDistances(
+            int         source,
+            IVertexList targets,
+            int         weightMode,
+            double[]    distances)
+    {
+        int targetCount = targets.getCount();
+
+        // We compute the whole distance field for all the vertexes, or
+        // each distance individually for a single target, or when
+        // the distance index is available
+
+        if (targets == m_Taxonomy.getVertexes())
+        {
+            TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+            if (weightMode == 0)
+            {
+                computeBfsDistances(source, 0, -1, scratch);
+            }
+            else
+            {
+                computeDijkstraDistances(source, 0, -1, weightMode, scratch);
+            }
+
+            for (int i = 0; i < m_Taxonomy.getVertexCount(); i++)
+            {
+                distances[i] = (scratch.m_Marks[i] == scratch.m_Stamp) ?
+                                scratch.m_Distances[i] : Double.POSITIVE_INFINITY;
+            }
+        }
+        else if ((targetCount == 1) || ((weightMode == 0) && (m_Taxonomy.getDistanceIndex() != null)))
+        {
+            for (int i = 0; i < targetCount; i++)
+            {
+                distances[i] = getDistance(source,
+                                ((FrozenVertex)targets.getAt(i)).getIndex(), weightMode);
+            }
+        }
+        else
+        {
+            TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+            // We label the targets in the auxiliary mark buffer
+
+            int targetStamp = scratch.nextStamp();
+            int pendingTargets = 0;
+
+            for (int i = 0; i < targetCount; i++)
+            {
+                int target = ((FrozenVertex)targets.getAt(i)).getIndex();
+
+                if (scratch.m_Common[target] != targetStamp)
+                {
+                    scratch.m_Common[target] = targetStamp;
+                    pendingTargets++;
+                }
+            }
+
+            // We search the targets
+
+            if (weightMode == 0)
+            {
+                computeBfsDistances(source, targetStamp, pendingTargets, scratch);
+            }
+            else
+            {
+                computeDijkstraDistances(source, targetStamp,
+                        pendingTargets, weightMode, scratch);
+            }
+
+            // We copy the distances of the targets
+
+            for (int i = 0; i < targetCount; i++)
+            {
+                int target = ((FrozenVertex)targets.getAt(i)).getIndex();
+
+                distances[i] = (scratch.m_Marks[target] == scratch.m_Stamp) ?
+                                scratch.m_Distances[target] : Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * This function retrieves the vertexes closest to the source vertex
+     * by a BFS or Dijkstra traversal which stops once the output
+     * vector is filled.
+     * @param source Source vertex
+     * @param weightMode Edge weights: 0 = unit, 1 = edge weights,
+     * 2 = oriented edge weights
+     * @param nearest Output vector with the nearest vertexes
+     * @param distances Output vector with the distance to each vertex
+     * @return Number of vertexes retrieved
+     */
+
+    int getNearestVertexes(
+            int         source,
+            int         weightMode,
+            IVertex[]   nearest,
+            double[]    distances)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        // We reach the source vertex and the nearest vertexes
+
+        int reached = (weightMode == 0) ?
+                    computeBfsDistances(source, 0, nearest.length + 1, scratch)
+                    : computeDijkstraDistances(source, 0, nearest.length + 1,
+                        weightMode, scratch);
+
+        int count = Math.min(reached - 1, nearest.length);
+
+        // We copy the nearest vertexes, which follow the source
+        // vertex in the traversal order
+
+        for (int i = 0; i < count; i++)
+        {
+            int vertex = scratch.m_Queue[i + 1];
+
+            nearest[i] = m_Taxonomy.getVertex(vertex);
+            distances[i] = scratch.m_Distances[vertex];
+        }
+
+        // We return the result
+
+        return (count);
+    }
+
+    /**
+     * This function computes the distance field from the source vertex
+     * and stores it in the minimum distance column.
+     * @param source Source vertex
+     * @param weighted Flag indicating if the edge weights will be used
+     */
+
+    void computeDistanceField(
+            int     source,
+            boolean weighted)
+    {
+        TraversalScratch scratch = m_Taxonomy.getScratch();   // Traversal buffers
+
+        // We compute the whole distance field
+
+        if (weighted)
+        {
+            getDijkstraDistance(source, -1, 1, scratch);
+        }
+        else
+        {
+            getBfsDistance(source, -1, scratch);
+        }
+
+        // We copy the distance field to the minimum distance column
+
+        int stamp = scratch.m_Stamp;
+
+        for (int i = 0; i < m_Taxonomy.getVertexCount(); i++)
+        {
+            m_Taxonomy.setMinDistance(i, (scratch.m_Marks[i] == stamp) ?
+                                scratch.m_Distances[i] : Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * This function computes the edge-counting distance between the source
+     * and target vertexes by using a BFS traversal. If the target is
+     * negative, the function computes the whole distance field.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param scratch Traversal buffers
+     * @return Number of edges in the shortest path
+     */
+
+    private double getBfsDistance(
+            int     source,
+            int     target,
+            TraversalScratch scratch)
+    {
+        double  distance = Double.POSITIVE_INFINITY; // Returned value
+
+        int targetStamp = 0;
+        int pendingTargets = -1;
+
+        // We label the target vertex in the auxiliary mark buffer
+
+        if (target >= 0)
+        {
+            targetStamp = scratch.nextStamp();
+            pendingTargets = 1;
+
+            scratch.m_Common[target] = targetStamp;
+        }
+
+        // We search the target vertex
+
+        computeBfsDistances(source, targetStamp, pendingTargets, scratch);
+
+        if ((target >= 0) && (scratch.m_Marks[target] == scratch.m_Stamp))
+        {
+            distance = scratch.m_Distances[target];
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function computes the edge-counting distances from the source
+     * vertex by using a BFS traversal, which stops once all the target
+     * vertexes, labelled with the target stamp in the m_Common buffer,
+     * have been reached. A zero target stamp labels every vertex as a
+     * target. The reached vertexes are marked with the current stamp,
+     * their distance is stored in the m_Distances buffer, and they are
+     * stored in the m_Queue buffer in increasing distance order.
+     * @param source Source vertex
+     * @param targetStamp Stamp of the target vertexes
+     * @param pendingTargets Number of target vertexes, or a negative
+     * value to compute the whole distance field
+     * @param scratch Traversal buffers
+     * @return Number of reached vertexes
+     */
+
+    private int computeBfsDistances(
+            int     source,
+            int     targetStamp,
+            int     pendingTargets,
+            TraversalScratch scratch)
+    {
+        int[]       marks = scratch.m_Marks;
+        int[]       common = scratch.m_Common;
+        int[]       queue = scratch.m_Queue;
+        double[]    distances = scratch.m_Distances;
+
+        int stamp = scratch.nextStamp();
+        int head = 0;
+        int tail = 0;
+
+        // We enqueue the source vertex
+
+        queue[tail++] = source;
+        marks[source] = stamp;
+        distances[source] = 0.0;
+
+        if ((pendingTargets > 0) && ((targetStamp == 0)
+                || (common[source] == targetStamp)))
+        {
+            pendingTargets--;
+        }
+
+        // We traverse the taxonomy level by level
+
+        while ((head < tail) && (pendingTargets != 0))
+        {
+            int current = queue[head++];
+
+            double novelDistance = distances[current] + 1.0;
+
+            // We visit the parents and children
+
+            for (int k = 0; k < 2; k++)
+            {
+                int[] start = m_Taxonomy.getAdjacencyStart(k == 0);
+                int[] adjacents = m_Taxonomy.getAdjacency(k == 0);
+
+                for (int i = start[current]; i < start[current + 1]; i++)
+                {
+                    int adjacent = adjacents[i];
+
+                    if (marks[adjacent] != stamp)
+                    {
+                        marks[adjacent] = stamp;
+                        distances[adjacent] = novelDistance;
+                        queue[tail++] = adjacent;
+
+                        if ((pendingTargets > 0) && ((targetStamp == 0)
+                                || (common[adjacent] == targetStamp)))
+                        {
+                            pendingTargets--;
+                        }
+                    }
+                }
+            }
+        }
+
+        // We return the result
+
+        return (tail);
+    }
+
+    /**
+     * This function computes the weighted distance between the source and
+     * target vertexes by using the Dijkstra algorithm with an indexed
+     * binary heap. If the target is negative, the function computes
+     * the whole distance field. Every vertex is settled only once,
+     * even if some weight is negative, as in the ShortestPathEngine class.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param weightMode 1 = edge weights, 2 = oriented edge weights
+     * @param scratch Traversal buffers
+     * @return Length of the shortest path
+     */
+
+    private double getDijkstraDistance(
+            int     source,
+            int     target,
+            int     weightMode,
+            TraversalScratch scratch)
+    {
+        double  distance = Double.POSITIVE_INFINITY; // Returned value
+
+        int targetStamp = 0;
+        int pendingTargets = -1;
+
+        // We label the target vertex in the auxiliary mark buffer
+
+        if (target >= 0)
+        {
+            targetStamp = scratch.nextStamp();
+            pendingTargets = 1;
+
+            scratch.m_Common[target] = targetStamp;
+        }
+
+        // We search the target vertex
+
+        computeDijkstraDistances(source, targetStamp, pendingTargets,
+                weightMode, scratch);
+
+        if ((target >= 0) && (scratch.m_Marks[target] == scratch.m_Stamp))
+        {
+            distance = scratch.m_Distances[target];
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function computes the weighted distances from the source vertex
+     * by using the Dijkstra algorithm with an indexed binary heap, which
+     * stops once all the target vertexes, labelled with the target stamp
+     * in the m_Common buffer, have been settled. A zero target stamp
+     * labels every vertex as a target. The settled vertexes are stored
+     * in the m_Queue buffer in increasing distance order. The settled
+     * vertexes are never re-opened, even if some weight is negative.
+     * @param source Source vertex
+     * @param targetStamp Stamp of the target vertexes
+     * @param pendingTargets Number of target vertexes, or a negative
+     * value to compute the whole distance field
+     * @param weightMode 1 = edge weights, 2 = oriented edge weights
+     * @param scratch Traversal buffers
+     * @return Number of settled vertexes
+     */
+
+    private int computeDijkstraDistances(
+            int     source,
+            int     targetStamp,
+            int     pendingTargets,
+            int     weightMode,
+            TraversalScratch scratch)
+    {
+        int[]       marks = scratch.m_Marks;
+        double[]    distances = scratch.m_Distances;
+
+        int stamp = scratch.nextStamp();
+        int settled = 0;
+
+        // We insert the source vertex
+
+        marks[source] = stamp;
+        distances[source] = 0.0;
+
+        scratch.clearHeap();
+        scratch.pushOrDecrease(source);
+
+        // We expand the vertexes in increasing distance order
+
+        while (!scratch.isHeapEmpty())
+        {
+            int current = scratch.popMin();
+
+            scratch.m_Queue[settled++] = current;
+
+            // We stop once all the targets have been settled
+
+            if ((pendingTargets > 0) && ((targetStamp == 0)
+                    || (scratch.m_Common[current] == targetStamp))
+                    && (--pendingTargets == 0))
+            {
+                break;
+            }
+
+            // We relax the ascending and descending edges
+
+            for (int k = 0; k < 2; k++)
+            {
+                int[] start = m_Taxonomy.getAdjacencyStart(k == 0);
+                int[] adjacents = m_Taxonomy.getAdjacency(k == 0);
+                int[] edges = m_Taxonomy.getAdjacencyEdges(k == 0);
+
+                RealColumn weights = m_Taxonomy.getWeights(weightMode, k == 0);
+
+                for (int i = start[current]; i < start[current + 1]; i++)
+                {
+                    int adjacent = adjacents[i];
+
+                    double novelDistance = distances[current] + weights.get(edges[i]);
+
+                    if ((marks[adjacent] != stamp)
+                            || ((novelDistance < distances[adjacent])
+                                && scratch.isInHeap(adjacent)))
+                    {
+                        marks[adjacent] = stamp;
+                        distances[adjacent] = novelDistance;
+                        scratch.pushOrDecrease(adjacent);
+                    }
+                }
+            }
+        }
+
+        // We return the result
+
+        return (settled);
+    }
+}
@@ -0,0 +1,2034 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+// HESML references
+
+import hesml.configurators.ITaxonomyInfoConfigurator;
+import hesml.taxonomy.*;
+
+/**
+ * This class implements a read-only and compact version of the ITaxonomy
+ * interface, called frozen taxonomy, which is built from any preprocessed
+ * taxonomy. Instead of the Vertex, Edge and HalfEdge objects used by the
+ * PosetHERep model, the frozen taxonomy stores the vertex IDs, the
+ * parent and children adjacency (CSR int arrays), the cached attributes
+ * and the IC-based attributes as primitive columns, whose index is the
+ * position of each vertex in the total ordering of the source taxonomy.
+ * The LCS, MICA and shortest path queries are computed directly onto
+ * these columns by using per-thread scratch buffers, thus, they do not
+ * allocate any object and they can be safely invoked from several threads.
+ * The IEdge and IHalfEdge objects are only materialized on-demand
+ * when any client code (such as the IC models) requests them.
+ * 
+ * The compact taxonomies are aimed at ontologies with millions of
+ * concepts. They store the IC-based attributes of the vertexes and edges
+ * in single precision, and they retrieve the vertexes by ID through a
+ * sorted permutation of the vertex positions instead of a sorted copy
+ * of the IDs. In both cases, the vertex objects are created the first
+ * time that they are requested, and the user-defined tags are stored in
+ * side tables which are only allocated when they are used.
+ * 
+ * The frozen taxonomies can be saved into a versioned binary file, which
+ * stores the columns above in the same layout, and they are loaded by
+ * mapping the file into memory and copying the columns in bulk, thus,
+ * the taxonomy is not parsed, sorted or preprocessed again. The files
+ * can also store a fingerprint of the source data of the taxonomy and
+ * the attributes of several IC models, which are restored on-demand
+ * instead of being computed again. These files are called snapshots.
+ * 
+ * Several IC models can coexist on the same frozen taxonomy by means of
+ * named IC model layers. Each layer is a frozen taxonomy which shares the
+ * topology, the cached attributes and the traversal buffers of its base
+ * taxonomy, but it owns its IC-based columns, visiting flags, tags and
+ * vertex objects. Thus, the measures created onto a layer are bound to
+ * the IC model computed onto the layer, and the measures of different
+ * layers can be evaluated concurrently.
+ * 
+ * The frozen taxonomies can also be forked. A fork shares the topology,
+ * the cached attributes and the IC-based columns of the source taxonomy,
+ * but the IC-based columns are copied when they are modified for the
+ * first time either in the fork or in the source taxonomy. Thus, a fork
+ * only costs its vertex collection and visiting flags until it computes
+ * any IC model, and each fork can be used by a different thread.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenTaxonomy implements ITaxonomy
+{
+    /**
+     * Number of vertexes and non-oriented edges
+     */
+
+    private int m_VertexCount;
+    private int m_EdgeCount;
+
+    /**
+     * Unique ID of each vertex
+     */
+
+    private long[]  m_Ids;
+
+    /**
+     * Flag indicating whether the IC-based attributes are stored
+     * in single precision
+     */
+
+    private final boolean   m_Compact;
+
+    /**
+     * Sorted ID values and their vertex positions, which are used
+     * to retrieve the vertexes by ID. The compact taxonomies do not
+     * store the sorted ID values.
+     */
+
+    private long[]  m_SortedIds;
+    private int[]   m_SortedIdVertexes;
+
+    /**
+     * Parent adjacency in CSR format. The parents of the vertex 'i'
+     * are stored in the [m_ParentStart[i], m_ParentStart[i+1]) range,
+     * together with the index of the edge joining them.
+     */
+
+    private int[]   m_ParentStart;
+    private int[]   m_Parents;
+    private int[]   m_ParentEdges;
+
+    /**
+     * Children adjacency in CSR format
+     */
+
+    private int[]   m_ChildStart;
+    private int[]   m_Children;
+    private int[]   m_ChildEdges;
+
+    /**
+     * Extremes of each non-oriented edge and the position of the edge
+     * within the parent list of the child vertex and within the
+     * children list of the parent vertex.
+     */
+
+    private int[]   m_EdgeChild;
+    private int[]   m_EdgeParent;
+    private int[]   m_EdgeChildPos;
+    private int[]   m_EdgeParentPos;
+
+    /**
+     * Cached attributes of the vertexes
+     */
+
+    private int[]   m_DepthMin;
+    private int[]   m_DepthMax;
+    private int[]   m_HyponymCount;
+    private int[]   m_LeafCount;
+    private int[]   m_AncestorCount;
+
+    /**
+     * IC-based attributes of the vertexes
+     */
+
+    private RealColumn  m_ICvalues;
+    private RealColumn  m_Probabilities;
+    private RealColumn  m_MinDistances;
+
+    /**
+     * IC-based attributes of the edges. The ascending weights are those
+     * ones associated to the child-to-parent oriented edges, whilst the
+     * descending weights correspond to the parent-to-child oriented edges.
+     */
+
+    private RealColumn  m_EdgeWeights;
+    private RealColumn  m_EdgeCondProbabilities;
+    private RealColumn  m_AscendingWeights;
+    private RealColumn  m_DescendingWeights;
+
+    /**
+     * Visiting flags
+     */
+
+    private BitSet  m_Visited;
+
+    /**
+     * User-defined tags, which are only allocated when they are used.
+     */
+
+    private HashMap<Integer, Object>    m_Tags;
+    private HashMap<Integer, String>    m_StringTags;
+
+    /**
+     * IC-based attributes of the IC models stored in the snapshot file
+     * of the taxonomy, which are only allocated when they are used
+     */
+
+    private HashMap<String, RealColumn[]>   m_StoredICmodels;
+
+    /**
+     * Base taxonomy of the layer, or null if this taxonomy is not a layer
+     */
+
+    private final FrozenTaxonomy    m_Base;
+
+    /**
+     * IC model layers of the base taxonomy, which are created on-demand
+     */
+
+    private HashMap<String, FrozenTaxonomy> m_Layers;
+
+    /**
+     * Vertex objects referencing the columns above, which are
+     * created on-demand
+     */
+
+    private FrozenVertex[]  m_VertexObjects;
+
+    /**
+     * Read-only vertex collection
+     */
+
+    private FrozenVertexList    m_Vertexes;
+
+    /**
+     * Non-oriented edges materialized on-demand
+     */
+
+    private FrozenEdge[]    m_EdgeObjects;
+    private EdgeList        m_Edges;
+
+    /**
+     * Per-thread scratch buffers used by the traversal methods
+     */
+
+    private ThreadLocal<TraversalScratch>    m_Scratch;
+
+    /**
+     * Per-thread buffers used by the visitor traversals, which can be nested
+     */
+
+    private final ScratchPool   m_ScratchPool;
+
+    /**
+     * Optional index for the edge-counting distance
+     */
+
+    private DistanceLabelIndex  m_DistanceIndex;
+
+    /**
+     * Root of each vertex, which is built on-demand
+     */
+
+    private volatile RootIndex  m_RootIndex;
+
+    /**
+     * Engines of the shortest path and ancestor queries
+     */
+
+    private final FrozenPathEngine      m_PathEngine;
+    private final FrozenAncestorEngine  m_AncestorEngine;
+
+    /**
+     * Constructor. The new taxonomy copies the topology, the cached
+     * attributes and the IC-based attributes of the source taxonomy.
+     * @param source Preprocessed source taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    FrozenTaxonomy(
+            ITaxonomy   source) throws Exception
+    {
+        this(source, false);
+    }
+
+    /**
+     * Constructor. The new taxonomy copies the topology, the cached
+     * attributes and the IC-based attributes of the source taxonomy.
+     * @param source Preprocessed source taxonomy
+     * @param compact Flag indicating whether the IC-based attributes
+     * are stored in single precision
+     * @throws Exception Unexpected error
+     */
+
+    FrozenTaxonomy(
+            ITaxonomy   source,
+            boolean     compact) throws Exception
+    {
+        IVertexList sourceVertexes = source.getVertexes();  // Source vertexes
+
+        HashMap<IVertex, Integer>   vertexIndexes;  // Position of each vertex
+        HashMap<IEdge, Integer>     edgeIndexes;    // Position of each edge
+
+        // We get the number of vertexes and edges
+
+        m_Base = null;
+        m_ScratchPool = new ScratchPool();
+        m_PathEngine = new FrozenPathEngine(this);
+        m_AncestorEngine = new FrozenAncestorEngine(this);
+        m_Compact = compact;
+        m_VertexCount = sourceVertexes.getCount();
+        m_EdgeCount = source.getEdges().getCount();
+
+        // We index the source vertexes
+
+        vertexIndexes = new HashMap<>(m_VertexCount + 1, 1.0f);
+        edgeIndexes = new HashMap<>(m_EdgeCount + 1, 1.0f);
+
+        m_Ids = new long[m_VertexCount];
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            IVertex vertex = sourceVertexes.getAt(i);
+
+            vertexIndexes.put(vertex, i);
+            m_Ids[i] = vertex.getID();
+        }
+
+        // We create the adjacency columns
+
+        buildAdjacency(sourceVertexes, vertexIndexes, edgeIndexes);
+
+        // We copy the vertex attributes
+
+        copyVertexAttributes(sourceVertexes);
+
+        // We copy the edge attributes
+
+        copyEdgeAttributes(sourceVertexes, edgeIndexes);
+
+        // We build the ID index
+
+        buildIdIndex();
+
+        // We compute the ancestor count of each vertex
+
+        computeAncestorCounts();
+
+        // We create the vertex collection. The vertex objects
+        // are created on-demand.
+
+        m_VertexObjects = new FrozenVertex[m_VertexCount];
+
+        m_Vertexes = new FrozenVertexList(this);
+    }
+
+    /**
+     * Constructor. The new taxonomy takes the columns loaded from
+     * a binary taxonomy file, which are sorted as the columns returned
+     * by the getIntColumns() and getICcolumns() functions.
+     * @param compact Flag indicating whether the IC-based attributes
+     * are stored in single precision
+     * @param ids Vertex IDs
+     * @param intColumns ID index, adjacency and cached attributes
+     * @param icColumns IC-based attributes
+     */
+
+    FrozenTaxonomy(
+            boolean         compact,
+            long[]          ids,
+            int[][]         intColumns,
+            RealColumn[]    icColumns)
+    {
+        // We get the number of vertexes and edges
+
+        m_Base = null;
+        m_ScratchPool = new ScratchPool();
+        m_PathEngine = new FrozenPathEngine(this);
+        m_AncestorEngine = new FrozenAncestorEngine(this);
+        m_Compact = compact;
+        m_VertexCount = ids.length;
+        m_EdgeCount = intColumns[2].length;
+        m_Ids = ids;
+
+        // We set the IC-based attributes
+
+        m_ICvalues = icColumns[0];
+        m_Probabilities = icColumns[1];
+        m_MinDistances = icColumns[2];
+        m_EdgeWeights = icColumns[3];
+        m_EdgeCondProbabilities = icColumns[4];
+        m_AscendingWeights = icColumns[5];
+        m_DescendingWeights = icColumns[6];
+
+        // We set the ID index, the adjacency and the cached attributes
+
+        m_SortedIdVertexes = intColumns[0];
+        m_ParentStart = intColumns[1];
+        m_Parents = intColumns[2];
+        m_ParentEdges = intColumns[3];
+        m_ChildStart = intColumns[4];
+        m_Children = intColumns[5];
+        m_ChildEdges = intColumns[6];
+        m_EdgeChild = intColumns[7];
+        m_EdgeParent = intColumns[8];
+        m_EdgeChildPos = intColumns[9];
+        m_EdgeParentPos = intColumns[10];
+        m_DepthMin = intColumns[11];
+        m_DepthMax = intColumns[12];
+        m_HyponymCount = intColumns[13];
+        m_LeafCount = intColumns[14];
+        m_AncestorCount = intColumns[15];
+
+        // We rebuild the sorted IDs from the sorted vertex positions
+
+        if (!m_Compact)
+        {
+            m_SortedIds = new long[m_VertexCount];
+
+            for (int i = 0; i < m_VertexCount; i++)
+            {
+                m_SortedIds[i] = m_Ids[m_SortedIdVertexes[i]];
+            }
+        }
+
+        // We create the vertex collection
+
+        m_Visited = new BitSet(m_VertexCount);
+        m_VertexObjects = new FrozenVertex[m_VertexCount];
+        m_Vertexes = new FrozenVertexList(this);
+    }
+
+    /**
+     * Constructor of an IC model layer or a fork. Both ones share the
+     * topology, the cached attributes and the traversal buffers of the
+     * source taxonomy. The IC-based attributes of the layers are initialized
+     * to zero, whilst the forks share the IC-based columns of the source
+     * taxonomy until they are modified, as well as a copy of its tags.
+     * @param base Source taxonomy
+     * @param isLayer Flag indicating whether the novel taxonomy is a layer
+     */
+
+    private FrozenTaxonomy(
+            FrozenTaxonomy  base,
+            boolean         isLayer)
+    {
+        // We share the topology and the cached attributes
+
+        m_Base = isLayer ? base : null;
+        m_Compact = base.m_Compact;
+        m_VertexCount = base.m_VertexCount;
+        m_EdgeCount = base.m_EdgeCount;
+        m_Ids = base.m_Ids;
+        m_SortedIds = base.m_SortedIds;
+        m_SortedIdVertexes = base.m_SortedIdVertexes;
+        m_ParentStart = base.m_ParentStart;
+        m_Parents = base.m_Parents;
+        m_ParentEdges = base.m_ParentEdges;
+        m_ChildStart = base.m_ChildStart;
+        m_Children = base.m_Children;
+        m_ChildEdges = base.m_ChildEdges;
+        m_EdgeChild = base.m_EdgeChild;
+        m_EdgeParent = base.m_EdgeParent;
+        m_EdgeChildPos = base.m_EdgeChildPos;
+        m_EdgeParentPos = base.m_EdgeParentPos;
+        m_DepthMin = base.m_DepthMin;
+        m_DepthMax = base.m_DepthMax;
+        m_HyponymCount = base.m_HyponymCount;
+        m_LeafCount = base.m_LeafCount;
+        m_AncestorCount = base.m_AncestorCount;
+        m_StoredICmodels = base.m_StoredICmodels;
+
+        // We share the traversal buffers, which are only used by one
+        // traversal at a time in each thread
+
+        base.getScratch();
+
+        m_Scratch = base.m_Scratch;
+        m_ScratchPool = base.m_ScratchPool;
+        m_PathEngine = new FrozenPathEngine(this);
+        m_AncestorEngine = new FrozenAncestorEngine(this);
+
+        // We create the IC-based columns of the layer
+
+        if (isLayer)
+        {
+            m_ICvalues = new RealColumn(m_VertexCount, m_Compact);
+            m_Probabilities = new RealColumn(m_VertexCount, m_Compact);
+            m_MinDistances = new RealColumn(m_VertexCount, m_Compact);
+            m_EdgeWeights = new RealColumn(m_EdgeCount, m_Compact);
+            m_EdgeCondProbabilities = new RealColumn(m_EdgeCount, m_Compact);
+            m_AscendingWeights = new RealColumn(m_EdgeCount, m_Compact);
+            m_DescendingWeights = new RealColumn(m_EdgeCount, m_Compact);
+        }
+        else
+        {
+            // We share the IC-based columns and we copy the tags of the fork
+
+            synchronized (base)
+            {
+                m_ICvalues = base.m_ICvalues.share();
+                m_Probabilities = base.m_Probabilities.share();
+                m_MinDistances = base.m_MinDistances.share();
+                m_EdgeWeights = base.m_EdgeWeights.share();
+                m_EdgeCondProbabilities = base.m_EdgeCondProbabilities.share();
+                m_AscendingWeights = base.m_AscendingWeights.share();
+                m_DescendingWeights = base.m_DescendingWeights.share();
+
+                m_Tags = (base.m_Tags != null) ? new HashMap<>(base.m_Tags) : null;
+                m_StringTags = (base.m_StringTags != null) ? new HashMap<>(base.m_StringTags) : null;
+            }
+
+            m_DistanceIndex = base.getDistanceIndex();
+            m_RootIndex = base.m_RootIndex;
+        }
+
+        // We create the vertex collection
+
+        m_Visited = new BitSet(m_VertexCount);
+        m_VertexObjects = new FrozenVertex[m_VertexCount];
+        m_Vertexes = new FrozenVertexList(this);
+    }
+
+    /**
+     * This function returns the IC model layer with the input name,
+     * which is created the first time that it is requested. The layers
+     * of any layer are the layers of its base taxonomy.
+     * @param strLayer Name of the layer
+     * @return IC model layer
+     */
+
+    FrozenTaxonomy getLayer(
+            String  strLayer)
+    {
+        FrozenTaxonomy  layer;  // Returned value
+
+        // We search the layer in the base taxonomy
+
+        if (m_Base != null)
+        {
+            layer = m_Base.getLayer(strLayer);
+        }
+        else
+        {
+            synchronized (this)
+            {
+                if (m_Layers == null)
+                {
+                    m_Layers = new HashMap<>();
+                }
+
+                layer = m_Layers.get(strLayer);
+
+                if (layer == null)
+                {
+                    layer = new FrozenTaxonomy(this, true);
+                    m_Layers.put(strLayer, layer);
+                }
+            }
+        }
+
+        // We return the result
+
+        return (layer);
+    }
+
+    /**
+     * This function creates a fork of the taxonomy, which shares the
+     * topology, the cached attributes and the IC-based attributes of
+     * this taxonomy until they are modified. The taxonomy must not be
+     * modified by other thread while it is forked.
+     * @return A novel fork of the taxonomy
+     */
+
+    @Override
+    public ITaxonomy fork()
+    {
+        return (new FrozenTaxonomy(this, false));
+    }
+
+    /**
+     * This function returns the ID index, the adjacency and the cached
+     * attributes in the order that they are stored in the binary files.
+     * @return Int columns
+     */
+
+    int[][] getIntColumns()
+    {
+        return (new int[][] {m_SortedIdVertexes, m_ParentStart, m_Parents,
+                    m_ParentEdges, m_ChildStart, m_Children,
+                    m_ChildEdges, m_EdgeChild, m_EdgeParent,
+                    m_EdgeChildPos, m_EdgeParentPos, m_DepthMin,
+                    m_DepthMax, m_HyponymCount, m_LeafCount,
+                    m_AncestorCount});
+    }
+
+    /**
+     * This function returns the IC-based columns in the order
+     * that they are stored in the binary files.
+     * @return IC-based columns
+     */
+
+    RealColumn[] getICcolumns()
+    {
+        return (new RealColumn[] {m_ICvalues, m_Probabilities,
+                    m_MinDistances, m_EdgeWeights, m_EdgeCondProbabilities,
+                    m_AscendingWeights, m_DescendingWeights});
+    }
+
+    /**
+     * This function returns the names of the IC models stored in the
+     * snapshot file of the taxonomy.
+     * @return Names of the stored IC models
+     */
+
+    String[] getStoredICmodels()
+    {
+        return ((m_StoredICmodels != null) ?
+                m_StoredICmodels.keySet().toArray(new String[0]) : new String[0]);
+    }
+
+    /**
+     * This function adds the IC-based attributes of an IC model
+     * stored in the snapshot file of the taxonomy.
+     * @param strICmodel Name of the IC model
+     * @param icModel IC-based columns of the IC model
+     */
+
+    void addStoredICmodel(
+            String          strICmodel,
+            RealColumn[]    icModel)
+    {
+        if (m_StoredICmodels == null)
+        {
+            m_StoredICmodels = new HashMap<>();
+        }
+
+        m_StoredICmodels.put(strICmodel, icModel);
+    }
+
+    /**
+     * This function restores the IC-based attributes of an IC model
+     * stored in the snapshot file of the taxonomy.
+     * @param strICmodel Name of the IC model
+     * @throws Exception The IC model is not stored
+     */
+
+    void restoreICmodel(
+            String  strICmodel) throws Exception
+    {
+        RealColumn[]    icModel = (m_StoredICmodels != null) ?
+                                m_StoredICmodels.get(strICmodel) : null;
+
+        // We check the IC model
+
+        if (icModel == null)
+        {
+            throw (new Exception("The IC model " + strICmodel + " is not stored"));
+        }
+
+        // We copy the attributes
+
+        RealColumn[]    columns = getICcolumns();
+
+        for (int i = 0; i < columns.length; i++)
+        {
+            columns[i].copyFrom(icModel[i]);
+        }
+    }
+
+    /**
+     * This function builds the parent and children CSR arrays, as well as
+     * the edge columns. Each vertex ring is traversed in its native order
+     * in order to preserve the ordering of the outcoming oriented edges.
+     * @param sourceVertexes Ordered source vertexes
+     * @param vertexIndexes Position of each vertex
+     * @param edgeIndexes Output index of each edge
+     */
+
+    private void buildAdjacency(
+            IVertexList                 sourceVertexes,
+            HashMap<IVertex, Integer>   vertexIndexes,
+            HashMap<IEdge, Integer>     edgeIndexes)
+    {
+        int nextEdge = 0;   // Counter
+
+        // We count the parents and children of each vertex
+
+        m_ParentStart = new int[m_VertexCount + 1];
+        m_ChildStart = new int[m_VertexCount + 1];
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            IHalfEdge firstEdge = sourceVertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            m_ParentStart[i + 1] = m_ParentStart[i];
+            m_ChildStart[i + 1] = m_ChildStart[i];
+
+            // We iterate around the vertex
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        m_ParentStart[i + 1]++;
+                    }
+                    else
+                    {
+                        m_ChildStart[i + 1]++;
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+
+        // We create the adjacency and edge columns
+
+        m_Parents = new int[m_ParentStart[m_VertexCount]];
+        m_ParentEdges = new int[m_Parents.length];
+        m_Children = new int[m_ChildStart[m_VertexCount]];
+        m_ChildEdges = new int[m_Children.length];
+
+        m_EdgeCount = m_Parents.length;
+        m_EdgeChild = new int[m_EdgeCount];
+        m_EdgeParent = new int[m_EdgeCount];
+        m_EdgeChildPos = new int[m_EdgeCount];
+        m_EdgeParentPos = new int[m_EdgeCount];
+
+        // We fill the parent lists and assign the edge indexes. Each edge
+        // is registered from its child vertex.
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            IHalfEdge firstEdge = sourceVertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            int cursor = m_ParentStart[i];
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        int parent = vertexIndexes.get(loop.getTarget());
+
+                        m_EdgeChild[nextEdge] = i;
+                        m_EdgeParent[nextEdge] = parent;
+                        m_EdgeChildPos[nextEdge] = cursor - m_ParentStart[i];
+
+                        m_Parents[cursor] = parent;
+                        m_ParentEdges[cursor++] = nextEdge;
+
+                        edgeIndexes.put(loop.getEdge(), nextEdge++);
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+
+        // We fill the children lists
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            IHalfEdge firstEdge = sourceVertexes.getAt(i).getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            int cursor = m_ChildStart[i];
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
+                    {
+                        int edge = edgeIndexes.get(loop.getEdge());
+
+                        m_EdgeParentPos[edge] = cursor - m_ChildStart[i];
+                        m_Children[cursor] = vertexIndexes.get(loop.getTarget());
+                        m_ChildEdges[cursor++] = edge;
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+    }
+
+    /**
+     * This function copies the cached and IC-based attributes of the
+     * source vertexes, as well as their user-defined tags.
+     * @param sourceVertexes Source vertexes
+     * @throws Exception Unexpected error
+     */
+
+    private void copyVertexAttributes(
+            IVertexList sourceVertexes) throws Exception
+    {
+        // We create the vertex columns
+
+        m_DepthMin = new int[m_VertexCount];
+        m_DepthMax = new int[m_VertexCount];
+        m_HyponymCount = new int[m_VertexCount];
+        m_LeafCount = new int[m_VertexCount];
+        m_ICvalues = new RealColumn(m_VertexCount, m_Compact);
+        m_Probabilities = new RealColumn(m_VertexCount, m_Compact);
+        m_MinDistances = new RealColumn(m_VertexCount, m_Compact);
+        m_Visited = new BitSet(m_VertexCount);
+
+        // We copy the attributes
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            IVertex vertex = sourceVertexes.getAt(i);
+
+            m_DepthMin[i] = vertex.getDepthMin();
+            m_DepthMax[i] = vertex.getDepthMax();
+            m_HyponymCount[i] = vertex.getNonInclusiveHyponymSetCount();
+            m_LeafCount[i] = vertex.getNonInclusiveSubsumedLeafSetCount();
+            m_ICvalues.set(i, vertex.getICvalue());
+            m_Probabilities.set(i, vertex.getProbability());
+            m_MinDistances.set(i, vertex.getMinDistance());
+
+            // We copy the user-defined tags when they are defined
+
+            if (vertex.getTag() != null)
+            {
+                setTag(i, vertex.getTag());
+            }
+
+            if ((vertex.getStringTag() != null)
+                    && !vertex.getStringTag().isEmpty())
+            {
+                setStringTag(i, vertex.getStringTag());
+            }
+        }
+    }
+
+    /**
+     * This function copies the weights and conditional probabilities
+     * of the source edges.
+     * @param sourceVertexes Source vertexes
+     * @param edgeIndexes Position of each edge
+     */
+
+    private void copyEdgeAttributes(
+            IVertexList                 sourceVertexes,
+            HashMap<IEdge, Integer>     edgeIndexes)
+    {
+        // We create the edge columns
+
+        m_EdgeWeights = new RealColumn(m_EdgeCount, m_Compact);
+        m_EdgeCondProbabilities = new RealColumn(m_EdgeCount, m_Compact);
+        m_AscendingWeights = new RealColumn(m_EdgeCount, m_Compact);
+        m_DescendingWeights = new RealColumn(m_EdgeCount, m_Compact);
+
+        // We copy the attributes from the ascending oriented edges
+
+        for (IVertex vertex: sourceVertexes)
+        {
+            IHalfEdge firstEdge = vertex.getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                    {
+                        int edge = edgeIndexes.get(loop.getEdge());
+
+                        m_EdgeWeights.set(edge, loop.getEdge().getWeight());
+                        m_EdgeCondProbabilities.set(edge, loop.getEdge().getCondProbability());
+                        m_AscendingWeights.set(edge, loop.getWeight());
+                        m_DescendingWeights.set(edge, loop.getOpposite().getWeight());
+                    }
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstEdge);
+            }
+        }
+    }
+
+    /**
+     * This function builds the sorted ID index used to retrieve
+     * the vertexes by ID.
+     */
+
+    private void buildIdIndex()
+    {
+        // We sort the IDs
+
+        m_SortedIds = Arrays.copyOf(m_Ids, m_VertexCount);
+        Arrays.sort(m_SortedIds);
+
+        // We store the vertex position for each sorted ID.
+        // We note that the IDs are unique.
+
+        m_SortedIdVertexes = new int[m_VertexCount];
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            m_SortedIdVertexes[Arrays.binarySearch(m_SortedIds, m_Ids[i])] = i;
+        }
+
+        // The compact taxonomies only keep the sorted vertex positions
+
+        if (m_Compact)
+        {
+            m_SortedIds = null;
+        }
+    }
+
+    /**
+     * This function computes the non-inclusive ancestor count of all
+     * the vertexes by traversing their ancestor sets.
+     */
+
+    private void computeAncestorCounts()
+    {
+        TraversalScratch scratch = getScratch(); // Traversal buffers
+
+        m_AncestorCount = new int[m_VertexCount];
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            m_AncestorCount[i] = m_AncestorEngine.markAncestors(i, scratch) - 1;
+        }
+    }
+
+    /**
+     * This function returns the scratch buffers of the current thread.
+     * @return Traversal buffers
+     */
+
+    TraversalScratch getScratch()
+    {
+        // We create the thread-local buffers on-demand
+
+        if (m_Scratch == null)
+        {
+            synchronized (this)
+            {
+                if (m_Scratch == null)
+                {
+                    m_Scratch = new ThreadLocal<>();
+                }
+            }
+        }
+
+        // We get the buffers of the current thread
+
+        TraversalScratch scratch = m_Scratch.get();
+
+        if (scratch == null)
+        {
+            scratch = new TraversalScratch(m_VertexCount);
+            m_Scratch.set(scratch);
+        }
+
+        // We return the result
+
+        return (scratch);
+    }
+
+    /**
+     * This function returns a free traversal buffer of the current thread
+     * for the visitor traversals, which must be returned by calling
+     * the releaseScratch() function.
+     * @return Traversal buffers
+     */
+
+    TraversalScratch acquireScratch()
+    {
+        return (m_ScratchPool.acquire(m_VertexCount));
+    }
+
+    /**
+     * This function returns a traversal buffer to the pool.
+     * @param scratch Traversal buffers
+     */
+
+    void releaseScratch(
+            TraversalScratch    scratch)
+    {
+        m_ScratchPool.release(scratch);
+    }
+
+    /**
+     * This function returns the sum of the probability for the leaf nodes.
+     * @return The overall probability for the leaf nodes.
+     */
+
+    @Override
+    public double getSumLeafProbability()
+    {
+        double  totalProb = 0.0;    // Returned value
+
+        // We sum the probability of the leaf nodes
+
+        for (int i = 0; i < m_VertexCount; i++)
+        {
+            if (m_ChildStart[i] == m_ChildStart[i + 1])
+            {
+                totalProb += m_Probabilities.get(i);
+            }
+        }
+
+        // We return the result
+
+        return (totalProb);
+    }
+
+    /**
+     * This function is not supported by the frozen taxonomies.
+     * @param vertexId Integer unique key for the new vertex
+     * @param parentVertexes Key ID for the parent vertexes.
+     * @return None
+     * @throws Exception The taxonomy is read-only
+     */
+
+    @Override
+    public IVertex addVertex(
+            Long    vertexId,
+            Long[]  parentVertexes) throws Exception
+    {
+        throw (new Exception("The frozen taxonomy is read-only"));
+    }
+
+    /**
+     * This function is not supported by the frozen taxonomies.
+     * @param childId Key ID of the child vertex
+     * @param parentId Key ID of the parent vertex
+     * @return None
+     * @throws Exception The taxonomy is read-only
+     */
+
+    @Override
+    public IEdge addEdge(
+            Long    childId,
+            Long    parentId) throws Exception
+    {
+        throw (new Exception("The frozen taxonomy is read-only"));
+    }
+
+    /**
+     * This function is not supported by the frozen taxonomies.
+     * @param vertexId Key ID of the leaf vertex
+     * @throws Exception The taxonomy is read-only
+     */
+
+    @Override
+    public void removeLeaf(
+            Long    vertexId) throws Exception
+    {
+        throw (new Exception("The frozen taxonomy is read-only"));
+    }
+
+    /**
+     * The frozen taxonomies cannot be modified, thus, the IC model
+     * is never computed again and this function does nothing.
+     * @param icModel Active IC model or null
+     */
+
+    @Override
+    public void setActiveICmodel(
+            ITaxonomyInfoConfigurator   icModel)
+    {
+    }
+
+    /**
+     * The cached attributes of a frozen taxonomy are copied during its
+     * construction, thus, this function does nothing.
+     */
+
+    @Override
+    public void computesCachedAttributes()
+    {
+    }
+
+    /**
+     * This function returns the read-only collection of vertexes.
+     * @return Ordered collection of vertexes within the taxonomy
+     */
+
+    @Override
+    public IVertexList getVertexes()
+    {
+        return (m_Vertexes);
+    }
+
+    /**
+     * This function returns the collection of non-oriented edges,
+     * which are materialized the first time that the function is invoked.
+     * @return The edges of the taxonomy
+     */
+
+    @Override
+    public IEdgeList getEdges()
+    {
+        // We materialize the edges on-demand
+
+        getEdgeObjects();
+
+        // We return the result
+
+        return (m_Edges);
+    }
+
+    /**
+     * This function returns the most informative common ancestor (MICA)
+     * of the input vertexes.
+     * @param begin First input vertex
+     * @param end Second input vertex
+     * @return The most informative common ancestor (MICA) vertex,
+     * or null if the vertexes do not share any ancestor
+     */
+
+    @Override
+    public IVertex getMICA(
+            IVertex begin,
+            IVertex end)
+    {
+        int beginIndex = ((FrozenVertex)begin).getIndex();
+        int endIndex = ((FrozenVertex)end).getIndex();
+
+        // We search the common ancestor with highest IC value, unless
+        // the vertexes descend from different roots
+
+        int mica = getRootIndex().areDisjoint(beginIndex, endIndex) ? -1
+                    : m_AncestorEngine.getBestCommonAncestor(beginIndex, endIndex, m_ICvalues, null);
+
+        // We return the result
+
+        return ((mica >= 0) ? getVertex(mica) : null);
+    }
+
+    /**
+     * This function computes the lowest common subsumer (ancestor),
+     * which is defined as the common ancestor with highest depth.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param useLongestDepth Use the longest ascending path to the root
+     * as depth (true) or the shortest one (false).
+     * @return The first LCS vertex, or null if the vertexes do not
+     * share any ancestor
+     */
+
+    @Override
+    public IVertex getLCS(
+            IVertex begin,
+            IVertex end,
+            boolean useLongestDepth)
+    {
+        int beginIndex = ((FrozenVertex)begin).getIndex();
+        int endIndex = ((FrozenVertex)end).getIndex();
+
+        // We search the deepest common ancestor, unless the vertexes
+        // descend from different roots
+
+        int lcs = getRootIndex().areDisjoint(beginIndex, endIndex) ? -1
+                    : m_AncestorEngine.getBestCommonAncestor(beginIndex, endIndex, null,
+                        useLongestDepth ? m_DepthMax : m_DepthMin);
+
+        // We return the result
+
+        return ((lcs >= 0) ? getVertex(lcs) : null);
+    }
+
+    /**
+     * This function computes the most informative common ancestor (MICA)
+     * of the source vertex and each target vertex.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param micas Output vector with the MICA vertexes
+     */
+
+    @Override
+    public void getMICAs(
+            IVertex     source,
+            IVertexList targets,
+            IVertex[]   micas)
+    {
+        m_AncestorEngine.getBestCommonAncestors(((FrozenVertex)source).getIndex(),
+                targets, m_ICvalues, null, micas);
+    }
+
+    /**
+     * This function computes the lowest common subsumer (LCS)
+     * of the source vertex and each target vertex.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param useLongestDepth Use the longest ascending path to the root
+     * as depth (true) or the shortest one (false).
+     * @param lcsVertexes Output vector with the LCS vertexes
+     */
+
+    @Override
+    public void getLCSs(
+            IVertex     source,
+            IVertexList targets,
+            boolean     useLongestDepth,
+            IVertex[]   lcsVertexes)
+    {
+        m_AncestorEngine.getBestCommonAncestors(((FrozenVertex)source).getIndex(), targets,
+                null, useLongestDepth ? m_DepthMax : m_DepthMin, lcsVertexes);
+    }
+
+    /**
+     * This function checks if the input vertexes share any common
+     * ancestor, which is answered by the root index when both vertexes
+     * descend from a single root.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes share any common ancestor
+     */
+
+    @Override
+    public boolean haveCommonAncestor(
+            IVertex begin,
+            IVertex end)
+    {
+        RootIndex   roots = getRootIndex();
+
+        int beginIndex = ((FrozenVertex)begin).getIndex();
+        int endIndex = ((FrozenVertex)end).getIndex();
+
+        // We check the roots of the vertexes, or we count
+        // their common ancestors otherwise
+
+        return (roots.shareRoot(beginIndex, endIndex)
+                || (!roots.areDisjoint(beginIndex, endIndex)
+                && (getCommonAncestorCount(begin, end) > 0)));
+    }
+
+    /**
+     * This function returns the number of vertexes in the intersection
+     * of the inclusive ancestor sets of the input vertexes.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return Number of common ancestors
+     */
+
+    @Override
+    public int getCommonAncestorCount(
+            IVertex begin,
+            IVertex end)
+    {
+        return (m_AncestorEngine.getCommonAncestorCount(
+                ((FrozenVertex)begin).getIndex(), ((FrozenVertex)end).getIndex()));
+    }
+
+    /**
+     * This function computes the MICA vertex, the LCS vertexes and the
+     * number of common ancestors of the input vertexes by a single
+     * traversal of each ancestor set.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param bestAncestors Output vector with the MICA vertex, and the
+     * LCS vertexes using the minimum and maximum depth
+     * @return Number of common ancestors
+     */
+
+    @Override
+    public int getCommonAncestors(
+            IVertex     begin,
+            IVertex     end,
+            IVertex[]   bestAncestors)
+    {
+        int beginIndex = ((FrozenVertex)begin).getIndex();
+        int endIndex = ((FrozenVertex)end).getIndex();
+
+        int count = 0;  // Returned value
+
+        // We intersect the ancestor sets, unless the vertexes
+        // descend from different roots
+
+        if (getRootIndex().areDisjoint(beginIndex, endIndex))
+        {
+            bestAncestors[0] = null;
+            bestAncestors[1] = null;
+            bestAncestors[2] = null;
+        }
+        else
+        {
+            count = m_AncestorEngine.getCommonAncestors(beginIndex, endIndex,
+                        m_ICvalues, m_DepthMin, m_DepthMax, bestAncestors);
+        }
+
+        // We return the result
+
+        return (count);
+    }
+
+    /**
+     * This function checks if the first vertex belongs to the inclusive
+     * ancestor set of the second vertex.
+     * @param ancestor Candidate ancestor
+     * @param vertex Input vertex
+     * @return True if the first vertex is an ancestor of the second one
+     */
+
+    @Override
+    public boolean isAncestor(
+            IVertex ancestor,
+            IVertex vertex)
+    {
+        return (m_AncestorEngine.isAncestor(
+                ((FrozenVertex)ancestor).getIndex(), ((FrozenVertex)vertex).getIndex()));
+    }
+
+    /**
+     * Remove all the objects and destroys the taxonomy.
+     */
+
+    @Override
+    public void clear()
+    {
+        // We disconnect the vertex objects
+
+        m_VertexObjects = null;
+        m_Vertexes = null;
+        m_EdgeObjects = null;
+        m_Edges = null;
+        m_Scratch = null;
+        m_DistanceIndex = null;
+
+        // We release the columns
+
+        m_Ids = null;
+        m_SortedIds = null;
+        m_SortedIdVertexes = null;
+        m_ParentStart = null;
+        m_Parents = null;
+        m_ParentEdges = null;
+        m_ChildStart = null;
+        m_Children = null;
+        m_ChildEdges = null;
+        m_EdgeChild = null;
+        m_EdgeParent = null;
+        m_EdgeChildPos = null;
+        m_EdgeParentPos = null;
+        m_DepthMin = null;
+        m_DepthMax = null;
+        m_HyponymCount = null;
+        m_LeafCount = null;
+        m_AncestorCount = null;
+        m_ICvalues = null;
+        m_Probabilities = null;
+        m_MinDistances = null;
+        m_EdgeWeights = null;
+        m_EdgeCondProbabilities = null;
+        m_AscendingWeights = null;
+        m_DescendingWeights = null;
+        m_Visited = null;
+        m_Tags = null;
+        m_StringTags = null;
+
+        m_VertexCount = 0;
+        m_EdgeCount = 0;
+    }
+
+    /**
+     * This function materializes the edge objects the first time
+     * that they are requested.
+     * @return Edge objects
+     */
+
+    synchronized FrozenEdge[] getEdgeObjects()
+    {
+        // We create the edges on-demand
+
+        if (m_EdgeObjects == null)
+        {
+            FrozenEdge[] edges = new FrozenEdge[m_EdgeCount];
+
+            m_Edges = new EdgeList(m_EdgeCount);
+
+            for (int i = 0; i < m_EdgeCount; i++)
+            {
+                edges[i] = new FrozenEdge(this, i);
+                m_Edges.add(edges[i]);
+            }
+
+            m_EdgeObjects = edges;
+        }
+
+        // We return the result
+
+        return (m_EdgeObjects);
+    }
+
+    /**
+     * This function returns the outcoming oriented edge in the position
+     * 'k' of the vertex ring, which is defined by the parents followed
+     * by the children of the vertex.
+     * @param vertex Vertex index
+     * @param k Position in the ring
+     * @return Outcoming oriented edge
+     */
+
+    IHalfEdge getOutcomingEdge(
+            int vertex,
+            int k)
+    {
+        IHalfEdge   outEdge;    // Returned value
+
+        FrozenEdge[]    edges = getEdgeObjects();
+
+        int parentsCount = m_ParentStart[vertex + 1] - m_ParentStart[vertex];
+
+        // We retrieve the ascending or descending edge
+
+        if (k < parentsCount)
+        {
+            outEdge = edges[m_ParentEdges[m_ParentStart[vertex] + k]].getDirect();
+        }
+        else
+        {
+            outEdge = edges[m_ChildEdges[m_ChildStart[vertex] + k - parentsCount]].getInverse();
+        }
+
+        // We return the result
+
+        return (outEdge);
+    }
+
+    /**
+     * This function returns the number of outcoming oriented edges.
+     * @param vertex Vertex index
+     * @return Vertex degree
+     */
+
+    int getDegree(int vertex)
+    {
+        return (m_ParentStart[vertex + 1] - m_ParentStart[vertex]
+                + m_ChildStart[vertex + 1] - m_ChildStart[vertex]);
+    }
+
+    /**
+     * This function returns the edge-counting distance index.
+     * The layers use the index of their base taxonomy, unless
+     * they have their own index.
+     * @return Distance index or null
+     */
+
+    DistanceLabelIndex getDistanceIndex()
+    {
+        return (((m_DistanceIndex == null) && (m_Base != null)) ?
+                m_Base.getDistanceIndex() : m_DistanceIndex);
+    }
+
+    /**
+     * This function returns the root index, which is built the first
+     * time that it is requested. The layers use the index of their
+     * base taxonomy.
+     * @return Root index
+     */
+
+    RootIndex getRootIndex()
+    {
+        RootIndex   index = m_RootIndex;    // Returned value
+
+        // We build the index the first time
+
+        if (index == null)
+        {
+            if (m_Base != null)
+            {
+                index = m_Base.getRootIndex();
+            }
+            else
+            {
+                synchronized (this)
+                {
+                    if (m_RootIndex == null)
+                    {
+                        m_RootIndex = new RootIndex(m_ParentStart, m_Parents);
+                    }
+
+                    index = m_RootIndex;
+                }
+            }
+        }
+
+        // We return the result
+
+        return (index);
+    }
+
+    /**
+     * This function sets the edge-counting distance index.
+     * @param index Distance index or null
+     */
+
+    void setDistanceIndex(
+            DistanceLabelIndex  index)
+    {
+        m_DistanceIndex = index;
+    }
+
+    /**
+     * This function returns the vertex object with the input index.
+     * @param vertex Vertex index
+     * @return Vertex object
+     */
+
+    FrozenVertex getVertex(int vertex)
+    {
+        FrozenVertex    vertexObject = m_VertexObjects[vertex];
+
+        // We create the vertex object the first time
+
+        return ((vertexObject != null) ? vertexObject : createVertex(vertex));
+    }
+
+    /**
+     * This function creates the vertex object with the input index
+     * unless other thread has already created it. The fields of the
+     * vertex objects are final, thus, they are safely published.
+     * @param vertex Vertex index
+     * @return Vertex object
+     */
+
+    private synchronized FrozenVertex createVertex(int vertex)
+    {
+        if (m_VertexObjects[vertex] == null)
+        {
+            m_VertexObjects[vertex] = new FrozenVertex(this, vertex);
+        }
+
+        // We return the result
+
+        return (m_VertexObjects[vertex]);
+    }
+
+    /**
+     * This function returns the index of the vertex with the input ID,
+     * or -1 if it does not exist.
+     * @param vertexId Vertex ID
+     * @return Vertex index
+     */
+
+    int getIndexById(long vertexId)
+    {
+        // We search the ID through the permutation in the compact taxonomies
+
+        if (m_Compact)
+        {
+            int low = 0;
+            int high = m_VertexCount - 1;
+
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+                int vertex = m_SortedIdVertexes[middle];
+
+                if (m_Ids[vertex] < vertexId)
+                {
+                    low = middle + 1;
+                }
+                else if (m_Ids[vertex] > vertexId)
+                {
+                    high = middle - 1;
+                }
+                else
+                {
+                    return (vertex);
+                }
+            }
+
+            return (-1);
+        }
+
+        int pos = Arrays.binarySearch(m_SortedIds, vertexId);
+
+        return ((pos >= 0) ? m_SortedIdVertexes[pos] : -1);
+    }
+
+    /**
+     * This function returns the number of vertexes.
+     * @return Vertex count
+     */
+
+    int getVertexCount()
+    {
+        return (m_VertexCount);
+    }
+
+    /**
+     * This function returns the number of non-oriented edges.
+     * @return Edge count
+     */
+
+    int getEdgeCount()
+    {
+        return (m_EdgeCount);
+    }
+
+    /**
+     * This function checks whether the IC-based attributes
+     * are stored in single precision.
+     * @return True for the compact taxonomies
+     */
+
+    boolean isCompact()
+    {
+        return (m_Compact);
+    }
+
+    /**
+     * This function returns the shortest path engine of the taxonomy.
+     * @return Shortest path engine
+     */
+
+    FrozenPathEngine getPathEngine()
+    {
+        return (m_PathEngine);
+    }
+
+    /**
+     * This function returns the ancestor engine of the taxonomy.
+     * @return Ancestor engine
+     */
+
+    FrozenAncestorEngine getAncestorEngine()
+    {
+        return (m_AncestorEngine);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Vertex ID
+     */
+
+    long getId(int vertex)
+    {
+        return (m_Ids[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return First position of the parents in the CSR arrays
+     */
+
+    int getParentStart(int vertex)
+    {
+        return (m_ParentStart[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return First position of the children in the CSR arrays
+     */
+
+    int getChildStart(int vertex)
+    {
+        return (m_ChildStart[vertex]);
+    }
+
+    /**
+     * @param position Position in the parent CSR array
+     * @return Parent vertex
+     */
+
+    int getParentAt(int position)
+    {
+        return (m_Parents[position]);
+    }
+
+    /**
+     * @param position Position in the children CSR array
+     * @return Child vertex
+     */
+
+    int getChildAt(int position)
+    {
+        return (m_Children[position]);
+    }
+
+    /**
+     * @param ascending True for the parents, false for the children
+     * @return First position of the parents or children of each
+     * vertex in the CSR arrays
+     */
+
+    int[] getAdjacencyStart(boolean ascending)
+    {
+        return (ascending ? m_ParentStart : m_ChildStart);
+    }
+
+    /**
+     * @param ascending True for the parents, false for the children
+     * @return CSR array of the parents or children
+     */
+
+    int[] getAdjacency(boolean ascending)
+    {
+        return (ascending ? m_Parents : m_Children);
+    }
+
+    /**
+     * @param ascending True for the parents, false for the children
+     * @return Edges of the CSR array of the parents or children
+     */
+
+    int[] getAdjacencyEdges(boolean ascending)
+    {
+        return (ascending ? m_ParentEdges : m_ChildEdges);
+    }
+
+    /**
+     * @param weightMode 1 = edge weights, 2 = oriented edge weights
+     * @param ascending True for the child-to-parent oriented edges
+     * @return Weights of the edges
+     */
+
+    RealColumn getWeights(int weightMode, boolean ascending)
+    {
+        return ((weightMode == 1) ? m_EdgeWeights :
+                (ascending ? m_AscendingWeights : m_DescendingWeights));
+    }
+
+    /**
+     * @param edge Edge index
+     * @return Child vertex of the edge
+     */
+
+    int getEdgeChild(int edge)
+    {
+        return (m_EdgeChild[edge]);
+    }
+
+    /**
+     * @param edge Edge index
+     * @return Parent vertex of the edge
+     */
+
+    int getEdgeParent(int edge)
+    {
+        return (m_EdgeParent[edge]);
+    }
+
+    /**
+     * This function returns the next outcoming edge from the target
+     * vertex of the input oriented edge.
+     * @param edge Edge index
+     * @param ascending True for the child-to-parent oriented edge
+     * @return Next outcoming edge from the target vertex
+     */
+
+    IHalfEdge getNextOutcomingEdge(
+            int     edge,
+            boolean ascending)
+    {
+        IHalfEdge   next;   // Returned value
+
+        int target;     // Target vertex
+        int position;   // Position of the opposite edge in the target ring
+
+        // We get the position of the opposite edge in the target ring
+
+        if (ascending)
+        {
+            target = m_EdgeParent[edge];
+            position = m_ParentStart[target + 1] - m_ParentStart[target]
+                        + m_EdgeParentPos[edge];
+        }
+        else
+        {
+            target = m_EdgeChild[edge];
+            position = m_EdgeChildPos[edge];
+        }
+
+        // We get the next outcoming edge
+
+        next = getOutcomingEdge(target, (position + 1) % getDegree(target));
+
+        // We return the result
+
+        return (next);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Shortest depth
+     */
+
+    int getDepthMin(int vertex)
+    {
+        return (m_DepthMin[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Longest depth
+     */
+
+    int getDepthMax(int vertex)
+    {
+        return (m_DepthMax[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Non-inclusive hyponym count
+     */
+
+    int getHyponymCount(int vertex)
+    {
+        return (m_HyponymCount[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Non-inclusive subsumed leaves count
+     */
+
+    int getLeafCount(int vertex)
+    {
+        return (m_LeafCount[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Non-inclusive ancestors count
+     */
+
+    int getAncestorCount(int vertex)
+    {
+        return (m_AncestorCount[vertex]);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return IC value
+     */
+
+    double getICvalue(int vertex)
+    {
+        return (m_ICvalues.get(vertex));
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @param value New IC value
+     */
+
+    void setICvalue(int vertex, double value)
+    {
+        m_ICvalues.set(vertex, value);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Probability
+     */
+
+    double getProbability(int vertex)
+    {
+        return (m_Probabilities.get(vertex));
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @param value New probability
+     */
+
+    void setProbability(int vertex, double value)
+    {
+        m_Probabilities.set(vertex, value);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Minimum distance attribute
+     */
+
+    double getMinDistance(int vertex)
+    {
+        return (m_MinDistances.get(vertex));
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @param value New minimum distance
+     */
+
+    void setMinDistance(int vertex, double value)
+    {
+        m_MinDistances.set(vertex, value);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return Visiting flag
+     */
+
+    boolean getVisited(int vertex)
+    {
+        return (m_Visited.get(vertex));
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @param visited New visiting flag
+     */
+
+    void setVisited(int vertex, boolean visited)
+    {
+        m_Visited.set(vertex, visited);
+    }
+
+    /**
+     * @param edge Edge index
+     * @return Weight of the edge
+     */
+
+    double getEdgeWeight(int edge)
+    {
+        return (m_EdgeWeights.get(edge));
+    }
+
+    /**
+     * @param edge Edge index
+     * @param weight New weight of the edge
+     */
+
+    void setEdgeWeight(int edge, double weight)
+    {
+        m_EdgeWeights.set(edge, weight);
+    }
+
+    /**
+     * @param edge Edge index
+     * @return Conditional probability of the edge
+     */
+
+    double getEdgeCondProbability(int edge)
+    {
+        return (m_EdgeCondProbabilities.get(edge));
+    }
+
+    /**
+     * @param edge Edge index
+     * @param value New conditional probability of the edge
+     */
+
+    void setEdgeCondProbability(int edge, double value)
+    {
+        m_EdgeCondProbabilities.set(edge, value);
+    }
+
+    /**
+     * @param edge Edge index
+     * @param ascending True for the child-to-parent oriented edge
+     * @return Weight of the oriented edge
+     */
+
+    double getOrientedEdgeWeight(int edge, boolean ascending)
+    {
+        return (ascending ? m_AscendingWeights.get(edge) : m_DescendingWeights.get(edge));
+    }
+
+    /**
+     * @param edge Edge index
+     * @param ascending True for the child-to-parent oriented edge
+     * @param weight New weight of the oriented edge
+     */
+
+    void setOrientedEdgeWeight(int edge, boolean ascending, double weight)
+    {
+        if (ascending)
+        {
+            m_AscendingWeights.set(edge, weight);
+        }
+        else
+        {
+            m_DescendingWeights.set(edge, weight);
+        }
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return User-defined tag or null
+     */
+
+    synchronized Object getTag(int vertex)
+    {
+        return ((m_Tags != null) ? m_Tags.get(vertex) : null);
+    }
+
+    /**
+     * This function sets the user-defined tag of a vertex. The tag table
+     * is only allocated when it is used for the first time.
+     * @param vertex Vertex index
+     * @param tag New tag
+     */
+
+    synchronized void setTag(int vertex, Object tag)
+    {
+        if (m_Tags == null)
+        {
+            m_Tags = new HashMap<>();
+        }
+
+        if (tag != null)
+        {
+            m_Tags.put(vertex, tag);
+        }
+        else
+        {
+            m_Tags.remove(vertex);
+        }
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return User-defined string tag, or a blank string
+     */
+
+    synchronized String getStringTag(int vertex)
+    {
+        String  strTag = (m_StringTags != null) ? m_StringTags.get(vertex) : null;
+
+        return ((strTag != null) ? strTag : "");
+    }
+
+    /**
+     * This function sets the user-defined string tag of a vertex.
+     * @param vertex Vertex index
+     * @param strTag New string tag
+     */
+
+    synchronized void setStringTag(int vertex, String strTag)
+    {
+        if (m_StringTags == null)
+        {
+            m_StringTags = new HashMap<>();
+        }
+
+        m_StringTags.put(vertex, strTag);
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+// HESML references
+
+import hesml.configurators.ITaxonomyInfoConfigurator;
+
+/**
+ * This class reads and writes the versioned binary files of the frozen
+ * taxonomies. A file stores a header, the fingerprint of the source data,
+ * the vertex IDs, the optional IC-based attributes, the int columns of
+ * the taxonomy and the attributes of the stored IC models, in the same
+ * layout as the columns of the FrozenTaxonomy class. The files are loaded
+ * by mapping them into memory and copying the columns in bulk.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenTaxonomyFile
+{
+    /**
+     * Signature and version of the binary taxonomy files
+     */
+
+    private static final int   FILE_SIGNATURE = 0x48544158;
+    private static final int   FILE_VERSION = 2;
+
+    /**
+     * Flags of the binary taxonomy files, and the size of their header
+     */
+
+    private static final int   FILE_COMPACT = 1;
+    private static final int   FILE_IC_ATTRIBUTES = 2;
+    private static final int   FILE_HEADER_SIZE = 24;
+
+    /**
+     * Number of IC-based columns, whose first columns are
+     * the vertex attributes
+     */
+
+    private static final int   IC_COLUMNS = 7;
+    private static final int   IC_VERTEX_COLUMNS = 3;
+
+    /**
+     * This function loads a frozen taxonomy from a binary file created
+     * by the save() function. The file is mapped into memory and its
+     * columns are copied in bulk.
+     * @param strFilename Input file
+     * @param strFingerprint Expected fingerprint of the source data,
+     * or null to accept any file
+     * @return The loaded taxonomy, or null if the fingerprint of the
+     * file does not match the expected one
+     * @throws Exception The file is not a valid binary taxonomy file
+     */
+
+    static FrozenTaxonomy load(
+            String  strFilename,
+            String  strFingerprint) throws Exception
+    {
+        FrozenTaxonomy  taxonomy = null;    // Returned value
+
+        // We map the file
+
+        try (RandomAccessFile file = new RandomAccessFile(strFilename, "r");
+                FileChannel channel = file.getChannel())
+        {
+            ByteBuffer  buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                    0, channel.size());
+
+            // We check the header
+
+            if ((buffer.remaining() < FILE_HEADER_SIZE)
+                    || (buffer.getInt() != FILE_SIGNATURE)
+                    || (buffer.getInt() != FILE_VERSION))
+            {
+                throw (new Exception(strFilename + " is not a valid taxonomy file"));
+            }
+
+            int flags = buffer.getInt();
+            int vertexCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            int icModelCount = buffer.getInt();
+
+            boolean compact = ((flags & FILE_COMPACT) != 0);
+
+            try
+            {
+                // We check the fingerprint of the source data
+
+                String  strFileFingerprint = readString(buffer);
+
+                if ((strFingerprint != null)
+                        && !strFingerprint.equals(strFileFingerprint))
+                {
+                    return (null);
+                }
+
+                // We check the minimum size of the file
+
+                long    realBytes = compact ? Float.BYTES : Double.BYTES;
+                long    icModelSize = realBytes * (3L * vertexCount + 4L * edgeCount);
+                long    expectedSize = buffer.position() + (long) vertexCount * Long.BYTES
+                            + Integer.BYTES * (8L * vertexCount + 8L * edgeCount + 2)
+                            + icModelCount * icModelSize;
+
+                if ((flags & FILE_IC_ATTRIBUTES) != 0)
+                {
+                    expectedSize += icModelSize;
+                }
+
+                if ((vertexCount < 0) || (edgeCount < 0) || (icModelCount < 0)
+                        || (channel.size() < expectedSize))
+                {
+                    throw (new Exception(strFilename + " is not a valid taxonomy file"));
+                }
+
+                // We copy the IDs
+
+                long[]  ids = new long[vertexCount];
+
+                buffer.asLongBuffer().get(ids);
+                buffer.position(buffer.position() + vertexCount * Long.BYTES);
+
+                // We copy the IC-based attributes when they are stored,
+                // otherwise they are initialized to zero as in any novel taxonomy
+
+                RealColumn[]    icColumns = readICcolumns(
+                                    ((flags & FILE_IC_ATTRIBUTES) != 0) ? buffer : null,
+                                    vertexCount, edgeCount, compact);
+
+                // We copy the ID index, the adjacency and the cached attributes
+
+                int[]   sizes = {vertexCount, vertexCount + 1, edgeCount,
+                                edgeCount, vertexCount + 1, edgeCount,
+                                edgeCount, edgeCount, edgeCount,
+                                edgeCount, edgeCount, vertexCount,
+                                vertexCount, vertexCount, vertexCount,
+                                vertexCount};
+
+                int[][] intColumns = new int[sizes.length][];
+
+                for (int i = 0; i < sizes.length; i++)
+                {
+                    intColumns[i] = readInts(buffer, sizes[i]);
+                }
+
+                // We create the taxonomy
+
+                taxonomy = new FrozenTaxonomy(compact, ids, intColumns, icColumns);
+
+                // We read the stored IC models
+
+                for (int i = 0; i < icModelCount; i++)
+                {
+                    String  strICmodel = readString(buffer);
+
+                    taxonomy.addStoredICmodel(strICmodel, readICcolumns(
+                            buffer, vertexCount, edgeCount, compact));
+                }
+            }
+            catch (BufferUnderflowException error)
+            {
+                taxonomy = null;
+            }
+
+            // We check that the whole file has been read
+
+            if ((taxonomy == null) || buffer.hasRemaining())
+            {
+                throw (new Exception(strFilename + " is not a valid taxonomy file"));
+            }
+        }
+
+        // We return the result
+
+        return (taxonomy);
+    }
+
+    /**
+     * This function saves a frozen taxonomy into a binary file. The
+     * user-defined tags and the visiting flags are not saved. The input
+     * IC models are computed onto the taxonomy and their attributes are
+     * saved, thus, the current IC-based attributes are overwritten by
+     * the last one.
+     * @param taxonomy Taxonomy to be saved
+     * @param strFilename Output file
+     * @param includeICattributes Flag indicating whether the current
+     * IC-based attributes of the vertexes and edges are saved
+     * @param strFingerprint Fingerprint of the source data
+     * @param icModels IC models to be stored
+     * @throws Exception Unexpected error
+     */
+
+    static void save(
+            FrozenTaxonomy              taxonomy,
+            String                      strFilename,
+            boolean                     includeICattributes,
+            String                      strFingerprint,
+            ITaxonomyInfoConfigurator[] icModels) throws Exception
+    {
+        int flags = (taxonomy.isCompact() ? FILE_COMPACT : 0)
+                    | (includeICattributes ? FILE_IC_ATTRIBUTES : 0);
+
+        int vertexCount = taxonomy.getVertexCount();
+
+        int[][] intColumns = taxonomy.getIntColumns();
+
+        // We open the file
+
+        try (DataOutputStream writer = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(strFilename))))
+        {
+            // We write the header
+
+            writer.writeInt(FILE_SIGNATURE);
+            writer.writeInt(FILE_VERSION);
+            writer.writeInt(flags);
+            writer.writeInt(vertexCount);
+            writer.writeInt(taxonomy.getEdgeCount());
+            writer.writeInt(icModels.length);
+
+            writeString(writer, strFingerprint);
+
+            // We write the IDs and the IC-based attributes
+
+            for (int i = 0; i < vertexCount; i++)
+            {
+                writer.writeLong(taxonomy.getId(i));
+            }
+
+            if (includeICattributes)
+            {
+                for (RealColumn column: taxonomy.getICcolumns())
+                {
+                    column.write(writer);
+                }
+            }
+
+            // We write the ID index, the adjacency and the cached attributes
+
+            for (int[] column: intColumns)
+            {
+                for (int value: column)
+                {
+                    writer.writeInt(value);
+                }
+            }
+
+            // We compute and write the IC models
+
+            for (ITaxonomyInfoConfigurator icModel: icModels)
+            {
+                icModel.setTaxonomyData(taxonomy);
+
+                writeString(writer, icModel.getICmodelKey());
+
+                for (RealColumn column: taxonomy.getICcolumns())
+                {
+                    column.write(writer);
+                }
+            }
+        }
+    }
+
+    /**
+     * This function copies the IC-based columns from the current position
+     * of the buffer, or it creates them initialized to zero when
+     * the buffer is null.
+     * @param buffer Input buffer or null
+     * @param vertexCount Number of vertexes
+     * @param edgeCount Number of edges
+     * @param compact Flag indicating whether the columns are stored
+     * in single precision
+     * @return IC-based columns
+     */
+
+    private static RealColumn[] readICcolumns(
+            ByteBuffer  buffer,
+            int         vertexCount,
+            int         edgeCount,
+            boolean     compact)
+    {
+        RealColumn[]    columns = new RealColumn[IC_COLUMNS];   // Returned value
+
+        for (int i = 0; i < columns.length; i++)
+        {
+            int size = (i < IC_VERTEX_COLUMNS) ? vertexCount : edgeCount;
+
+            columns[i] = (buffer != null) ? new RealColumn(buffer, size, compact)
+                                : new RealColumn(size, compact);
+        }
+
+        // We return the result
+
+        return (columns);
+    }
+
+    /**
+     * This function writes a string as its length followed by
+     * its UTF-8 encoding.
+     * @param writer Output stream
+     * @param strText Input text
+     * @throws IOException Unexpected error
+     */
+
+    private static void writeString(
+            DataOutputStream    writer,
+            String              strText) throws IOException
+    {
+        byte[]  bytes = strText.getBytes(StandardCharsets.UTF_8);
+
+        writer.writeInt(bytes.length);
+        writer.write(bytes);
+    }
+
+    /**
+     * This function reads a string written by the writeString() function.
+     * @param buffer Input buffer
+     * @return Text
+     */
+
+    private static String readString(
+            ByteBuffer  buffer)
+    {
+        int length = buffer.getInt();
+
+        // We check the length of the string
+
+        if ((length < 0) || (length > buffer.remaining()))
+        {
+            throw (new BufferUnderflowException());
+        }
+
+        byte[]  bytes = new byte[length];
+
+        buffer.get(bytes);
+
+        // We return the result
+
+        return (new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This function copies an int column from the current position
+     * of the buffer, which is moved to the end of the column.
+     * @param buffer Input buffer
+     * @param size Number of values
+     * @return Column
+     */
+
+    private static int[] readInts(
+            ByteBuffer  buffer,
+            int         size)
+    {
+        int[]   column = new int[size]; // Returned value
+
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+
+        // We return the result
+
+        return (column);
+    }
+}
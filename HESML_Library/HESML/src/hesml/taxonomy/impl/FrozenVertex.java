@@ -0,0 +1,883 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the vertexes of a frozen taxonomy. Every vertex
+ * only stores its position within the taxonomy, whilst all its attributes
+ * are read from and written to the columns of the frozen taxonomy.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenVertex implements IVertex
+{
+    /**
+     * Owner taxonomy
+     */
+
+    private final FrozenTaxonomy    m_Taxonomy;
+
+    /**
+     * Position of the vertex within the taxonomy columns
+     */
+
+    private final int   m_Index;
+
+    /**
+     * Constructor
+     * @param taxonomy Owner taxonomy
+     * @param index Position of the vertex in the taxonomy
+     */
+
+    FrozenVertex(
+            FrozenTaxonomy  taxonomy,
+            int             index)
+    {
+        m_Taxonomy = taxonomy;
+        m_Index = index;
+    }
+
+    /**
+     * This function returns the position of the vertex in the taxonomy.
+     * @return Vertex index
+     */
+
+    int getIndex()
+    {
+        return (m_Index);
+    }
+
+    /**
+     * This function returns the hashCode of the vertex.
+     * @return Hash code of the vertex ID
+     */
+
+    @Override
+    public int hashCode()
+    {
+        return (Long.hashCode(getID()));
+    }
+
+    /**
+     * The vertexes are unique objects within the taxonomy, thus,
+     * the equality is defined by the object identity.
+     * @param obj
+     * @return True if both objects are the same vertex
+     */
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return (this == obj);
+    }
+
+    /**
+     * This function returns the content of the string Tag field
+     * @return A user-defined string value.
+     */
+
+    @Override
+    public String getStringTag()
+    {
+        return (m_Taxonomy.getStringTag(m_Index));
+    }
+
+    /**
+     * This function sets the user-defined string field.
+     * @param strTag
+     */
+
+    @Override
+    public void setStringTag(String strTag)
+    {
+        m_Taxonomy.setStringTag(m_Index, strTag);
+    }
+
+    /**
+     * This function returns the probability stored in the node.
+     * @return The probability field value.
+     */
+
+    @Override
+    public double getProbability()
+    {
+        return (m_Taxonomy.getProbability(m_Index));
+    }
+
+    /**
+     * This function sets the probability stored in the node.
+     * @param probability The new probability value assigned to the vertex.
+     */
+
+    @Override
+    public void setProbability(
+        double  probability)
+    {
+        m_Taxonomy.setProbability(m_Index, probability);
+    }
+
+    /**
+     * This function returns the depth of the vertex defined as the
+     * shortest ascending path from the vertex to the root.
+     * @return Depth
+     */
+
+    @Override
+    public int getDepthMin()
+    {
+        return (m_Taxonomy.getDepthMin(m_Index));
+    }
+
+    /**
+     * This function returns the depth of the vertex defined as the
+     * longest ascending path from the vertex to the root.
+     * @return Longest depth
+     */
+
+    @Override
+    public int getDepthMax()
+    {
+        return (m_Taxonomy.getDepthMax(m_Index));
+    }
+
+    /**
+     * This function returns depth + 1
+     * @return The depth
+     */
+
+    @Override
+    public int getDepthMinBase1()
+    {
+        return (1 + getDepthMin());
+    }
+
+    /**
+     * This function returns longest depth + 1
+     * @return The depth
+     */
+
+    @Override
+    public int getDepthMaxBase1()
+    {
+        return (1 + getDepthMax());
+    }
+
+    /**
+     * This function checks whether the current vertex does not have parents.
+     * @return True if the vertex is a root
+     */
+
+    @Override
+    public boolean isRoot()
+    {
+        return (getParentsCount() == 0);
+    }
+
+    /**
+     * This function checks whether the current vertex does not have children.
+     * @return true when the vertex is a leaf node.
+     */
+
+    @Override
+    public boolean isLeaf()
+    {
+        return (getChildrenCount() == 0);
+    }
+
+    /**
+     * This function gets all the ancestors of the vertex following
+     * a BFS ordering.
+     * @param includeVertex This parameter indicates if the own vertex will included in the output list
+     * @return Ancestor set
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public IVertexList getAncestors(
+        boolean includeVertex) throws Exception
+    {
+        VertexList  ancestors = new VertexList(false); // Returned value
+
+        // We copy the ancestors
+
+        visitAncestors(includeVertex, ancestors::add);
+
+        // We return the result
+
+        return (ancestors);
+    }
+
+    /**
+     * This function visits the ancestors of the vertex following
+     * a BFS ordering. The traversal is completed before the visitor
+     * is invoked, thus, the visitor can start novel traversals.
+     * @param includeVertex The current vertex is visited
+     * @param visitor Callback invoked for every ancestor
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public void visitAncestors(
+            boolean         includeVertex,
+            IVertexVisitor  visitor) throws Exception
+    {
+        TraversalScratch scratch = m_Taxonomy.acquireScratch();
+
+        // We release the buffers even if the visitor fails
+
+        try
+        {
+            // We traverse the ancestors. The first vertex in
+            // the queue is the current vertex.
+
+            int count = m_Taxonomy.getAncestorEngine().markAncestors(m_Index, scratch);
+
+            for (int i = includeVertex ? 0 : 1; i < count; i++)
+            {
+                visitor.visit(m_Taxonomy.getVertex(scratch.m_Queue[i]));
+            }
+        }
+        finally
+        {
+            m_Taxonomy.releaseScratch(scratch);
+        }
+    }
+
+    /**
+     * This function returns the value of the minimum distance field.
+     * @return The minimum accumulated distance in a Djikstra method
+     */
+
+    @Override
+    public double getMinDistance()
+    {
+        return (m_Taxonomy.getMinDistance(m_Index));
+    }
+
+    /**
+     * This function sets the minimum distance field.
+     * @param minDistance
+     */
+
+    @Override
+    public void setMinDistance(double  minDistance)
+    {
+        m_Taxonomy.setMinDistance(m_Index, minDistance);
+    }
+
+    /**
+     * This function returns the first outcoming oriented edge, which
+     * is materialized on-demand.
+     * @return First outcoming edge
+     */
+
+    @Override
+    public IHalfEdge getFirstOutcomingEdge()
+    {
+        return ((m_Taxonomy.getDegree(m_Index) > 0) ?
+                m_Taxonomy.getOutcomingEdge(m_Index, 0) : null);
+    }
+
+    /**
+     * This function computes the distance from the current vertex to
+     * all the vertexes and it saves the values in their minimum
+     * distance field.
+     * @param weighted Flag indicating if the edge weights will be used
+     */
+
+    @Override
+    public void computeDistanceField(
+            boolean     weighted)
+    {
+        m_Taxonomy.getPathEngine().computeDistanceField(m_Index, weighted);
+    }
+
+    /**
+     * This function computes the length of the shortest path between
+     * the current vertex and the target one.
+     * @param target Target vertex
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
+     */
+
+    @Override
+    public double getShortestPathDistanceTo(
+            IVertex     target,
+            boolean     weighted)
+    {
+        return (m_Taxonomy.getPathEngine().getDistance(m_Index,
+                ((FrozenVertex)target).getIndex(), weighted ? 1 : 0));
+    }
+
+    /**
+     * This function computes the length of the shortest path between
+     * the current vertex and each target vertex.
+     * @param targets Target vertexes
+     * @param weighted Flag indicating if the edge weights will be used
+     * @param distances Output vector with the distance to each target
+     */
+
+    @Override
+    public void getShortestPathDistancesTo(
+            IVertexList targets,
+            boolean     weighted,
+            double[]    distances)
+    {
+        m_Taxonomy.getPathEngine().getDistances(m_Index, targets,
+                weighted ? 1 : 0, distances);
+    }
+
+    /**
+     * This function retrieves the vertexes closest to the current vertex
+     * in increasing order of their shortest path length.
+     * @param weighted Flag indicating if the edge weights will be used
+     * @param nearest Output vector with the nearest vertexes
+     * @param distances Output vector with the distance to each vertex
+     * @return Number of vertexes retrieved
+     */
+
+    @Override
+    public int getNearestVertexes(
+            boolean     weighted,
+            IVertex[]   nearest,
+            double[]    distances)
+    {
+        return (m_Taxonomy.getPathEngine().getNearestVertexes(m_Index,
+                weighted ? 1 : 0, nearest, distances));
+    }
+
+    /**
+     * This function computes the length of the shortest path between
+     * the current vertex and the target one by using the weights of the
+     * oriented edges. As in the Vertex class, every vertex is expanded
+     * only once, even if some oriented edges have negative weights.
+     * @param target Target vertex
+     * @return Length of the shortest path
+     */
+
+    @Override
+    public double getAsymmetricShortestPathDist(
+            IVertex target)
+    {
+        return (m_Taxonomy.getPathEngine().getDistance(m_Index,
+                ((FrozenVertex)target).getIndex(), 2));
+    }
+
+    /**
+     * This function returns the IC-value assigned to this vertex.
+     * @return The IC value for this node
+     */
+
+    @Override
+    public double getICvalue()
+    {
+        return (m_Taxonomy.getICvalue(m_Index));
+    }
+
+    /**
+     * This function sets the IC value for this vertex.
+     * @param valueIC New IC value assigned to the vertex.
+     */
+
+    @Override
+    public void setICValue(double valueIC)
+    {
+        m_Taxonomy.setICvalue(m_Index, valueIC);
+    }
+
+    /**
+     * This function returns an ordered collection with the 1-ring
+     * adjacent vertexes, defined by the parents followed by the children.
+     * @return An ordered collection of adjacent vertexes.
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public IVertexList getNeighbours() throws Exception
+    {
+        VertexList  neighbours = new VertexList(false);    // Returned value
+
+        // We insert the parents and children
+
+        visitParents(neighbours::add);
+        visitChildren(neighbours::add);
+
+        // We return the result
+
+        return (neighbours);
+    }
+
+    /**
+     * This function returns the count of children vertexes.
+     * @return Children vertex count.
+     */
+
+    @Override
+    public int getChildrenCount()
+    {
+        return (m_Taxonomy.getChildStart(m_Index + 1)
+                - m_Taxonomy.getChildStart(m_Index));
+    }
+
+    /**
+     * This function returns the position of the i-th child.
+     * @param i Position of the child
+     * @return Position of the child in the vertex list
+     */
+
+    @Override
+    public int getChildIndexAt(
+            int i)
+    {
+        return (m_Taxonomy.getChildAt(m_Taxonomy.getChildStart(m_Index) + i));
+    }
+
+    /**
+     * This function returns the position of the i-th parent.
+     * @param i Position of the parent
+     * @return Position of the parent in the vertex list
+     */
+
+    @Override
+    public int getParentIndexAt(
+            int i)
+    {
+        return (m_Taxonomy.getParentAt(m_Taxonomy.getParentStart(m_Index) + i));
+    }
+
+    /**
+     * This function returns the number of parents of the vertex.
+     * @return Parents count
+     */
+
+    @Override
+    public int getParentsCount()
+    {
+        return (m_Taxonomy.getParentStart(m_Index + 1)
+                - m_Taxonomy.getParentStart(m_Index));
+    }
+
+    /**
+     * This function returns the unique ID assigned to the current vertex.
+     * @return The unique ID of the vertex.
+     */
+
+    @Override
+    public long getID()
+    {
+        return (m_Taxonomy.getId(m_Index));
+    }
+
+    /**
+     * This function sets the value of the visiting flag.
+     * @param visited
+     */
+
+    @Override
+    public void setVisited(
+            boolean visited)
+    {
+        m_Taxonomy.setVisited(m_Index, visited);
+    }
+
+    /**
+     * This function returns the value of the visiting flag.
+     * @return the value of the visiting flag
+     */
+
+    @Override
+    public boolean getVisited()
+    {
+        return (m_Taxonomy.getVisited(m_Index));
+    }
+
+    /**
+     * This function returns a collection with the children vertexes.
+     * @return Direct child vertexes
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getChildren() throws Exception
+    {
+        VertexList  children = new VertexList(false);   // Returned value
+
+        visitChildren(children::add);
+
+        return (children);
+    }
+
+    /**
+     * This function returns the collection of parent vertexes.
+     * @return The parent vertexes in the taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public IVertexList getParents() throws Exception
+    {
+        VertexList  parents = new VertexList(false);    // Returned value
+
+        visitParents(parents::add);
+
+        return (parents);
+    }
+
+    /**
+     * This function visits the parent vertexes.
+     * @param visitor Callback invoked for every parent
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public void visitParents(
+            IVertexVisitor  visitor) throws Exception
+    {
+        for (int i = m_Taxonomy.getParentStart(m_Index);
+                i < m_Taxonomy.getParentStart(m_Index + 1); i++)
+        {
+            visitor.visit(m_Taxonomy.getVertex(m_Taxonomy.getParentAt(i)));
+        }
+    }
+
+    /**
+     * This function visits the children vertexes.
+     * @param visitor Callback invoked for every child
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public void visitChildren(
+            IVertexVisitor  visitor) throws Exception
+    {
+        for (int i = m_Taxonomy.getChildStart(m_Index);
+                i < m_Taxonomy.getChildStart(m_Index + 1); i++)
+        {
+            visitor.visit(m_Taxonomy.getVertex(m_Taxonomy.getChildAt(i)));
+        }
+    }
+
+    /**
+     * This function returns the oriented edge pointing to the input vertex
+     * or null if there is no any linking edge.
+     * @param target
+     * @return Outcoming incident edge pointing to the target vertex.
+     */
+
+    @Override
+    public IHalfEdge getIncidentEdge(
+            IVertex target)
+    {
+        IHalfEdge   targetEdge = null;  // Returned value
+
+        int degree = m_Taxonomy.getDegree(m_Index);
+
+        // We search the edge pointing to the target
+
+        for (int k = 0; k < degree; k++)
+        {
+            IHalfEdge loop = m_Taxonomy.getOutcomingEdge(m_Index, k);
+
+            if (loop.getTarget() == target)
+            {
+                targetEdge = loop;
+                break;
+            }
+        }
+
+        // We return the result
+
+        return (targetEdge);
+    }
+
+    /**
+     * This function returns a string vector with the string tags stored
+     * by the parent vertexes.
+     * @return The string tags stored by the parent vertexes
+     */
+
+    @Override
+    public String[] getParentStringTags()
+    {
+        String[]   strTagFields = new String[getParentsCount()];   // Returned value
+
+        int first = m_Taxonomy.getParentStart(m_Index);
+
+        // We copy the tags
+
+        for (int i = 0; i < strTagFields.length; i++)
+        {
+            strTagFields[i] = m_Taxonomy.getStringTag(m_Taxonomy.getParentAt(first + i));
+        }
+
+        // We return the result
+
+        return (strTagFields);
+    }
+
+    /**
+     * This function returns the number of subsumed leaves
+     * including the current vertex
+     * @return Overall subsumed leaves
+     */
+
+    @Override
+    public int getInclusiveSubsumedLeafSetCount()
+    {
+        return (getNonInclusiveSubsumedLeafSetCount() + (isLeaf() ? 1 : 0));
+    }
+
+    /**
+     * This function returns the number of subsumed leaves without
+     * including the current vertex.
+     * @return Subsumed leaves count
+     */
+
+    @Override
+    public int getNonInclusiveSubsumedLeafSetCount()
+    {
+        return (m_Taxonomy.getLeafCount(m_Index));
+    }
+
+    /**
+     * This function returns the hyponyms count without including the vertex.
+     * @return Hyponym count
+     */
+
+    @Override
+    public int getNonInclusiveHyponymSetCount()
+    {
+        return (m_Taxonomy.getHyponymCount(m_Index));
+    }
+
+    /**
+     * This function returns the ancestors count without including the vertex.
+     * @return Ancestor count
+     */
+
+    @Override
+    public int getNonInclusiveAncestorSetCount()
+    {
+        return (m_Taxonomy.getAncestorCount(m_Index));
+    }
+
+    /**
+     * This function returns the hyponym set of the vertex following
+     * a BFS ordering.
+     * @param vertexInclusive The vertex is included in the output set
+     * @return Hyponym set
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getHyponyms(
+        boolean vertexInclusive) throws Exception
+    {
+        VertexList  hyponyms = new VertexList(false);   // Returned value
+
+        visitDescendants(vertexInclusive, false, hyponyms::add);
+
+        return (hyponyms);
+    }
+
+    /**
+     * This function visits the hyponyms of the vertex following
+     * a BFS ordering.
+     * @param vertexInclusive The vertex is visited
+     * @param visitor Callback invoked for every hyponym
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public void visitHyponyms(
+            boolean         vertexInclusive,
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitDescendants(vertexInclusive, false, visitor);
+    }
+
+    /**
+     * This function returns the set of subsumed leaves.
+     * @param inclusive The vertex will be included if it is a leaf node.
+     * @return The subsumed leaves
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getSubsumedLeaves(
+        boolean    inclusive) throws Exception
+    {
+        VertexList  leaves = new VertexList(false); // Returned value
+
+        visitDescendants(inclusive, true, leaves::add);
+
+        return (leaves);
+    }
+
+    /**
+     * This function visits the leaves subsumed by the vertex.
+     * @param inclusive The vertex is visited if it is a leaf node.
+     * @param visitor Callback invoked for every leaf
+     * @throws Exception Unexpected error
+     */
+
+    @Override
+    public void visitSubsumedLeaves(
+            boolean         inclusive,
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitDescendants(inclusive, true, visitor);
+    }
+
+    /**
+     * This function traverses the descendants of the vertex and it
+     * visits either all of them or only the leaves. The traversal uses
+     * a pooled buffer of the current thread, thus, the visitor can
+     * start novel traversals.
+     * @param inclusive The vertex is visited
+     * @param onlyLeaves Only the leaf vertexes are visited
+     * @param visitor Callback invoked for every visited vertex
+     * @throws Exception Unexpected error
+     */
+
+    private void visitDescendants(
+            boolean         inclusive,
+            boolean         onlyLeaves,
+            IVertexVisitor  visitor) throws Exception
+    {
+        TraversalScratch scratch = m_Taxonomy.acquireScratch();
+
+        // We release the buffers even if the visitor fails
+
+        try
+        {
+            int[]   marks = scratch.m_Marks;
+            int[]   queue = scratch.m_Queue;
+
+            int stamp = scratch.nextStamp();
+            int head = 0;
+            int tail = 0;
+
+            // We enqueue the current vertex
+
+            queue[tail++] = m_Index;
+            marks[m_Index] = stamp;
+
+            // We traverse the descendants
+
+            while (head < tail)
+            {
+                int current = queue[head++];
+
+                int childrenStart = m_Taxonomy.getChildStart(current);
+                int childrenEnd = m_Taxonomy.getChildStart(current + 1);
+
+                // We visit the vertex
+
+                if ((inclusive || (current != m_Index))
+                        && (!onlyLeaves || (childrenStart == childrenEnd)))
+                {
+                    visitor.visit(m_Taxonomy.getVertex(current));
+                }
+
+                // We enqueue the children
+
+                for (int i = childrenStart; i < childrenEnd; i++)
+                {
+                    int child = m_Taxonomy.getChildAt(i);
+
+                    if (marks[child] != stamp)
+                    {
+                        marks[child] = stamp;
+                        queue[tail++] = child;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            m_Taxonomy.releaseScratch(scratch);
+        }
+    }
+
+    /**
+     * This function returns the tag field associated to the vertex.
+     * @return Tag field used by any client code
+     */
+
+    @Override
+    public Object getTag()
+    {
+        return (m_Taxonomy.getTag(m_Index));
+    }
+
+    /**
+     * This function sets the tag field associated to the current vertex.
+     * @param tag
+     */
+
+    @Override
+    public void setTag(Object tag)
+    {
+        m_Taxonomy.setTag(m_Index, tag);
+    }
+
+    /**
+     * This function returns the ID of the vertex.
+     * @return A string defining the object
+     */
+
+    @Override
+    public String toString()
+    {
+        return (Long.toString(getID()));
+    }
+
+    /**
+     * This function returns the owner taxonomy.
+     * @return The owner taxonomy
+     */
+
+    @Override
+    public ITaxonomy getTaxonomy()
+    {
+        return (m_Taxonomy);
+    }
+
+    /**
+     * This function compares the minimum distance field of the current vertex
+     * with the value associated to other vertex.
+     * @param other
+     * @return Comparison of the minimum distances
+     */
+
+    @Override
+    public int compareTo(IVertex other)
+    {
+        return (Double.compare(getMinDistance(), other.getMinDistance()));
+    }
+}
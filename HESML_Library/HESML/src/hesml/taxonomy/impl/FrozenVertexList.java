@@ -0,0 +1,686 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the read-only collection containing all the
+ * vertexes of a frozen taxonomy. The list does not store any vertex
+ * reference, but it retrieves the vertexes from the columns of the
+ * taxonomy, thus, the ID index is defined by a binary search on the
+ * sorted vertex IDs.
+ * @author Juan Lastra-Díaz
+ */
+
+class FrozenVertexList implements IVertexList
+{
+    /**
+     * Frozen taxonomy owning the vertexes
+     */
+
+    private final FrozenTaxonomy    m_Taxonomy;
+
+    /**
+     * Constructor
+     * @param taxonomy Frozen taxonomy
+     */
+
+    FrozenVertexList(
+            FrozenTaxonomy  taxonomy)
+    {
+        m_Taxonomy = taxonomy;
+    }
+
+    /**
+     * The vertex collection of a taxonomy is always locked.
+     * @return True
+     */
+
+    @Override
+    public boolean isLocked()
+    {
+        return (true);
+    }
+
+    /**
+     * This function computes the difference set = {this \ other}
+     * @param others
+     * @return Difference set
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getDifferenceSet(
+            IVertexList others) throws Exception
+    {
+        VertexList  dif = new VertexList(false);    // Returned value
+
+        // We insert the vertexes not contained in the input list
+
+        for (IVertex vertex: this)
+        {
+            if (!others.contains(vertex.getID()))
+            {
+                dif.add(vertex);
+            }
+        }
+
+        // We return the value
+
+        return (dif);
+    }
+
+    /**
+     * This function computes the difference set count = |{this \ other}|
+     * @param others
+     * @return Cardinality of the difference set
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public long getDifferenceSetCount(
+            IVertexList others) throws Exception
+    {
+        return (getCount() - getIntersectionSetCount(others));
+    }
+
+    /**
+     * This function computes the intersection set = {this and other}
+     * @param others
+     * @return Intersection set
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getIntersectionSet(
+            IVertexList others) throws Exception
+    {
+        VertexList  intersection = new VertexList(false);   // Returned value
+
+        // We insert the vertexes contained in both lists
+
+        for (IVertex vertex: this)
+        {
+            if (others.contains(vertex.getID()))
+            {
+                intersection.add(vertex);
+            }
+        }
+
+        // We return the value
+
+        return (intersection);
+    }
+
+    /**
+     * This function computes the union set.
+     * @param others
+     * @return Union set
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getUnionSet(
+            IVertexList others) throws Exception
+    {
+        VertexList  union = new VertexList(false, getCount());  // Returned value
+
+        // We insert the vertexes in the current set
+
+        for (IVertex vertex: this)
+        {
+            union.add(vertex);
+        }
+
+        // We insert the vertexes in the other set
+
+        for (IVertex vertex: others)
+        {
+            if (!union.contains(vertex.getID()))
+            {
+                union.add(vertex);
+            }
+        }
+
+        // We return the value
+
+        return (union);
+    }
+
+    /**
+     * This function computes the intersection set count = |{this and other}|
+     * @param others
+     * @return Cardinality of the intersection set
+     */
+
+    @Override
+    public long getIntersectionSetCount(
+            IVertexList others)
+    {
+        long  intersection = 0; // Returned value
+
+        // We count the input vertexes contained in the taxonomy
+
+        for (IVertex vertex: others)
+        {
+            if (contains(vertex.getID()))
+            {
+                intersection++;
+            }
+        }
+
+        // We return the value
+
+        return (intersection);
+    }
+
+    /**
+     * This function computes the number of elements in the resulting union set
+     * of the current list with the input list.
+     * @param others
+     * @return Cardinality of the union set
+     */
+
+    @Override
+    public long getUnionSetCount(
+            IVertexList others)
+    {
+        return (getCount() + others.getCount() - getIntersectionSetCount(others));
+    }
+
+    /**
+     * This function returns the highest IC value for any vertex
+     * in the collection.
+     * @return Highest IC value
+     */
+
+    @Override
+    public double getGreatestICValue()
+    {
+        double  highestIC = 0.0;    // Returned value
+
+        // We search the highest IC value
+
+        for (int i = 0; i < getCount(); i++)
+        {
+            highestIC = Math.max(m_Taxonomy.getICvalue(i), highestIC);
+        }
+
+        // We return the result
+
+        return (highestIC);
+    }
+
+    /**
+     * This function returns a vector with the IC values of the vertexes
+     * contained in the list.
+     * @return IC values
+     */
+
+    @Override
+    public double[] getICValues()
+    {
+        double[]   icValues = new double[getCount()]; // Returned value
+
+        // We copy the IC values
+
+        for (int i = 0; i < icValues.length; i++)
+        {
+            icValues[i] = m_Taxonomy.getICvalue(i);
+        }
+
+        // We return the result
+
+        return (icValues);
+    }
+
+    /**
+     * This function returns a vector with the depth values of the vertexes
+     * contained in the list.
+     * @return The depth of the vertexes in the list
+     */
+
+    @Override
+    public int[] getDepthMinValues()
+    {
+        int[]   depths = new int[getCount()]; // Returned value
+
+        // We copy the depth values
+
+        for (int i = 0; i < depths.length; i++)
+        {
+            depths[i] = m_Taxonomy.getDepthMin(i);
+        }
+
+        // We return the result
+
+        return (depths);
+    }
+
+    /**
+     * This function returns the maximum depth of any vertex in the list.
+     * @return The max Depth value
+     */
+
+    @Override
+    public int getGreatestDepthMin()
+    {
+        int depthMax = 0;   // Returned value
+
+        // We search for the maximum value
+
+        for (int i = 0; i < getCount(); i++)
+        {
+            depthMax = Math.max(depthMax, m_Taxonomy.getDepthMin(i));
+        }
+
+        // We return the value
+
+        return (depthMax);
+    }
+
+    /**
+     * This function returns the highest longest depth of any vertex in the list.
+     * @return The max Depth value
+     */
+
+    @Override
+    public int getGreatestDepthMax()
+    {
+        int depthMax = 1;   // Returned value
+
+        // We search for the maximum value
+
+        for (int i = 0; i < getCount(); i++)
+        {
+            depthMax = Math.max(depthMax, m_Taxonomy.getDepthMax(i));
+        }
+
+        // We return the value
+
+        return (depthMax);
+    }
+
+    /**
+     * This function returns the maximum depth + 1.
+     * @return The max Depth value
+     */
+
+    @Override
+    public int getGreatestDepthMinBase1()
+    {
+        return (1 + getGreatestDepthMin());
+    }
+
+    /**
+     * The vertex collection of a taxonomy cannot be cleared.
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public void clear() throws Exception
+    {
+        throw (new Exception("You cannot clear the list because of it is locked"));
+    }
+
+    /**
+     * This function gets all the root ndoes in the list
+     * @return A set of roots nodes included in the list
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getRoots() throws Exception
+    {
+        VertexList  roots = new VertexList(false);  // Returned result
+
+        // We search for the roots in the list
+
+        for (IVertex vertex: this)
+        {
+            if (vertex.isRoot())
+            {
+                roots.add(vertex);
+            }
+        }
+
+        // We return the result
+
+        return (roots);
+    }
+
+    /**
+     * This function retrieves the leaf set defined by those
+     * vertexes without any descendant.
+     * @return The leaves in the list
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getLeaves() throws Exception
+    {
+        VertexList  leaves = new VertexList(false); // Returned value
+
+        // We retrieve the leaf vertexes
+
+        for (IVertex vertex: this)
+        {
+            if (vertex.isLeaf())
+            {
+                leaves.add(vertex);
+            }
+        }
+
+        // We return the value
+
+        return (leaves);
+    }
+
+    /**
+     * This function computes the number of Leaf nodes in the list.
+     * @return The number of Leaf vertexes in the list.
+     */
+
+    @Override
+    public int getLeavesCount()
+    {
+        int leaves = 0; // Returned value
+
+        // We count the leaves
+
+        for (IVertex vertex: this)
+        {
+            if (vertex.isLeaf())
+            {
+                leaves++;
+            }
+        }
+
+        // We return the value
+
+        return (leaves);
+    }
+
+    /**
+     * This function sets the value of the visited flag.
+     * @param visited
+     */
+
+    @Override
+    public void setVisited(
+            boolean visited)
+    {
+        for (int i = 0; i < getCount(); i++)
+        {
+            m_Taxonomy.setVisited(i, visited);
+        }
+    }
+
+    /**
+     * This function returns the position of the input vertex in the list,
+     * or -1.
+     * @param vertex
+     * @return Position of the vertex
+     */
+
+    @Override
+    public int indexOf(IVertex vertex)
+    {
+        int index = -1; // Returned value
+
+        // We check that the vertex belongs to the taxonomy
+
+        if ((vertex instanceof FrozenVertex)
+                && (vertex.getTaxonomy() == m_Taxonomy))
+        {
+            index = ((FrozenVertex)vertex).getIndex();
+        }
+
+        // We return the value
+
+        return (index);
+    }
+
+    /**
+     * This function returns a sequence with the ID values of the
+     * vertexes in the list.
+     * @return A vector with the ID of the vertexes.
+     */
+
+    @Override
+    public String toString()
+    {
+        StringBuilder   strVertexes = new StringBuilder("[");    // Returned value
+
+        // We copy the vertexes ID
+
+        for (int i = 0; i < getCount(); i++)
+        {
+            strVertexes.append(m_Taxonomy.getId(i)).append(",");
+        }
+
+        strVertexes.append("]");
+
+        // We return the result
+
+        return (strVertexes.toString());
+    }
+
+    /**
+     *
+     * @param vertexID
+     * @return True if the list contains onve vertex with the inpuit ID
+     */
+
+    @Override
+    public boolean contains(
+            Long vertexID)
+    {
+        return (m_Taxonomy.getIndexById(vertexID) >= 0);
+    }
+
+    /**
+     * This function checks whether a vertex with the input ID is
+     * contained in the list without boxing the ID.
+     * @param vertexId ID of the vertex
+     * @return True if the list contains one vertex with the input ID
+     */
+
+    @Override
+    public boolean containsId(
+            long    vertexId)
+    {
+        return (m_Taxonomy.getIndexById(vertexId) >= 0);
+    }
+
+    /**
+     *
+     * @return Number of vertexes in the list
+     */
+
+    @Override
+    public int getCount()
+    {
+        return (m_Taxonomy.getVertexCount());
+    }
+
+    /**
+     *
+     * @param index
+     * @return The vertex in the required position
+     */
+
+    @Override
+    public IVertex getAt(int index)
+    {
+        return (m_Taxonomy.getVertex(index));
+    }
+
+    /**
+     * This function returns the vertex by ID.
+     * @param vertexId
+     * @return The vertexes with the required Id
+     */
+
+    @Override
+    public IVertex getById(Long vertexId)
+    {
+        return (getById(vertexId.longValue()));
+    }
+
+    /**
+     * This function returns the vertex by ID without boxing the ID.
+     * @param vertexId ID of the vertex
+     * @return The vertex with the required ID or null
+     */
+
+    @Override
+    public IVertex getById(long vertexId)
+    {
+        int index = m_Taxonomy.getIndexById(vertexId);
+
+        return ((index >= 0) ? m_Taxonomy.getVertex(index) : null);
+    }
+
+    /**
+     * This function returns a set of vertexes by Ids.
+     * @param vertexIds
+     * @return The vertexes with the required IDs
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getByIds(
+            Long[]   vertexIds) throws Exception
+    {
+        VertexList  query = new VertexList(false, vertexIds.length);  // Returned value
+
+        // We recover all the vertexes required
+
+        for (Long vertexID: vertexIds)
+        {
+            IVertex vertex = getById(vertexID.longValue());
+
+            if (vertex != null)
+            {
+                query.add(vertex);
+            }
+        }
+
+        // We return the result
+
+        return (query);
+    }
+
+    /**
+     * This function returns a set of vertexes by Ids without boxing them.
+     * @param vertexIds IDs of the vertexes
+     * @return The vertexes with the required IDs
+     * @throws java.lang.Exception
+     */
+
+    @Override
+    public IVertexList getByIds(
+            long[]   vertexIds) throws Exception
+    {
+        VertexList  query = new VertexList(false, vertexIds.length);  // Returned value
+
+        // We recover all the vertexes required
+
+        for (long vertexID: vertexIds)
+        {
+            IVertex vertex = getById(vertexID);
+
+            if (vertex != null)
+            {
+                query.add(vertex);
+            }
+        }
+
+        // We return the result
+
+        return (query);
+    }
+
+    /**
+     * This function returns the sequence of ID for the vertexes within the list.
+     * @return One vector containing the IDs of all the vertexes contained
+     * in the list.
+     */
+
+    @Override
+    public long[] getIDs()
+    {
+        long[]   idVertexes = new long[getCount()]; // Returned value
+
+        // We copy the IDs
+
+        for (int i = 0; i < idVertexes.length; i++)
+        {
+            idVertexes[i] = m_Taxonomy.getId(i);
+        }
+
+        // We return the result
+
+        return (idVertexes);
+    }
+
+    /**
+     * Iterator
+     * @return Iterator on the vertexes following the taxonomy ordering
+     */
+
+    @Override
+    public Iterator<IVertex> iterator()
+    {
+        return (new Iterator<IVertex>()
+        {
+            private int m_Next = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return (m_Next < getCount());
+            }
+
+            @Override
+            public IVertex next()
+            {
+                if (m_Next >= getCount())
+                {
+                    throw (new NoSuchElementException());
+                }
+
+                return (m_Taxonomy.getVertex(m_Next++));
+            }
+        });
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the distances from a small set of landmark vertexes
+ * to all the vertexes in the taxonomy by using the edge weights. These
+ * distances define lower bounds of the weighted distance between any
+ * pair of vertexes by the triangle inequality, which are used by the
+ * ALT (A*, landmarks and triangle inequality) method introduced in the
+ * paper below to drive the Dijkstra search towards the target vertex.
+ * Goldberg, A. V., and Harrelson, C. (2005). Computing the shortest path:
+ * A* search meets graph theory. In Proceedings of the 16th Annual ACM-SIAM
+ * Symposium on Discrete Algorithms (pp. 156–165).
+ * 
+ * The landmarks are selected by the farthest-point method, and the index
+ * is only valid for the edge weights and topology it was built with.
+ * @author Juan Lastra-Díaz
+ */
+
+class LandmarkIndex
+{
+    /**
+     * Maximum number of landmarks
+     */
+
+    static final int   MAX_LANDMARKS = 16;
+
+    /**
+     * Relative tolerance which bounds the rounding errors of the
+     * distances, and thus, of the lower bounds and the path lengths.
+     */
+
+    static final double ROUNDING_TOLERANCE = 1e-9;
+
+    /**
+     * Modification counter of the taxonomy when the index was built
+     */
+
+    private final int   m_Version;
+
+    /**
+     * Number of vertexes and landmarks
+     */
+
+    private final int   m_VertexCount;
+    private final int   m_LandmarkCount;
+
+    /**
+     * Distances from each landmark to all the vertexes. The distance
+     * from the landmark 'k' to the vertex 'i' is stored in the
+     * position k * m_VertexCount + i.
+     */
+
+    private final double[]  m_Distances;
+
+    /**
+     * Constructor
+     * @param version Modification counter of the taxonomy
+     * @param vertexCount Number of vertexes
+     * @param landmarkCount Number of landmarks
+     * @param distances Landmark distances
+     */
+
+    private LandmarkIndex(
+            int         version,
+            int         vertexCount,
+            int         landmarkCount,
+            double[]    distances)
+    {
+        m_Version = version;
+        m_VertexCount = vertexCount;
+        m_LandmarkCount = landmarkCount;
+        m_Distances = distances;
+    }
+
+    /**
+     * This function builds the landmark index of the taxonomy. The first
+     * landmark is the farthest vertex from the first vertex of the
+     * taxonomy, and every novel landmark is the vertex whose distance to
+     * the current landmarks is maximum. The function returns null when
+     * some edge weight is negative, because the lower bounds would
+     * not be valid.
+     * @param taxonomy Taxonomy to be indexed
+     * @param engine Shortest path engine used to compute the distances
+     * @param version Modification counter of the taxonomy
+     * @return The landmark index or null
+     */
+
+    static LandmarkIndex build(
+            Taxonomy            taxonomy,
+            ShortestPathEngine  engine,
+            int                 version)
+    {
+        LandmarkIndex   index = null;   // Returned value
+
+        int vertexCount = taxonomy.getVertexes().getCount();
+
+        // We check that all the edge weights are non-negative
+
+        boolean validWeights = (vertexCount > 0);
+
+        for (IEdge edge: taxonomy.getEdges())
+        {
+            if (!(edge.getWeight() >= 0.0))
+            {
+                validWeights = false;
+                break;
+            }
+        }
+
+        // We compute the landmark distances
+
+        if (validWeights)
+        {
+            int landmarkCount = Math.min(MAX_LANDMARKS, vertexCount);
+
+            double[] distances = new double[landmarkCount * vertexCount];
+            double[] nearest = new double[vertexCount];
+
+            // We compute the distances from the first vertex in order
+            // to select the first landmark.
+
+            engine.computeWeightedField(0, nearest, 0);
+
+            for (int k = 0; k < landmarkCount; k++)
+            {
+                // We select the farthest vertex from the current landmarks.
+                // The unreachable vertexes are preferred in order to
+                // cover all the connected components.
+
+                int landmark = 0;
+
+                for (int i = 1; i < vertexCount; i++)
+                {
+                    if (nearest[i] > nearest[landmark])
+                    {
+                        landmark = i;
+                    }
+                }
+
+                // We compute the distances from the landmark
+
+                engine.computeWeightedField(landmark, distances, k * vertexCount);
+
+                // We update the distance to the nearest landmark
+
+                for (int i = 0; i < vertexCount; i++)
+                {
+                    nearest[i] = (k == 0) ? distances[i] :
+                            Math.min(nearest[i], distances[k * vertexCount + i]);
+                }
+            }
+
+            index = new LandmarkIndex(version, vertexCount, landmarkCount, distances);
+        }
+
+        // We return the result
+
+        return (index);
+    }
+
+    /**
+     * This function returns a lower bound of the weighted distance
+     * between two vertexes. Every landmark bound is decreased by the
+     * rounding tolerance of the landmark distances, thus, the bound
+     * remains valid in spite of the rounding errors.
+     * @param vertex First vertex
+     * @param target Second vertex
+     * @return Lower bound of the distance
+     */
+
+    double getLowerBound(
+            int vertex,
+            int target)
+    {
+        double  bound = 0.0;    // Returned value
+
+        // We compute the maximum bound defined by the landmarks.
+        // We skip the landmarks which do not reach both vertexes.
+
+        for (int k = 0, offset = 0; k < m_LandmarkCount; k++, offset += m_VertexCount)
+        {
+            double vertexDistance = m_Distances[offset + vertex];
+            double targetDistance = m_Distances[offset + target];
+
+            if ((vertexDistance != Double.POSITIVE_INFINITY)
+                    && (targetDistance != Double.POSITIVE_INFINITY))
+            {
+                bound = Math.max(bound, Math.abs(targetDistance - vertexDistance)
+                        - ROUNDING_TOLERANCE * Math.max(targetDistance, vertexDistance));
+            }
+        }
+
+        // We return the result
+
+        return (bound);
+    }
+
+    /**
+     * @return Modification counter of the taxonomy when the index was built
+     */
+
+    int getVersion()
+    {
+        return (m_Version);
+    }
+
+    /**
+     * @return Number of indexed vertexes
+     */
+
+    int getVertexCount()
+    {
+        return (m_VertexCount);
+    }
+}
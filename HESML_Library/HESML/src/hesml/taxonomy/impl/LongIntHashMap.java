@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.Arrays;
+
+/**
+ * This class implements a hash map from long keys to non-negative int
+ * values based on open addressing with linear probing, which is used to
+ * index the position of the vertexes by ID without boxing the keys.
+ * The removals use backward shifting, thus, the map does not need
+ * any tombstone.
+ * @author Juan Lastra-Díaz
+ */
+
+class LongIntHashMap
+{
+    /**
+     * Value used to mark the empty slots
+     */
+
+    private static final int    EMPTY = -1;
+
+    /**
+     * Keys and values of the slots
+     */
+
+    private long[]  m_Keys;
+    private int[]   m_Values;
+
+    /**
+     * Number of entries in the map
+     */
+
+    private int m_Count;
+
+    /**
+     * Constructor
+     * @param expectedCount Expected number of entries
+     */
+
+    LongIntHashMap(
+            int expectedCount)
+    {
+        int capacity = 16;
+
+        // We keep the load factor under 0.5
+
+        while (capacity < 2 * expectedCount)
+        {
+            capacity <<= 1;
+        }
+
+        m_Keys = new long[capacity];
+        m_Values = new int[capacity];
+
+        Arrays.fill(m_Values, EMPTY);
+    }
+
+    /**
+     * This function returns the slot of a key when there is no collision.
+     * @param key Input key
+     * @param mask Capacity minus one
+     * @return Slot
+     */
+
+    private static int getSlot(
+            long    key,
+            int     mask)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return ((int)(hash ^ (hash >>> 32)) & mask);
+    }
+
+    /**
+     * This function returns the number of entries in the map.
+     * @return Entry count
+     */
+
+    int size()
+    {
+        return (m_Count);
+    }
+
+    /**
+     * This function returns the value associated to the key,
+     * or -1 if the key is not contained in the map.
+     * @param key Input key
+     * @return Value
+     */
+
+    int get(
+            long    key)
+    {
+        int mask = m_Keys.length - 1;
+        int slot = getSlot(key, mask);
+
+        // We probe the slots until the key or an empty slot are found
+
+        while ((m_Values[slot] != EMPTY) && (m_Keys[slot] != key))
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        // We return the result
+
+        return (m_Values[slot]);
+    }
+
+    /**
+     * This function inserts or updates the value associated to the key.
+     * @param key Input key
+     * @param value Non-negative value
+     */
+
+    void put(
+            long    key,
+            int     value)
+    {
+        // We enlarge the table to keep the load factor under 0.5
+
+        if (2 * (m_Count + 1) > m_Keys.length)
+        {
+            rehash(2 * m_Keys.length);
+        }
+
+        int mask = m_Keys.length - 1;
+        int slot = getSlot(key, mask);
+
+        // We look for the key or the first empty slot
+
+        while ((m_Values[slot] != EMPTY) && (m_Keys[slot] != key))
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        // We save the entry
+
+        if (m_Values[slot] == EMPTY)
+        {
+            m_Count++;
+        }
+
+        m_Keys[slot] = key;
+        m_Values[slot] = value;
+    }
+
+    /**
+     * This function removes the key from the map.
+     * @param key Input key
+     * @return True if the key was contained in the map
+     */
+
+    boolean remove(
+            long    key)
+    {
+        int mask = m_Keys.length - 1;
+        int slot = getSlot(key, mask);
+
+        // We look for the key
+
+        while ((m_Values[slot] != EMPTY) && (m_Keys[slot] != key))
+        {
+            slot = (slot + 1) & mask;
+        }
+
+        boolean removed = (m_Values[slot] != EMPTY);
+
+        // We shift back the following entries of the cluster
+        // which cannot be found once the slot is emptied
+
+        if (removed)
+        {
+            m_Count--;
+
+            int next = (slot + 1) & mask;
+
+            while (m_Values[next] != EMPTY)
+            {
+                int home = getSlot(m_Keys[next], mask);
+
+                // We move the entry when its home slot is not placed
+                // in the cyclic interval (slot, next]
+
+                if (((next - home) & mask) >= ((next - slot) & mask))
+                {
+                    m_Keys[slot] = m_Keys[next];
+                    m_Values[slot] = m_Values[next];
+                    slot = next;
+                }
+
+                next = (next + 1) & mask;
+            }
+
+            m_Values[slot] = EMPTY;
+        }
+
+        // We return the result
+
+        return (removed);
+    }
+
+    /**
+     * This function removes all the entries.
+     */
+
+    void clear()
+    {
+        Arrays.fill(m_Values, EMPTY);
+        m_Count = 0;
+    }
+
+    /**
+     * This function moves all the entries into a table with
+     * the input capacity.
+     * @param capacity New capacity
+     */
+
+    private void rehash(
+            int capacity)
+    {
+        long[]  oldKeys = m_Keys;
+        int[]   oldValues = m_Values;
+
+        int mask = capacity - 1;
+
+        // We create the new table
+
+        m_Keys = new long[capacity];
+        m_Values = new int[capacity];
+
+        Arrays.fill(m_Values, EMPTY);
+
+        // We insert the entries
+
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldValues[i] != EMPTY)
+            {
+                int slot = getSlot(oldKeys[i], mask);
+
+                while (m_Values[slot] != EMPTY)
+                {
+                    slot = (slot + 1) & mask;
+                }
+
+                m_Keys[slot] = oldKeys[i];
+                m_Values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class stores the inclusive ancestors of every vertex sorted by
+ * decreasing IC value, thus, the most informative common ancestor (MICA)
+ * of a pair of vertexes is the first ancestor of the first vertex which
+ * is also an ancestor of the second one. The index is only valid for
+ * the IC values it was built with, thus, it is rebuilt once the IC
+ * model of the taxonomy changes.
+ * @author Juan Lastra-Díaz
+ */
+
+class MicaIndex
+{
+    /**
+     * Ancestor index used to check the ancestor relationships
+     */
+
+    private final AncestorIndex m_Ancestors;
+
+    /**
+     * IC modification counter of the taxonomy when the index was built
+     */
+
+    private final int   m_Version;
+
+    /**
+     * IC values of the vertexes when the index was built
+     */
+
+    private final double[]  m_ICvalues;
+
+    /**
+     * Inclusive ancestors sorted by decreasing IC value
+     */
+
+    private final int[] m_ByICvalue;
+
+    /**
+     * Constructor
+     * @param taxonomy Taxonomy whose IC values are indexed
+     * @param ancestors Ancestor index of the taxonomy
+     * @param version IC modification counter of the taxonomy
+     */
+
+    MicaIndex(
+            Taxonomy        taxonomy,
+            AncestorIndex   ancestors,
+            int             version)
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        // We save the IC values of the taxonomy
+
+        m_ICvalues = new double[vertexes.getCount()];
+
+        for (int i = 0; i < m_ICvalues.length; i++)
+        {
+            m_ICvalues[i] = vertexes.getAt(i).getICvalue();
+        }
+
+        // We sort the ancestors by IC value
+
+        m_Ancestors = ancestors;
+        m_Version = version;
+        m_ByICvalue = ancestors.sortByScore(m_ICvalues);
+    }
+
+    /**
+     * This function returns the ancestor index used to build the index.
+     * @return Ancestor index
+     */
+
+    AncestorIndex getAncestorIndex()
+    {
+        return (m_Ancestors);
+    }
+
+    /**
+     * This function returns the IC modification counter of the
+     * taxonomy when the index was built.
+     * @return IC modification counter
+     */
+
+    int getVersion()
+    {
+        return (m_Version);
+    }
+
+    /**
+     * This function returns the most informative common ancestor of
+     * the input vertexes, or -1 if they do not share any ancestor
+     * with a valid IC value.
+     * @param begin Position of the first vertex
+     * @param end Position of the second vertex
+     * @return Position of the MICA vertex
+     */
+
+    int getMICA(
+            int begin,
+            int end)
+    {
+        // We get the common ancestor with highest IC value
+
+        int mica = m_Ancestors.getFirstCommonAncestor(m_ByICvalue, begin, end);
+
+        // We discard the vertexes whose IC value cannot be selected
+
+        if ((mica >= 0) && !(m_ICvalues[mica] > Double.NEGATIVE_INFINITY))
+        {
+            mica = -1;
+        }
+
+        // We return the result
+
+        return (mica);
+    }
+
+    /**
+     * This function returns the most informative common ancestor of the
+     * source vertex and each target vertex, as defined by the getMICA()
+     * function, by ranking the ancestors of the source vertex only once.
+     * @param source Position of the source vertex
+     * @param targets Positions of the target vertexes
+     * @param micas Output vector with the position of each MICA vertex
+     * @param scratch Traversal buffers
+     */
+
+    void getMICAs(
+            int         source,
+            int[]       targets,
+            int[]       micas,
+            TraversalScratch scratch)
+    {
+        // We get the common ancestors with highest IC value
+
+        m_Ancestors.getFirstCommonAncestors(m_ByICvalue, source,
+                targets, micas, scratch);
+
+        // We discard the vertexes whose IC value cannot be selected
+
+        for (int i = 0; i < micas.length; i++)
+        {
+            if ((micas[i] >= 0) && !(m_ICvalues[micas[i]] > Double.NEGATIVE_INFINITY))
+            {
+                micas[i] = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class implements a column of real values indexed by the position
+ * of the vertexes or edges of a frozen taxonomy. The column is stored
+ * in double precision by default, or in single precision in the compact
+ * taxonomies, whose IC-based attributes only need 4 bytes per value.
+ * The values are always read and written as doubles. The columns can be
+ * shared by several forks of a taxonomy, in which case the values are
+ * copied the first time that they are modified (copy-on-write).
+ * @author Juan Lastra-Díaz
+ */
+
+final class RealColumn
+{
+    /**
+     * Double-precision values, or null in single-precision mode
+     */
+    
+    private double[]    m_Doubles;
+    
+    /**
+     * Single-precision values, or null in double-precision mode
+     */
+    
+    private float[]     m_Floats;
+    
+    /**
+     * Flag indicating whether the values are shared with other columns
+     */
+    
+    private boolean     m_Shared;
+    
+    /**
+     * Constructor
+     * @param size Number of values
+     * @param singlePrecision Flag indicating whether the values are
+     * stored in single precision
+     */
+    
+    RealColumn(
+            int     size,
+            boolean singlePrecision)
+    {
+        if (singlePrecision)
+        {
+            m_Floats = new float[size];
+        }
+        else
+        {
+            m_Doubles = new double[size];
+        }
+    }
+    
+    /**
+     * Constructor. The values are copied from the current position of
+     * the buffer, which is moved to the end of the column.
+     * @param buffer Input buffer
+     * @param size Number of values
+     * @param singlePrecision Flag indicating whether the values are
+     * stored in single precision
+     */
+    
+    RealColumn(
+            ByteBuffer  buffer,
+            int         size,
+            boolean     singlePrecision)
+    {
+        this(size, singlePrecision);
+        
+        // We copy the values in bulk
+        
+        if (singlePrecision)
+        {
+            buffer.asFloatBuffer().get(m_Floats);
+            buffer.position(buffer.position() + size * Float.BYTES);
+        }
+        else
+        {
+            buffer.asDoubleBuffer().get(m_Doubles);
+            buffer.position(buffer.position() + size * Double.BYTES);
+        }
+    }
+    
+    /**
+     * This function writes the values of the column with its precision.
+     * @param writer Output stream
+     * @throws IOException Unexpected error
+     */
+    
+    void write(
+            DataOutputStream    writer) throws IOException
+    {
+        if (m_Doubles != null)
+        {
+            for (double value: m_Doubles)
+            {
+                writer.writeDouble(value);
+            }
+        }
+        else
+        {
+            for (float value: m_Floats)
+            {
+                writer.writeFloat(value);
+            }
+        }
+    }
+    
+    /**
+     * Constructor of a column which shares the values of the source column
+     * @param source Source column
+     */
+    
+    private RealColumn(
+            RealColumn  source)
+    {
+        m_Doubles = source.m_Doubles;
+        m_Floats = source.m_Floats;
+        m_Shared = true;
+    }
+    
+    /**
+     * This function returns a novel column which shares the values of
+     * this column until any of both columns is modified.
+     * @return Copy-on-write column
+     */
+    
+    RealColumn share()
+    {
+        m_Shared = true;
+        
+        // We return the result
+        
+        return (new RealColumn(this));
+    }
+    
+    /**
+     * This function creates a private copy of the shared values.
+     */
+    
+    private void unshare()
+    {
+        if (m_Doubles != null)
+        {
+            m_Doubles = m_Doubles.clone();
+        }
+        else
+        {
+            m_Floats = m_Floats.clone();
+        }
+        
+        m_Shared = false;
+    }
+    
+    /**
+     * This function copies the values of other column with the
+     * same size and precision.
+     * @param source Source column
+     */
+    
+    void copyFrom(
+            RealColumn  source)
+    {
+        // The shared values are replaced by a novel copy
+        
+        if (m_Shared)
+        {
+            m_Doubles = (source.m_Doubles != null) ? source.m_Doubles.clone() : null;
+            m_Floats = (source.m_Floats != null) ? source.m_Floats.clone() : null;
+            m_Shared = false;
+        }
+        else if (m_Doubles != null)
+        {
+            System.arraycopy(source.m_Doubles, 0, m_Doubles, 0, m_Doubles.length);
+        }
+        else
+        {
+            System.arraycopy(source.m_Floats, 0, m_Floats, 0, m_Floats.length);
+        }
+    }
+    
+    /**
+     * This function returns the value in the input position.
+     * @param position Position of the value
+     * @return Value
+     */
+    
+    double get(int position)
+    {
+        return ((m_Doubles != null) ? m_Doubles[position] : m_Floats[position]);
+    }
+    
+    /**
+     * This function sets the value in the input position, which is
+     * rounded to the nearest float in single-precision mode.
+     * @param position Position of the value
+     * @param value New value
+     */
+    
+    void set(
+            int     position,
+            double  value)
+    {
+        // We copy the shared values before their first modification
+        
+        if (m_Shared)
+        {
+            unshare();
+        }
+        
+        if (m_Doubles != null)
+        {
+            m_Doubles[position] = value;
+        }
+        else
+        {
+            m_Floats[position] = (float) value;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+/**
+ * This class stores the root of every vertex in a taxonomy with one
+ * or more roots, such as the WordNet verb taxonomy. A vertex whose
+ * ancestors descend from a single root is labelled with the position
+ * of this root, whilst the vertexes reached from several roots are
+ * labelled as multiple-root vertexes. Two vertexes labelled with
+ * different roots do not share any common ancestor, thus, the LCS
+ * and MICA queries of the disjoint vertexes are answered in O(1).
+ * The index is only valid for the topology it was built with.
+ * @author Juan Lastra-Díaz
+ */
+
+class RootIndex
+{
+    /**
+     * Root marker used for vertexes reaching more than one root
+     */
+
+    static final int    MULTIPLE_ROOTS = -1;
+
+    /**
+     * Root of each vertex or MULTIPLE_ROOTS
+     */
+
+    private final int[] m_Roots;
+
+    /**
+     * Number of roots of the taxonomy
+     */
+
+    private final int   m_RootCount;
+
+    /**
+     * Constructor. The vertexes must be sorted in topological order,
+     * thus, every vertex is labelled after its parents.
+     * @param parentStart Position of the first parent of each vertex
+     * @param parents Parents of the vertexes
+     */
+
+    RootIndex(
+            int[]   parentStart,
+            int[]   parents)
+    {
+        int vertexCount = parentStart.length - 1;
+        int rootCount = 0;
+
+        // We label the vertexes in topological order
+
+        m_Roots = new int[vertexCount];
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            if (parentStart[i] == parentStart[i + 1])
+            {
+                m_Roots[i] = i;
+                rootCount++;
+            }
+            else
+            {
+                m_Roots[i] = m_Roots[parents[parentStart[i]]];
+
+                for (int j = parentStart[i] + 1;
+                        (j < parentStart[i + 1]) && (m_Roots[i] != MULTIPLE_ROOTS); j++)
+                {
+                    if (m_Roots[parents[j]] != m_Roots[i])
+                    {
+                        m_Roots[i] = MULTIPLE_ROOTS;
+                    }
+                }
+            }
+        }
+
+        m_RootCount = rootCount;
+    }
+
+    /**
+     * This function returns the root of the vertex.
+     * @param vertex Vertex index
+     * @return Position of the root, or MULTIPLE_ROOTS if the vertex
+     * is reached from several roots
+     */
+
+    int getRoot(
+            int vertex)
+    {
+        return (m_Roots[vertex]);
+    }
+
+    /**
+     * This function checks if both vertexes are labelled with different
+     * roots, in which case they do not share any common ancestor.
+     * The function returns false when any vertex is reached from several
+     * roots, thus, the common ancestors must be searched in that case.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes do not share any common ancestor
+     */
+
+    boolean areDisjoint(
+            int begin,
+            int end)
+    {
+        int beginRoot = m_Roots[begin];
+        int endRoot = m_Roots[end];
+
+        return ((m_RootCount > 1) && (beginRoot != endRoot)
+                && (beginRoot != MULTIPLE_ROOTS) && (endRoot != MULTIPLE_ROOTS));
+    }
+
+    /**
+     * This function checks if both vertexes share the root of the
+     * taxonomy, in which case they share a common ancestor.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes share a common root
+     */
+
+    boolean shareRoot(
+            int begin,
+            int end)
+    {
+        return ((m_Roots[begin] == m_Roots[end]) && (m_Roots[begin] != MULTIPLE_ROOTS));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.ArrayDeque;
+
+/**
+ * This class implements a per-thread pool of traversal buffers, which
+ * allows the traversals to be nested, as it happens when a visitor
+ * starts a novel traversal from the vertexes that it receives.
+ * Every thread reuses its buffers, thus, the traversals do not
+ * allocate any memory once the pool has been filled.
+ * @author Juan Lastra-Díaz
+ */
+
+class ScratchPool
+{
+    /**
+     * Free buffers of each thread
+     */
+
+    private final ThreadLocal<ArrayDeque<TraversalScratch>> m_FreeBuffers;
+
+    /**
+     * Constructor
+     */
+
+    ScratchPool()
+    {
+        m_FreeBuffers = ThreadLocal.withInitial(ArrayDeque::new);
+    }
+
+    /**
+     * This function returns a free buffer of the current thread, which
+     * must be returned to the pool by calling the release() function.
+     * @param vertexCount Number of vertexes in the taxonomy
+     * @return Traversal buffers
+     */
+
+    TraversalScratch acquire(
+            int vertexCount)
+    {
+        TraversalScratch    scratch = m_FreeBuffers.get().poll();   // Returned value
+
+        // We create the buffer when the pool is empty
+
+        if (scratch == null)
+        {
+            scratch = new TraversalScratch(vertexCount);
+        }
+        else
+        {
+            scratch.ensureCapacity(vertexCount);
+        }
+
+        // We return the result
+
+        return (scratch);
+    }
+
+    /**
+     * This function returns a buffer to the pool of the current thread.
+     * @param scratch Traversal buffers
+     */
+
+    void release(
+            TraversalScratch    scratch)
+    {
+        m_FreeBuffers.get().push(scratch);
+    }
+}
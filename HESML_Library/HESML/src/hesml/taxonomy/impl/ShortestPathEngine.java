@@ -0,0 +1,838 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class implements the Dijkstra algorithm on the half-edge
+ * representation of a taxonomy. Unlike the former implementation based
+ * on the minimum distance attribute of the vertexes and a PriorityQueue,
+ * the engine stores the tentative distances in the per-thread buffers
+ * of the taxonomy and it uses an indexed binary heap with a decrease-key
+ * operation, thus, the shortest path queries do not modify the taxonomy
+ * and they can be evaluated concurrently from several threads.
+ * @author Juan Lastra-Díaz
+ */
+
+class ShortestPathEngine
+{
+    /**
+     * Weights used to compute the length of the paths
+     */
+
+    enum WeightType
+    {
+        Unit,
+        Edge,
+        OrientedEdge
+    }
+
+    /**
+     * Owner taxonomy
+     */
+
+    private final Taxonomy  m_Taxonomy;
+
+    /**
+     * Landmark index used to accelerate the weighted queries, which is
+     * rebuilt when the edge weights or the topology of the taxonomy change.
+     */
+
+    private volatile LandmarkIndex  m_Landmarks;
+
+    /**
+     * Number of weighted queries since the last modification of the
+     * taxonomy, and the modification counter when they were counted.
+     * The landmark index is only built once the number of queries is
+     * higher than the number of landmarks, in order to amortize its cost.
+     */
+
+    private int m_PendingQueries;
+    private int m_PendingVersion;
+
+    /**
+     * Modification counter of the taxonomy for which the landmark index
+     * cannot be built because of the negative weights. It is checked
+     * before taking the lock, thus, the weighted queries on these
+     * taxonomies are not serialized.
+     */
+
+    private volatile int    m_UnavailableVersion = -1;
+
+    /**
+     * Constructor
+     * @param taxonomy Owner taxonomy
+     */
+
+    ShortestPathEngine(
+            Taxonomy    taxonomy)
+    {
+        m_Taxonomy = taxonomy;
+    }
+
+    /**
+     * This function computes the length of the shortest path between
+     * the source and target vertexes. The edge-counting distance is
+     * retrieved from the distance index of the taxonomy when it is
+     * available, or it is computed by a bidirectional BFS, whilst the
+     * weighted distances are computed by the Dijkstra algorithm, which
+     * stops as soon as the target vertex is settled. The Dijkstra search
+     * for the edge weights is driven by the landmark lower bounds (ALT)
+     * once the landmark index is available.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param weightType Weights of the edges
+     * @return Length of the shortest path, or +infinity if the target
+     * vertex is not reachable.
+     */
+
+    double getDistance(
+            Vertex      source,
+            Vertex      target,
+            WeightType  weightType)
+    {
+        double  distance;   // Returned value
+
+        // We filter the trivial case
+
+        if (source == target)
+        {
+            distance = 0.0;
+        }
+        else if ((weightType == WeightType.Unit)
+                && (m_Taxonomy.getDistanceIndex() != null))
+        {
+            distance = m_Taxonomy.getDistanceIndex().getDistance(
+                            source.getIndex(), target.getIndex());
+        }
+        else if (weightType == WeightType.Unit)
+        {
+            distance = getEdgeCountingDistance(source, target,
+                            m_Taxonomy.getScratch());
+        }
+        else
+        {
+            // We get the landmark index for the edge weights
+
+            LandmarkIndex landmarks = (weightType == WeightType.Edge) ?
+                                        getLandmarks() : null;
+
+            // We compute the weighted distance
+
+            if (landmarks != null)
+            {
+                distance = getGoalDirectedDistance(source, target,
+                                landmarks, m_Taxonomy.getScratch());
+            }
+            else
+            {
+                distance = computeDistances(source, target, weightType,
+                                m_Taxonomy.getScratch());
+            }
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function computes the length of the shortest path between the
+     * source vertex and each target vertex. The edge-counting distances
+     * are retrieved from the distance index when it is available, whilst
+     * the remaining distances are computed by a single Dijkstra search
+     * from the source vertex, which stops once all the targets are settled.
+     * When the targets are all the vertexes of the taxonomy, the function
+     * computes the whole distance field instead of querying the index.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param weightType Weights of the edges
+     * @param distances Output vector with the distance to each target
+     */
+
+    void getDistances(
+            Vertex      source,
+            IVertexList targets,
+            WeightType  weightType,
+            double[]    distances)
+    {
+        int targetCount = targets.getCount();
+
+        // We compute the whole distance field for all the vertexes, whose
+        // position matches their index, or each distance individually for
+        // a single target, or when the distance index is available
+
+        if (targets == m_Taxonomy.getVertexes())
+        {
+            TraversalScratch    scratch = m_Taxonomy.getScratch();  // Buffers
+
+            computeDistances(source, null, weightType, scratch);
+
+            for (int i = 0; i < targetCount; i++)
+            {
+                distances[i] = (scratch.m_Marks[i] == scratch.m_Stamp) ?
+                                scratch.m_Distances[i] : Double.POSITIVE_INFINITY;
+            }
+        }
+        else if ((targetCount == 1) || ((weightType == WeightType.Unit)
+                && (m_Taxonomy.getDistanceIndex() != null)))
+        {
+            for (int i = 0; i < targetCount; i++)
+            {
+                distances[i] = getDistance(source, (Vertex) targets.getAt(i), weightType);
+            }
+        }
+        else
+        {
+            TraversalScratch    scratch = m_Taxonomy.getScratch();  // Buffers
+
+            // We label the targets in the auxiliary mark buffer
+
+            int targetStamp = scratch.nextStamp();
+            int pendingTargets = 0;
+
+            for (int i = 0; i < targetCount; i++)
+            {
+                int target = ((Vertex)targets.getAt(i)).getIndex();
+
+                if (scratch.m_Common[target] != targetStamp)
+                {
+                    scratch.m_Common[target] = targetStamp;
+                    pendingTargets++;
+                }
+            }
+
+            // We search the targets and we copy their distances
+
+            computeDistances(source, targetStamp, pendingTargets, weightType, scratch);
+
+            for (int i = 0; i < targetCount; i++)
+            {
+                int target = ((Vertex)targets.getAt(i)).getIndex();
+
+                distances[i] = (scratch.m_Marks[target] == scratch.m_Stamp) ?
+                                scratch.m_Distances[target] : Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * This function retrieves the vertexes closest to the source vertex
+     * by a Dijkstra search which stops once the output vector is filled.
+     * @param source Source vertex
+     * @param weightType Weights of the edges
+     * @param nearest Output vector with the nearest vertexes
+     * @param distances Output vector with the distance to each vertex
+     * @return Number of vertexes retrieved
+     */
+
+    int getNearestVertexes(
+            Vertex      source,
+            WeightType  weightType,
+            IVertex[]   nearest,
+            double[]    distances)
+    {
+        TraversalScratch    scratch = m_Taxonomy.getScratch();  // Buffers
+
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+
+        // We settle the source vertex and the nearest vertexes
+
+        int count = computeDistances(source, 0, nearest.length + 1,
+                        weightType, scratch) - 1;
+
+        // We copy the nearest vertexes, which follow the source
+        // vertex in the settlement order
+
+        for (int i = 0; i < count; i++)
+        {
+            int vertex = scratch.m_Queue[i + 1];
+
+            nearest[i] = vertexes.getAt(vertex);
+            distances[i] = scratch.m_Distances[vertex];
+        }
+
+        // We return the result
+
+        return (count);
+    }
+
+    /**
+     * This function computes the distance from the source vertex to
+     * all the vertexes in the taxonomy and it saves the values in the
+     * minimum distance attribute of each vertex, as defined by the
+     * IVertex.computeDistanceField() function.
+     * @param source Source vertex
+     * @param weighted Flag indicating if the edge weights will be used
+     */
+
+    void computeDistanceField(
+            Vertex  source,
+            boolean weighted)
+    {
+        TraversalScratch    scratch = m_Taxonomy.getScratch();  // Buffers
+
+        // We compute the whole distance field
+
+        computeDistances(source, null, weighted ? WeightType.Edge :
+                        WeightType.Unit, scratch);
+
+        // We copy the distances into the vertexes
+
+        for (IVertex vertex: m_Taxonomy.getVertexes())
+        {
+            int index = ((Vertex)vertex).getIndex();
+
+            vertex.setMinDistance((scratch.m_Marks[index] == scratch.m_Stamp) ?
+                        scratch.m_Distances[index] : Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * This function computes the weighted distances from the source
+     * vertex to all the vertexes and it copies them into the output vector.
+     * @param source Position of the source vertex
+     * @param output Output vector
+     * @param offset Position of the first distance in the output vector
+     */
+
+    void computeWeightedField(
+            int         source,
+            double[]    output,
+            int         offset)
+    {
+        TraversalScratch    scratch = m_Taxonomy.getScratch();  // Buffers
+
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+
+        // We compute the whole distance field
+
+        computeDistances((Vertex) vertexes.getAt(source), null,
+                WeightType.Edge, scratch);
+
+        // We copy the distances
+
+        for (int i = 0; i < vertexes.getCount(); i++)
+        {
+            output[offset + i] = (scratch.m_Marks[i] == scratch.m_Stamp) ?
+                        scratch.m_Distances[i] : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * This function returns the landmark index if it matches the current
+     * state of the taxonomy, or null otherwise. The index is built
+     * once enough weighted queries have been evaluated with the
+     * current edge weights.
+     * @return Landmark index or null
+     */
+
+    private LandmarkIndex getLandmarks()
+    {
+        LandmarkIndex   landmarks = m_Landmarks;    // Returned value
+
+        // We check if the current index is valid
+
+        int version = m_Taxonomy.getVersion();
+
+        if ((landmarks == null) || (landmarks.getVersion() != version))
+        {
+            landmarks = (m_UnavailableVersion != version) ?
+                        updateLandmarks() : null;
+        }
+
+        // We return the result
+
+        return (landmarks);
+    }
+
+    /**
+     * This function counts the weighted queries evaluated since the last
+     * modification of the taxonomy and it builds the landmark index when
+     * the count exceeds the number of landmarks.
+     * @return Landmark index or null
+     */
+
+    private synchronized LandmarkIndex updateLandmarks()
+    {
+        LandmarkIndex   landmarks = m_Landmarks;    // Returned value
+
+        int version = m_Taxonomy.getVersion();
+
+        // We check if the index was built by other thread
+
+        if ((landmarks == null) || (landmarks.getVersion() != version))
+        {
+            landmarks = null;
+
+            // We reset the counter when the taxonomy has been modified
+
+            if (m_PendingVersion != version)
+            {
+                m_PendingVersion = version;
+                m_PendingQueries = 0;
+            }
+
+            // We build the index. If the index cannot be built, because
+            // of the negative weights, we do not try it again until
+            // the next modification of the taxonomy.
+
+            if ((m_UnavailableVersion != version)
+                    && (++m_PendingQueries > LandmarkIndex.MAX_LANDMARKS))
+            {
+                landmarks = LandmarkIndex.build(m_Taxonomy, this, version);
+
+                if (landmarks != null)
+                {
+                    m_Landmarks = landmarks;
+                }
+                else
+                {
+                    m_UnavailableVersion = version;
+                }
+            }
+        }
+
+        // We return the result
+
+        return (landmarks);
+    }
+
+    /**
+     * This function computes the weighted distance between the source and
+     * target vertexes by using the A* search with the landmark lower
+     * bounds. The tentative distances are stored in the m_BackDistances
+     * buffer, whilst the heap is ordered by the estimated length of the
+     * paths through each vertex, which is stored in the m_Distances buffer.
+     * Because of the rounding errors, a vertex could be expanded before
+     * its shortest path is found. Thus, the vertexes are expanded again
+     * when their distance is improved, and the search goes on until no
+     * vertex can improve the distance to the target within the rounding
+     * tolerance. Thus, the search returns the same value as the
+     * Dijkstra algorithm.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param landmarks Landmark index
+     * @param scratch Traversal buffers of the current thread
+     * @return Weighted distance
+     */
+
+    private double getGoalDirectedDistance(
+            Vertex              source,
+            Vertex              target,
+            LandmarkIndex       landmarks,
+            TraversalScratch    scratch)
+    {
+        double  distance = Double.POSITIVE_INFINITY;    // Returned value
+
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+
+        int[]       marks = scratch.m_Marks;
+        double[]    estimations = scratch.m_Distances;
+        double[]    distances = scratch.m_BackDistances;
+
+        int targetIndex = target.getIndex();
+        int stamp = scratch.nextStamp();
+
+        // We insert the source vertex
+
+        marks[source.getIndex()] = stamp;
+        distances[source.getIndex()] = 0.0;
+        estimations[source.getIndex()] = landmarks.getLowerBound(source.getIndex(), targetIndex);
+
+        scratch.clearHeap();
+        scratch.pushOrDecrease(source.getIndex());
+
+        // We expand the vertexes in increasing estimation order
+
+        while (!scratch.isHeapEmpty())
+        {
+            int seedIndex = scratch.popMin();
+
+            // We stop once no vertex can improve the distance to the target
+
+            if (estimations[seedIndex] > distance * (1.0 + LandmarkIndex.ROUNDING_TOLERANCE))
+            {
+                break;
+            }
+
+            // We update the distance to the target, which is not expanded
+
+            if (seedIndex == targetIndex)
+            {
+                distance = distances[seedIndex];
+                continue;
+            }
+
+            // We relax the outcoming edges of the seed vertex
+
+            IHalfEdge firstOutEdge = vertexes.getAt(seedIndex).getFirstOutcomingEdge();
+            IHalfEdge loop = firstOutEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    int adjacent = ((Vertex)loop.getTarget()).getIndex();
+
+                    double novelDistance = distances[seedIndex] + loop.getEdge().getWeight();
+
+                    // We update the adjacent vertex when it is reached by
+                    // first time or its tentative distance is improved,
+                    // even if it was already expanded
+
+                    if ((marks[adjacent] != stamp)
+                            || (novelDistance < distances[adjacent]))
+                    {
+                        marks[adjacent] = stamp;
+                        distances[adjacent] = novelDistance;
+                        estimations[adjacent] = novelDistance
+                                + landmarks.getLowerBound(adjacent, targetIndex);
+
+                        scratch.pushOrDecrease(adjacent);
+                    }
+
+                    // We iterate around the vertex
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstOutEdge);
+            }
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function computes the distance from the source vertex to the
+     * target vertex, or the whole distance field if the target is null.
+     * @param source Source vertex
+     * @param target Target vertex or null to compute the whole field
+     * @param weightType Weights of the edges
+     * @param scratch Traversal buffers of the current thread
+     * @return Distance to the target vertex
+     */
+
+    private double computeDistances(
+            Vertex              source,
+            Vertex              target,
+            WeightType          weightType,
+            TraversalScratch    scratch)
+    {
+        double  distance = Double.POSITIVE_INFINITY;    // Returned value
+
+        int targetStamp = 0;
+        int pendingTargets = -1;
+
+        // We label the target vertex in the auxiliary mark buffer
+
+        if (target != null)
+        {
+            targetStamp = scratch.nextStamp();
+            pendingTargets = 1;
+
+            scratch.m_Common[target.getIndex()] = targetStamp;
+        }
+
+        // We search the target vertex
+
+        computeDistances(source, targetStamp, pendingTargets, weightType, scratch);
+
+        if ((target != null) && (scratch.m_Marks[target.getIndex()] == scratch.m_Stamp))
+        {
+            distance = scratch.m_Distances[target.getIndex()];
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+
+    /**
+     * This function implements the Dijkstra algorithm from the source
+     * vertex. The vertexes reached by the traversal are marked with the
+     * current stamp of the buffers and their distance is stored in the
+     * m_Distances buffer. Once a vertex is removed from the heap, its
+     * distance is final and it is never expanded again, even if some
+     * edge has a negative weight. The oriented weights of the conditional
+     * probability IC models are negative for the ascending edges, and
+     * every edge forms a negative cycle with its opposite one, thus,
+     * a label-correcting search which re-opens the settled vertexes
+     * would never finish on them. The search
+     * stops once all the target vertexes, which are labelled with the
+     * target stamp in the m_Common buffer, have been settled. A zero
+     * target stamp labels every vertex as a target. The settled vertexes
+     * are stored in the m_Queue buffer in increasing distance order.
+     * @param source Source vertex
+     * @param targetStamp Stamp of the target vertexes
+     * @param pendingTargets Number of target vertexes, or a negative
+     * value to compute the whole distance field
+     * @param weightType Weights of the edges
+     * @param scratch Traversal buffers of the current thread
+     * @return Number of settled vertexes
+     */
+
+    private int computeDistances(
+            Vertex              source,
+            int                 targetStamp,
+            int                 pendingTargets,
+            WeightType          weightType,
+            TraversalScratch    scratch)
+    {
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+
+        int[]       marks = scratch.m_Marks;
+        double[]    distances = scratch.m_Distances;
+
+        int stamp = scratch.nextStamp();
+        int settled = 0;
+
+        // We insert the source vertex
+
+        marks[source.getIndex()] = stamp;
+        distances[source.getIndex()] = 0.0;
+
+        scratch.clearHeap();
+        scratch.pushOrDecrease(source.getIndex());
+
+        // We expand the vertexes in increasing distance order
+
+        while (!scratch.isHeapEmpty())
+        {
+            int seedIndex = scratch.popMin();
+
+            IVertex seed = vertexes.getAt(seedIndex);
+
+            scratch.m_Queue[settled++] = seedIndex;
+
+            // We stop once all the targets have been settled
+
+            if ((pendingTargets > 0) && ((targetStamp == 0)
+                    || (scratch.m_Common[seedIndex] == targetStamp))
+                    && (--pendingTargets == 0))
+            {
+                break;
+            }
+
+            // We relax the outcoming edges of the seed vertex
+
+            IHalfEdge firstOutEdge = seed.getFirstOutcomingEdge();
+            IHalfEdge loop = firstOutEdge;
+
+            if (loop != null)
+            {
+                do
+                {
+                    int adjacent = ((Vertex)loop.getTarget()).getIndex();
+
+                    // We get the weight of the edge
+
+                    double weight;
+
+                    switch (weightType)
+                    {
+                        case Edge:
+
+                            weight = loop.getEdge().getWeight();
+                            break;
+
+                        case OrientedEdge:
+
+                            weight = loop.getWeight();
+                            break;
+
+                        default:
+
+                            weight = 1.0;
+                            break;
+                    }
+
+                    // We update the adjacent vertex when it is reached by
+                    // first time or its tentative distance is improved
+
+                    double novelDistance = distances[seedIndex] + weight;
+
+                    if (marks[adjacent] != stamp)
+                    {
+                        marks[adjacent] = stamp;
+                        distances[adjacent] = novelDistance;
+                        scratch.pushOrDecrease(adjacent);
+                    }
+                    else if ((novelDistance < distances[adjacent])
+                            && scratch.isInHeap(adjacent))
+                    {
+                        distances[adjacent] = novelDistance;
+                        scratch.pushOrDecrease(adjacent);
+                    }
+
+                    // We iterate around the vertex
+
+                    loop = loop.getOpposite().getNext();
+
+                } while (loop != firstOutEdge);
+            }
+        }
+
+        // We return the result
+
+        return (settled);
+    }
+
+    /**
+     * This function computes the number of edges in the shortest path
+     * between two different vertexes by using a bidirectional BFS.
+     * Both searches are expanded level by level, always expanding the
+     * smallest frontier, until they meet. The forward search uses the
+     * m_Marks buffer whilst the backward search uses the m_Common buffer,
+     * thus, only the vertexes visited by both searches are touched.
+     * We note that the search cannot be restricted to the ancestors and
+     * descendants of both vertexes, because in multiple inheritance
+     * taxonomies the shortest path can go through the parents of
+     * any common descendant.
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param scratch Traversal buffers of the current thread
+     * @return Number of edges in the shortest path, or +infinity if
+     * the vertexes are not connected.
+     */
+
+    private double getEdgeCountingDistance(
+            Vertex              source,
+            Vertex              target,
+            TraversalScratch    scratch)
+    {
+        double  distance = Double.POSITIVE_INFINITY;    // Returned value
+
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+
+        // We initialize both searches. We note that the stamp is shared
+        // by the forward (m_Marks) and backward (m_Common) buffers.
+
+        int stamp = scratch.nextStamp();
+
+        int[] forwardMarks = scratch.m_Marks;
+        int[] backwardMarks = scratch.m_Common;
+
+        scratch.m_Queue[0] = source.getIndex();
+        forwardMarks[source.getIndex()] = stamp;
+        scratch.m_Distances[source.getIndex()] = 0.0;
+
+        scratch.m_BackQueue[0] = target.getIndex();
+        backwardMarks[target.getIndex()] = stamp;
+        scratch.m_BackDistances[target.getIndex()] = 0.0;
+
+        // Limits of the current level in each queue
+
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+
+        // We expand the levels until both searches meet
+
+        while ((distance == Double.POSITIVE_INFINITY)
+                && (forwardHead < forwardTail)
+                && (backwardHead < backwardTail))
+        {
+            // We select the search with the smallest frontier
+
+            boolean forward = (forwardTail - forwardHead)
+                                <= (backwardTail - backwardHead);
+
+            int[]       queue = forward ? scratch.m_Queue : scratch.m_BackQueue;
+            int[]       marks = forward ? forwardMarks : backwardMarks;
+            int[]       oppositeMarks = forward ? backwardMarks : forwardMarks;
+            double[]    distances = forward ? scratch.m_Distances : scratch.m_BackDistances;
+            double[]    oppositeDistances = forward ? scratch.m_BackDistances : scratch.m_Distances;
+
+            int head = forward ? forwardHead : backwardHead;
+            int tail = forward ? forwardTail : backwardTail;
+            int levelEnd = tail;
+
+            // We expand the whole level in order to get the minimum
+            // length among all the meeting vertexes
+
+            while (head < levelEnd)
+            {
+                int current = queue[head++];
+
+                double novelDistance = distances[current] + 1.0;
+
+                IHalfEdge firstOutEdge = vertexes.getAt(current).getFirstOutcomingEdge();
+                IHalfEdge loop = firstOutEdge;
+
+                if (loop != null)
+                {
+                    do
+                    {
+                        int adjacent = ((Vertex)loop.getTarget()).getIndex();
+
+                        // We check if the opposite search reached the vertex
+
+                        if (oppositeMarks[adjacent] == stamp)
+                        {
+                            distance = Math.min(distance,
+                                        novelDistance + oppositeDistances[adjacent]);
+                        }
+
+                        // We enqueue the vertex when it is reached by first time
+
+                        if (marks[adjacent] != stamp)
+                        {
+                            marks[adjacent] = stamp;
+                            distances[adjacent] = novelDistance;
+                            queue[tail++] = adjacent;
+                        }
+
+                        // We iterate around the vertex
+
+                        loop = loop.getOpposite().getNext();
+
+                    } while (loop != firstOutEdge);
+                }
+            }
+
+            // We update the limits of the expanded search
+
+            if (forward)
+            {
+                forwardHead = head;
+                forwardTail = tail;
+            }
+            else
+            {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+        }
+
+        // We return the result
+
+        return (distance);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.configurators.ITaxonomyInfoConfigurator;
+import hesml.taxonomy.ITaxonomy;
+
+/**
+ * This class implements an IC model stored in the snapshot file of a
+ * frozen taxonomy. Instead of computing the IC model again, the class
+ * restores the IC values, probabilities and edge weights stored in the
+ * snapshot file when the IC model was saved. The IC model can be restored
+ * into the taxonomy loaded from the snapshot or into any of its layers.
+ * @author Juan Lastra-Díaz
+ */
+
+class StoredICmodel implements ITaxonomyInfoConfigurator
+{
+    /**
+     * Taxonomy loaded from the snapshot file
+     */
+    
+    private final FrozenTaxonomy    m_Taxonomy;
+    
+    /**
+     * Identifier of the stored IC model
+     */
+    
+    private final String    m_strICmodel;
+    
+    /**
+     * Constructor
+     * @param taxonomy Taxonomy loaded from the snapshot file
+     * @param strICmodel Identifier of the stored IC model
+     */
+    
+    StoredICmodel(
+            FrozenTaxonomy  taxonomy,
+            String          strICmodel)
+    {
+        m_Taxonomy = taxonomy;
+        m_strICmodel = strICmodel;
+    }
+    
+    /**
+     * This function restores the stored IC model into the taxonomy.
+     * @param taxonomy Taxonomy loaded from the snapshot file or any layer
+     * @throws Exception The taxonomy does not store the IC model
+     */
+    
+    @Override
+    public void setTaxonomyData(ITaxonomy taxonomy) throws Exception
+    {
+        // We check the taxonomy
+        
+        if (!(taxonomy instanceof FrozenTaxonomy))
+        {
+            throw (new Exception("The IC model " + m_strICmodel
+                    + " is not stored in this taxonomy"));
+        }
+        
+        // We restore the IC model
+        
+        ((FrozenTaxonomy) taxonomy).restoreICmodel(m_strICmodel);
+    }
+    
+    /**
+     * This function returns the identifier of the stored IC model,
+     * which is the identifier of the IC model when it was saved.
+     * @return Identifier of the IC model
+     */
+    
+    @Override
+    public String getICmodelKey()
+    {
+        return (m_strICmodel);
+    }
+    
+    /**
+     * This function returns the name of the stored IC model, which
+     * is the name of the IC model when it was saved.
+     * @return Name of the IC model
+     */
+    
+    @Override
+    public String toString()
+    {
+        return (m_strICmodel);
+    }
+}
@@ -24,12 +24,13 @@ package hesml.taxonomy.impl;
 // Java references
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 
 // HESML references
 
+import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.taxonomy.*;
-import java.util.HashSet;
-import java.util.LinkedList;
 
 /**
  * This class implements the ITaxonomy interface which represents an
@@ -57,6 +58,99 @@ class Taxonomy implements ITaxonomy
     
     private final VertexList  m_Vertexes;
     
+    /**
+     * Per-thread buffers used by the traversal algorithms
+     */
+    
+    private final ThreadLocal<TraversalScratch>   m_Scratch;
+    
+    /**
+     * Per-thread buffers used by the visitor traversals, which can be nested
+     */
+    
+    private final ScratchPool   m_ScratchPool;
+    
+    /**
+     * Shortest path engine
+     */
+    
+    private final ShortestPathEngine    m_PathEngine;
+    
+    /**
+     * Optional index for the edge-counting distance, which is
+     * discarded when the taxonomy is modified.
+     */
+    
+    private DistanceLabelIndex  m_DistanceIndex;
+    
+    /**
+     * Modification counter, which is increased when a vertex is inserted
+     * or an edge weight changes. It allows the auxiliary indexes
+     * to detect when they are not longer valid.
+     */
+    
+    private volatile int    m_Version;
+    
+    /**
+     * Ancestor index used to answer the LCS queries, which is built
+     * with the cached attributes and updated when the taxonomy
+     * is modified.
+     */
+    
+    private volatile AncestorIndex  m_AncestorIndex;
+    
+    /**
+     * Positions of the vertexes whose ancestors have changed since
+     * the last update of the ancestor index. The index is updated
+     * on-demand, thus, a sequence of modifications only pays
+     * one update of the index.
+     */
+    
+    private final BitSet    m_PendingAncestorRows;
+    
+    /**
+     * Root of each vertex, which is built with the cached attributes
+     * and discarded when the taxonomy is modified.
+     */
+    
+    private volatile RootIndex  m_RootIndex;
+    
+    /**
+     * Parents and children of each vertex by position, which is built
+     * on-demand and discarded when the topology of the taxonomy changes.
+     */
+    
+    private volatile AdjacencyIndex m_AdjacencyIndex;
+    
+    /**
+     * This flag is set when the hyponym, leaf or ancestor counts of any
+     * vertex are cached. The incremental modifications only maintain
+     * the cached counts from then on, thus, the sequential insertion of
+     * vertexes into a blank taxonomy does not traverse their ancestors.
+     */
+    
+    private volatile boolean    m_CachedCountsInUse;
+    
+    /**
+     * IC model which is computed again when the taxonomy is modified
+     */
+    
+    private ITaxonomyInfoConfigurator   m_ActiveICmodel;
+    
+    /**
+     * IC modification counter, which is increased when the IC value
+     * of any vertex changes.
+     */
+    
+    private volatile int    m_ICVersion;
+    
+    /**
+     * Ancestor index sorted by IC values used to answer the MICA
+     * queries, which is rebuilt when the IC model changes.
+     */
+    
+    private volatile MicaIndex  m_MicaIndex;
+    
     /**
      * Constructor
      */
@@ -65,6 +159,10 @@ class Taxonomy implements ITaxonomy
     {
         m_Edges = new EdgeList();
         m_Vertexes = new VertexList(true);
+        m_Scratch = new ThreadLocal<>();
+        m_ScratchPool = new ScratchPool();
+        m_PathEngine = new ShortestPathEngine(this);
+        m_PendingAncestorRows = new BitSet();
     }
     
     /**
@@ -75,8 +173,236 @@ class Taxonomy implements ITaxonomy
     
     Taxonomy(int initialCapacity)
     {
-        m_Edges = new EdgeList(initialCapacity);
-        m_Vertexes = new VertexList(true, initialCapacity);
+        this(initialCapacity, initialCapacity);
+    }
+    
+    /**
+     * Constructor with pre-reserved memory for the expected number
+     * of vertexes and edges.
+     * @param vertexCapacity Expected quantity of vertexes
+     * @param edgeCapacity Expected quantity of edges
+     */
+    
+    Taxonomy(
+            int vertexCapacity,
+            int edgeCapacity)
+    {
+        m_Edges = new EdgeList(edgeCapacity);
+        m_Vertexes = new VertexList(true, vertexCapacity);
+        m_Scratch = new ThreadLocal<>();
+        m_ScratchPool = new ScratchPool();
+        m_PathEngine = new ShortestPathEngine(this);
+        m_PendingAncestorRows = new BitSet();
+    }
+    
+    /**
+     * This function returns the traversal buffers of the current thread,
+     * which are sized to the current number of vertexes.
+     * @return Traversal buffers
+     */
+    
+    TraversalScratch getScratch()
+    {
+        TraversalScratch    scratch = m_Scratch.get();  // Returned value
+        
+        // We create the buffers of the current thread on-demand
+        
+        if (scratch == null)
+        {
+            scratch = new TraversalScratch(m_Vertexes.getCount());
+            m_Scratch.set(scratch);
+        }
+        else
+        {
+            scratch.ensureCapacity(m_Vertexes.getCount());
+        }
+        
+        // We return the result
+        
+        return (scratch);
+    }
+    
+    /**
+     * This function returns a free traversal buffer of the current thread
+     * for the visitor traversals, which must be returned by calling
+     * the releaseScratch() function.
+     * @return Traversal buffers
+     */
+    
+    TraversalScratch acquireScratch()
+    {
+        return (m_ScratchPool.acquire(m_Vertexes.getCount()));
+    }
+    
+    /**
+     * This function returns a traversal buffer to the pool.
+     * @param scratch Traversal buffers
+     */
+    
+    void releaseScratch(
+            TraversalScratch    scratch)
+    {
+        m_ScratchPool.release(scratch);
+    }
+    
+    /**
+     * This function returns the shortest path engine of the taxonomy.
+     * @return Shortest path engine
+     */
+    
+    ShortestPathEngine getPathEngine()
+    {
+        return (m_PathEngine);
+    }
+    
+    /**
+     * This function returns the modification counter of the taxonomy.
+     * @return Modification counter
+     */
+    
+    int getVersion()
+    {
+        return (m_Version);
+    }
+    
+    /**
+     * This function increases the modification counter of the taxonomy.
+     * We note that the method is invoked by a single thread at any time,
+     * when the taxonomy or the IC model is built.
+     */
+    
+    void incrementVersion()
+    {
+        m_Version++;
+    }
+    
+    /**
+     * This function returns the adjacency index of the taxonomy,
+     * which is built when it is not available.
+     * @return Adjacency index
+     */
+    
+    AdjacencyIndex getAdjacencyIndex()
+    {
+        AdjacencyIndex  index = m_AdjacencyIndex;   // Returned value
+        
+        // We build the index after any modification of the taxonomy
+        
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = m_AdjacencyIndex;
+                
+                if (index == null)
+                {
+                    index = AdjacencyIndex.build(m_Vertexes);
+                    m_AdjacencyIndex = index;
+                }
+            }
+        }
+        
+        // We return the result
+        
+        return (index);
+    }
+    
+    /**
+     * This function returns the ancestor index of the taxonomy.
+     * @return Ancestor index or null if the cached attributes
+     * have not been computed
+     */
+    
+    AncestorIndex getAncestorIndex() throws Exception
+    {
+        // We update the index when the taxonomy has been modified
+        
+        if (!m_PendingAncestorRows.isEmpty())
+        {
+            synchronized (this)
+            {
+                if (!m_PendingAncestorRows.isEmpty())
+                {
+                    if (m_AncestorIndex != null)
+                    {
+                        int[] rows = m_PendingAncestorRows.stream().toArray();
+                        
+                        m_AncestorIndex = m_AncestorIndex.update(this, rows, rows.length);
+                    }
+                    
+                    m_PendingAncestorRows.clear();
+                }
+            }
+        }
+        
+        // We return the result
+        
+        return (m_AncestorIndex);
+    }
+    
+    /**
+     * This function increases the IC modification counter of the taxonomy.
+     */
+    
+    void incrementICVersion()
+    {
+        m_ICVersion++;
+    }
+    
+    /**
+     * This function returns the MICA index matching the current ancestor
+     * index and IC values, which is rebuilt when any of them changes.
+     * @param ancestors Current ancestor index
+     * @return MICA index
+     */
+    
+    private MicaIndex getMicaIndex(
+            AncestorIndex   ancestors)
+    {
+        MicaIndex   index = m_MicaIndex;    // Returned value
+        
+        // We rebuild the index when the IC model has changed
+        
+        if ((index == null) || (index.getAncestorIndex() != ancestors)
+                || (index.getVersion() != m_ICVersion))
+        {
+            synchronized (this)
+            {
+                index = m_MicaIndex;
+                
+                if ((index == null) || (index.getAncestorIndex() != ancestors)
+                        || (index.getVersion() != m_ICVersion))
+                {
+                    index = new MicaIndex(this, ancestors, m_ICVersion);
+                    m_MicaIndex = index;
+                }
+            }
+        }
+        
+        // We return the result
+        
+        return (index);
+    }
+    
+    /**
+     * This function returns the edge-counting distance index.
+     * @return Distance index or null
+     */
+    
+    DistanceLabelIndex getDistanceIndex()
+    {
+        return (m_DistanceIndex);
+    }
+    
+    /**
+     * This function sets the edge-counting distance index.
+     * @param index Distance index or null
+     */
+    
+    void setDistanceIndex(
+            DistanceLabelIndex  index)
+    {
+        m_DistanceIndex = index;
     }
     
     /**
@@ -115,7 +441,7 @@ class Taxonomy implements ITaxonomy
      * @param end
      * @param useLongestDepth Use the softest ascending path depth attribute (false)
      * or the depth attribute defined as the longest ascending path to the root.
-     * @return LCS vertex
+     * @return LCS vertex, or null if the vertexes do not share any ancestor
      */
     
     @Override
@@ -124,55 +450,38 @@ class Taxonomy implements ITaxonomy
             IVertex end,
             boolean useLongestDepth) throws Exception
     {
-        Exception   error;      // Error thrown
-        String      strError;   // Error message
-        
         IVertex lcaVertex = null;    // Returned value
-
-        int  maxDepth = -1;    // Maximum
         
-        // We retrieve the inclusive and unordered ancestor sets
-        // of the input vertexes
+        int lcs;    // Position of the LCS vertex
         
-        HashSet<IVertex> beginAncestors = getUnorderedAncestorSet(begin);
-        HashSet<IVertex> endAncestors = getUnorderedAncestorSet(end);
+        // We filter the vertexes descending from different roots
         
-        // We traverse all the vertexes looking for the common ancestor
-        // which satisfies the LCS criterium.
-        // In order to speed up the intersection of both sets,
-        // we check first the condition to select the vertex than
-        // its membership to the opposite ancestor set.
+        AncestorIndex   index = getAncestorIndex();
         
-        for (IVertex vertex: beginAncestors)
+        if (areDisjoint((Vertex) begin, (Vertex) end))
         {
-            if (!useLongestDepth
-                    && (vertex.getDepthMin() > maxDepth)
-                    && (endAncestors.contains(vertex)))
-            {
-                maxDepth = vertex.getDepthMin();
-                lcaVertex = vertex;
-            }
-            else if (useLongestDepth
-                    && (vertex.getDepthMax() > maxDepth)
-                    && (endAncestors.contains(vertex)))
-            {
-                maxDepth = vertex.getDepthMax();
-                lcaVertex = vertex;
-            }
+            lcs = -1;
+        }
+        else if (index != null)
+        {
+            // We use the ancestor index when it is available
+            
+            lcs = index.getLCS(((Vertex)begin).getIndex(),
+                        ((Vertex)end).getIndex(), useLongestDepth);
+        }
+        else
+        {
+            // We search the common ancestor with the maximum depth
+            
+            lcs = getBestCommonAncestor((Vertex) begin, (Vertex) end,
+                    useLongestDepth ? 2 : 1);
         }
         
-        // We reset the visited sets
-        
-        beginAncestors.clear();
-        endAncestors.clear();
-        
-        // We check the mica
+        // We retrieve the LCS vertex, if any
         
-        if (lcaVertex == null)
+        if (lcs >= 0)
         {
-            strError = "The vertexes do not share a common ancestor";
-            error = new Exception(strError);
-            throw (error);
+            lcaVertex = m_Vertexes.getAt(lcs);
         }
                
         // We return the result
@@ -226,10 +535,14 @@ class Taxonomy implements ITaxonomy
      * This function returns the most informative common ancestor (MICA) vertex.
      * The method marks all the ancestor vertexes from both input vertexes,
      * then it looks for the intersection set which is defined as the
-     * marked vertexes in both ancestor sets.
+     * marked vertexes in both ancestor sets. Once the cached attributes
+     * have been computed, the MICA vertex is the first ancestor of the
+     * first vertex, sorted by decreasing IC value, which is an ancestor
+     * of the second vertex.
      * @param begin First input vertex
      * @param end Second input vertex
-     * @return The most informative common ancestor (MICA) vertex.
+     * @return The most informative common ancestor (MICA) vertex,
+     * or null if the vertexes do not share any ancestor.
      */
 
     @Override
@@ -238,40 +551,36 @@ class Taxonomy implements ITaxonomy
             IVertex end) throws InterruptedException, Exception
     {
         IVertex micaVertex = null;    // Returned value
-
-        double  maxIC = Double.NEGATIVE_INFINITY;    // Maximum
         
-        // We retrieves the inclusive ancestor sets of the input vertexes
+        int mica;   // Position of the MICA vertex
         
-        HashSet<IVertex> beginAncestors = getUnorderedAncestorSet(begin);
-        HashSet<IVertex> endAncestors = getUnorderedAncestorSet(end);
+        // We filter the vertexes descending from different roots
         
-        // We traverse all the vertexes looking for the common ancestor
-        // which satisfies the MICA criterium.
-        // In order to speed up the intersection of both sets,
-        // we check first the condition to select the vertex than
-        // its membership to the opposite ancestor set.
+        AncestorIndex   ancestors = getAncestorIndex();
         
-        for (IVertex vertex: beginAncestors)
+        if (areDisjoint((Vertex) begin, (Vertex) end))
         {
-            if ((vertex.getICvalue() > maxIC)
-                    && endAncestors.contains(vertex))
-            {
-                maxIC = vertex.getICvalue();
-                micaVertex = vertex;
-            }
+            mica = -1;
+        }
+        else if (ancestors != null)
+        {
+            // We use the IC-ordered ancestor index when it is available
+            
+            mica = getMicaIndex(ancestors).getMICA(
+                        ((Vertex)begin).getIndex(), ((Vertex)end).getIndex());
+        }
+        else
+        {
+            // We search the common ancestor with the maximum IC value
+            
+            mica = getBestCommonAncestor((Vertex) begin, (Vertex) end, 0);
         }
         
-        // We release the visiting sets
-        
-        beginAncestors.clear();
-        endAncestors.clear();
-        
-        // We check the mica
+        // We retrieve the MICA vertex, if any
         
-        if (micaVertex == null)
+        if (mica >= 0)
         {
-            throw (new Exception("A MICA vertex was not found"));
+            micaVertex = m_Vertexes.getAt(mica);
         }
                
         // We return the result
@@ -280,150 +589,594 @@ class Taxonomy implements ITaxonomy
     }
     
     /**
-     * This function retrieves the ancestor set of the seed vertex,
-     * including this later one, and returns the set as an unordered
-     * HashSet, instead of the heavier and ordered IVertexList.
-     * @param seed Seed vertex whose ancestors set will be visited.
-     * @return The ancestor set.
-     * @throws InterruptedException 
+     * This function computes the MICA vertex of the source vertex and
+     * each target vertex. Once the cached attributes have been computed,
+     * the ancestors of the source vertex are ranked by decreasing IC
+     * value only once, and the MICA vertex of each target is its
+     * ancestor with the lowest rank.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param micas Output vector with the MICA vertexes
+     * @throws InterruptedException Unexpected error
+     * @throws Exception Unexpected error
      */
     
-    private HashSet<IVertex>  getUnorderedAncestorSet(
-            IVertex seed) throws InterruptedException
+    @Override
+    public void getMICAs(
+            IVertex     source,
+            IVertexList targets,
+            IVertex[]   micas) throws InterruptedException, Exception
     {
-        // We create the output ancestor set
-        
-        HashSet<IVertex>    ancestorSet = new HashSet<>();
-        
-        // We create the traversal queue
+        AncestorIndex   ancestors = getAncestorIndex();
         
-        LinkedList<IVertex>  pending = new LinkedList<>();
+        // We use the IC-ordered ancestor index when it is available,
+        // otherwise we compute the MICA vertex of each pair
         
-        // We enqueue this vertes to mark all the ancestors
-        
-        pending.add(seed);
-        ancestorSet.add(seed);
+        if (ancestors != null)
+        {
+            int[]   positions = getPositions(targets);
+            
+            getMicaIndex(ancestors).getMICAs(((Vertex)source).getIndex(),
+                    positions, positions, getScratch());
+            
+            getVertexes(positions, micas);
+        }
+        else
+        {
+            for (int i = 0; i < targets.getCount(); i++)
+            {
+                micas[i] = getMICA(source, targets.getAt(i));
+            }
+        }
+    }
+    
+    /**
+     * This function computes the LCS vertex of the source vertex and
+     * each target vertex. Once the cached attributes have been computed,
+     * the ancestors of the source vertex are ranked by decreasing depth
+     * only once, and the LCS vertex of each target is its ancestor
+     * with the lowest rank.
+     * @param source Source vertex
+     * @param targets Target vertexes
+     * @param useLongestDepth Use the maximum depth (true) or the minimum one
+     * @param lcsVertexes Output vector with the LCS vertexes
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void getLCSs(
+            IVertex     source,
+            IVertexList targets,
+            boolean     useLongestDepth,
+            IVertex[]   lcsVertexes) throws Exception
+    {
+        AncestorIndex   ancestors = getAncestorIndex();
         
-        // We traverse the ancestors of the current vertex
+        // We use the depth-ordered ancestor index when it is available,
+        // otherwise we compute the LCS vertex of each pair
         
-        while (!pending.isEmpty())
+        if (ancestors != null)
         {
-            // We get the next vertex to explore
+            int[]   positions = getPositions(targets);
             
-            IVertex current = pending.remove();
-                    
-            // We enqueue all its parents. We use a direct loop traversal
-            // of the vertex to retrieve its parents, with the aim to
-            // reduce the time spent in the creation of a list whenever
-            // the getParents() emthod is invoked.
-            
-            IHalfEdge firstEdge = current.getFirstOutcomingEdge();
-            IHalfEdge loop = firstEdge;
+            ancestors.getLCSs(((Vertex)source).getIndex(), positions,
+                    useLongestDepth, positions, getScratch());
             
-            do
+            getVertexes(positions, lcsVertexes);
+        }
+        else
+        {
+            for (int i = 0; i < targets.getCount(); i++)
             {
-                // We check if the adjacent vertex is a parent
-                
-                if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
-                {
-                    IVertex parent = loop.getTarget();
-                    
-                    if (!ancestorSet.contains(parent))
-                    {
-                        pending.add(parent);
-                        ancestorSet.add(parent);
-                    }
-                }
-                
-                // We move to the next outcoming edge
-                
-                loop = loop.getOpposite().getNext();
-                
-            } while (loop != firstEdge);
+                lcsVertexes[i] = getLCS(source, targets.getAt(i), useLongestDepth);
+            }
+        }
+    }
+    
+    /**
+     * This function returns the position of each vertex in the taxonomy.
+     * @param vertexes Input vertexes
+     * @return Positions of the vertexes
+     */
+    
+    private int[] getPositions(
+            IVertexList vertexes)
+    {
+        int[]   positions = new int[vertexes.getCount()];   // Returned value
+        
+        for (int i = 0; i < positions.length; i++)
+        {
+            positions[i] = ((Vertex)vertexes.getAt(i)).getIndex();
         }
         
         // We return the result
         
-        return (ancestorSet);
+        return (positions);
     }
     
     /**
-     * This function forces the computation and caching of the hyponym set
-     * count for each concept in the taxonomy. It is made to accelerate the
-     * computation of several IC models using the Hyponym count feature.
+     * This function retrieves the vertexes in the input positions,
+     * or null for the negative positions.
+     * @param positions Positions of the vertexes
+     * @param vertexes Output vector
      */
     
-    private void computeHyponymCount() throws Exception
+    private void getVertexes(
+            int[]       positions,
+            IVertex[]   vertexes)
     {
-        for (IVertex vertex: m_Vertexes)
+        for (int i = 0; i < positions.length; i++)
         {
-            vertex.getNonInclusiveHyponymSetCount();
+            vertexes[i] = (positions[i] >= 0) ? m_Vertexes.getAt(positions[i]) : null;
         }
     }
     
     /**
-     * This function forces the computation of several taxonomical features
-     * required by IC models and ontology-based similarity measures. All the
-     * cached features correspond to integer values as the node depths, and
-     * cardinals of sets as the leaves count and hyponym count. The taxonomy
-     * does not store any cache of object collections which are always computed
-     * on-the-fly through the adjacency relationships encoded by using the
-     * posetHERep adjacency model.
-     * This function is especially helpful for the speedup of cross-validation
-     * benchmarks of similarity measures and IC models.
-     * @throws Exception 
+     * This function returns the number of vertexes in the intersection
+     * of the inclusive ancestor sets of the input vertexes.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return Number of common ancestors
+     * @throws Exception Unexpected error
      */
     
     @Override
-    public void computesCachedAttributes() throws Exception
+    public int getCommonAncestorCount(
+            IVertex begin,
+            IVertex end) throws Exception
     {
-        // Computes the hyponyms and leaves count
+        int count = 0;  // Returned value
         
-        this.computeHyponymCount();
-        this.computeAllDepths();
-        this.computeLeavesCount();        
+        AncestorIndex   index = getAncestorIndex();
+        
+        // We merge the sorted ancestor sets when the index is available,
+        // otherwise we traverse both ancestor sets
+        
+        if (index != null)
+        {
+            count = index.getCommonAncestorCount(((Vertex)begin).getIndex(),
+                        ((Vertex)end).getIndex());
+        }
+        else
+        {
+            TraversalScratch    scratch = acquireScratch();
+            
+            // We mark the ancestors of the second vertex and
+            // we count the marked ancestors of the first one
+            
+            markAncestors((Vertex) end, scratch, scratch.m_Common);
+            
+            int endStamp = scratch.m_Stamp;
+            int beginCount = markAncestors((Vertex) begin, scratch, scratch.m_Marks);
+            
+            for (int i = 0; i < beginCount; i++)
+            {
+                if (scratch.m_Common[scratch.m_Queue[i]] == endStamp)
+                {
+                    count++;
+                }
+            }
+            
+            releaseScratch(scratch);
+        }
+        
+        // We return the result
+        
+        return (count);
     }
     
     /**
-     * This function computes the minimum and maximum depth
-     * for all vertexes within the taxonomy. The minimum depth
-     * is measured as the shortest ascending path from the vertex
-     * to the root, whilst the maximum depth is defined as the
-     * length of the longest ascending path from the vertex
-     * to the root.
+     * This function computes the MICA vertex, the LCS vertexes and the
+     * number of common ancestors of the input vertexes. The common
+     * ancestors are retrieved once, by merging the sorted ancestor sets
+     * when the index is available or by traversing both ancestor sets
+     * otherwise, and the best ancestors are selected in a single scan.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param bestAncestors Output vector with the MICA vertex, and the
+     * LCS vertexes using the minimum and maximum depth
+     * @return Number of common ancestors
+     * @throws Exception Unexpected error
      */
     
-    private void computeAllDepths() throws Exception
+    @Override
+    public int getCommonAncestors(
+            IVertex     begin,
+            IVertex     end,
+            IVertex[]   bestAncestors) throws Exception
     {
-        // We request all the minimum depths of the vertexes
-        // in order to force their computation on-the-fly and caching
+        int count = 0;  // Returned value
         
-        for (IVertex vertex: m_Vertexes)
+        AncestorIndex   index = getAncestorIndex();
+        
+        TraversalScratch    scratch = acquireScratch();
+        
+        // We catch the exceptions thrown by the depth computation
+        // to release the buffers
+        
+        try
         {
-            vertex.getDepthMin();
-            vertex.getDepthMax();
+            int[]   common = scratch.m_Queue;   // Common ancestors
+            
+            // We filter the vertexes descending from different roots,
+            // and we store the common ancestors in the queue buffer
+            
+            if (areDisjoint((Vertex) begin, (Vertex) end))
+            {
+                count = 0;
+            }
+            else if (index != null)
+            {
+                count = index.getCommonAncestors(((Vertex)begin).getIndex(),
+                            ((Vertex)end).getIndex(), common);
+            }
+            else
+            {
+                markAncestors((Vertex) end, scratch, scratch.m_Common);
+                
+                int endStamp = scratch.m_Stamp;
+                int beginCount = markAncestors((Vertex) begin, scratch, scratch.m_Marks);
+                
+                for (int i = 0; i < beginCount; i++)
+                {
+                    if (scratch.m_Common[common[i]] == endStamp)
+                    {
+                        common[count++] = common[i];
+                    }
+                }
+            }
+            
+            // We select the best common ancestors
+            
+            selectBestAncestors(common, count, bestAncestors);
+        }
+        finally
+        {
+            releaseScratch(scratch);
         }
+        
+        // We return the result
+        
+        return (count);
     }
     
     /**
-     * This function forces the computation and caching of the leaves set
-     * count for each concept in the taxonomy. It is made to accelerate the
-     * computation of several IC models using the leaves count feature.
+     * This function checks if the input vertexes share any common
+     * ancestor, which is answered by the root index when both vertexes
+     * descend from a single root.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes share any common ancestor
+     * @throws Exception Unexpected error
      */
     
-    private void computeLeavesCount() throws Exception
+    @Override
+    public boolean haveCommonAncestor(
+            IVertex begin,
+            IVertex end) throws Exception
     {
-        for (IVertex vertex: m_Vertexes)
+        boolean haveAncestor;   // Returned value
+        
+        RootIndex   roots = m_RootIndex;
+        
+        // We check the roots of the vertexes, or we count
+        // their common ancestors otherwise
+        
+        if ((roots != null) && roots.shareRoot(((Vertex)begin).getIndex(),
+                ((Vertex)end).getIndex()))
+        {
+            haveAncestor = true;
+        }
+        else
+        {
+            haveAncestor = !areDisjoint((Vertex) begin, (Vertex) end)
+                            && (getCommonAncestorCount(begin, end) > 0);
+        }
+        
+        // We return the result
+        
+        return (haveAncestor);
+    }
+    
+    /**
+     * This function checks if the input vertexes descend from different
+     * roots, in which case they do not share any common ancestor.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @return True if the vertexes are labelled with different roots
+     */
+    
+    private boolean areDisjoint(
+            Vertex  begin,
+            Vertex  end)
+    {
+        RootIndex   roots = m_RootIndex;
+        
+        return ((roots != null) && roots.areDisjoint(begin.getIndex(), end.getIndex()));
+    }
+    
+    /**
+     * This function checks if the first vertex belongs to the inclusive
+     * ancestor set of the second vertex.
+     * @param ancestor Candidate ancestor
+     * @param vertex Input vertex
+     * @return True if the first vertex is an ancestor of the second one
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public boolean isAncestor(
+            IVertex ancestor,
+            IVertex vertex) throws Exception
+    {
+        boolean isAncestor; // Returned value
+        
+        AncestorIndex   index = getAncestorIndex();
+        
+        // We check the ancestor relationship by using the index
+        // or by marking the ancestors of the vertex
+        
+        if (index != null)
         {
-            vertex.getNonInclusiveSubsumedLeafSetCount();
+            isAncestor = index.isAncestor(((Vertex)ancestor).getIndex(),
+                            ((Vertex)vertex).getIndex());
         }
+        else
+        {
+            TraversalScratch    scratch = acquireScratch();
+            
+            markAncestors((Vertex) vertex, scratch, scratch.m_Marks);
+            
+            isAncestor = (scratch.m_Marks[((Vertex)ancestor).getIndex()] == scratch.m_Stamp);
+            
+            releaseScratch(scratch);
+        }
+        
+        // We return the result
+        
+        return (isAncestor);
+    }
+    
+    /**
+     * This function returns the common ancestor of both vertexes with
+     * the highest score, or -1 if they do not share any ancestor. The
+     * ancestor sets are marked with the stamps of a pooled traversal
+     * buffer, thus, the function does not allocate any memory and it
+     * can be called concurrently. The ties are broken by selecting the
+     * ancestor with the lowest vertex ID, in order to return the same
+     * vertex as the AncestorIndex class.
+     * @param begin First vertex
+     * @param end Second vertex
+     * @param scoreType Score of the ancestors: 0 = IC value,
+     * 1 = minimum depth, 2 = maximum depth
+     * @return Position of the best common ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    private int getBestCommonAncestor(
+            Vertex  begin,
+            Vertex  end,
+            int     scoreType) throws Exception
+    {
+        int best = -1;          // Returned value
+        long    bestId = 0;     // ID of the best vertex
+        
+        double  maxScore = Double.NEGATIVE_INFINITY;    // Maximum
+        
+        TraversalScratch    scratch = acquireScratch();
+        
+        // We catch the exceptions thrown by the depth computation
+        // to release the buffers
+        
+        try
+        {
+            // We mark the ancestors of the second vertex
+            
+            markAncestors(end, scratch, scratch.m_Common);
+            
+            int endStamp = scratch.m_Stamp;
+            
+            // We traverse the ancestors of the first vertex
+            
+            int count = markAncestors(begin, scratch, scratch.m_Marks);
+            
+            // We search the best common ancestor
+            
+            for (int i = 0; i < count; i++)
+            {
+                int ancestor = scratch.m_Queue[i];
+            
+                if (scratch.m_Common[ancestor] == endStamp)
+                {
+                    IVertex vertex = m_Vertexes.getAt(ancestor);
+            
+                    double score = (scoreType == 0) ? vertex.getICvalue()
+                                    : (scoreType == 1) ? vertex.getDepthMin()
+                                    : vertex.getDepthMax();
+            
+                    if ((score > maxScore) || ((best >= 0)
+                            && (score == maxScore) && (vertex.getID() < bestId)))
+                    {
+                        maxScore = score;
+                        best = ancestor;
+                        bestId = vertex.getID();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            releaseScratch(scratch);
+        }
+        
+        // We return the result
+        
+        return (best);
+    }
+    
+    /**
+     * This function selects the common ancestors with the highest IC
+     * value, minimum depth and maximum depth, following the same rules
+     * as the getBestCommonAncestor() function.
+     * @param common Positions of the common ancestors
+     * @param count Number of common ancestors
+     * @param bestAncestors Output vector with the MICA vertex, and the
+     * LCS vertexes using the minimum and maximum depth
+     * @throws Exception Unexpected error
+     */
+    
+    private void selectBestAncestors(
+            int[]       common,
+            int         count,
+            IVertex[]   bestAncestors) throws Exception
+    {
+        IVertex mica = null;    // Best ancestors
+        IVertex lcsByDepthMin = null;
+        IVertex lcsByDepthMax = null;
+        
+        double  maxICvalue = Double.NEGATIVE_INFINITY;  // Maximum scores
+        
+        int maxDepthMin = Integer.MIN_VALUE;
+        int maxDepthMax = Integer.MIN_VALUE;
+        
+        // We compare the scores and IDs of the common ancestors
+        
+        for (int i = 0; i < count; i++)
+        {
+            IVertex vertex = m_Vertexes.getAt(common[i]);
+            
+            double  icValue = vertex.getICvalue();
+            
+            int depthMin = vertex.getDepthMin();
+            int depthMax = vertex.getDepthMax();
+            
+            if ((icValue > maxICvalue) || ((mica != null)
+                    && (icValue == maxICvalue) && (vertex.getID() < mica.getID())))
+            {
+                maxICvalue = icValue;
+                mica = vertex;
+            }
+            
+            if ((depthMin > maxDepthMin) || ((lcsByDepthMin != null)
+                    && (depthMin == maxDepthMin) && (vertex.getID() < lcsByDepthMin.getID())))
+            {
+                maxDepthMin = depthMin;
+                lcsByDepthMin = vertex;
+            }
+            
+            if ((depthMax > maxDepthMax) || ((lcsByDepthMax != null)
+                    && (depthMax == maxDepthMax) && (vertex.getID() < lcsByDepthMax.getID())))
+            {
+                maxDepthMax = depthMax;
+                lcsByDepthMax = vertex;
+            }
+        }
+        
+        // We save the result
+        
+        bestAncestors[0] = mica;
+        bestAncestors[1] = lcsByDepthMin;
+        bestAncestors[2] = lcsByDepthMax;
+    }
+    
+    /**
+     * This function marks the inclusive ancestor set of the seed vertex
+     * with a novel stamp of the traversal buffer, and it stores the
+     * ancestors in BFS order at the beginning of the queue buffer.
+     * The visited check is a single comparison of the vertex mark,
+     * and the marks are cleared in O(1) by the next stamp.
+     * @param seed Seed vertex whose ancestors set will be visited
+     * @param scratch Traversal buffers
+     * @param marks Mark buffer used to label the ancestors
+     * @return Number of ancestors
+     */
+    
+    private int markAncestors(
+            Vertex              seed,
+            TraversalScratch    scratch,
+            int[]               marks)
+    {
+        int[]   queue = scratch.m_Queue;
+        
+        int stamp = scratch.nextStamp();
+        int head = 0;
+        int tail = 0;
+        
+        // We enqueue the seed vertex
+        
+        queue[tail++] = seed.getIndex();
+        marks[seed.getIndex()] = stamp;
+        
+        // We traverse the ancestors of the seed vertex
+        
+        while (head < tail)
+        {
+            IVertex current = m_Vertexes.getAt(queue[head++]);
+            
+            // We enqueue all its parents by a direct loop traversal
+            
+            IHalfEdge firstEdge = current.getFirstOutcomingEdge();
+            IHalfEdge loop = firstEdge;
+            
+            do
+            {
+                if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                {
+                    int parent = ((Vertex)loop.getTarget()).getIndex();
+                    
+                    if (marks[parent] != stamp)
+                    {
+                        marks[parent] = stamp;
+                        queue[tail++] = parent;
+                    }
+                }
+                
+                // We move to the next outcoming edge
+                
+                loop = loop.getOpposite().getNext();
+                
+            } while (loop != firstEdge);
+        }
+        
+        // We return the result
+        
+        return (tail);
+    }
+    
+    /**
+     * This function forces the computation of several taxonomical features
+     * required by IC models and ontology-based similarity measures. All the
+     * cached features correspond to integer values as the node depths, and
+     * cardinals of sets as the leaves count and hyponym count. The taxonomy
+     * does not store any cache of object collections which are always computed
+     * on-the-fly through the adjacency relationships encoded by using the
+     * posetHERep adjacency model, although the ancestor sets are indexed
+     * by vertex position to speed up the LCS and MICA queries.
+     * This function is especially helpful for the speedup of cross-validation
+     * benchmarks of similarity measures and IC models.
+     * @throws Exception 
+     */
+    
+    @Override
+    public void computesCachedAttributes() throws Exception
+    {
+        // We compute the depths, and the hyponyms and leaves count
+        
+        m_RootIndex = TaxonomyPreprocessor.computeCachedAttributes(this,
+                        getAdjacencyIndex());
+        
+        // We build the ancestor index used by the LCS queries
+        
+        m_AncestorIndex = AncestorIndex.build(this);
+        m_PendingAncestorRows.clear();
     }
     
     /**
      * This function inserts a novel vertex in the graph by connecting it
      * to its parents. We note that the parent vertexes must be already
      * present within the taxonomy before the creation and insertion of
-     * a new vertex.
+     * a new vertex. The cached attributes of the ancestors of the
+     * novel vertex are updated incrementally.
      * @param vertexId Integer unique key of the new vertex.
      * @param parentVertexes Integer IDs of the parent vertexes.
      * @return The new vertex inserted into the taxonomy
@@ -442,6 +1195,9 @@ class Taxonomy implements ITaxonomy
         
         ArrayList<Edge>  edges;  // Edges of the node
         
+        ArrayList<Vertex>   parents;        // Parents of the node
+        ArrayList<Vertex>   formerLeaves;   // Parents which were leaves
+        
         Edge    parentEdge; // Arista padre
         IVertex parent;     // Parent vertex
 
@@ -459,11 +1215,13 @@ class Taxonomy implements ITaxonomy
         
         // We create the novel vertex
         
-        newVertexInserted = new Vertex(vertexId, this);
+        newVertexInserted = new Vertex(vertexId, m_Vertexes.getCount(), this);
         
         // We create the vector of parents
         
         edges = new ArrayList<>();
+        parents = new ArrayList<>();
+        formerLeaves = new ArrayList<>();
         
         // We get the parent vertexes
         
@@ -475,9 +1233,22 @@ class Taxonomy implements ITaxonomy
             
             assert (parent != null);
             
+            // We register the parent and its leaf status before
+            // the insertion of the edge
+            
+            if (!parents.contains((Vertex) parent))
+            {
+                parents.add((Vertex) parent);
+                
+                if (m_CachedCountsInUse && parent.isLeaf())
+                {
+                    formerLeaves.add((Vertex) parent);
+                }
+            }
+            
             // We create the whole edge
             
-            parentEdge = new Edge(newVertexInserted, parent);
+            parentEdge = new Edge(this, newVertexInserted, parent);
             
             // We save the edge in the global list and the parent edges
             
@@ -514,6 +1285,49 @@ class Taxonomy implements ITaxonomy
         
         m_Vertexes.add(newVertexInserted);
         
+        // We compute the depths of the vertex when the depths of all its
+        // parents are known. The vertex has neither hyponyms nor leaves.
+        
+        boolean cachedDepths = true;
+        
+        for (Vertex parentVertex: parents)
+        {
+            cachedDepths &= parentVertex.hasCachedDepths();
+        }
+        
+        if (cachedDepths)
+        {
+            newVertexInserted.updateCachedDepths();
+        }
+        
+        // The novel vertex is a novel leaf of all its ancestors,
+        // whilst the parents which were leaves are not longer leaves
+        
+        if (m_CachedCountsInUse)
+        {
+            newVertexInserted.setCachedCounts(0, 0);
+
+            newVertexInserted.traverseAncestors(false,
+                    ancestor -> ((Vertex) ancestor).adjustCachedCounts(1, 1));
+
+            for (Vertex formerLeaf: formerLeaves)
+            {
+                formerLeaf.traverseAncestors(false,
+                    ancestor -> ((Vertex) ancestor).adjustCachedCounts(0, -1));
+            }
+        }
+        
+        // We register the ancestors of the novel vertex to be indexed
+        
+        m_PendingAncestorRows.set(newVertexInserted.getIndex());
+        
+        // We notify the modification of the taxonomy
+        
+        topologyChanged();
+        
+        parents.clear();
+        formerLeaves.clear();
+        
         // We clear the edges set
         
         edges.clear();
@@ -522,6 +1336,305 @@ class Taxonomy implements ITaxonomy
         
         return (newVertexInserted);
     }
+    
+    /**
+     * This function inserts a novel IS-A edge between two existent vertexes.
+     * The parent vertex must precede the child vertex in the ordered
+     * collection of vertexes, which avoids the creation of cycles and
+     * preserves the topological ordering of the collection. The cached
+     * attributes are only updated for the descendants of the child vertex,
+     * whose ancestor sets grow, and the ancestors of the parent vertex,
+     * whose hyponym sets grow.
+     * @param childId Key ID of the child vertex
+     * @param parentId Key ID of the parent vertex
+     * @return The new edge inserted into the taxonomy
+     * @throws Exception Invalid vertexes
+     */
+    
+    @Override
+    public IEdge addEdge(
+            Long    childId,
+            Long    parentId) throws Exception
+    {
+        Vertex  child = (Vertex) m_Vertexes.getById(childId);     // Child vertex
+        Vertex  parent = (Vertex) m_Vertexes.getById(parentId);   // Parent vertex
+        
+        // We check the input vertexes
+        
+        if ((child == null) || (parent == null))
+        {
+            throw (new Exception("The taxonomy does not contain a vertex with this ID"));
+        }
+        
+        if (parent.getIndex() >= child.getIndex())
+        {
+            throw (new Exception("The parent vertex must precede the child vertex"));
+        }
+        
+        if (child.getIncidentEdge(parent) != null)
+        {
+            throw (new Exception("The vertexes are already linked"));
+        }
+        
+        // We collect the inclusive descendants of the child vertex,
+        // sorted by position, thus, every vertex follows its parents
+        
+        IVertexList hyponyms = child.getHyponyms(true);
+        
+        int[]   descendants = new int[hyponyms.getCount()];
+        
+        for (int i = 0; i < descendants.length; i++)
+        {
+            descendants[i] = ((Vertex) hyponyms.getAt(i)).getIndex();
+        }
+        
+        Arrays.sort(descendants);
+        
+        // We collect the inclusive ancestors of the parent vertex
+        
+        ArrayList<Vertex>   parentAncestors = new ArrayList<>();
+        
+        parent.traverseAncestors(true, ancestor -> parentAncestors.add((Vertex) ancestor));
+        
+        // The parent vertex is not longer a leaf vertex
+        
+        if (m_CachedCountsInUse && parent.isLeaf())
+        {
+            parent.traverseAncestors(false,
+                    ancestor -> ((Vertex) ancestor).adjustCachedCounts(0, -1));
+        }
+        
+        // Every descendant is a novel hyponym of the ancestors of the
+        // parent vertex which are not already its ancestors
+        
+        TraversalScratch    scratch = m_CachedCountsInUse ? acquireScratch() : null;
+        
+        try
+        {
+            for (int i = 0; (scratch != null) && (i < descendants.length); i++)
+            {
+                Vertex  descendant = (Vertex) m_Vertexes.getAt(descendants[i]);
+                
+                // We mark the current ancestors of the descendant
+                
+                int[]   marks = scratch.m_Marks;
+                int     stamp = scratch.nextStamp();
+                
+                descendant.traverseAncestors(true,
+                        ancestor -> marks[((Vertex) ancestor).getIndex()] = stamp);
+                
+                // We update the counts of the novel ancestors
+                
+                int leafDelta = descendant.isLeaf() ? 1 : 0;
+                int novelAncestors = 0;
+                
+                for (Vertex ancestor: parentAncestors)
+                {
+                    if (marks[ancestor.getIndex()] != stamp)
+                    {
+                        ancestor.adjustCachedCounts(1, leafDelta);
+                        novelAncestors++;
+                    }
+                }
+                
+                descendant.adjustCachedAncestorsCount(novelAncestors);
+            }
+        }
+        finally
+        {
+            if (scratch != null)
+            {
+                releaseScratch(scratch);
+            }
+        }
+        
+        // We create the edge and we connect it around both vertexes
+        
+        Edge    edge = new Edge(this, child, parent);
+        
+        m_Edges.add(edge);
+        
+        parent.addIncomingArc((HalfEdge) edge.getDirect());
+        child.addIncomingArc((HalfEdge) edge.getDirect().getOpposite());
+        
+        // We update the depths of the descendants in topological order
+        
+        for (int descendantIndex: descendants)
+        {
+            Vertex  descendant = (Vertex) m_Vertexes.getAt(descendantIndex);
+            
+            if (descendant.hasCachedDepths())
+            {
+                descendant.updateCachedDepths();
+            }
+            
+            m_PendingAncestorRows.set(descendantIndex);
+        }
+        
+        // We notify the modification of the taxonomy
+        
+        topologyChanged();
+        
+        // We return the result
+        
+        return (edge);
+    }
+    
+    /**
+     * This function removes a leaf vertex from the taxonomy. The
+     * cached attributes are only updated for the ancestors of the
+     * vertex, and the subsequent vertexes are shifted one position.
+     * @param vertexId Key ID of the leaf vertex
+     * @throws Exception Invalid vertex
+     */
+    
+    @Override
+    public void removeLeaf(
+            Long    vertexId) throws Exception
+    {
+        Vertex  vertex = (Vertex) m_Vertexes.getById(vertexId);   // Removed vertex
+        
+        // We check the input vertex
+        
+        if (vertex == null)
+        {
+            throw (new Exception("The taxonomy does not contain a vertex with this ID"));
+        }
+        
+        if (!vertex.isLeaf())
+        {
+            throw (new Exception("The vertex to be removed is not a leaf vertex"));
+        }
+        
+        // We update the pending rows of the ancestor index before
+        // the positions of the vertexes are shifted
+        
+        AncestorIndex   index = getAncestorIndex();
+        
+        // The vertex is removed from the hyponyms and leaves of its ancestors
+        
+        if (m_CachedCountsInUse)
+        {
+            vertex.traverseAncestors(false,
+                    ancestor -> ((Vertex) ancestor).adjustCachedCounts(-1, -1));
+        }
+        
+        // We disconnect the vertex from its parents
+        
+        IVertexList parents = vertex.getParents();
+        
+        ArrayList<IHalfEdge>    outArcs = new ArrayList<>();
+        
+        for (IVertex parent: parents)
+        {
+            outArcs.add(vertex.getIncidentEdge(parent));
+        }
+        
+        for (IHalfEdge outArc: outArcs)
+        {
+            ((Vertex) outArc.getTarget()).removeOutcomingArc(outArc.getOpposite());
+            
+            m_Edges.remove(outArc.getEdge());
+            ((Edge) outArc.getEdge()).destroy();
+        }
+        
+        // The parents without any other child are novel leaves
+        
+        for (IVertex parent: parents)
+        {
+            if (m_CachedCountsInUse && parent.isLeaf())
+            {
+                ((Vertex) parent).traverseAncestors(false,
+                        ancestor -> ((Vertex) ancestor).adjustCachedCounts(0, 1));
+            }
+        }
+        
+        // We remove the vertex and we shift the subsequent vertexes
+        
+        int position = vertex.getIndex();
+        
+        m_Vertexes.remove(vertex);
+        
+        for (int i = position; i < m_Vertexes.getCount(); i++)
+        {
+            ((Vertex) m_Vertexes.getAt(i)).setIndex(i);
+        }
+        
+        vertex.destroy();
+        
+        // We remove the ancestors of the vertex from the index
+        
+        if (index != null)
+        {
+            m_AncestorIndex = index.removeLeaf(position);
+        }
+        
+        // We notify the modification of the taxonomy
+        
+        topologyChanged();
+    }
+    
+    /**
+     * This function sets the IC model which is computed again
+     * after every modification of the taxonomy.
+     * @param icModel Active IC model or null
+     */
+    
+    @Override
+    public void setActiveICmodel(
+            ITaxonomyInfoConfigurator   icModel)
+    {
+        m_ActiveICmodel = icModel;
+    }
+    
+    /**
+     * This function notifies that the counts of some vertex have been
+     * cached, thus, they must be maintained by the further modifications.
+     */
+    
+    void registerCachedCounts()
+    {
+        m_CachedCountsInUse = true;
+    }
+    
+    /**
+     * This function creates a fork of the taxonomy, which is a frozen
+     * copy of the current taxonomy. The further forks of the frozen copy
+     * share its topology and attributes until they are modified.
+     * @return A novel fork of the taxonomy
+     * @throws Exception The cached attributes cannot be computed
+     */
+    
+    @Override
+    public ITaxonomy fork() throws Exception
+    {
+        return (new FrozenTaxonomy(this));
+    }
+    
+    /**
+     * This function discards the auxiliary indexes which are not longer
+     * valid after a modification of the taxonomy, and it computes again
+     * the active IC model, if any.
+     * @throws Exception Unexpected error
+     */
+    
+    private void topologyChanged() throws Exception
+    {
+        // We discard the distance, root and adjacency indexes and
+        // we invalidate the landmarks
+        
+        m_DistanceIndex = null;
+        m_RootIndex = null;
+        m_AdjacencyIndex = null;
+        m_Version++;
+        
+        // We update the IC values
+        
+        if (m_ActiveICmodel != null)
+        {
+            m_ActiveICmodel.setTaxonomyData(this);
+        }
+    }
 
     /**
      * This function returns the global collection of vertexes contained
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class builds a taxonomy in a single pass from primitive vectors
+ * which encode the parents of every vertex. The vertex and edge lists
+ * are sized beforehand, and the half-edge ring around every vertex
+ * is linked once all the edges have been created, thus, the building
+ * time is linear in the size of the taxonomy. The resulting taxonomy
+ * is identical to the one created by inserting the vertexes one by one
+ * with the Taxonomy.addVertex() function.
+ * @author Juan Lastra-Díaz
+ */
+
+class TaxonomyBuilder
+{
+    /**
+     * This function builds a taxonomy from the input vectors. The vertexes
+     * must be sorted in such a way that every vertex follows its parents.
+     * The parents of the vertex 'i' are stored between the positions
+     * parentStart[i] and parentStart[i + 1] of the parentIds vector.
+     * @param vertexIds Unique key of every vertex
+     * @param parentStart Position of the first parent of every vertex
+     * @param parentIds Keys of the parents of every vertex
+     * @return A novel taxonomy
+     * @throws Exception Invalid input vectors
+     */
+
+    static Taxonomy build(
+            long[]  vertexIds,
+            int[]   parentStart,
+            long[]  parentIds) throws Exception
+    {
+        int vertexCount = vertexIds.length;
+
+        // We check the input vectors
+
+        if ((parentStart.length != vertexCount + 1)
+                || (parentStart[vertexCount] != parentIds.length))
+        {
+            throw (new Exception("The parent vectors do not match the vertex vector"));
+        }
+
+        int edgeCount = parentIds.length;
+
+        // We create the taxonomy with pre-reserved memory
+
+        Taxonomy    taxonomy = new Taxonomy(vertexCount, edgeCount);  // Returned value
+
+        VertexList  vertexList = (VertexList) taxonomy.getVertexes();
+        EdgeList    edgeList = (EdgeList) taxonomy.getEdges();
+
+        Vertex[]    vertexes = new Vertex[vertexCount];
+        int[]       parents = new int[edgeCount];
+
+        // We count the arcs around every vertex in the ringStart vector,
+        // which is shifted one position to be converted into the position
+        // of the first arc of every vertex.
+
+        int[]   ringStart = new int[vertexCount + 1];
+
+        // We create the vertexes and we retrieve the position of their parents
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            vertexes[i] = new Vertex(vertexIds[i], i, taxonomy);
+            vertexList.add(vertexes[i]);
+
+            for (int j = parentStart[i]; j < parentStart[i + 1]; j++)
+            {
+                IVertex parent = vertexList.getById(parentIds[j]);
+
+                if ((parent == null) || (parent == vertexes[i]))
+                {
+                    throw (new Exception("The parent " + parentIds[j]
+                            + " does not precede the vertex " + vertexIds[i]));
+                }
+
+                parents[j] = ((Vertex) parent).getIndex();
+
+                ringStart[i + 1]++;
+                ringStart[parents[j] + 1]++;
+            }
+        }
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            ringStart[i + 1] += ringStart[i];
+        }
+
+        // We create the edges following the same order as the addVertex()
+        // function. The arcs around every vertex are sorted as follows:
+        // the arcs to its parents, and then the arcs to its children
+        // sorted by insertion order.
+
+        HalfEdge[]  rings = new HalfEdge[2 * edgeCount];
+        int[]       ringEnd = new int[vertexCount];
+
+        System.arraycopy(ringStart, 0, ringEnd, 0, vertexCount);
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            for (int j = parentStart[i]; j < parentStart[i + 1]; j++)
+            {
+                Edge    edge = new Edge(taxonomy, vertexes[i], vertexes[parents[j]]);
+
+                edgeList.add(edge);
+
+                rings[ringEnd[i]++] = (HalfEdge) edge.getDirect();
+                rings[ringEnd[parents[j]]++] = (HalfEdge) edge.getDirect().getOpposite();
+            }
+        }
+
+        // We link the ring of outcoming arcs around every vertex. Every
+        // incoming arc points to the next outcoming arc of the vertex.
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            int first = ringStart[i];
+            int last = ringStart[i + 1];
+
+            if (first < last)
+            {
+                vertexes[i].setFirstOutEdge(rings[first]);
+
+                for (int j = first; j < last; j++)
+                {
+                    HalfEdge    incomingArc = (HalfEdge) rings[j].getOpposite();
+
+                    incomingArc.setNext(rings[(j + 1 < last) ? j + 1 : first]);
+                }
+            }
+        }
+
+        // We return the result
+
+        return (taxonomy);
+    }
+}
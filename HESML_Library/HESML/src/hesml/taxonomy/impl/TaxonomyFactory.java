@@ -23,8 +23,16 @@ package hesml.taxonomy.impl;
 
 // HESML references
 
+import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.taxonomy.ITaxonomy;
 
+// Java references
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
 /**
  * This class implements a set of functions to create an in-memory taxonomy
  * from scratch or from some testing file, as well as other functions
@@ -57,6 +65,201 @@ public class TaxonomyFactory
     {
         return (new Taxonomy(expectedVertexCount));
     }
+
+    /**
+     * This function builds a taxonomy in linear time from primitive
+     * vectors encoding the parents of every vertex. The vertexes must be
+     * sorted in such a way that every vertex follows its parents, and
+     * the parents of the vertex 'i' are stored between the positions
+     * parentStart[i] and parentStart[i + 1] of the parentIds vector.
+     * The resulting taxonomy is identical to the one created by
+     * inserting the vertexes one by one with the addVertex() function.
+     * @param vertexIds Unique key of every vertex
+     * @param parentStart Position of the first parent of every vertex
+     * @param parentIds Keys of the parents of every vertex
+     * @return A novel taxonomy
+     * @throws Exception Invalid input vectors
+     */
+    
+    public static ITaxonomy createTaxonomy(
+        long[]  vertexIds,
+        int[]   parentStart,
+        long[]  parentIds) throws Exception
+    {
+        return (TaxonomyBuilder.build(vertexIds, parentStart, parentIds));
+    }
+
+    /**
+     * This function creates a read-only copy of a preprocessed taxonomy,
+     * whose topology and attributes are stored in primitive arrays.
+     * The source taxonomy must have computed its cached attributes
+     * by calling the computesCachedAttributes() function, and it can
+     * be destroyed once the frozen copy has been created.
+     * @param taxonomy Preprocessed source taxonomy
+     * @return A frozen taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    public static ITaxonomy createFrozenTaxonomy(
+        ITaxonomy   taxonomy) throws Exception
+    {
+        return (new FrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function creates a compact read-only copy of a preprocessed
+     * taxonomy, which is aimed at taxonomies with millions of vertexes.
+     * The compact taxonomy stores the IC-based attributes of the vertexes
+     * and edges in single precision, and it retrieves the vertexes by ID
+     * through a sorted permutation of their positions instead of a sorted
+     * copy of the IDs. The IC values are rounded to the nearest float value.
+     * @param taxonomy Preprocessed source taxonomy
+     * @return A compact frozen taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    public static ITaxonomy createCompactTaxonomy(
+        ITaxonomy   taxonomy) throws Exception
+    {
+        return (new FrozenTaxonomy(taxonomy, true));
+    }
+
+    /**
+     * This function builds the exact index for the edge-counting distance
+     * of the taxonomy, which is based on the pruned landmark labeling
+     * method. Once the index is built, the getShortestPathDistanceTo()
+     * function uses it for all the unweighted queries until the
+     * taxonomy is modified.
+     * @param taxonomy Taxonomy to be indexed
+     * @throws Exception The taxonomy does not support the index
+     */
+    
+    public static void buildShortestPathIndex(
+        ITaxonomy   taxonomy) throws Exception
+    {
+        setDistanceIndex(taxonomy, DistanceLabelIndex.build(taxonomy));
+    }
+    
+    /**
+     * This function saves the edge-counting distance index of the
+     * taxonomy into a binary file.
+     * @param taxonomy Indexed taxonomy
+     * @param strFilename Output file
+     * @throws Exception The taxonomy has not been indexed
+     */
+    
+    public static void saveShortestPathIndex(
+        ITaxonomy   taxonomy,
+        String      strFilename) throws Exception
+    {
+        DistanceLabelIndex  index = null;   // Distance index
+        
+        // We get the index of the taxonomy
+        
+        if (taxonomy instanceof Taxonomy)
+        {
+            index = ((Taxonomy)taxonomy).getDistanceIndex();
+        }
+        else if (taxonomy instanceof FrozenTaxonomy)
+        {
+            index = ((FrozenTaxonomy)taxonomy).getDistanceIndex();
+        }
+        
+        // We check the index
+        
+        if (index == null)
+        {
+            throw (new Exception("The taxonomy does not have a shortest path index"));
+        }
+        
+        // We save the index
+        
+        index.save(strFilename);
+    }
+    
+    /**
+     * This function loads the edge-counting distance index of the
+     * taxonomy from a binary file created by the saveShortestPathIndex()
+     * function.
+     * @param taxonomy Taxonomy whose index is loaded
+     * @param strFilename Input file
+     * @throws Exception The file does not match the taxonomy
+     */
+    
+    public static void loadShortestPathIndex(
+        ITaxonomy   taxonomy,
+        String      strFilename) throws Exception
+    {
+        // We load the index
+        
+        DistanceLabelIndex index = DistanceLabelIndex.load(strFilename);
+        
+        // We check that the index was built for the taxonomy
+        
+        if (!index.matches(taxonomy))
+        {
+            throw (new Exception(strFilename + " does not match the taxonomy"));
+        }
+        
+        // We attach the index to the taxonomy
+        
+        setDistanceIndex(taxonomy, index);
+    }
+    
+    /**
+     * This function attaches a distance index to the taxonomy.
+     * @param taxonomy Target taxonomy
+     * @param index Distance index
+     * @throws Exception The taxonomy does not support the index
+     */
+    
+    private static void setDistanceIndex(
+        ITaxonomy           taxonomy,
+        DistanceLabelIndex  index) throws Exception
+    {
+        if (taxonomy instanceof Taxonomy)
+        {
+            ((Taxonomy)taxonomy).setDistanceIndex(index);
+        }
+        else if (taxonomy instanceof FrozenTaxonomy)
+        {
+            ((FrozenTaxonomy)taxonomy).setDistanceIndex(index);
+        }
+        else
+        {
+            throw (new Exception("The taxonomy does not support the shortest path index"));
+        }
+    }
+    
+    /**
+     * This function returns a named IC model layer of a frozen taxonomy,
+     * which is created the first time that it is requested. The layer is
+     * a read-only taxonomy that shares the topology and cached attributes
+     * of the input taxonomy, but it stores its own IC values, probabilities
+     * and edge weights. Thus, several IC models can be computed onto
+     * different layers of the same taxonomy, and the measures created onto
+     * each layer, using the vertexes of the layer, are bound to its IC model.
+     * @param taxonomy Frozen taxonomy
+     * @param strLayer Name of the layer
+     * @return IC model layer
+     * @throws Exception The taxonomy is not a frozen taxonomy
+     */
+    
+    public static ITaxonomy getICmodelLayer(
+        ITaxonomy   taxonomy,
+        String      strLayer) throws Exception
+    {
+        // We check the taxonomy
+        
+        if (!(taxonomy instanceof FrozenTaxonomy))
+        {
+            throw (new Exception("The IC model layers are only supported by the frozen taxonomies"));
+        }
+        
+        // We return the layer
+        
+        return (((FrozenTaxonomy) taxonomy).getLayer(strLayer));
+    }
     
     /**
      * This function saves the vertexes info into an Excel (*.csv) file.
@@ -89,6 +292,212 @@ public class TaxonomyFactory
         TaxonomyCSVWriter.saveEdgesInfoToCSV(taxonomy, strfilename);
     }
     
+    /**
+     * This function saves a taxonomy into a binary file, which stores
+     * the adjacency, the vertex IDs and the cached attributes of the
+     * frozen copy of the taxonomy, as well as its IC-based attributes
+     * when they are requested. Any taxonomy which is not frozen must
+     * have computed its cached attributes.
+     * @param taxonomy Input taxonomy
+     * @param strFilename Output file
+     * @param includeICattributes Flag indicating whether the IC values,
+     * probabilities and weights are saved
+     * @throws Exception Unexpected error
+     */
+    
+    public static void saveBinaryTaxonomy(
+            ITaxonomy   taxonomy,
+            String      strFilename,
+            boolean     includeICattributes) throws Exception
+    {
+        // We freeze the taxonomy unless it is already frozen
+        
+        FrozenTaxonomy  frozen = (taxonomy instanceof FrozenTaxonomy) ?
+                                (FrozenTaxonomy) taxonomy : new FrozenTaxonomy(taxonomy);
+        
+        // We save the taxonomy
+        
+        FrozenTaxonomyFile.save(frozen, strFilename, includeICattributes, "",
+                new ITaxonomyInfoConfigurator[0]);
+    }
+    
+    /**
+     * This function loads a read-only taxonomy from a binary file created
+     * by the saveBinaryTaxonomy() function. The file is mapped into memory
+     * and its columns are copied in bulk, thus, the taxonomy is neither
+     * parsed nor preprocessed again. The loaded taxonomy is compact
+     * when it was saved from a compact taxonomy.
+     * @param strFilename Input file
+     * @return A frozen taxonomy
+     * @throws Exception The file is not a valid binary taxonomy file
+     */
+    
+    public static ITaxonomy loadBinaryTaxonomy(
+            String  strFilename) throws Exception
+    {
+        return (FrozenTaxonomyFile.load(strFilename, null));
+    }
+    
+    /**
+     * This function saves a snapshot of a preprocessed taxonomy, which
+     * stores the topology and the cached attributes of the taxonomy, the
+     * fingerprint of its source data, and the attributes of the input
+     * IC models, which are computed onto a frozen copy of the taxonomy.
+     * Thus, the IC-based attributes of the input taxonomy are not modified.
+     * @param taxonomy Preprocessed taxonomy
+     * @param strFilename Output file
+     * @param strFingerprint Fingerprint of the source data of the taxonomy
+     * @param icModels IC models to be stored
+     * @throws Exception Unexpected error
+     */
+    
+    public static void saveTaxonomySnapshot(
+            ITaxonomy                   taxonomy,
+            String                      strFilename,
+            String                      strFingerprint,
+            ITaxonomyInfoConfigurator[] icModels) throws Exception
+    {
+        // We save a frozen copy of the taxonomy
+        
+        FrozenTaxonomy  frozen = new FrozenTaxonomy(taxonomy);
+        
+        FrozenTaxonomyFile.save(frozen, strFilename, false, strFingerprint, icModels);
+        
+        frozen.clear();
+    }
+    
+    /**
+     * This function loads a read-only taxonomy from a snapshot file
+     * created by the saveTaxonomySnapshot() function, provided that
+     * the snapshot was created from the same source data.
+     * @param strFilename Snapshot file
+     * @param strFingerprint Fingerprint of the current source data
+     * @return The preprocessed taxonomy, or null if the snapshot
+     * was created from different source data
+     * @throws Exception The file is not a valid snapshot file
+     */
+    
+    public static ITaxonomy loadTaxonomySnapshot(
+            String  strFilename,
+            String  strFingerprint) throws Exception
+    {
+        return (FrozenTaxonomyFile.load(strFilename, strFingerprint));
+    }
+    
+    /**
+     * This function returns the identifiers of the IC models stored in
+     * the snapshot file of a taxonomy, which are the identifiers returned
+     * by the getICmodelKey() function of the IC models when they were saved.
+     * @param taxonomy Taxonomy loaded from a snapshot file
+     * @return Identifiers of the stored IC models
+     */
+    
+    public static String[] getStoredICmodels(
+            ITaxonomy   taxonomy)
+    {
+        return ((taxonomy instanceof FrozenTaxonomy) ?
+                ((FrozenTaxonomy) taxonomy).getStoredICmodels() : new String[0]);
+    }
+    
+    /**
+     * This function returns an IC model which restores the attributes
+     * of an IC model stored in the snapshot file of a taxonomy, instead
+     * of computing them again.
+     * @param taxonomy Taxonomy loaded from a snapshot file
+     * @param strICmodel Identifier of the stored IC model
+     * @return The stored IC model, or null if it is not stored
+     */
+    
+    public static ITaxonomyInfoConfigurator getStoredICmodel(
+            ITaxonomy   taxonomy,
+            String      strICmodel)
+    {
+        ITaxonomyInfoConfigurator   icModel = null; // Returned value
+        
+        // We search the IC model
+        
+        for (String strStored: getStoredICmodels(taxonomy))
+        {
+            if (strStored.equals(strICmodel))
+            {
+                icModel = new StoredICmodel((FrozenTaxonomy) taxonomy, strICmodel);
+            }
+        }
+        
+        // We return the result
+        
+        return (icModel);
+    }
+    
+    /**
+     * This function sets the attributes of an IC model onto a taxonomy.
+     * When the taxonomy was loaded from a snapshot file storing the
+     * IC model, its attributes are restored instead of computed again.
+     * @param taxonomy Input taxonomy
+     * @param icModel IC model
+     * @throws Exception Unexpected error
+     */
+    
+    public static void setICmodelData(
+            ITaxonomy                   taxonomy,
+            ITaxonomyInfoConfigurator   icModel) throws Exception
+    {
+        ITaxonomyInfoConfigurator   storedICmodel = getStoredICmodel(
+                                        taxonomy, icModel.getICmodelKey());
+        
+        // We restore the stored IC model or we compute it
+        
+        if (storedICmodel != null)
+        {
+            storedICmodel.setTaxonomyData(taxonomy);
+        }
+        else
+        {
+            icModel.setTaxonomyData(taxonomy);
+        }
+    }
+    
+    /**
+     * This function computes the SHA-256 fingerprint of a file.
+     * @param strFilename Input file
+     * @return Hexadecimal fingerprint
+     * @throws Exception Unexpected error
+     */
+    
+    public static String getFileFingerprint(
+            String  strFilename) throws Exception
+    {
+        MessageDigest   digest = MessageDigest.getInstance("SHA-256");
+        
+        byte[]  buffer = new byte[65536];
+        
+        // We digest the file
+        
+        try (InputStream reader = new BufferedInputStream(
+                new FileInputStream(strFilename)))
+        {
+            int count;
+            
+            while ((count = reader.read(buffer)) > 0)
+            {
+                digest.update(buffer, 0, count);
+            }
+        }
+        
+        // We encode the fingerprint
+        
+        StringBuilder   strFingerprint = new StringBuilder();
+        
+        for (byte value: digest.digest())
+        {
+            strFingerprint.append(String.format("%02x", value));
+        }
+        
+        // We return the result
+        
+        return (strFingerprint.toString());
+    }
+    
     /**
      * This function loads a taxonomy from HESML taxonomy file.
      * @param strFileTaxonomy
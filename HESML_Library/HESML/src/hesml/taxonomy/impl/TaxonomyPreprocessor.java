@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.stream.IntStream;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+/**
+ * This class computes the cached attributes of all the vertexes in
+ * the taxonomy, which are the minimum and maximum depths, and the number
+ * of hyponyms and subsumed leaves of each vertex. The vertexes of the
+ * taxonomy are stored in topological order, because every vertex is
+ * inserted after its parents, thus, the depths are computed by a single
+ * sweep over the vertexes, whilst the hyponym and leaf counts are computed
+ * by independent traversals of the descendant sets, which are evaluated in
+ * parallel by the common ForkJoinPool.
+ * @author Juan Lastra-Díaz
+ */
+
+class TaxonomyPreprocessor
+{
+    /**
+     * This function computes the cached attributes of all the vertexes.
+     * @param taxonomy Input taxonomy
+     * @param adjacency Adjacency index of the taxonomy
+     * @return Root index of the taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    static RootIndex computeCachedAttributes(
+            Taxonomy        taxonomy,
+            AdjacencyIndex  adjacency) throws Exception
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        // We retrieve the adjacency relationships as primitive vectors
+
+        int[] parentStart = adjacency.getParentStart();
+        int[] parents = adjacency.getParents();
+        int[] childStart = adjacency.getChildStart();
+        int[] children = adjacency.getChildren();
+
+        // We compute the depths and the descendant counts
+
+        computeDepths(vertexes, parentStart, parents);
+
+        computeDescendantCounts(taxonomy, childStart, children);
+
+        // We return the root of each vertex
+
+        return (new RootIndex(parentStart, parents));
+    }
+
+    /**
+     * This function computes the minimum and maximum depths of all the
+     * vertexes in topological order. The depths of every vertex are
+     * derived from the ones of its parents, thus, the depths of the
+     * vertexes reached from several roots are measured from the nearest
+     * and farthest roots respectively, as defined by the Vertex class.
+     * @param vertexes Vertexes in topological order
+     * @param parentStart Position of the first parent of each vertex
+     * @param parents Parents of the vertexes
+     * @throws Exception Unexpected error
+     */
+
+    private static void computeDepths(
+            IVertexList vertexes,
+            int[]       parentStart,
+            int[]       parents) throws Exception
+    {
+        int vertexCount = vertexes.getCount();
+
+        // We create the depth vectors
+
+        int[] depthMin = new int[vertexCount];
+        int[] depthMax = new int[vertexCount];
+
+        // We traverse the vertexes in topological order
+
+        for (int i = 0; i < vertexCount; i++)
+        {
+            Vertex vertex = (Vertex) vertexes.getAt(i);
+
+            // We check if the vertex is a root
+
+            if (parentStart[i] == parentStart[i + 1])
+            {
+                depthMin[i] = 0;
+                depthMax[i] = 0;
+            }
+            else
+            {
+                depthMin[i] = Integer.MAX_VALUE;
+                depthMax[i] = 0;
+
+                // We propagate the depths of the parents
+
+                for (int j = parentStart[i]; j < parentStart[i + 1]; j++)
+                {
+                    int parent = parents[j];
+
+                    depthMin[i] = Math.min(depthMin[i], depthMin[parent] + 1);
+                    depthMax[i] = Math.max(depthMax[i], depthMax[parent] + 1);
+                }
+            }
+
+            // We save the depths
+
+            vertex.setCachedDepths(depthMin[i], depthMax[i]);
+        }
+    }
+
+    /**
+     * This function computes the number of hyponyms and subsumed leaves
+     * of all the vertexes. Each vertex traverses its descendants by using
+     * the buffers of its thread, thus, the overall cost is proportional
+     * to the size of the descendant sets.
+     * @param taxonomy Input taxonomy
+     * @param childStart Position of the first child of each vertex
+     * @param children Children of the vertexes
+     */
+
+    private static void computeDescendantCounts(
+            Taxonomy    taxonomy,
+            int[]       childStart,
+            int[]       children)
+    {
+        IVertexList vertexes = taxonomy.getVertexes();  // Vertexes
+
+        // We traverse the descendants of the vertexes in parallel
+
+        IntStream.range(0, vertexes.getCount()).parallel().forEach(i ->
+        {
+            int hyponymCount = 0;
+            int leafCount = 0;
+
+            // We traverse the descendants of the non-leaf vertexes
+
+            if (childStart[i] < childStart[i + 1])
+            {
+                TraversalScratch scratch = taxonomy.getScratch();
+
+                int[] queue = scratch.m_Queue;
+                int[] marks = scratch.m_Marks;
+
+                int stamp = scratch.nextStamp();
+                int head = 0;
+                int tail = 0;
+
+                queue[tail++] = i;
+                marks[i] = stamp;
+
+                while (head < tail)
+                {
+                    int current = queue[head++];
+
+                    for (int j = childStart[current]; j < childStart[current + 1]; j++)
+                    {
+                        int child = children[j];
+
+                        if (marks[child] != stamp)
+                        {
+                            marks[child] = stamp;
+                            queue[tail++] = child;
+
+                            // We count the hyponym and check if it is a leaf
+
+                            hyponymCount++;
+
+                            if (childStart[child] == childStart[child + 1])
+                            {
+                                leafCount++;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // We save the counts
+
+            ((Vertex)vertexes.getAt(i)).setCachedCounts(hyponymCount, leafCount);
+        });
+    }
+}
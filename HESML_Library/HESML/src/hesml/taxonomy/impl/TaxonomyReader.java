@@ -102,10 +102,6 @@ class TaxonomyReader
             throw (error);
         }
         
-        // We crate a new taxonomy
-        
-        taxonomy = hesml.taxonomy.impl.TaxonomyFactory.createBlankTaxonomy();
-        
         // We get the file scanner
         
         scanner = new Scanner(taxFile);
@@ -136,13 +132,33 @@ class TaxonomyReader
         
         sortNodeRecords();
         
-        // We fill the taxonomy
+        // We encode the sorted nodes into primitive vectors
+        
+        long[]  vertexIds = new long[m_Nodes.size()];
+        int[]   parentStart = new int[m_Nodes.size() + 1];
+        
+        for (int i = 0; i < vertexIds.length; i++)
+        {
+            vertexIds[i] = m_Nodes.get(i).getID();
+            parentStart[i + 1] = parentStart[i] + m_Nodes.get(i).getParentIDs().length;
+        }
+        
+        long[]  parentIds = new long[parentStart[vertexIds.length]];
         
-        for (TaxonomyNodeRecord node: m_Nodes)
+        for (int i = 0; i < vertexIds.length; i++)
         {
-            taxonomy.addVertex(node.getID(), node.getParentIDs());
+            Long[]  nodeParents = m_Nodes.get(i).getParentIDs();
+            
+            for (int j = 0; j < nodeParents.length; j++)
+            {
+                parentIds[parentStart[i] + j] = nodeParents[j];
+            }
         }
         
+        // We build the taxonomy in a single pass
+        
+        taxonomy = TaxonomyBuilder.build(vertexIds, parentStart, parentIds);
+        
         // We destroy the auxiliar list
         
         m_Nodes.clear();
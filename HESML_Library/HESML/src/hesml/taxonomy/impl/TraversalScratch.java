@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0) 
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// Java references
+
+import java.util.Arrays;
+
+/**
+ * This class stores the per-thread buffers used by the traversal
+ * algorithms of the taxonomies, whose vertexes are identified by their
+ * position in the taxonomy. The marks are compared with a stamp
+ * that is increased for each traversal, thus, the buffers never need
+ * to be reset between consecutive traversals. The class also implements
+ * an indexed binary heap on the m_Distances buffer, which supports the
+ * decrease-key operation required by the Dijkstra algorithm.
+ * @author Juan Lastra-Díaz
+ */
+
+class TraversalScratch
+{
+    /**
+     * Vertex marks, auxiliary marks, queue and accumulated distances
+     */
+
+    int[]       m_Marks;
+    int[]       m_Common;
+    int[]       m_Queue;
+    double[]    m_Distances;
+
+    /**
+     * Queue and distances used by the backward search of the
+     * bidirectional traversals
+     */
+
+    int[]       m_BackQueue;
+    double[]    m_BackDistances;
+
+    /**
+     * Indexed binary heap and the position of each vertex in the heap
+     */
+
+    private int[]   m_Heap;
+    private int[]   m_HeapPos;
+    private int     m_HeapSize;
+
+    /**
+     * Current stamp
+     */
+
+    int m_Stamp;
+
+    /**
+     * Constructor
+     * @param vertexCount Number of vertexes in the taxonomy
+     */
+
+    TraversalScratch(int vertexCount)
+    {
+        m_Marks = new int[vertexCount];
+        m_Common = new int[vertexCount];
+        m_Queue = new int[vertexCount];
+        m_Distances = new double[vertexCount];
+        m_BackQueue = new int[vertexCount];
+        m_BackDistances = new double[vertexCount];
+        m_Heap = new int[vertexCount];
+        m_HeapPos = new int[vertexCount];
+        m_HeapSize = 0;
+        m_Stamp = 0;
+    }
+
+    /**
+     * This function grows the buffers when the taxonomy contains
+     * more vertexes than the current capacity. The marks of the novel
+     * positions are zero, thus, they are never equal to any stamp.
+     * @param vertexCount Number of vertexes in the taxonomy
+     */
+
+    void ensureCapacity(int vertexCount)
+    {
+        if (m_Marks.length < vertexCount)
+        {
+            int capacity = Math.max(vertexCount, m_Marks.length + (m_Marks.length >> 1));
+
+            m_Marks = Arrays.copyOf(m_Marks, capacity);
+            m_Common = Arrays.copyOf(m_Common, capacity);
+            m_Queue = new int[capacity];
+            m_Distances = new double[capacity];
+            m_BackQueue = new int[capacity];
+            m_BackDistances = new double[capacity];
+            m_Heap = new int[capacity];
+            m_HeapPos = new int[capacity];
+            m_HeapSize = 0;
+        }
+    }
+
+    /**
+     * This function returns a novel stamp. The m_Common buffer is
+     * used as a second mark buffer in order to intersect the result
+     * of two consecutive traversals.
+     * @return Novel stamp
+     */
+
+    int nextStamp()
+    {
+        // We reset the marks when the stamp overflows
+
+        if (m_Stamp == Integer.MAX_VALUE)
+        {
+            Arrays.fill(m_Marks, 0);
+            Arrays.fill(m_Common, 0);
+            m_Stamp = 0;
+        }
+
+        // We return the novel stamp
+
+        return (++m_Stamp);
+    }
+
+    /**
+     * This function removes all the vertexes from the heap.
+     */
+
+    void clearHeap()
+    {
+        m_HeapSize = 0;
+    }
+
+    /**
+     * @return True if the heap is empty
+     */
+
+    boolean isHeapEmpty()
+    {
+        return (m_HeapSize == 0);
+    }
+
+    /**
+     * @param vertex Vertex index
+     * @return True if the vertex is waiting in the heap
+     */
+
+    boolean isInHeap(int vertex)
+    {
+        int pos = m_HeapPos[vertex];
+
+        return ((pos < m_HeapSize) && (m_Heap[pos] == vertex));
+    }
+
+    /**
+     * This function inserts a vertex in the heap or moves it up
+     * if its distance was decreased.
+     * @param vertex Vertex index
+     */
+
+    void pushOrDecrease(int vertex)
+    {
+        int pos = isInHeap(vertex) ? m_HeapPos[vertex] : m_HeapSize++;
+
+        // We sift up the vertex
+
+        while (pos > 0)
+        {
+            int parentPos = (pos - 1) >> 1;
+            int parent = m_Heap[parentPos];
+
+            if (m_Distances[parent] <= m_Distances[vertex])
+            {
+                break;
+            }
+
+            m_Heap[pos] = parent;
+            m_HeapPos[parent] = pos;
+            pos = parentPos;
+        }
+
+        m_Heap[pos] = vertex;
+        m_HeapPos[vertex] = pos;
+    }
+
+    /**
+     * This function removes the vertex with the minimum distance.
+     * @return Vertex with minimum distance
+     */
+
+    int popMin()
+    {
+        int minVertex = m_Heap[0];  // Returned value
+
+        int last = m_Heap[--m_HeapSize];
+        int pos = 0;
+
+        // We sift down the last vertex
+
+        if (m_HeapSize > 0)
+        {
+            while (true)
+            {
+                int child = 2 * pos + 1;
+
+                if (child >= m_HeapSize)
+                {
+                    break;
+                }
+
+                if ((child + 1 < m_HeapSize)
+                        && (m_Distances[m_Heap[child + 1]] < m_Distances[m_Heap[child]]))
+                {
+                    child++;
+                }
+
+                if (m_Distances[last] <= m_Distances[m_Heap[child]])
+                {
+                    break;
+                }
+
+                m_Heap[pos] = m_Heap[child];
+                m_HeapPos[m_Heap[pos]] = pos;
+                pos = child;
+            }
+
+            m_Heap[pos] = last;
+            m_HeapPos[last] = pos;
+        }
+
+        // We move the removed vertex out of the heap range
+
+        m_HeapPos[minVertex] = m_HeapSize;
+
+        // We return the result
+
+        return (minVertex);
+    }
+}
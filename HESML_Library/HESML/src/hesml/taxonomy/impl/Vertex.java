@@ -28,8 +28,6 @@ import java.util.PriorityQueue;
 // HESML references
 
 import hesml.taxonomy.*;
-import java.util.HashSet;
-import java.util.LinkedList;
 
 /**
  * This class implements a IVertex object in the half-edge representation
@@ -51,6 +49,14 @@ class Vertex implements IVertex
     
     private final Long  m_Id;
     
+    /**
+     * Position of the vertex within the taxonomy. This value is used
+     * to index the per-thread traversal buffers of the taxonomy,
+     * and it is shifted when a preceding vertex is removed.
+     */
+    
+    private int m_Index;
+    
     /**
      * First half edge outcoming from the vertex.
      */
@@ -88,7 +94,7 @@ class Vertex implements IVertex
     private String  m_strTag;
     
     /**
-     * Special field to implement efficiently the Dijkstra's algorithm
+     * Minimum distance field filled by the computeDistanceField() function
      */
     
     private double  m_minDistance;
@@ -134,16 +140,19 @@ class Vertex implements IVertex
     /**
      * Constructor
      * @param id Integer unique key of a Graph node (WordNet nodes)
+     * @param index Position of the vertex within the taxonomy
      * @param taxonomy Container taxonomy of the new vertex
      */
     
     Vertex(
             long        id,
+            int         index,
             ITaxonomy   taxonomy)
     {
         // We save the key
         
         m_Id = id;
+        m_Index = index;
         m_Taxonomy = (Taxonomy) taxonomy;
         m_Visited = false;
         m_FirstOutArc = null;
@@ -392,77 +401,148 @@ class Vertex implements IVertex
     {
         VertexList  ancestors = new VertexList(false);  // Returned value
         
-        // We obtain the global visited1 set to maintain the
-        // set of visited vertexes
+        // We copy the ancestors in BFS order
         
-        HashSet<IVertex> visited = new HashSet<>();
-
-        // We create the traversal queue
+        visitAncestors(includeVertex, ancestors::add);
+        
+        // We return the result
+        
+        return (ancestors);
+    }
+    
+    /**
+     * This function visits the ancestors of the vertex in BFS order,
+     * which are copied from the ancestor index when it is available.
+     * @param includeVertex The current vertex is visited
+     * @param visitor Callback invoked for every ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void visitAncestors(
+            boolean         includeVertex,
+            IVertexVisitor  visitor) throws Exception
+    {
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
+        
+        AncestorIndex   index = m_Taxonomy.getAncestorIndex();
         
-        LinkedList<IVertex> pending = new LinkedList<>();
+        // We visit the ancestors stored by the ancestor index
         
-        // We enqueue this vertex to mark all the ancestors
+        if (index != null)
+        {
+            for (int i = includeVertex ? 0 : 1;
+                    i < index.getAncestorCount(m_Index); i++)
+            {
+                visitor.visit(vertexes.getAt(index.getAncestor(m_Index, i)));
+            }
+        }
+        else
+        {
+            traverseAncestors(includeVertex, visitor);
+        }
+    }
+    
+    /**
+     * This function visits the ancestors of the vertex in BFS order by
+     * traversing the taxonomy, thus, it does not use the ancestor index,
+     * which could be outdated while the taxonomy is being modified.
+     * @param includeVertex The current vertex is visited
+     * @param visitor Callback invoked for every ancestor
+     * @throws Exception Unexpected error
+     */
+    
+    void traverseAncestors(
+            boolean         includeVertex,
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitAdjacentClosure(includeVertex, false,
+                OrientedEdgeType.SubClassOf, visitor);
+    }
+    
+    /**
+     * This function traverses the closure of the vertex in BFS order by
+     * following the oriented edges of the input type, and it visits
+     * the reached vertexes when they are dequeued. The traversal uses
+     * a pooled buffer of the current thread, thus, the visitor can start
+     * novel traversals.
+     * @param inclusive The current vertex is visited
+     * @param onlyLeaves Only the leaf vertexes are visited
+     * @param edgeType Type of the followed edges
+     * @param visitor Callback invoked for every visited vertex
+     * @throws Exception Unexpected error
+     */
+    
+    private void visitAdjacentClosure(
+            boolean             inclusive,
+            boolean             onlyLeaves,
+            OrientedEdgeType    edgeType,
+            IVertexVisitor      visitor) throws Exception
+    {
+        IVertexList vertexes = m_Taxonomy.getVertexes();    // Vertexes
         
-        pending.add(this);
-        visited.add(this);
+        TraversalScratch    scratch = m_Taxonomy.acquireScratch();
         
-        // We traverse the ancestors of the current vertex
+        // We catch the exceptions thrown by the visitor to release the buffers
         
-        while (!pending.isEmpty())
+        try
         {
-            // We get the next ancestor to expand
+            int[]   marks = scratch.m_Marks;
+            int[]   queue = scratch.m_Queue;
             
-            IVertex ancestor = pending.remove();
+            int stamp = scratch.nextStamp();
+            int head = 0;
+            int tail = 0;
             
-            // We add the vertex to the ancestor set
+            // We enqueue the current vertex
             
-            ancestors.add(ancestor);
-                    
-            // We enqueue all its parents. We use a direct loop traversal
-            // of the vertex to retrieve its parents, with the aim to
-            // reduce the time spent in the creation of a list whenever
-            // the getParents() method is invoked.
+            queue[tail++] = m_Index;
+            marks[m_Index] = stamp;
             
-            IHalfEdge   ancestorFirstOutcomingArc = ancestor.getFirstOutcomingEdge();
-            IHalfEdge   loop = ancestorFirstOutcomingArc;
+            // We traverse the closure
             
-            do
+            while (head < tail)
             {
-                // We enqueue the parent vertexes
-
-                if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                Vertex  current = (Vertex) vertexes.getAt(queue[head++]);
+                
+                // We visit the vertex
+                
+                if ((inclusive || (current != this))
+                        && (!onlyLeaves || current.isLeaf()))
                 {
-                    IVertex parent = loop.getTarget();
-                    
-                    if (!visited.contains(parent))
+                    visitor.visit(current);
+                }
+                
+                // We enqueue the adjacent vertexes
+                
+                IHalfEdge   firstOutArc = current.getFirstOutcomingEdge();
+                IHalfEdge   loop = firstOutArc;
+                
+                if (loop != null)
+                {
+                    do
                     {
-                        pending.add(parent);
-                        visited.add(parent);
-                    }
+                        if (loop.getEdgeType() == edgeType)
+                        {
+                            int adjacent = ((Vertex)loop.getTarget()).getIndex();
+                            
+                            if (marks[adjacent] != stamp)
+                            {
+                                marks[adjacent] = stamp;
+                                queue[tail++] = adjacent;
+                            }
+                        }
+                        
+                        loop = loop.getOpposite().getNext();
+                        
+                    } while (loop != firstOutArc);
                 }
-
-                // We get the next outcoming arc
-
-                loop = loop.getOpposite().getNext();
-
-            } while (loop != ancestorFirstOutcomingArc);
+            }
         }
-        
-        // We remove the current vertex when the function
-        // call does not include it
-        
-        if (!includeVertex)
+        finally
         {
-            ancestors.remove(this);
+            m_Taxonomy.releaseScratch(scratch);
         }
-        
-        // We reset the visited set
-        
-        visited.clear();
-        
-        // We return the result
-        
-        return (ancestors);
     }
     
     /**
@@ -517,98 +597,18 @@ class Vertex implements IVertex
     public void computeDistanceField(
             boolean     weighted)
     {
-        PriorityQueue<IVertex> pending; // Processing queue
-
-        IHalfEdge   firstOutEdge;  // Firts outcoming edge
-        IHalfEdge   loop;          // Iterator
-        
-        IVertex     seed;       // Seed vertex in each iteration
-        IVertex     adjacent;   // Adjacent vertex
-        
-        double  novelDistance;  // Novel distance from current seed vertex
-        double  weight;         // Edge wweight
-        
-        // We reset all the minimum distances before to start the method
-
-        for (IVertex vertex: m_Taxonomy.getVertexes())
-        {
-            vertex.setMinDistance(Double.POSITIVE_INFINITY);
-        }
-
-        // We set to 0 the distance in the source vertex
-
-        m_minDistance = 0.0;
-
-        // We create the priority queue
-
-        pending = new PriorityQueue<>();
-
-        // We insert the current vertex as source
-
-        pending.add(this);
-
-        // We make a BFS traversal of the taxonomy
-
-        while (!pending.isEmpty())
-        {
-            // We get the current vertex to expolore
-
-            seed = pending.poll();
-            firstOutEdge = seed.getFirstOutcomingEdge();
-
-            // Visit each edge exiting u
-
-            loop = firstOutEdge;
-
-            do
-            {
-                // We get the adjacent vertex and the weight
-
-                adjacent = loop.getTarget();
-
-                if (weighted)
-                {
-                    weight = loop.getEdge().getWeight();
-                }
-                else
-                {
-                    weight = 1.0;
-                }
-
-                // We compute the novel distance
-
-                novelDistance = seed.getMinDistance() + weight;
-
-                // We check if the novel didstance is lower
-
-                if (novelDistance < adjacent.getMinDistance())
-                {
-                    // We update the shortest distance until
-                    // the adjacent vertex
-
-                    adjacent.setMinDistance(novelDistance);
-
-                    // We remove the adjacent from the queue and insert
-                    // it at the end
-
-                    pending.remove(adjacent);
-                    pending.add(adjacent);
-                }
-
-                // We iterate aroung the vertex
-
-                loop = loop.getOpposite().getNext();
-
-            } while (loop != firstOutEdge);
-        }        
+        m_Taxonomy.getPathEngine().computeDistanceField(this, weighted);
     }
         
     /**
      * This function computes the Dijkstra algorithm using the edge weights
-     * assigned to the taxonomy, or a uniform weight = 1 when it is invoked
+     * assigned to the taxonomy, or a bidirectional BFS when it is invoked
      * to count the edges between the current and target vertexes.
+     * The distances are stored in the per-thread buffers of the taxonomy,
+     * thus, the function can be invoked concurrently from several threads.
      * @param target
-     * @return 
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
      */
     
     @Override
@@ -616,111 +616,49 @@ class Vertex implements IVertex
             IVertex     target,
             boolean     weighted)
     {
-        double  distance;    // Returned value
-        
-        // We check for identical target
-        
-        if (target == this)
-        {
-            distance = 0.0;
-        }
-        else
-        {
-            // We compute the distance filed from the vertex
-            
-            computeDistanceField(weighted);
-
-            // We get the shortest distance until the target vertex
-
-            distance = target.getMinDistance();
-        }
-        
-        // We return the result
-        
-        return (distance);
+        return (m_Taxonomy.getPathEngine().getDistance(this, (Vertex) target,
+                weighted ? ShortestPathEngine.WeightType.Edge :
+                ShortestPathEngine.WeightType.Unit));
     }
     
     /**
-     * This function computes the common subgraph of the input vertexes,
-     * which is defined as the union of the ancestor and descendant sets
-     * of both input vertexes. The common subgraph is the set of
-     * vertexes within the taxonomy which can be part of any path
-     * linking both vertexes.
-     * @param source
-     * @param target
-     * @return 
+     * This function computes the length of the shortest path from the
+     * current vertex to each target vertex by a single Dijkstra search,
+     * which stops once all the target vertexes are settled.
+     * @param targets Target vertexes
+     * @param weighted Flag indicating if the edge weights will be used
+     * @param distances Output vector with the distance to each target
      */
     
-    private static HashSet<IVertex> getCommonSubgraph(
-            IVertex source,
-            IVertex target)
+    @Override
+    public void getShortestPathDistancesTo(
+            IVertexList targets,
+            boolean     weighted,
+            double[]    distances)
     {
-        HashSet<IVertex>    subgraph = new HashSet<>(); // Returned value
-        
-        // We create the pending queue
-        
-        LinkedList<IVertex> pending = new LinkedList<>();
-
-        // We define the two exploring directions
-        
-        OrientedEdgeType[]  exploreDirs = {OrientedEdgeType.SubClassOf,
-                                           OrientedEdgeType.SuperClassOf};
-
-        // We traverse the taxonomy two times in order to obtain
-        // both the ancestor and descendant sets of the vertexes.
-        
-        for (int i = 0; i < exploreDirs.length; i++)
-        {
-            // We enqueue the seed vertexes
-
-            pending.add(source);
-            subgraph.add(source);
-            
-            if (!subgraph.contains(target))
-            {
-                pending.add(target);
-                subgraph.add(target);
-            }
-            
-            // We expand the vertexes
-            
-            while (!pending.isEmpty())
-            {
-                // We get the next vertex
-                
-                IVertex vertex = pending.remove();
-                
-                // We enqueue its children or parents
-                
-                IHalfEdge firstArc = vertex.getFirstOutcomingEdge();
-                IHalfEdge loop = firstArc;
-                
-                do
-                {
-                    // We check the type of the current oriented edge
-                    
-                    if (loop.getEdgeType() == exploreDirs[i])
-                    {
-                        IVertex adjacent = loop.getTarget();
-                        
-                        if (!subgraph.contains(adjacent))
-                        {
-                            pending.add(adjacent);
-                            subgraph.add(adjacent);
-                        }
-                    }
-                    
-                    // We get the next outcoming arc
-                    
-                    loop = loop.getOpposite().getNext();
-                    
-                } while (loop != firstArc);
-            }
-        }        
-        
-        // We return the result
-        
-        return (subgraph);
+        m_Taxonomy.getPathEngine().getDistances(this, targets,
+                weighted ? ShortestPathEngine.WeightType.Edge :
+                ShortestPathEngine.WeightType.Unit, distances);
+    }
+    
+    /**
+     * This function retrieves the vertexes closest to the current vertex
+     * in increasing order of their shortest path length.
+     * @param weighted Flag indicating if the edge weights will be used
+     * @param nearest Output vector with the nearest vertexes
+     * @param distances Output vector with the distance to each vertex
+     * @return Number of vertexes retrieved
+     */
+    
+    @Override
+    public int getNearestVertexes(
+            boolean     weighted,
+            IVertex[]   nearest,
+            double[]    distances)
+    {
+        return (m_Taxonomy.getPathEngine().getNearestVertexes(this,
+                weighted ? ShortestPathEngine.WeightType.Edge :
+                ShortestPathEngine.WeightType.Unit, nearest, distances));
     }
     
     /**
@@ -728,7 +666,10 @@ class Vertex implements IVertex
      * current vertex and the target vertex using the weights of the oriented
      * edges, instead of the weight of the non-oriented edges. Thus, this
      * method allows to define an asymmetric distance between vertexes
-     * in the taxonomy.
+     * in the taxonomy. Every vertex is expanded only once, thus, the
+     * method also finishes when some oriented edges have negative weights,
+     * in which case it returns the distance with which the target is
+     * settled by the Dijkstra search.
      * @param target Target vertex
      * @return The length of the shortest path
      */
@@ -737,101 +678,8 @@ class Vertex implements IVertex
     public double getAsymmetricShortestPathDist(
             IVertex target)
     {
-        double  distance;    // Returned value
-        
-        PriorityQueue<IVertex> pending; // Processing queue
-
-        IHalfEdge   firstOutEdge;  // Firtst outcoming edge
-        IHalfEdge   loop;          // Iterator
-        
-        IVertex     seed;       // Seed vertex in each iteration
-        IVertex     adjacent;   // Adjacent vertex
-        
-        double  novelDistance;  // Novel distance from current seed vertex
-        double  weight;         // Oriented edge (half-edge) wweight
-        
-        // We check for identical target
-        
-        if (target == this)
-        {
-            distance = 0.0;
-        }
-        else
-        {
-            // We reset all the minimum distances before to start the method
-
-            for (IVertex vertex: m_Taxonomy.getVertexes())
-            {
-                vertex.setMinDistance(Double.POSITIVE_INFINITY);
-            }
-
-            // We set to 0 the distance in the source vertex
-
-            m_minDistance = 0.0;
-
-            // We create the priority queue
-            
-            pending = new PriorityQueue<>();
-             
-            // We insert the current vertex as source
-
-            pending.add(this);
-
-            // We make a BFS traversal of the taxonomy
-
-            while (!pending.isEmpty())
-            {
-                // We get the current vertex to expolore
-
-                seed = pending.poll();
-                firstOutEdge = seed.getFirstOutcomingEdge();
-
-                // Visit each edge exiting u
-
-                loop = firstOutEdge;
-
-                do
-                {
-                    // We get the adjacent vertex and the weight
-
-                    adjacent = loop.getTarget();
-                    weight = loop.getWeight();
-
-                    // We compute the novel distance
-
-                    novelDistance = seed.getMinDistance() + weight;
-
-                    // We check if the novel didstance is lower
-
-                    if (novelDistance < adjacent.getMinDistance())
-                    {
-                        // We update the shortest distance until
-                        // the adjacent vertex
-
-                        adjacent.setMinDistance(novelDistance);
-
-                        // We remove the adjacent from the queue and insert
-                        // it at the end
-
-                        pending.remove(adjacent);
-                        pending.add(adjacent);
-                    }
-
-                    // We iterate aroung the vertex
-
-                    loop = loop.getOpposite().getNext();
-
-                } while (loop != firstOutEdge);
-            }        
-
-            // We get the shortest distance until the target vertex
-
-            distance = target.getMinDistance();
-        }
-        
-        // We return the result
-        
-        return (distance);
+        return (m_Taxonomy.getPathEngine().getDistance(this, (Vertex) target,
+                ShortestPathEngine.WeightType.OrientedEdge));
     }
     
     /**
@@ -894,22 +742,25 @@ class Vertex implements IVertex
         
         // We iterate around the vertex
         
-        do
+        if (loop != null)
         {
-            // We insert the children vertexes
-            
-            if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
+            do
             {
-                children++;
-            }
+                // We insert the children vertexes
             
-            // We get the next outcoming arc
+                if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
+                {
+                    children++;
+                }
             
-            loop = loop.getOpposite().getNext();
+                // We get the next outcoming arc
             
-            assert(loop != null);
+                loop = loop.getOpposite().getNext();
             
-        } while (loop != m_FirstOutArc);
+                assert(loop != null);
+            
+            } while (loop != m_FirstOutArc);
+        }
         
         // We return the result
         
@@ -925,6 +776,10 @@ class Vertex implements IVertex
     public void setICValue(double valueIC)
     {
         m_ICvalue = valueIC;
+        
+        // We notify the change to invalidate the MICA index
+        
+        m_Taxonomy.incrementICVersion();
     }
     
     /**
@@ -939,6 +794,27 @@ class Vertex implements IVertex
         return (m_Id);
     }
     
+    /**
+     * This function returns the position of the vertex within the taxonomy.
+     * @return Vertex index
+     */
+    
+    int getIndex()
+    {
+        return (m_Index);
+    }
+    
+    /**
+     * This function sets the position of the vertex within the taxonomy.
+     * @param index Vertex index
+     */
+    
+    void setIndex(
+            int index)
+    {
+        m_Index = index;
+    }
+    
     /**
      * This function sets the value of the first visiting flag.
      * @param visited 
@@ -979,32 +855,61 @@ class Vertex implements IVertex
         
         VertexList  children = new VertexList(false);
         
-        // We initialize the local vertex iterator
+        // We copy the children
         
+        visitChildren(children::add);
+        
+        // We return the result
+        
+        return (children);
+    }
+    
+    /**
+     * This function visits the children of the vertex.
+     * @param visitor Callback invoked for every child
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void visitChildren(
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitAdjacentVertexes(OrientedEdgeType.SuperClassOf, visitor);
+    }
+    
+    /**
+     * This function visits the adjacent vertexes linked by the oriented
+     * edges of the input type.
+     * @param edgeType Type of the oriented edges
+     * @param visitor Callback invoked for every adjacent vertex
+     * @throws Exception Unexpected error
+     */
+    
+    private void visitAdjacentVertexes(
+            OrientedEdgeType    edgeType,
+            IVertexVisitor      visitor) throws Exception
+    {
         IHalfEdge   loop = m_FirstOutArc;   // Cursor
         
         // We iterate around the vertex
         
-        do
+        if (loop != null)
         {
-            // We insert the children vertexes
-            
-            if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
+            do
             {
-                children.add(loop.getTarget());
-            }
-            
-            // We get the next outcoming arc
-            
-            loop = loop.getOpposite().getNext();
-            
-            //assert(loop != null);
-            
-        } while (loop != m_FirstOutArc);
-        
-        // We return the result
-        
-        return (children);
+                // We visit the adjacent vertex
+                
+                if (loop.getEdgeType() == edgeType)
+                {
+                    visitor.visit(loop.getTarget());
+                }
+                
+                // We get the next outcoming arc
+                
+                loop = loop.getOpposite().getNext();
+                
+            } while (loop != m_FirstOutArc);
+        }
     }
     
     /**
@@ -1055,38 +960,32 @@ class Vertex implements IVertex
     @Override
     public IVertexList getParents() throws Exception
     {
-        VertexList   parents;   // Returned result
+        // We cretae the set of parent vertexes
         
-        IHalfEdge   loop = m_FirstOutArc;   // Cursor
+        VertexList  parents = new VertexList(false);    // Returned result
         
-        // We cretae the set of children vertexes
+        // We copy the parents
         
-        parents = new VertexList(false);
-        
-        // We iterate around the vertex
-        
-        do
-        {
-            // We insert the children vertexes
-            
-            if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
-            {
-                parents.add(loop.getTarget());
-            }
-            
-            // We get the next outcoming arc
-            
-            loop = loop.getOpposite().getNext();
-            
-            //assert(loop != null);
-            
-        } while (loop != m_FirstOutArc);
+        visitParents(parents::add);
         
         // We return the result
         
         return (parents);
     }
     
+    /**
+     * This function visits the parents of the vertex.
+     * @param visitor Callback invoked for every parent
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void visitParents(
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitAdjacentVertexes(OrientedEdgeType.SubClassOf, visitor);
+    }
+    
     /**
      * This function returns a string vector with the string tags stored
      * by the parent vertexes.
@@ -1147,6 +1046,34 @@ class Vertex implements IVertex
         return (strTagFields);
     }
     
+    /**
+     * This function returns the position of the i-th child, which is
+     * retrieved from the adjacency index of the taxonomy.
+     * @param i Position of the child
+     * @return Position of the child in the vertex list
+     */
+    
+    @Override
+    public int getChildIndexAt(
+            int i)
+    {
+        return (m_Taxonomy.getAdjacencyIndex().getChildAt(m_Index, i));
+    }
+    
+    /**
+     * This function returns the position of the i-th parent, which is
+     * retrieved from the adjacency index of the taxonomy.
+     * @param i Position of the parent
+     * @return Position of the parent in the vertex list
+     */
+    
+    @Override
+    public int getParentIndexAt(
+            int i)
+    {
+        return (m_Taxonomy.getAdjacencyIndex().getParentAt(m_Index, i));
+    }
+    
     /**
      * This function returns the number of parents of the vertex.
      * @return Parents count
@@ -1161,20 +1088,23 @@ class Vertex implements IVertex
         
         // We iterate around the vertex to count the parents
         
-        do
+        if (loop != null)
         {
-            // We insert the children vertexes
-            
-            if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+            do
             {
-                nParents++;
-            }
+                // We insert the children vertexes
             
-            // We get the next outcoming arc
+                if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
+                {
+                    nParents++;
+                }
             
-            loop = loop.getOpposite().getNext();
+                // We get the next outcoming arc
             
-        } while (loop != m_FirstOutArc);
+                loop = loop.getOpposite().getNext();
+            
+            } while (loop != m_FirstOutArc);
+        }
 
         // We return the result
         
@@ -1224,65 +1154,18 @@ class Vertex implements IVertex
             // We initialize the cached value
             
             m_CachedLeavesCount = 0;
+            
+            m_Taxonomy.registerCachedCounts();
 
-            // We obtain the global visited1 set to maintain the
-            // set of visited vertexes
-        
-            HashSet<IVertex> visited = new HashSet<>();
-
-            // We create the seed pending queue
-
-            LinkedList<IVertex> pending = new LinkedList<>();
-
-            pending.add(this);
-            visited.add(this);
-
-            // We process the pending nodes
-
-            while (!pending.isEmpty())
-            {
-                // We get the next descendant
-
-                IVertex descendant = pending.remove();
-
-                // We increase  the counter and label it as visited
-
-                if ((descendant != this) && descendant.isLeaf())
-                {
-                    m_CachedLeavesCount++;
-                }
-
-                // We enqueue the children of the descendant
-                // in order to visit the descendant vertexes
-
-                IHalfEdge   descendantFirstOurArc = descendant.getFirstOutcomingEdge();
-                IHalfEdge   loop = descendantFirstOurArc;
-
-                do
-                {
-                    // We obtain the next child vertex
-
-                    if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
-                    {
-                        IVertex child = loop.getTarget();
-
-                        if (!visited.contains(child))
-                        {
-                            pending.add(child);
-                            visited.add(child);
-                        }
-                    }
-
-                    // We get the next outcoming arc
-
-                    loop = loop.getOpposite().getNext();
-
-                } while (loop != descendantFirstOurArc);                
-            }
+            // We count the non-inclusive subsumed leaves by a traversal
+            // which uses the stamped marks of a pooled buffer
             
-            // We reset the visited set
-                    
-            visited.clear();
+            int[]   leafCount = new int[1];
+            
+            visitAdjacentClosure(false, true, OrientedEdgeType.SuperClassOf,
+                    leaf -> leafCount[0]++);
+            
+            m_CachedLeavesCount = leafCount[0];
         }
         
         // We return the result
@@ -1308,66 +1191,145 @@ class Vertex implements IVertex
             
             m_CachedHyponymsCount = 0;
             
-            // We obtain the global visited1 set to maintain the
-            // set of visited vertexes
-
-            HashSet<IVertex> visited = new HashSet<>();
-
-            // We create the queue of pending vertexes and add the vertex as seed.
-
-            LinkedList<IVertex> pending = new LinkedList<>();
-
-            pending.add(this);
-            visited.add(this);
-
-            // We process the pending nodes
-
-            while (!pending.isEmpty())
+            m_Taxonomy.registerCachedCounts();
+            
+            // We count the non-inclusive hyponyms by a traversal
+            // which uses the stamped marks of a pooled buffer
+            
+            int[]   hyponymCount = new int[1];
+            
+            visitAdjacentClosure(false, false, OrientedEdgeType.SuperClassOf,
+                    hyponym -> hyponymCount[0]++);
+            
+            m_CachedHyponymsCount = hyponymCount[0];
+        }
+        
+        // We return the result
+        
+        return (m_CachedHyponymsCount);
+    }
+    
+    /**
+     * This function sets the cached depths of the vertex, which are
+     * computed on-demand when they are negative.
+     * @param depthMin Minimum depth
+     * @param depthMax Maximum depth
+     */
+    
+    void setCachedDepths(
+            int depthMin,
+            int depthMax)
+    {
+        m_CachedDepthMin = depthMin;
+        m_CachedDepthMax = depthMax;
+    }
+    
+    /**
+     * This function sets the cached hyponym and leaf counts of the vertex.
+     * @param hyponymCount Non-inclusive hyponym count
+     * @param leafCount Non-inclusive subsumed leaf count
+     */
+    
+    void setCachedCounts(
+            int hyponymCount,
+            int leafCount)
+    {
+        m_CachedHyponymsCount = hyponymCount;
+        m_CachedLeavesCount = leafCount;
+        
+        m_Taxonomy.registerCachedCounts();
+    }
+    
+    /**
+     * This function checks whether the depths of the vertex
+     * have been already computed.
+     * @return True if both depths are cached
+     */
+    
+    boolean hasCachedDepths()
+    {
+        return ((m_CachedDepthMin >= 0) && (m_CachedDepthMax >= 0));
+    }
+    
+    /**
+     * This function computes again the cached depths of the vertex
+     * from the depths of its parents, which must be already valid.
+     * @throws Exception Unexpected error
+     */
+    
+    void updateCachedDepths() throws Exception
+    {
+        int depthMin = 0;   // Depths of the root vertexes
+        int depthMax = 0;
+        
+        boolean root = true;    // No parent has been found
+        
+        IHalfEdge   loop = m_FirstOutArc;   // Cursor
+        
+        // We compute the depths from the parents
+        
+        if (loop != null)
+        {
+            do
             {
-                // We get the next descendant and count it
-
-                IVertex descendant = pending.remove();
-
-                if (descendant != this)
+                if (loop.getEdgeType() == OrientedEdgeType.SubClassOf)
                 {
-                    m_CachedHyponymsCount++;
+                    IVertex parent = loop.getTarget();
+                    
+                    depthMin = root ? (parent.getDepthMin() + 1)
+                            : Math.min(depthMin, parent.getDepthMin() + 1);
+                    
+                    depthMax = Math.max(depthMax, parent.getDepthMax() + 1);
+                    
+                    root = false;
                 }
-
-                // We enqueue the children of the descendant.
-
-                IHalfEdge   descendantFirstOurArc = descendant.getFirstOutcomingEdge();
-                IHalfEdge   loop = descendantFirstOurArc;
-
-                do
-                {
-                    // We obtain the next child vertex
-
-                    if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
-                    {
-                        IVertex child = loop.getTarget();
-
-                        if (!visited.contains(child))
-                        {
-                            pending.add(child);
-                            visited.add(child);
-                        }
-                    }
-
-                    // We get the next outcoming arc
-
-                    loop = loop.getOpposite().getNext();
-
-                } while (loop != descendantFirstOurArc);
-            }
-
-            // We reset the visited set
-
-            visited.clear();
+                
+                loop = loop.getOpposite().getNext();
+                
+            } while (loop != m_FirstOutArc);
         }
         
-        // We return the result
+        // We save the depths
         
-        return (m_CachedHyponymsCount);
+        m_CachedDepthMin = depthMin;
+        m_CachedDepthMax = depthMax;
+    }
+    
+    /**
+     * This function adds the input increments to the cached hyponym
+     * and leaf counts, whenever they have been already computed.
+     * @param hyponymsDelta Increment of the hyponym count
+     * @param leavesDelta Increment of the subsumed leaf count
+     */
+    
+    void adjustCachedCounts(
+            int hyponymsDelta,
+            int leavesDelta)
+    {
+        if (m_CachedHyponymsCount >= 0)
+        {
+            m_CachedHyponymsCount += hyponymsDelta;
+        }
+        
+        if (m_CachedLeavesCount >= 0)
+        {
+            m_CachedLeavesCount += leavesDelta;
+        }
+    }
+    
+    /**
+     * This function adds the input increment to the cached ancestor count,
+     * whenever it has been already computed.
+     * @param ancestorsDelta Increment of the ancestor count
+     */
+    
+    void adjustCachedAncestorsCount(
+            int ancestorsDelta)
+    {
+        if (m_CachedAncestorsCount >= 0)
+        {
+            m_CachedAncestorsCount += ancestorsDelta;
+        }
     }
     
     /**
@@ -1381,8 +1343,16 @@ class Vertex implements IVertex
     {
         // We check that the value has been already computed
         
-        if (m_CachedAncestorsCount  < 0)
+        AncestorIndex   index = m_Taxonomy.getAncestorIndex();
+        
+        if (index != null)
         {
+            m_CachedAncestorsCount = index.getAncestorCount(m_Index) - 1;
+        }
+        else if (m_CachedAncestorsCount  < 0)
+        {
+            m_Taxonomy.registerCachedCounts();
+            
             m_CachedAncestorsCount = getAncestorsCount();
         }
         
@@ -1432,81 +1402,31 @@ class Vertex implements IVertex
     {
         VertexList  hyponyms = new VertexList(false);   // Returned value
         
-        // We obtain the global visited1 set to maintain the
-        // set of visited vertexes
-        
-        HashSet<IVertex> visited = new HashSet<>();
-        
-        // We create the seed pending queue
-        
-        LinkedList<IVertex> pending = new LinkedList<>();
-        
-        // We enqueue the current vertex
-        
-        pending.add(this);
-        visited.add(this);
-        
-        // We process the pending nodes
-        
-        while (!pending.isEmpty())
-        {
-            // We get the next descendant
-            
-            IVertex descendant = pending.remove();
-            
-            // We add the current descendant to the list
-            
-            hyponyms.add(descendant);
-            
-            // EXPANSION OF THE CHILDREN VERTEXES
-            // We enqueue the children of the descendant. in order
-            // to avoid the retrieval and removal of the children
-            // list, with its corresponding overhead,
-            // we explictly implement here the main
-            // iteration loop of our PosetHERep.
-
-            IHalfEdge   descendantFirstOurArc = descendant.getFirstOutcomingEdge();
-            IHalfEdge   loop = descendantFirstOurArc;
-
-            do
-            {
-                // We obtain the next child vertex
-                
-                if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
-                {
-                    IVertex child = loop.getTarget();
-                    
-                    if (!visited.contains(child))
-                    {
-                        pending.add(child);
-                        visited.add(child);
-                    }
-                }
-
-                // We get the next outcoming arc
-
-                loop = loop.getOpposite().getNext();
-
-            } while (loop != descendantFirstOurArc);
-        }
-            
-        // We remove the current vertex when the function
-        // call does not include it
-        
-        if (!vertexInclusive)
-        {
-            hyponyms.remove(this);
-        }
-        
-        // We reset the visited set
+        // We copy the hyponyms in BFS order
         
-        visited.clear();
+        visitHyponyms(vertexInclusive, hyponyms::add);
         
         // We return the result
         
         return (hyponyms);
     }
     
+    /**
+     * This function visits the hyponyms of the vertex in BFS order.
+     * @param vertexInclusive The current vertex is visited
+     * @param visitor Callback invoked for every hyponym
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void visitHyponyms(
+            boolean         vertexInclusive,
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitAdjacentClosure(vertexInclusive, false,
+                OrientedEdgeType.SuperClassOf, visitor);
+    }
+    
     /**
      * This function returns the set of subsumed leaves
      * except the vertex itself.
@@ -1522,70 +1442,32 @@ class Vertex implements IVertex
         // We create the list of leaf vertexes to be returned
         
         VertexList  leaves = new VertexList(false);
-               
-        // We obtain the global visited1 set to maintain the
-        // set of visited vertexes
-        
-        HashSet<IVertex> visited = new HashSet<>();
-        
-        // We create the seed pending queue
         
-        LinkedList<IVertex> pending = new LinkedList<>();
+        // We copy the leaves in BFS order
         
-        pending.add(this);
-        visited.add(this);
-        
-        // We process the pending nodes
-        
-        while (!pending.isEmpty())
-        {
-            // We get the next descendant
-            
-            IVertex descendant = pending.remove();
-            
-            // We add the current descendant to the list
-            
-            if (descendant.isLeaf() && (inclusive || (descendant != this)))
-            {
-                leaves.add(descendant);
-            }
-            
-            // We enqueue the children of the descendant.
-
-            IHalfEdge   descendantFirstOurArc = descendant.getFirstOutcomingEdge();
-            IHalfEdge   loop = descendantFirstOurArc;
-
-            do
-            {
-                // We obtain the next child vertex
-                
-                if (loop.getEdgeType() == OrientedEdgeType.SuperClassOf)
-                {
-                    IVertex child = loop.getTarget();
-                    
-                    if (!visited.contains(child))
-                    {
-                        pending.add(child);
-                        visited.add(child);
-                    }
-                }
-
-                // We get the next outcoming arc
-
-                loop = loop.getOpposite().getNext();
-
-            } while (loop != descendantFirstOurArc);
-        }
-        
-        // We reset the visited set
-        
-        visited.clear();
+        visitSubsumedLeaves(inclusive, leaves::add);
         
         // We return the result
         
         return (leaves);
     }
     
+    /**
+     * This function visits the leaves subsumed by the vertex in BFS order.
+     * @param inclusive The vertex is visited if it is a leaf node
+     * @param visitor Callback invoked for every leaf
+     * @throws Exception Unexpected error
+     */
+    
+    @Override
+    public void visitSubsumedLeaves(
+            boolean         inclusive,
+            IVertexVisitor  visitor) throws Exception
+    {
+        visitAdjacentClosure(inclusive, true,
+                OrientedEdgeType.SuperClassOf, visitor);
+    }
+    
     /**
      * This function returns the tag field associated to the vertex.
      * @return Tag field used by any client code
@@ -1673,6 +1555,45 @@ class Vertex implements IVertex
         }
     }
     
+    /**
+     * This function removes an outcoming arc from the ring of arcs
+     * around the vertex.
+     * @param outArc Outcoming arc to be removed
+     */
+    
+    void removeOutcomingArc(
+            IHalfEdge   outArc)
+    {
+        IHalfEdge   next = outArc.getOpposite().getNext();  // Following arc
+        
+        // We check whether the arc is the unique one
+        
+        if (next == outArc)
+        {
+            m_FirstOutArc = null;
+        }
+        else
+        {
+            // We look for the preceding arc
+            
+            IHalfEdge   loop = m_FirstOutArc;
+            
+            while (loop.getOpposite().getNext() != outArc)
+            {
+                loop = loop.getOpposite().getNext();
+            }
+            
+            // We unlink the arc from the ring
+            
+            ((HalfEdge) loop.getOpposite()).setNext(next);
+            
+            if (m_FirstOutArc == outArc)
+            {
+                m_FirstOutArc = next;
+            }
+        }
+    }
+    
     /**
      * This function returns the last outcoming oriented edge from the vertex.
      * @return Last outcoming arc
@@ -1740,7 +1661,7 @@ class Vertex implements IVertex
     }
     
     /**
-     * This function computes the depth measured from the root to the vertex.
+     * This function computes the depth measured from the nearest root to the vertex.
      * The algorithm starts by computing the ancestor set of the vertex
      * in order to reduce the search-space for the constrained
      * top-down Djikstra algorithm that we use to measure the length.
@@ -1759,12 +1680,6 @@ class Vertex implements IVertex
 
             IVertexList ancestors = this.getAncestors(true);
             
-            // We obtain the root defined as the latest vertex in the ancestor set
-
-            IVertex root = ancestors.getRoots().getAt(0);
-            
-            assert(root != null);
-
             // We reset all the minimum distances before to start the method
 
             for (IVertex vertex: ancestors)
@@ -1772,17 +1687,19 @@ class Vertex implements IVertex
                 vertex.setMinDistance(Double.POSITIVE_INFINITY);
             }
 
-            // We set to 0 the distance in the source vertex
-
-            root.setMinDistance(0.0);
-
             // We use a min-priority queue for our top-down Djikstra algorithm
             
             PriorityQueue<IVertex> pending = new PriorityQueue<>();
             
-            // We insert the root as source
+            // We insert all the roots in the ancestor set as sources,
+            // because the vertex could descend from several roots
+            // in a taxonomy with multiple roots, such as WordNet verbs.
 
-            pending.add(root);
+            for (IVertex root: ancestors.getRoots())
+            {
+                root.setMinDistance(0.0);
+                pending.add(root);
+            }
 
             // We make a BFS traversal of the taxonomy
 
@@ -1853,7 +1770,7 @@ class Vertex implements IVertex
     }    
     
     /**
-     * This function computes the longest depth measured from the root.
+     * This function computes the longest depth measured from the farthest root.
      * The algorithm starts by computing the ancestor set of the vertex
      * in order to reduce the search-space for the constrained
      * top-down Djikstra algorithm that we use to measure the length.
@@ -1878,19 +1795,16 @@ class Vertex implements IVertex
                 vertex.setMinDistance(0.0);
             }
 
-            // We obtain the root defined as the latest vertex in the ancestor set
-
-            IVertex root = ancestors.getRoots().getAt(0);
-            
-            assert(root != null);
-            
             // We create a min-prioty queue for our top-down Djikstra algorithm
             
             PriorityQueue<IVertex> pending = new PriorityQueue<>();
             
-            // We insert the current vertex as seed vertex
+            // We insert all the roots in the ancestor set as seed vertexes
 
-            pending.add(root);
+            for (IVertex root: ancestors.getRoots())
+            {
+                pending.add(root);
+            }
 
             // We make a BFS traversal of the taxonomy
 
@@ -24,7 +24,6 @@ package hesml.taxonomy.impl;
 // Java references
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 
 // HESML references
@@ -39,10 +38,10 @@ import hesml.taxonomy.*;
 class VertexList implements IVertexList
 {
     /**
-     * Vertexes indexed by the unique key URI
+     * Position of the vertexes indexed by their unique ID
      */
     
-    private HashMap<Long, IVertex>    m_IndexedVertexes;
+    private LongIntHashMap  m_Positions;
     
     /**
      * Ordered vertexes
@@ -64,7 +63,7 @@ class VertexList implements IVertexList
     VertexList(
         boolean locked)
     {
-        m_IndexedVertexes = new HashMap<>();
+        m_Positions = new LongIntHashMap(8);
         m_Vertexes = new ArrayList<>();
         m_Locked = locked;
     }
@@ -80,7 +79,7 @@ class VertexList implements IVertexList
             boolean     locked,
             int         initialCapacity)
     {
-        m_IndexedVertexes = new HashMap<>(initialCapacity + 1, 1.0f);
+        m_Positions = new LongIntHashMap(initialCapacity);
         m_Vertexes = new ArrayList<>(initialCapacity);
         m_Locked = locked;
     }
@@ -113,14 +112,22 @@ class VertexList implements IVertexList
         
         // We check for the existence of the vertex in the list
         
-        removed = m_IndexedVertexes.containsKey(idVertex);
+        int position = m_Positions.get(idVertex);
         
-        // We remove the vertex
+        removed = (position >= 0);
+        
+        // We remove the vertex and update the position
+        // of the subsequent vertexes
         
         if (removed)
         {
-            m_IndexedVertexes.remove(idVertex);
-            m_Vertexes.remove(vertex);
+            m_Positions.remove(idVertex);
+            m_Vertexes.remove(position);
+            
+            for (int i = position; i < m_Vertexes.size(); i++)
+            {
+                m_Positions.put(m_Vertexes.get(i).getID(), i);
+            }
         }
         
         // We return the result
@@ -237,7 +244,7 @@ class VertexList implements IVertexList
         
         // We insert the vertexes in the current set
         
-        for (IVertex vertex: m_IndexedVertexes.values())
+        for (IVertex vertex: m_Vertexes)
         {
             union.add(vertex);
         }
@@ -297,14 +304,14 @@ class VertexList implements IVertexList
     {
         // We initialize the couint to the current vertexes
         
-        long  union = m_IndexedVertexes.size();
+        long  union = m_Vertexes.size();
         
         // We compute the number of input vertexes not included in the
         // current list.
         
         for (IVertex vertex: others)
         {
-            if (!m_IndexedVertexes.containsKey(vertex.getID()))
+            if (m_Positions.get(vertex.getID()) < 0)
             {
                 union++;
             }
@@ -479,12 +486,12 @@ class VertexList implements IVertexList
         {
             // We clear the lists
 
-            m_IndexedVertexes.clear();
+            m_Positions.clear();
             m_Vertexes.clear();
 
             // We disconnect the objetcs
 
-            m_IndexedVertexes = null;
+            m_Positions = null;
             m_Vertexes = null;
         }
         else
@@ -604,18 +611,9 @@ class VertexList implements IVertexList
     @Override
     public int indexOf(IVertex vertex)
     {
-        int index = -1; // Returned value
-        
-        // We check that the vertex is in the list
+        // We return the position of the vertex in the list
         
-        if (m_IndexedVertexes.containsKey(vertex.getID()))
-        {
-            index = m_Vertexes.indexOf(vertex);
-        }
-        
-        // We r eturn the value
-        
-        return (index);
+        return (m_Positions.get(vertex.getID()));
     }
     
     /**
@@ -630,7 +628,7 @@ class VertexList implements IVertexList
                 
         // We check the new ID
         
-        if (m_IndexedVertexes.containsKey(vertex.getID()))
+        if (m_Positions.get(vertex.getID()) >= 0)
         {
             strError = "The taxonomy already contains a vertex with this ID";
             error = new Exception(strError);
@@ -639,7 +637,7 @@ class VertexList implements IVertexList
         
         // We save the vertex in the list
         
-        m_IndexedVertexes.put(vertex.getID(), vertex);
+        m_Positions.put(vertex.getID(), m_Vertexes.size());
         m_Vertexes.add(vertex);
     }
     
@@ -680,7 +678,21 @@ class VertexList implements IVertexList
     public boolean contains(
             Long vertexID)
     {
-        return (m_IndexedVertexes.containsKey(vertexID));
+        return (m_Positions.get(vertexID) >= 0);
+    }
+    
+    /**
+     * This function checks whether a vertex with the input ID is
+     * contained in the list without boxing the ID.
+     * @param vertexId ID of the vertex
+     * @return True if the list contains one vertex with the input ID
+     */
+    
+    @Override
+    public boolean containsId(
+            long    vertexId)
+    {
+        return (m_Positions.get(vertexId) >= 0);
     }
     
     /**
@@ -715,18 +727,23 @@ class VertexList implements IVertexList
     @Override
     public IVertex getById(Long vertexId)
     {
-        IVertex query = null;   // Returned value
-        
-        // We check that the vertex is contained in the list
-        
-        if (m_IndexedVertexes.containsKey(vertexId))
-        {
-            query = m_IndexedVertexes.get(vertexId);
-        }
+        return (getById(vertexId.longValue()));
+    }
+    
+    /**
+     * This function returns the vertex by ID without boxing the ID.
+     * @param vertexId ID of the vertex
+     * @return The vertex with the required ID or null
+     */
+    
+    @Override
+    public IVertex getById(long vertexId)
+    {
+        int position = m_Positions.get(vertexId);
         
         // We return the result
         
-        return (query);
+        return ((position >= 0) ? m_Vertexes.get(position) : null);
     }
     
     /**
@@ -744,15 +761,47 @@ class VertexList implements IVertexList
         
         // We create the output list
         
-        query = new VertexList(false);
+        query = new VertexList(false, vertexIds.length);
         
         // We recover all the vertexes required
         
         for (Long vertexID: vertexIds)
         {
-            if (m_IndexedVertexes.containsKey(vertexID))
+            IVertex vertex = getById(vertexID.longValue());
+            
+            if (vertex != null)
+            {
+                query.add(vertex);
+            }
+        }
+        
+        // We return the result
+        
+        return (query);
+    }
+    
+    /**
+     * This function returns a set of vertexes by Ids without boxing them.
+     * @param vertexIds IDs of the vertexes
+     * @return The vertexes with the required IDs
+     * @throws java.lang.Exception Unexpected error
+     */
+    
+    @Override
+    public IVertexList getByIds(
+            long[]   vertexIds) throws Exception
+    {
+        VertexList  query = new VertexList(false, vertexIds.length);    // Returned value
+        
+        // We recover all the vertexes required
+        
+        for (long vertexID: vertexIds)
+        {
+            IVertex vertex = getById(vertexID);
+            
+            if (vertex != null)
             {
-                query.add(m_IndexedVertexes.get(vertexID));
+                query.add(vertex);
             }
         }
         
@@ -21,7 +21,16 @@
 
 package hesml.taxonomyreaders.wordnet.impl;
 
+// Java references
+
+import java.io.File;
+import java.util.Arrays;
+
+// HESML references
+
+import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.taxonomy.ITaxonomy;
+import hesml.taxonomy.impl.TaxonomyFactory;
 import hesml.taxonomyreaders.wordnet.IWordNetDB;
 import hesml.taxonomyreaders.wordnet.IWordNetSynset;
 
@@ -90,18 +99,116 @@ public class WordNetFactory
             IWordNetDB  wordnet) throws InterruptedException, Exception
     {
         ITaxonomy   taxonomy;   // Returned value
-       
-        // We create the graph
-        
-        taxonomy = hesml.taxonomy.impl.TaxonomyFactory.createBlankTaxonomy(
-                    wordnet.getSynsetCount());
         
-        // We create a vertex into the taxonomy for each synset.
+        // We encode the parents of the synsets into primitive vectors,
+        // following the ordering of the synsets in the database.
         // Each vertex shares the same ID that its synset parent.
         
+        long[]  vertexIds = new long[wordnet.getSynsetCount()];
+        int[]   parentStart = new int[vertexIds.length + 1];
+        long[]  parentIds = new long[2 * vertexIds.length];
+        
+        int i = 0;
+        
         for (IWordNetSynset synset: wordnet)
         {
-            taxonomy.addVertex(synset.getID(), synset.getParentsId());
+            Long[]  synsetParents = synset.getParentsId();
+            
+            vertexIds[i] = synset.getID();
+            parentStart[i + 1] = parentStart[i] + synsetParents.length;
+            
+            // We enlarge the parent vector when it is full
+            
+            if (parentStart[i + 1] > parentIds.length)
+            {
+                parentIds = Arrays.copyOf(parentIds,
+                        Math.max(parentStart[i + 1], 2 * parentIds.length));
+            }
+            
+            for (int j = 0; j < synsetParents.length; j++)
+            {
+                parentIds[parentStart[i] + j] = synsetParents[j];
+            }
+            
+            i++;
+        }
+        
+        // We build the taxonomy in a single pass
+        
+        taxonomy = TaxonomyFactory.createTaxonomy(
+                    vertexIds, parentStart,
+                    Arrays.copyOf(parentIds, parentStart[vertexIds.length]));
+        
+        // We return the result
+        
+        return (taxonomy);
+    }
+    
+    /**
+     * This function returns the preprocessed taxonomy of a WordNet database,
+     * which is loaded from a snapshot file when the snapshot was created
+     * from the same WordNet database file and it stores all the input
+     * IC models. Otherwise, the function builds and preprocesses the
+     * taxonomy, and it saves a novel snapshot file with the attributes
+     * of the input IC models. The taxonomy is read-only in both cases,
+     * and the stored IC models are retrieved by calling the
+     * TaxonomyFactory.getStoredICmodel() function.
+     * @param wordnet WordNet database
+     * @param strWordNetDBFullpath WordNet database file of the database
+     * @param strSnapshotFilename Snapshot file
+     * @param icModels IC models to be stored into a novel snapshot
+     * @return The preprocessed taxonomy
+     * @throws Exception The snapshot file cannot be read or written
+     */
+    
+    public static ITaxonomy loadPreprocessedTaxonomy(
+            IWordNetDB                  wordnet,
+            String                      strWordNetDBFullpath,
+            String                      strSnapshotFilename,
+            ITaxonomyInfoConfigurator[] icModels) throws Exception
+    {
+        ITaxonomy   taxonomy = null;    // Returned value
+        
+        // We compute the fingerprint of the WordNet database file
+        
+        String  strFingerprint = TaxonomyFactory.getFileFingerprint(strWordNetDBFullpath);
+        
+        // We load the snapshot when it matches the WordNet database
+        
+        if (new File(strSnapshotFilename).exists())
+        {
+            taxonomy = TaxonomyFactory.loadTaxonomySnapshot(
+                        strSnapshotFilename, strFingerprint);
+        }
+        
+        // We discard the snapshot when any IC model is not stored
+        
+        for (int i = 0; (taxonomy != null) && (i < icModels.length); i++)
+        {
+            if (TaxonomyFactory.getStoredICmodel(taxonomy,
+                    icModels[i].getICmodelKey()) == null)
+            {
+                taxonomy.clear();
+                taxonomy = null;
+            }
+        }
+        
+        // We build and preprocess the taxonomy otherwise,
+        // and we save the snapshot and load it
+        
+        if (taxonomy == null)
+        {
+            ITaxonomy   source = buildTaxonomy(wordnet);
+            
+            source.computesCachedAttributes();
+            
+            TaxonomyFactory.saveTaxonomySnapshot(source, strSnapshotFilename,
+                    strFingerprint, icModels);
+            
+            source.clear();
+            
+            taxonomy = TaxonomyFactory.loadTaxonomySnapshot(
+                        strSnapshotFilename, strFingerprint);
         }
         
         // We return the result
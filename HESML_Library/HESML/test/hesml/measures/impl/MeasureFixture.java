@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.configurators.IntrinsicICModelType;
+import hesml.configurators.icmodels.ICModelsFactory;
+import hesml.measures.*;
+import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
+
+// Java references
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+/**
+ * This class creates the random taxonomies and the similarity measures
+ * used by the tests of the batch similarity functions.
+ * @author Juan Lastra-Díaz
+ */
+
+class MeasureFixture
+{
+    /**
+     * This function creates a random preprocessed taxonomy with
+     * multiple inheritance and the Seco IC model.
+     * @param vertexCount Number of vertexes
+     * @param seed Seed of the random generator
+     * @return Random taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    static ITaxonomy createTaxonomy(
+            int     vertexCount,
+            long    seed) throws Exception
+    {
+        ITaxonomy   taxonomy = TaxonomyFactory.createBlankTaxonomy(vertexCount);
+
+        Random  random = new Random(seed);
+
+        // We insert the vertexes
+
+        taxonomy.addVertex(0L, new Long[0]);
+
+        for (long i = 1; i < vertexCount; i++)
+        {
+            int parentCount = Math.min((random.nextInt(5) == 0) ? 2 : 1, (int) i);
+
+            LinkedHashSet<Long> parents = new LinkedHashSet<>();
+
+            while (parents.size() < parentCount)
+            {
+                parents.add(i - 1 - random.nextInt((int) Math.min(i, 20)));
+            }
+
+            taxonomy.addVertex(i, parents.toArray(new Long[0]));
+        }
+
+        // We compute the cached attributes and the IC model
+
+        taxonomy.computesCachedAttributes();
+
+        ICModelsFactory.getIntrinsicICmodel(IntrinsicICModelType.Seco).setTaxonomyData(taxonomy);
+
+        // We return the result
+
+        return (taxonomy);
+    }
+
+    /**
+     * This function draws different random vertexes from a taxonomy
+     * created by the createTaxonomy() function.
+     * @param taxonomy Random taxonomy
+     * @param count Number of vertexes
+     * @param seed Seed of the random generator
+     * @return Random vertexes
+     * @throws Exception Unexpected error
+     */
+
+    static IVertexList getRandomVertexes(
+            ITaxonomy   taxonomy,
+            int         count,
+            long        seed) throws Exception
+    {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>();
+
+        Random  random = new Random(seed);
+
+        // We draw the vertexes
+
+        while (ids.size() < count)
+        {
+            ids.add((long) random.nextInt(taxonomy.getVertexes().getCount()));
+        }
+
+        // We return the result
+
+        return (taxonomy.getVertexes().getByIds(ids.toArray(new Long[0])));
+    }
+
+    /**
+     * This function creates every similarity measure implemented by the
+     * factory, except the ones requiring a WordNet database, for which
+     * the constrained Taieb measure is created instead.
+     * @param taxonomy Input taxonomy
+     * @return Similarity measures
+     * @throws Exception Unexpected error
+     */
+
+    static ISimilarityMeasure[] getMeasures(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        ArrayList<ISimilarityMeasure>   measures = new ArrayList<>();
+
+        // We create the measures. The factory returns null for the
+        // measure types which are not implemented yet.
+
+        for (SimilarityMeasureType measureType: SimilarityMeasureType.values())
+        {
+            ISimilarityMeasure  measure = (measureType != SimilarityMeasureType.Taieb2014sim2) ?
+                                        MeasureFactory.getMeasure(taxonomy, measureType) :
+                                        MeasureFactory.getConstrainedTaiebMeasure(taxonomy, 5);
+
+            if (measure != null)
+            {
+                measures.add(measure);
+            }
+        }
+
+        // We return the result
+
+        return (measures.toArray(new ISimilarityMeasure[0]));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.measures.*;
+import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the batch similarity functions of every measure
+ * return the values computed by the getSimilarity() function.
+ * @author Juan Lastra-Díaz
+ */
+
+public class SimilarityMatrixTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 500;
+
+    /**
+     * This function checks the similarity matrices of the measures
+     * on a mutable taxonomy and its frozen copy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testSimilarityMatrix() throws Exception
+    {
+        ITaxonomy   taxonomy = MeasureFixture.createTaxonomy(VERTEX_COUNT, 41);
+
+        checkSimilarityMatrix(taxonomy);
+        checkSimilarityMatrix(TaxonomyFactory.createFrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function checks that the highest pairwise similarity between
+     * two vertex sets is the maximum of the null similarity value and
+     * the pairwise similarities. The sets grow and shrink in order to
+     * check the reuse of the row context of the thread, and the single
+     * vertex sets are included.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testHighestPairwiseSimilarity() throws Exception
+    {
+        ITaxonomy   taxonomy = MeasureFixture.createTaxonomy(VERTEX_COUNT, 44);
+
+        int[][] sizes = {{3, 4}, {2, 9}, {5, 1}, {1, 3}, {4, 6}};
+
+        // We compare the highest similarity of every measure, except the
+        // Taieb2014sim2 measure, which defines its own word similarity
+
+        for (ISimilarityMeasure measure: MeasureFixture.getMeasures(taxonomy))
+        {
+            if (measure.getMeasureType() == SimilarityMeasureType.Taieb2014sim2)
+            {
+                continue;
+            }
+
+            for (int i = 0; i < sizes.length; i++)
+            {
+                IVertexList left = MeasureFixture.getRandomVertexes(taxonomy, sizes[i][0], 45 + i);
+                IVertexList right = MeasureFixture.getRandomVertexes(taxonomy, sizes[i][1], 55 + i);
+
+                double  expected = measure.getNullSimilarityValue();
+
+                for (IVertex row: left)
+                {
+                    for (IVertex column: right)
+                    {
+                        expected = Math.max(expected, measure.getSimilarity(row, column));
+                    }
+                }
+
+                assertEquals(measure.getMeasureType().toString(), expected,
+                        measure.getHighestPairwiseSimilarity(left, right), 0.0);
+            }
+        }
+    }
+
+    /**
+     * This function checks that the one-to-all similarities of every
+     * measure are the pairwise similarity values.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testSimilarityToAll() throws Exception
+    {
+        ITaxonomy   taxonomy = MeasureFixture.createTaxonomy(VERTEX_COUNT, 47);
+
+        IVertex source = taxonomy.getVertexes().getById(123L);
+
+        double[]    similarities = new double[taxonomy.getVertexes().getCount()];
+
+        // We compare the similarities of every measure
+
+        for (ISimilarityMeasure measure: MeasureFixture.getMeasures(taxonomy))
+        {
+            measure.getSimilarityToAll(source, similarities);
+
+            for (int i = 0; i < similarities.length; i++)
+            {
+                assertEquals(measure.getMeasureType().toString(),
+                        measure.getSimilarity(source, taxonomy.getVertexes().getAt(i)),
+                        similarities[i], 0.0);
+            }
+        }
+    }
+
+    /**
+     * This function compares the similarity matrix of every measure
+     * with the pairwise similarity values.
+     * @param taxonomy Random taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    private static void checkSimilarityMatrix(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        IVertexList rows = MeasureFixture.getRandomVertexes(taxonomy, 7, 42);
+        IVertexList columns = MeasureFixture.getRandomVertexes(taxonomy, 9, 43);
+
+        double[]    similarities = new double[rows.getCount() * columns.getCount()];
+
+        // We compare the matrix of every measure with the pairwise values
+
+        for (ISimilarityMeasure measure: MeasureFixture.getMeasures(taxonomy))
+        {
+            measure.getSimilarityMatrix(rows, columns, similarities);
+
+            for (int i = 0; i < rows.getCount(); i++)
+            {
+                for (int j = 0; j < columns.getCount(); j++)
+                {
+                    assertEquals(measure.getMeasureType().toString(),
+                            measure.getSimilarity(rows.getAt(i), columns.getAt(j)),
+                            similarities[i * columns.getCount() + j], 0.0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.measures.*;
+import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the similarity values computed from the shared
+ * features of a synset pair are the values returned by the getSimilarity()
+ * function for both vertexes.
+ * @author Juan Lastra-Díaz
+ */
+
+public class SynsetPairFeaturesTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 500;
+
+    /**
+     * This function checks the measures on a mutable taxonomy
+     * and its frozen copy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testPairFeatures() throws Exception
+    {
+        ITaxonomy   taxonomy = MeasureFixture.createTaxonomy(VERTEX_COUNT, 61);
+
+        checkPairFeatures(taxonomy);
+        checkPairFeatures(TaxonomyFactory.createFrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function evaluates every measure on the shared features of
+     * several vertex pairs, and it compares the results with the values
+     * computed for each measure separately.
+     * @param taxonomy Random taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    private static void checkPairFeatures(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        IVertexList lefts = MeasureFixture.getRandomVertexes(taxonomy, 20, 62);
+        IVertexList rights = MeasureFixture.getRandomVertexes(taxonomy, 20, 63);
+
+        ISimilarityMeasure[]    measures = MeasureFixture.getMeasures(taxonomy);
+
+        // We compare the similarity values of every pair
+
+        for (int i = 0; i < lefts.getCount(); i++)
+        {
+            IVertex left = lefts.getAt(i);
+            IVertex right = rights.getAt(i);
+
+            ISynsetPairFeatures features = MeasureFactory.getSynsetPairFeatures(left, right);
+
+            for (ISimilarityMeasure measure: measures)
+            {
+                assertEquals(measure.getMeasureType().toString(),
+                        measure.getSimilarity(left, right),
+                        measure.getSimilarity(features), 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.measures.impl;
+
+// HESML references
+
+import hesml.measures.*;
+import hesml.taxonomy.*;
+import hesml.taxonomy.impl.TaxonomyFactory;
+
+// Java references
+
+import java.util.Arrays;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks the top-k most similar concepts retrieved by the
+ * pruned search of every measure against an exhaustive search.
+ * @author Juan Lastra-Díaz
+ */
+
+public class TopKSimilarTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 500;
+
+    /**
+     * Number of concepts to be retrieved
+     */
+
+    private static final int    K = 10;
+
+    /**
+     * This function checks the top-k concepts on a mutable taxonomy
+     * and its frozen copy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testTopKSimilar() throws Exception
+    {
+        ITaxonomy   taxonomy = MeasureFixture.createTaxonomy(VERTEX_COUNT, 51);
+
+        checkTopKSimilar(taxonomy);
+        checkTopKSimilar(TaxonomyFactory.createFrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function compares the top-k concepts retrieved by every measure
+     * for several query vertexes with an exhaustive search. The vertexes
+     * with the same similarity can be retrieved in any order, thus, the
+     * function compares the similarity values of the retrieved vertexes.
+     * @param taxonomy Random taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    private static void checkTopKSimilar(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        IVertexList queries = MeasureFixture.getRandomVertexes(taxonomy, 5, 52);
+
+        // We compare the top-k concepts of every measure
+
+        for (ISimilarityMeasure measure: MeasureFixture.getMeasures(taxonomy))
+        {
+            for (IVertex query: queries)
+            {
+                IVertex[]   topK = measure.getTopKSimilar(query, K);
+
+                assertEquals(measure.getMeasureType().toString(), K, topK.length);
+
+                // We compute the similarities of the remaining vertexes
+
+                double[]    expected = new double[taxonomy.getVertexes().getCount() - 1];
+
+                int count = 0;
+
+                for (IVertex vertex: taxonomy.getVertexes())
+                {
+                    if (vertex.getID() != query.getID())
+                    {
+                        expected[count++] = measure.getSimilarity(query, vertex);
+                    }
+                }
+
+                Arrays.sort(expected);
+
+                // We compare the similarity values in decreasing order
+
+                for (int i = 0; i < K; i++)
+                {
+                    assertNotEquals(query.getID(), topK[i].getID());
+
+                    assertEquals(measure.getMeasureType().toString(),
+                            expected[expected.length - 1 - i],
+                            measure.getSimilarity(query, topK[i]), 0.0);
+                }
+            }
+        }
+    }
+}
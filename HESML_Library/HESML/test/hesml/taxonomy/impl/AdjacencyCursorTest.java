@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the int cursors over the parents and children
+ * of the vertexes follow the vertex lists returned by the getParents()
+ * and getChildren() functions, including after a modification
+ * of the taxonomy.
+ * @author Juan Lastra-Díaz
+ */
+
+public class AdjacencyCursorTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 2000;
+
+    /**
+     * This function checks the cursors on a mutable taxonomy, on the
+     * same taxonomy once a vertex is inserted and a leaf is removed,
+     * and on a frozen copy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testCursors() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 81);
+
+        checkCursors(taxonomy);
+
+        // We modify the taxonomy
+
+        taxonomy.addVertex((long) VERTEX_COUNT, new Long[] {5L, 17L});
+        taxonomy.removeLeaf((long) VERTEX_COUNT - 1);
+
+        checkCursors(taxonomy);
+        checkCursors(TaxonomyFactory.createFrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function compares the cursors of every vertex with its
+     * parent and child lists.
+     * @param taxonomy Taxonomy to be checked
+     * @throws Exception Unexpected error
+     */
+
+    private static void checkCursors(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        IVertexList vertexes = taxonomy.getVertexes();
+
+        for (IVertex vertex: vertexes)
+        {
+            IVertexList parents = vertex.getParents();
+            IVertexList children = vertex.getChildren();
+
+            assertEquals(parents.getCount(), vertex.getParentsCount());
+            assertEquals(children.getCount(), vertex.getChildrenCount());
+
+            for (int i = 0; i < parents.getCount(); i++)
+            {
+                assertSame(parents.getAt(i), vertexes.getAt(vertex.getParentIndexAt(i)));
+            }
+
+            for (int i = 0; i < children.getCount(); i++)
+            {
+                assertSame(children.getAt(i), vertexes.getAt(vertex.getChildIndexAt(i)));
+            }
+        }
+    }
+}
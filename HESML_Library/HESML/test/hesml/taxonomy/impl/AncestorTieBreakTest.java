@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the LCS and MICA queries break the ties among
+ * the common ancestors with the same score by selecting the ancestor
+ * with the lowest vertex ID, whichever the path used to answer them.
+ * @author Juan Lastra-Díaz
+ */
+
+public class AncestorTieBreakTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 2000;
+
+    /**
+     * Number of random vertex pairs
+     */
+
+    private static final int    PAIR_COUNT = 400;
+
+    /**
+     * This function checks a diamond taxonomy whose parents are
+     * inserted in decreasing ID order.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testDiamond() throws Exception
+    {
+        ITaxonomy   taxonomy = TaxonomyFactory.createBlankTaxonomy(5);
+
+        taxonomy.addVertex(100L, new Long[0]);
+        taxonomy.addVertex(17L, new Long[] {100L});
+        taxonomy.addVertex(3L, new Long[] {100L});
+        taxonomy.addVertex(20L, new Long[] {17L, 3L});
+        taxonomy.addVertex(21L, new Long[] {17L, 3L});
+
+        IVertex left = taxonomy.getVertexes().getById(20L);
+        IVertex right = taxonomy.getVertexes().getById(21L);
+
+        IVertex[]   bestAncestors = new IVertex[3];
+
+        // We check the search without the ancestor index, and then
+        // the ancestor index and the frozen taxonomy
+
+        assertEquals(3L, taxonomy.getLCS(left, right, false).getID());
+        assertEquals(3, taxonomy.getCommonAncestors(left, right, bestAncestors));
+        assertEquals(3L, bestAncestors[1].getID());
+
+        taxonomy.computesCachedAttributes();
+
+        assertEquals(3L, taxonomy.getLCS(left, right, false).getID());
+        assertEquals(3L, taxonomy.getLCS(left, right, true).getID());
+        assertEquals(3, taxonomy.getCommonAncestors(left, right, bestAncestors));
+        assertEquals(3L, bestAncestors[2].getID());
+
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        assertEquals(3L, frozen.getLCS(frozen.getVertexes().getById(20L),
+                frozen.getVertexes().getById(21L), false).getID());
+    }
+
+    /**
+     * This function compares the LCS and MICA vertexes of random pairs,
+     * retrieved separately and by the single pass of the getCommonAncestors()
+     * function, with the ones selected by an exhaustive search.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testRandomPairs() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 71);
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 72);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 73);
+
+        int tieCount = 0;
+
+        // We compare the queries for every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            IVertex source = frozen.getVertexes().getById(sources[i].getID());
+            IVertex target = frozen.getVertexes().getById(targets[i].getID());
+
+            IVertex[]   bestAncestors = new IVertex[3];
+            IVertex[]   frozenAncestors = new IVertex[3];
+
+            int commonCount = taxonomy.getCommonAncestorCount(sources[i], targets[i]);
+
+            assertEquals(commonCount, taxonomy.getCommonAncestors(
+                    sources[i], targets[i], bestAncestors));
+            assertEquals(commonCount, frozen.getCommonAncestors(
+                    source, target, frozenAncestors));
+
+            for (int scoreType = 0; scoreType < 3; scoreType++)
+            {
+                long[]  expected = getBestCommonAncestor(sources[i], targets[i], scoreType);
+
+                IVertex best = (scoreType == 0) ? taxonomy.getMICA(sources[i], targets[i])
+                                : taxonomy.getLCS(sources[i], targets[i], scoreType == 2);
+
+                IVertex frozenBest = (scoreType == 0) ? frozen.getMICA(source, target)
+                                : frozen.getLCS(source, target, scoreType == 2);
+
+                assertEquals(expected[0], best.getID());
+                assertEquals(expected[0], frozenBest.getID());
+                assertEquals(expected[0], bestAncestors[scoreType].getID());
+                assertEquals(expected[0], frozenAncestors[scoreType].getID());
+
+                tieCount += (expected[1] > 1) ? 1 : 0;
+            }
+        }
+
+        // We check that the pairs include some ties
+
+        assertTrue(tieCount > 0);
+    }
+
+    /**
+     * This function searches the common ancestor with the highest score
+     * and the lowest ID by comparing the ancestor sets of both vertexes.
+     * @param left First vertex
+     * @param right Second vertex
+     * @param scoreType Score of the ancestors: 0 = IC value,
+     * 1 = minimum depth, 2 = maximum depth
+     * @return ID of the best common ancestor and number of common
+     * ancestors with the highest score
+     * @throws Exception Unexpected error
+     */
+
+    private static long[] getBestCommonAncestor(
+            IVertex left,
+            IVertex right,
+            int     scoreType) throws Exception
+    {
+        IVertexList rightAncestors = right.getAncestors(true);
+
+        long[]  best = {-1, 0};     // Returned value
+
+        double  maxScore = Double.NEGATIVE_INFINITY;
+
+        // We search the common ancestors with the highest score
+
+        for (IVertex ancestor: left.getAncestors(true))
+        {
+            if (!rightAncestors.containsId(ancestor.getID()))
+            {
+                continue;
+            }
+
+            double score = (scoreType == 0) ? ancestor.getICvalue()
+                            : (scoreType == 1) ? ancestor.getDepthMin()
+                            : ancestor.getDepthMax();
+
+            if ((best[0] < 0) || (score > maxScore))
+            {
+                maxScore = score;
+                best[0] = ancestor.getID();
+                best[1] = 1;
+            }
+            else if (score == maxScore)
+            {
+                best[0] = Math.min(best[0], ancestor.getID());
+                best[1]++;
+            }
+        }
+
+        // We return the result
+
+        return (best);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+// Java references
+
+import java.io.RandomAccessFile;
+
+// JUnit references
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the taxonomies saved into binary files
+ * are loaded back with the same topology and attributes.
+ * @author Juan Lastra-Díaz
+ */
+
+public class BinaryTaxonomyFileTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 2000;
+
+    /**
+     * Number of random vertex pairs
+     */
+
+    private static final int    PAIR_COUNT = 200;
+
+    /**
+     * Folder of the binary files, which is removed after every test
+     */
+
+    @Rule
+    public TemporaryFolder  m_Folder = new TemporaryFolder();
+
+    /**
+     * This function checks the round-trip of a taxonomy with
+     * its IC-based attributes.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(RandomTaxonomy.create(VERTEX_COUNT, 21));
+
+        String  strFilename = m_Folder.newFile().getPath();
+
+        // We save and load the taxonomy
+
+        TaxonomyFactory.saveBinaryTaxonomy(frozen, strFilename, true);
+
+        ITaxonomy   loaded = TaxonomyFactory.loadBinaryTaxonomy(strFilename);
+
+        // We compare both taxonomies
+
+        checkEqualTaxonomies(frozen, loaded);
+    }
+
+    /**
+     * This function checks the round-trip of a compact taxonomy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testCompactRoundTrip() throws Exception
+    {
+        ITaxonomy   compact = TaxonomyFactory.createCompactTaxonomy(RandomTaxonomy.create(VERTEX_COUNT, 22));
+
+        String  strFilename = m_Folder.newFile().getPath();
+
+        // We save and load the taxonomy
+
+        TaxonomyFactory.saveBinaryTaxonomy(compact, strFilename, true);
+
+        ITaxonomy   loaded = TaxonomyFactory.loadBinaryTaxonomy(strFilename);
+
+        // We compare both taxonomies
+
+        checkEqualTaxonomies(compact, loaded);
+    }
+
+    /**
+     * This function checks that a truncated file is rejected.
+     * @throws Exception Unexpected error
+     */
+
+    @Test(expected = Exception.class)
+    public void testTruncatedFile() throws Exception
+    {
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(RandomTaxonomy.create(100, 23));
+
+        String  strFilename = m_Folder.newFile().getPath();
+
+        // We save and truncate the file
+
+        TaxonomyFactory.saveBinaryTaxonomy(frozen, strFilename, true);
+
+        try (RandomAccessFile file = new RandomAccessFile(strFilename, "rw"))
+        {
+            file.setLength(file.length() / 2);
+        }
+
+        // We load the file
+
+        TaxonomyFactory.loadBinaryTaxonomy(strFilename);
+    }
+
+    /**
+     * This function checks that two taxonomies have the same vertexes,
+     * attributes and query results.
+     * @param expected Saved taxonomy
+     * @param loaded Loaded taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    private static void checkEqualTaxonomies(
+            ITaxonomy   expected,
+            ITaxonomy   loaded) throws Exception
+    {
+        assertEquals(expected.getVertexes().getCount(), loaded.getVertexes().getCount());
+        assertEquals(expected.getEdges().getCount(), loaded.getEdges().getCount());
+
+        // We compare the attributes of every vertex
+
+        for (IVertex vertex: expected.getVertexes())
+        {
+            IVertex loadedVertex = loaded.getVertexes().getById(vertex.getID());
+
+            assertEquals(vertex.getDepthMin(), loadedVertex.getDepthMin());
+            assertEquals(vertex.getDepthMax(), loadedVertex.getDepthMax());
+            assertEquals(vertex.getParentsCount(), loadedVertex.getParentsCount());
+            assertEquals(vertex.getChildrenCount(), loadedVertex.getChildrenCount());
+            assertEquals(vertex.getICvalue(), loadedVertex.getICvalue(), 0.0);
+            assertEquals(vertex.getProbability(), loadedVertex.getProbability(), 0.0);
+        }
+
+        // We compare the queries of random vertex pairs
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(expected, PAIR_COUNT, 24);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(expected, PAIR_COUNT, 25);
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            IVertex source = loaded.getVertexes().getById(sources[i].getID());
+            IVertex target = loaded.getVertexes().getById(targets[i].getID());
+
+            assertEquals(expected.getLCS(sources[i], targets[i], true).getID(),
+                    loaded.getLCS(source, target, true).getID());
+
+            assertEquals(sources[i].getShortestPathDistanceTo(targets[i], true),
+                    source.getShortestPathDistanceTo(target, true), 0.0);
+        }
+    }
+}
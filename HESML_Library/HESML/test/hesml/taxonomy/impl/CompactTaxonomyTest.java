@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.taxonomy.*;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that a compact taxonomy answers the same queries
+ * as the mutable taxonomy from which it is created, except for the
+ * IC-based attributes, which are rounded to single precision.
+ * @author Juan Lastra-Díaz
+ */
+
+public class CompactTaxonomyTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 3000;
+
+    /**
+     * Number of random vertex pairs
+     */
+
+    private static final int    PAIR_COUNT = 300;
+
+    /**
+     * This function checks the vertex lookup and the vertex attributes.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testVertexAttributes() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 11);
+        ITaxonomy   compact = TaxonomyFactory.createCompactTaxonomy(taxonomy);
+
+        assertEquals(VERTEX_COUNT, compact.getVertexes().getCount());
+
+        // We compare the attributes of every vertex
+
+        for (IVertex vertex: taxonomy.getVertexes())
+        {
+            IVertex compactVertex = compact.getVertexes().getById(vertex.getID());
+
+            assertEquals(vertex.getID(), compactVertex.getID());
+            assertEquals(vertex.getDepthMin(), compactVertex.getDepthMin());
+            assertEquals(vertex.getDepthMax(), compactVertex.getDepthMax());
+            assertEquals(vertex.getParentsCount(), compactVertex.getParentsCount());
+            assertEquals(vertex.getChildrenCount(), compactVertex.getChildrenCount());
+            assertEquals((float) vertex.getICvalue(), compactVertex.getICvalue(), 0.0);
+            assertEquals((float) vertex.getProbability(), compactVertex.getProbability(), 0.0);
+        }
+    }
+
+    /**
+     * This function checks the LCS, MICA and shortest path queries.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testPairQueries() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 12);
+        ITaxonomy   compact = TaxonomyFactory.createCompactTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 13);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 14);
+
+        // We compare the queries for every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            IVertex source = compact.getVertexes().getById(sources[i].getID());
+            IVertex target = compact.getVertexes().getById(targets[i].getID());
+
+            assertEquals(taxonomy.getLCS(sources[i], targets[i], false).getID(),
+                    compact.getLCS(source, target, false).getID());
+
+            assertEquals((float) taxonomy.getMICA(sources[i], targets[i]).getICvalue(),
+                    compact.getMICA(source, target).getICvalue(), 0.0);
+
+            assertEquals(sources[i].getShortestPathDistanceTo(targets[i], false),
+                    source.getShortestPathDistanceTo(target, false), 0.0);
+
+            double  distance = sources[i].getShortestPathDistanceTo(targets[i], true);
+
+            assertEquals(distance, source.getShortestPathDistanceTo(target, true), 1e-5 * distance);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.configurators.IntrinsicICModelType;
+import hesml.configurators.icmodels.ICModelsFactory;
+import hesml.taxonomy.*;
+
+// Java references
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * This class builds the random multiple-inheritance taxonomies used by
+ * the tests, and it implements a plain Dijkstra search which is used as
+ * reference for the shortest path engines of the taxonomies.
+ * @author Juan Lastra-Díaz
+ */
+
+class RandomTaxonomy
+{
+    /**
+     * This function creates a random taxonomy with a single root, whose
+     * vertex IDs are the integers in [0, vertexCount). One fifth of the
+     * vertexes have two parents, which are drawn among the 50 vertexes
+     * preceding them. The function computes the cached attributes and
+     * the HadjTaieb IC model, which sets the edge weights.
+     * @param vertexCount Number of vertexes
+     * @param seed Seed of the random generator
+     * @return A preprocessed taxonomy
+     * @throws Exception Unexpected error
+     */
+
+    static ITaxonomy create(
+            int     vertexCount,
+            long    seed) throws Exception
+    {
+        ITaxonomy   taxonomy = TaxonomyFactory.createBlankTaxonomy(vertexCount);
+
+        Random  random = new Random(seed);
+
+        // We insert the root and the remaining vertexes
+
+        taxonomy.addVertex(0L, new Long[0]);
+
+        for (long i = 1; i < vertexCount; i++)
+        {
+            int parentCount = Math.min((random.nextInt(5) == 0) ? 2 : 1, (int) i);
+
+            LinkedHashSet<Long> parents = new LinkedHashSet<>();
+
+            while (parents.size() < parentCount)
+            {
+                parents.add(i - 1 - random.nextInt((int) Math.min(i, 50)));
+            }
+
+            taxonomy.addVertex(i, parents.toArray(new Long[0]));
+        }
+
+        // We compute the cached attributes and the IC model
+
+        taxonomy.computesCachedAttributes();
+
+        ICModelsFactory.getIntrinsicICmodel(IntrinsicICModelType.HadjTaieb).setTaxonomyData(taxonomy);
+
+        // We return the result
+
+        return (taxonomy);
+    }
+
+    /**
+     * This function draws random vertexes from a taxonomy created
+     * by the create() function.
+     * @param taxonomy Random taxonomy
+     * @param count Number of vertexes
+     * @param seed Seed of the random generator
+     * @return Random vertexes
+     */
+
+    static IVertex[] getRandomVertexes(
+            ITaxonomy   taxonomy,
+            int         count,
+            long        seed)
+    {
+        IVertex[]   vertexes = new IVertex[count];
+
+        Random  random = new Random(seed);
+
+        // We draw the vertexes
+
+        for (int i = 0; i < count; i++)
+        {
+            vertexes[i] = taxonomy.getVertexes().getById((long) random.nextInt(taxonomy.getVertexes().getCount()));
+        }
+
+        // We return the result
+
+        return (vertexes);
+    }
+
+    /**
+     * This function computes the length of the shortest path between two
+     * vertexes by a plain Dijkstra search over the half-edge rings.
+     * @param taxonomy Random taxonomy
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param weighted Flag indicating if the edge weights will be used
+     * @return Length of the shortest path
+     */
+
+    static double getReferenceDistance(
+            ITaxonomy   taxonomy,
+            IVertex     source,
+            IVertex     target,
+            boolean     weighted)
+    {
+        double[]    distances = new double[taxonomy.getVertexes().getCount()];
+
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+
+        // We initialize the search
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        distances[(int) source.getID()] = 0.0;
+
+        queue.add(new double[] {0.0, source.getID()});
+
+        // We settle the vertexes in increasing order of distance
+
+        while (!queue.isEmpty())
+        {
+            double[]    seed = queue.poll();
+
+            IVertex vertex = taxonomy.getVertexes().getById((long) seed[1]);
+
+            if (seed[0] > distances[(int) vertex.getID()])
+            {
+                continue;
+            }
+            else if (vertex == target)
+            {
+                break;
+            }
+
+            // We relax the edges of the vertex
+
+            IHalfEdge   loop = vertex.getFirstOutcomingEdge();
+
+            do
+            {
+                int adjacent = (int) loop.getTarget().getID();
+
+                double  novelDistance = seed[0] + (weighted ? loop.getEdge().getWeight() : 1.0);
+
+                if (novelDistance < distances[adjacent])
+                {
+                    distances[adjacent] = novelDistance;
+                    queue.add(new double[] {novelDistance, adjacent});
+                }
+
+                loop = loop.getOpposite().getNext();
+
+            } while (loop != vertex.getFirstOutcomingEdge());
+        }
+
+        // We return the result
+
+        return (distances[(int) target.getID()]);
+    }
+}
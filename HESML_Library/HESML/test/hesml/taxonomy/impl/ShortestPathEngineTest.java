@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.configurators.IntrinsicICModelType;
+import hesml.configurators.icmodels.ICModelsFactory;
+import hesml.taxonomy.*;
+
+// Java references
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// JUnit references
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks the shortest path queries of the mutable and frozen
+ * taxonomies against a plain Dijkstra search, the asymmetric queries with
+ * negative weights, as well as the results of the queries evaluated
+ * concurrently.
+ * @author Juan Lastra-Díaz
+ */
+
+public class ShortestPathEngineTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 3000;
+
+    /**
+     * Number of random vertex pairs
+     */
+
+    private static final int    PAIR_COUNT = 300;
+
+    /**
+     * This function checks that the edge-counting distances match the
+     * reference search on the mutable and frozen taxonomies.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testUnweightedDistances() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 1);
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 2);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 3);
+
+        // We compare the distances of every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            double  expected = RandomTaxonomy.getReferenceDistance(taxonomy, sources[i], targets[i], false);
+
+            assertEquals(expected, sources[i].getShortestPathDistanceTo(targets[i], false), 0.0);
+            assertEquals(expected, getFrozenVertex(frozen, sources[i]).getShortestPathDistanceTo(
+                    getFrozenVertex(frozen, targets[i]), false), 0.0);
+        }
+    }
+
+    /**
+     * This function checks that the weighted distances match the reference
+     * search, and that the mutable and frozen taxonomies return exactly
+     * the same values. The number of queries exceeds the threshold used
+     * to build the landmark index of the mutable taxonomy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testWeightedDistances() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 4);
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 5);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 6);
+
+        // We compare the distances of every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            double  expected = RandomTaxonomy.getReferenceDistance(taxonomy, sources[i], targets[i], true);
+            double  distance = sources[i].getShortestPathDistanceTo(targets[i], true);
+
+            assertEquals(expected, distance, 1e-9 * expected);
+            assertEquals(distance, getFrozenVertex(frozen, sources[i]).getShortestPathDistanceTo(
+                    getFrozenVertex(frozen, targets[i]), true), 0.0);
+        }
+    }
+
+    /**
+     * This function checks that the asymmetric distances match a
+     * label-correcting search when the oriented weights are non-negative.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testOrientedDistances() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 21);
+
+        // We set random asymmetric weights on the oriented edges
+
+        Random  random = new Random(22);
+
+        for (IVertex vertex: taxonomy.getVertexes())
+        {
+            IHalfEdge   loop = vertex.getFirstOutcomingEdge();
+
+            do
+            {
+                loop.setWeight(random.nextDouble());
+                loop = loop.getOpposite().getNext();
+
+            } while (loop != vertex.getFirstOutcomingEdge());
+        }
+
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 23);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 24);
+
+        // We compare the distances of every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            double  expected = getLabelCorrectingDistance(taxonomy, sources[i], targets[i]);
+            double  distance = sources[i].getAsymmetricShortestPathDist(targets[i]);
+
+            assertEquals(expected, distance, 1e-9 * expected);
+            assertEquals(distance, getFrozenVertex(frozen, sources[i]).getAsymmetricShortestPathDist(
+                    getFrozenVertex(frozen, targets[i])), 0.0);
+        }
+    }
+
+    /**
+     * This function checks the distances with negative weights. The
+     * oriented weights of the conditional probability IC models form
+     * negative cycles, thus, a label-correcting search does not converge,
+     * whilst the Dijkstra search of both taxonomies settles every
+     * vertex once and returns the same finite values. The edge weights
+     * are also made negative in order to check the weighted queries
+     * once the landmark index cannot be built.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testNegativeWeights() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 25);
+
+        ICModelsFactory.getIntrinsicICmodel(IntrinsicICModelType.CondProbHyponyms).setTaxonomyData(taxonomy);
+
+        taxonomy.getEdges().iterator().next().setWeight(-0.5);
+
+        ITaxonomy   frozen = TaxonomyFactory.createFrozenTaxonomy(taxonomy);
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 26);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 27);
+
+        assertTrue(Double.isNaN(getLabelCorrectingDistance(taxonomy, sources[0], targets[0])));
+
+        // We compare the distances of every pair
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            IVertex source = getFrozenVertex(frozen, sources[i]);
+            IVertex target = getFrozenVertex(frozen, targets[i]);
+
+            double  distance = sources[i].getAsymmetricShortestPathDist(targets[i]);
+
+            assertTrue(Double.isFinite(distance));
+            assertEquals(distance, source.getAsymmetricShortestPathDist(target), 0.0);
+
+            distance = sources[i].getShortestPathDistanceTo(targets[i], true);
+
+            assertTrue(Double.isFinite(distance));
+            assertEquals(distance, source.getShortestPathDistanceTo(target, true), 0.0);
+        }
+    }
+
+    /**
+     * This function checks that the queries evaluated concurrently on
+     * the mutable and frozen taxonomies return the sequential results.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testConcurrentQueries() throws Exception
+    {
+        ITaxonomy   taxonomy = RandomTaxonomy.create(VERTEX_COUNT, 7);
+
+        checkConcurrentQueries(taxonomy);
+        checkConcurrentQueries(TaxonomyFactory.createFrozenTaxonomy(taxonomy));
+    }
+
+    /**
+     * This function evaluates the same queries from several threads
+     * and compares their results with the sequential ones.
+     * @param taxonomy Taxonomy to be queried
+     * @throws Exception Unexpected error
+     */
+
+    private void checkConcurrentQueries(
+            ITaxonomy   taxonomy) throws Exception
+    {
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 8);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(taxonomy, PAIR_COUNT, 9);
+
+        double[]    expected = getDistances(sources, targets);
+
+        // We evaluate the queries concurrently
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try
+        {
+            ArrayList<Future<double[]>> results = new ArrayList<>();
+
+            for (int i = 0; i < 16; i++)
+            {
+                results.add(executor.submit(() -> getDistances(sources, targets)));
+            }
+
+            for (Future<double[]> result: results)
+            {
+                assertArrayEquals(expected, result.get(), 0.0);
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * This function computes the weighted and unweighted distances
+     * of the vertex pairs.
+     * @param sources Source vertexes
+     * @param targets Target vertexes
+     * @return Weighted distances followed by the unweighted ones
+     */
+
+    private static double[] getDistances(
+            IVertex[]   sources,
+            IVertex[]   targets)
+    {
+        double[]    distances = new double[2 * sources.length];
+
+        // We compute the distances
+
+        for (int i = 0; i < sources.length; i++)
+        {
+            distances[i] = sources[i].getShortestPathDistanceTo(targets[i], true);
+            distances[sources.length + i] = sources[i].getShortestPathDistanceTo(targets[i], false);
+        }
+
+        // We return the result
+
+        return (distances);
+    }
+
+    /**
+     * This function computes the asymmetric distance between two vertexes
+     * by a label-correcting search, which re-opens any vertex whose
+     * distance is improved. The search is stopped once the number of
+     * passes over the vertexes reaches the number of vertexes, which
+     * only happens when the weights form a negative cycle.
+     * @param taxonomy Random taxonomy
+     * @param source Source vertex
+     * @param target Target vertex
+     * @return Length of the shortest path, or NaN if the search
+     * does not converge
+     */
+
+    private static double getLabelCorrectingDistance(
+            ITaxonomy   taxonomy,
+            IVertex     source,
+            IVertex     target)
+    {
+        int vertexCount = taxonomy.getVertexes().getCount();
+
+        double[]    distances = new double[vertexCount];
+        boolean[]   queued = new boolean[vertexCount];
+
+        ArrayDeque<IVertex> pending = new ArrayDeque<>();
+
+        // We initialize the search
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        distances[(int) source.getID()] = 0.0;
+        queued[(int) source.getID()] = true;
+        pending.add(source);
+
+        long    maxExpansions = (long) vertexCount * vertexCount;
+
+        // We expand the vertexes until no distance is improved
+
+        for (long expansions = 0; !pending.isEmpty(); expansions++)
+        {
+            if (expansions == maxExpansions)
+            {
+                return (Double.NaN);
+            }
+
+            IVertex vertex = pending.remove();
+
+            queued[(int) vertex.getID()] = false;
+
+            IHalfEdge   loop = vertex.getFirstOutcomingEdge();
+
+            do
+            {
+                int adjacent = (int) loop.getTarget().getID();
+
+                double  novelDistance = distances[(int) vertex.getID()] + loop.getWeight();
+
+                if (novelDistance < distances[adjacent])
+                {
+                    distances[adjacent] = novelDistance;
+
+                    if (!queued[adjacent])
+                    {
+                        queued[adjacent] = true;
+                        pending.add(loop.getTarget());
+                    }
+                }
+
+                loop = loop.getOpposite().getNext();
+
+            } while (loop != vertex.getFirstOutcomingEdge());
+        }
+
+        // We return the result
+
+        return (distances[(int) target.getID()]);
+    }
+
+    /**
+     * This function returns the vertex of a frozen copy with the same ID.
+     * @param frozen Frozen taxonomy
+     * @param vertex Vertex of the source taxonomy
+     * @return Vertex of the frozen copy
+     */
+
+    private static IVertex getFrozenVertex(
+            ITaxonomy   frozen,
+            IVertex     vertex)
+    {
+        return (frozen.getVertexes().getById(vertex.getID()));
+    }
+}
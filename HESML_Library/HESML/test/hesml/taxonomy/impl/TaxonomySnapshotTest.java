@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2016-2018 Universidad Nacional de Educación a Distancia (UNED)
+ *
+ * This program is free software for non-commercial use:
+ * you can redistribute it and/or modify it under the terms of the
+ * Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International
+ * (CC BY-NC-SA 4.0) as published by the Creative Commons Corporation,
+ * either version 4 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * section 5 of the CC BY-NC-SA 4.0 License for more details.
+ *
+ * You should have received a copy of the Creative Commons
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ * license along with this program. If not,
+ * see <http://creativecommons.org/licenses/by-nc-sa/4.0/>.
+ *
+ */
+
+package hesml.taxonomy.impl;
+
+// HESML references
+
+import hesml.configurators.CorpusBasedICModelType;
+import hesml.configurators.ITaxonomyInfoConfigurator;
+import hesml.configurators.IntrinsicICModelType;
+import hesml.configurators.icmodels.ICModelsFactory;
+import hesml.taxonomy.*;
+
+// Java references
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.HashSet;
+
+// JUnit references
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * This class checks that the IC models stored in a taxonomy snapshot
+ * are restored with the same values obtained by computing them again.
+ * @author Juan Lastra-Díaz
+ */
+
+public class TaxonomySnapshotTest
+{
+    /**
+     * Number of vertexes of the random taxonomy
+     */
+
+    private static final int    VERTEX_COUNT = 2000;
+
+    /**
+     * Number of random vertex pairs
+     */
+
+    private static final int    PAIR_COUNT = 200;
+
+    /**
+     * Folder of the snapshot files, which is removed after every test
+     */
+
+    @Rule
+    public TemporaryFolder  m_Folder = new TemporaryFolder();
+
+    /**
+     * This function checks that a snapshot is only loaded with the
+     * fingerprint of the source data used to create it.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testFingerprint() throws Exception
+    {
+        String  strFilename = m_Folder.newFile().getPath();
+
+        // We save the snapshot
+
+        TaxonomyFactory.saveTaxonomySnapshot(RandomTaxonomy.create(100, 31),
+                strFilename, "source-1", new ITaxonomyInfoConfigurator[0]);
+
+        // We load the snapshot
+
+        assertNull(TaxonomyFactory.loadTaxonomySnapshot(strFilename, "source-2"));
+        assertNotNull(TaxonomyFactory.loadTaxonomySnapshot(strFilename, "source-1"));
+    }
+
+    /**
+     * This function checks that the stored IC models are restored with
+     * the values computed by the IC models on the loaded taxonomy.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testStoredICmodels() throws Exception
+    {
+        IntrinsicICModelType[]  icModelTypes = {IntrinsicICModelType.Seco,
+                                                IntrinsicICModelType.Zhou};
+
+        ITaxonomyInfoConfigurator[] icModels = new ITaxonomyInfoConfigurator[icModelTypes.length];
+
+        for (int i = 0; i < icModels.length; i++)
+        {
+            icModels[i] = ICModelsFactory.getIntrinsicICmodel(icModelTypes[i]);
+        }
+
+        // We save the snapshot and we load it twice
+
+        String  strFilename = m_Folder.newFile().getPath();
+
+        TaxonomyFactory.saveTaxonomySnapshot(RandomTaxonomy.create(VERTEX_COUNT, 32),
+                strFilename, "source", icModels);
+
+        ITaxonomy   restored = TaxonomyFactory.loadTaxonomySnapshot(strFilename, "source");
+        ITaxonomy   computed = TaxonomyFactory.loadTaxonomySnapshot(strFilename, "source");
+
+        assertEquals(icModels.length, TaxonomyFactory.getStoredICmodels(restored).length);
+
+        // We compare the restored and the computed IC models
+
+        for (ITaxonomyInfoConfigurator icModel: icModels)
+        {
+            assertNotNull(TaxonomyFactory.getStoredICmodel(
+                    restored, icModel.getICmodelKey()));
+
+            TaxonomyFactory.setICmodelData(restored, icModel);
+            icModel.setTaxonomyData(computed);
+
+            checkEqualICmodels(computed, restored);
+        }
+    }
+
+    /**
+     * This function checks that the identifiers of the intrinsic IC models
+     * are stable and different, and that the identifier of a corpus-based
+     * IC model changes with the content of its data file.
+     * @throws Exception Unexpected error
+     */
+
+    @Test
+    public void testICmodelKeys() throws Exception
+    {
+        HashSet<String> keys = new HashSet<>();
+
+        for (IntrinsicICModelType icModelType: IntrinsicICModelType.values())
+        {
+            // We skip the IC model which is not usable
+
+            if (icModelType == IntrinsicICModelType.AICAouichaTaiebHamadu2016)
+            {
+                continue;
+            }
+
+            String  strKey = ICModelsFactory.getIntrinsicICmodel(icModelType).getICmodelKey();
+
+            assertEquals(strKey, ICModelsFactory.getIntrinsicICmodel(icModelType).getICmodelKey());
+            assertTrue(strKey, keys.add(strKey));
+        }
+
+        // We change the content of a corpus file
+
+        File    corpusFile = m_Folder.newFile("ic-corpus.dat");
+
+        ITaxonomyInfoConfigurator   icModel = ICModelsFactory.getCorpusICmodel(
+                                        CorpusBasedICModelType.Resnik,
+                                        corpusFile.getPath());
+
+        writeFile(corpusFile, "wnver::eOS9lXC6GvMWznF1wkZofDdtbBU\n1n 100\n");
+
+        String  strKey = icModel.getICmodelKey();
+
+        assertTrue(strKey.contains(corpusFile.getName()));
+        assertEquals(strKey, icModel.getICmodelKey());
+
+        writeFile(corpusFile, "wnver::eOS9lXC6GvMWznF1wkZofDdtbBU\n1n 200\n");
+
+        assertNotEquals(strKey, icModel.getICmodelKey());
+    }
+
+    /**
+     * This function writes a text file.
+     * @param file Output file
+     * @param strText Content of the file
+     * @throws Exception Unexpected error
+     */
+
+    private static void writeFile(
+            File    file,
+            String  strText) throws Exception
+    {
+        try (FileWriter writer = new FileWriter(file))
+        {
+            writer.write(strText);
+        }
+    }
+
+    /**
+     * This function checks that two taxonomies have the same IC values
+     * and weighted distances.
+     * @param expected Taxonomy with the computed IC model
+     * @param restored Taxonomy with the restored IC model
+     */
+
+    private static void checkEqualICmodels(
+            ITaxonomy   expected,
+            ITaxonomy   restored)
+    {
+        for (IVertex vertex: expected.getVertexes())
+        {
+            assertEquals(vertex.getICvalue(), restored.getVertexes().getById(vertex.getID()).getICvalue(), 0.0);
+        }
+
+        IVertex[]   sources = RandomTaxonomy.getRandomVertexes(expected, PAIR_COUNT, 33);
+        IVertex[]   targets = RandomTaxonomy.getRandomVertexes(expected, PAIR_COUNT, 34);
+
+        for (int i = 0; i < PAIR_COUNT; i++)
+        {
+            IVertex source = restored.getVertexes().getById(sources[i].getID());
+            IVertex target = restored.getVertexes().getById(targets[i].getID());
+
+            assertEquals(sources[i].getShortestPathDistanceTo(targets[i], true),
+                    source.getShortestPathDistanceTo(target, true), 0.0);
+        }
+    }
+}
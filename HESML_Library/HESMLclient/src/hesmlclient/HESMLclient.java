@@ -146,6 +146,14 @@ public class HESMLclient
     
     private static final String m_SchemaFilename = "WordNetBasedExperiments.xsd";
     
+    /**
+     * Directory of the snapshot files of the pre-processed WordNet
+     * taxonomies, which can be set by the 'hesml.snapshotdir' property.
+     */
+    
+    private static final String m_strSnapshotDir = System.getProperty("hesml.snapshotdir",
+                                    System.getProperty("user.home") + "/.hesml/snapshots");
+    
     /**
      * This is the main function where we show different use examples
      * of HESML. The function processes an input XML file defining a
@@ -201,7 +209,8 @@ public class HESMLclient
                     // experiments definition.
 
                     ReproducibleExperimentsInfo reproInfo = new ReproducibleExperimentsInfo(
-                                                                inputFile, m_SchemaFilename);
+                                                                inputFile, m_SchemaFilename,
+                                                                m_strSnapshotDir);
 
                     // We execute all the experiments defined in the input file
 
@@ -236,6 +245,8 @@ public class HESMLclient
             System.err.println("you should call it using any of the two methods shown below:\n");
             System.err.println("(1) C:> java -jar dist\\HESMLclient.jar <reproexperiment.exp>");
             System.err.println("(2) C:> java -jar dist\\HESMLclient.jar -WNSimRepV1 <outputdir>");
+            System.err.println("\nThe snapshots of the WordNet taxonomies are saved into the");
+            System.err.println("directory defined by the -Dhesml.snapshotdir=<dir> JVM option.");
         }
         
         // Finally, we show below the SampleExperiments() function which contains
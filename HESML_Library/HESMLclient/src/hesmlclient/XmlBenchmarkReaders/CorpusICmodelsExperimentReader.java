@@ -24,6 +24,8 @@ package hesmlclient.XmlBenchmarkReaders;
 import hesml.benchmarks.ISimilarityBenchmark;
 import hesml.benchmarks.impl.BenchmarkFactory;
 import hesml.configurators.CorpusBasedICModelType;
+import hesml.configurators.ITaxonomyInfoConfigurator;
+import hesml.configurators.icmodels.ICModelsFactory;
 import hesml.measures.SimilarityMeasureType;
 import hesml.taxonomy.ITaxonomy;
 import hesml.taxonomyreaders.wordnet.IWordNetDB;
@@ -45,13 +47,15 @@ class CorpusICmodelsExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     CorpusICmodelsExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
     
     /**
@@ -94,7 +98,9 @@ class CorpusICmodelsExperimentReader extends XmlBenchmarkReader
         
         // We load the WN database and its taxonomy from the cache
         
-        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot);
+        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot,
+                                getCorpusICmodels(corpusICmodels,
+                                strFrequencyFilesDir, strICPedersenModels));
         ITaxonomy   taxonomy = getExpWordNetTaxonomy(experimentRoot);
         
         // We get a novel test
@@ -109,4 +115,35 @@ class CorpusICmodelsExperimentReader extends XmlBenchmarkReader
         
         return (experiment);
     }
+    
+    /**
+     * This function creates the corpus-based IC models of the experiment,
+     * which are defined by their types and frequency files.
+     * @param corpusICmodels Types of the corpus-based IC models
+     * @param strFrequencyFilesDir Directory of the frequency files
+     * @param strICPedersenModels Frequency file of each IC model
+     * @return IC models
+     * @throws Exception Unexpected error
+     */
+    
+    private ITaxonomyInfoConfigurator[] getCorpusICmodels(
+            CorpusBasedICModelType[]    corpusICmodels,
+            String                      strFrequencyFilesDir,
+            String[]                    strICPedersenModels) throws Exception
+    {
+        ITaxonomyInfoConfigurator[] icModels = new ITaxonomyInfoConfigurator[
+                                        Math.min(corpusICmodels.length, strICPedersenModels.length)];
+        
+        // We create the IC models
+        
+        for (int i = 0; i < icModels.length; i++)
+        {
+            icModels[i] = ICModelsFactory.getCorpusICmodel(corpusICmodels[i],
+                            strFrequencyFilesDir + "/" + strICPedersenModels[i]);
+        }
+        
+        // We return the result
+        
+        return (icModels);
+    }
 }
@@ -45,13 +45,15 @@ class MixedICmodelsExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     MixedICmodelsExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
     
     /**
@@ -93,7 +95,7 @@ class MixedICmodelsExperimentReader extends XmlBenchmarkReader
         
         // We load the WN database and its taxonomy from the cache
         
-        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot);
+        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot, icModels);
         ITaxonomy   taxonomy = getExpWordNetTaxonomy(experimentRoot);
         
         // We get a novel test
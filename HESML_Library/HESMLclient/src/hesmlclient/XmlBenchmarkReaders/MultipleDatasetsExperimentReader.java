@@ -47,13 +47,15 @@ class MultipleDatasetsExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     MultipleDatasetsExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
     
     /**
@@ -134,7 +136,7 @@ class MultipleDatasetsExperimentReader extends XmlBenchmarkReader
             String  strWNfullname = strWordNetDirectories[iWordNet] + "/"
                                     + strWNdbFilename;
             
-            wordnetVersions[iWordNet] = getExpWordNetDB(strWNfullname);
+            wordnetVersions[iWordNet] = getExpWordNetDB(strWNfullname, icModels);
             wordnetVersions[iWordNet].setVersion(
                     recoverWordNetVersion(strWordNetDirectories[iWordNet]));
 
@@ -23,6 +23,7 @@ package hesmlclient.XmlBenchmarkReaders;
 
 import hesml.benchmarks.ISimilarityBenchmark;
 import hesml.benchmarks.impl.BenchmarkFactory;
+import hesml.configurators.ITaxonomyInfoConfigurator;
 import hesml.measures.SimilarityMeasureType;
 import hesml.taxonomy.ITaxonomy;
 import hesml.taxonomyreaders.wordnet.IWordNetDB;
@@ -44,13 +45,15 @@ class NonICbasedSimMeasuresExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     NonICbasedSimMeasuresExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
     
     /**
@@ -84,7 +87,8 @@ class NonICbasedSimMeasuresExperimentReader extends XmlBenchmarkReader
         
         // We load the WN database and its taxonomy from the cache
         
-        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot);
+        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot,
+                                new ITaxonomyInfoConfigurator[0]);
         ITaxonomy   taxonomy = getExpWordNetTaxonomy(experimentRoot);
         
         // We get a novel test
@@ -82,11 +82,19 @@ public class ReproducibleExperimentsInfo
      */    
     
     private String    m_strWordNetDBfilename;
+    
+    /**
+     * Directory of the snapshot files of the pre-processed taxonomies
+     */
+    
+    private final String    m_strSnapshotDir;
         
     /**
      * Constructor from an input XML file
      * @param inputXmlExpFile
      * @param strSchemaFilename
+     * @param strSnapshotDir Directory of the snapshot files of the
+     * pre-processed WordNet taxonomies
      * @throws java.io.IOException
      * @throws org.xml.sax.SAXException
      * @throws javax.xml.parsers.ParserConfigurationException
@@ -94,7 +102,8 @@ public class ReproducibleExperimentsInfo
     
     public ReproducibleExperimentsInfo(
         File    inputXmlExpFile,
-        String  strSchemaFilename) throws IOException, SAXException, ParserConfigurationException, Exception
+        String  strSchemaFilename,
+        String  strSnapshotDir) throws IOException, SAXException, ParserConfigurationException, Exception
     {
         DocumentBuilder         docBuilder;
         DocumentBuilderFactory  builderFactory;
@@ -107,6 +116,7 @@ public class ReproducibleExperimentsInfo
         // We define the output directory as the directory of the input file
         
         m_strOutputDir = inputXmlExpFile.getCanonicalFile().getParent();
+        m_strSnapshotDir = strSnapshotDir;
         m_Experiments = new ArrayList<>();
         
         // We define the collection of WordNet and taxonomy versions
@@ -187,7 +197,8 @@ public class ReproducibleExperimentsInfo
                         
                         reader = new MixedICmodelsExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
                         
                         break;
                         
@@ -195,7 +206,8 @@ public class ReproducibleExperimentsInfo
 
                         reader = new SingleICmodelExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
 
                         break;
 
@@ -203,7 +215,8 @@ public class ReproducibleExperimentsInfo
 
                         reader = new MultipleICmodelsExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
 
                         break;
 
@@ -211,7 +224,8 @@ public class ReproducibleExperimentsInfo
 
                         reader = new NonICbasedSimMeasuresExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
 
                         break;
 
@@ -219,7 +233,8 @@ public class ReproducibleExperimentsInfo
 
                         reader = new CorpusICmodelsExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
 
                         break;
                         
@@ -227,7 +242,8 @@ public class ReproducibleExperimentsInfo
                         
                         reader = new MultipleDatasetsExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
                         
                         break;
                         
@@ -235,7 +251,8 @@ public class ReproducibleExperimentsInfo
                         
                         reader = new SingleDatasetSimilarityValuesExperimentReader(
                                         m_WordNetDbVersions,
-                                        m_WordNetDbTaxonomies);
+                                        m_WordNetDbTaxonomies,
+                                        m_strSnapshotDir);
                         
                         break;
                 }
@@ -54,13 +54,15 @@ class SingleDatasetSimilarityValuesExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     SingleDatasetSimilarityValuesExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
     
     /**
@@ -139,7 +141,7 @@ class SingleDatasetSimilarityValuesExperimentReader extends XmlBenchmarkReader
 
             String  strWNfullpath = strWordNetDirectory + "/" + strWNdbFilename;
             
-            wordnet = getExpWordNetDB(strWNfullpath);
+            wordnet = getExpWordNetDB(strWNfullpath, icModels);
             taxonomy = getExpWordNetTaxonomy(strWNfullpath);
         }
 
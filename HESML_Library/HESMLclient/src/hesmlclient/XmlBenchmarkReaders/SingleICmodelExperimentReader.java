@@ -45,13 +45,15 @@ class SingleICmodelExperimentReader extends XmlBenchmarkReader
      * Constructor.
      * @param wordnetDbVersions Databases in different WordNet versions
      * @param wordnetDbTaxonomies Taxonomies of different WordNet version
+     * @param strSnapshotDir Directory of the taxonomy snapshot files
      */
 
     SingleICmodelExperimentReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy> wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy> wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
-        super(wordnetDbVersions, wordnetDbTaxonomies);
+        super(wordnetDbVersions, wordnetDbTaxonomies, strSnapshotDir);
     }
 
     /**
@@ -92,7 +94,9 @@ class SingleICmodelExperimentReader extends XmlBenchmarkReader
         
         // We load the WN database and its taxonomy from the cache
         
-        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot);
+        IWordNetDB  wordnet = getExperimentWordNetDB(experimentRoot,
+                                getIntrinsicICmodels(icModels));
+        
         ITaxonomy   taxonomy = getExpWordNetTaxonomy(experimentRoot);
         
         // We get a novel test
@@ -33,8 +33,10 @@ import hesml.taxonomyreaders.wordnet.IWordNetDB;
 import hesml.taxonomyreaders.wordnet.impl.WordNetFactory;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -54,16 +56,24 @@ abstract class XmlBenchmarkReader
     protected final HashMap<String, IWordNetDB>   m_WordNetDbVersions;
     protected final HashMap<String, ITaxonomy>    m_WordNetDbTaxonomies;
     
+    /**
+     * Directory of the snapshot files of the pre-processed taxonomies
+     */
+    
+    protected final String  m_strSnapshotDir;
+    
     /**
      * Constructor from an input XML file
      */
     
     XmlBenchmarkReader(
             HashMap<String, IWordNetDB> wordnetDbVersions,
-            HashMap<String, ITaxonomy>  wordnetDbTaxonomies)
+            HashMap<String, ITaxonomy>  wordnetDbTaxonomies,
+            String                      strSnapshotDir)
     {
         m_WordNetDbTaxonomies = wordnetDbTaxonomies;
         m_WordNetDbVersions = wordnetDbVersions;
+        m_strSnapshotDir = strSnapshotDir;
     }
     
     /**
@@ -172,11 +182,14 @@ abstract class XmlBenchmarkReader
      * This function reads the WordNet reference from the XML node of the
      * experiment and gets the WordNet DB from the cache.
      * @param experimentRootNode
+     * @param icModels IC models of the experiment, which are stored
+     * into a novel snapshot of the taxonomy
      * @return 
      */
     
     protected IWordNetDB getExperimentWordNetDB(
-            Element experimentRootNode) throws FileNotFoundException, Exception
+            Element                     experimentRootNode,
+            ITaxonomyInfoConfigurator[] icModels) throws FileNotFoundException, Exception
     {
         IWordNetDB  wordnet;    // Returned value
         
@@ -212,18 +225,17 @@ abstract class XmlBenchmarkReader
             
             m_WordNetDbVersions.put(strWNfullpath, wordnet);
             
-            // We build the taxonomy
-
-            System.out.println("Building the WordNet taxonomy ...");
-
-            ITaxonomy   taxonomy = WordNetFactory.buildTaxonomy(wordnet);
+            // We load the pre-processed taxonomy from its snapshot file,
+            // otherwise we build and pre-process the taxonomy to compute
+            // all the parameters used by the intrinsic IC-computation methods
+            // and we save the snapshot with the IC models of the experiment
 
-            // We pre-process the taxonomy to compute all the parameters
-            // used by the intrinsic IC-computation methods
+            System.out.println("Loading the pre-processed WordNet taxonomy ...");
 
-            System.out.println("Pre-processing the WordNet taxonomy");
-
-            taxonomy.computesCachedAttributes();
+            ITaxonomy   taxonomy = WordNetFactory.loadPreprocessedTaxonomy(
+                                    wordnet, strWNfullpath,
+                                    getSnapshotFilename(strWNfullpath),
+                                    getSnapshotICmodels(icModels));
             
             // We store the taxonomy
             
@@ -239,11 +251,14 @@ abstract class XmlBenchmarkReader
      * This function reads the WordNet reference from the XML node of the
      * experiment and gets the WordNet DB from the cache.
      * @param strWNfullpath
+     * @param icModels IC models of the experiment, which are stored
+     * into a novel snapshot of the taxonomy
      * @return 
      */
     
     protected IWordNetDB getExpWordNetDB(
-            String  strWNfullpath) throws FileNotFoundException, Exception
+            String                      strWNfullpath,
+            ITaxonomyInfoConfigurator[] icModels) throws FileNotFoundException, Exception
     {
         IWordNetDB  wordnet;    // Returned value
         
@@ -272,18 +287,17 @@ abstract class XmlBenchmarkReader
             
             m_WordNetDbVersions.put(strWNfullpath, wordnet);
             
-            // We build the taxonomy
-
-            System.out.println("Building the WordNet taxonomy ...");
-
-            ITaxonomy   taxonomy = WordNetFactory.buildTaxonomy(wordnet);
+            // We load the pre-processed taxonomy from its snapshot file,
+            // otherwise we build and pre-process the taxonomy to compute
+            // all the parameters used by the intrinsic IC-computation methods
+            // and we save the snapshot with the IC models of the experiment
 
-            // We pre-process the taxonomy to compute all the parameters
-            // used by the intrinsic IC-computation methods
+            System.out.println("Loading the pre-processed WordNet taxonomy ...");
 
-            System.out.println("Pre-processing the WordNet taxonomy");
-
-            taxonomy.computesCachedAttributes();
+            ITaxonomy   taxonomy = WordNetFactory.loadPreprocessedTaxonomy(
+                                    wordnet, strWNfullpath,
+                                    getSnapshotFilename(strWNfullpath),
+                                    getSnapshotICmodels(icModels));
             
             // We store the taxonomy
             
@@ -326,7 +340,8 @@ abstract class XmlBenchmarkReader
             // is because of the WN DB has not been loaded. Thus, we force
             // here the loading of the WN DB.
             
-            getExperimentWordNetDB(experimentRootNode);
+            getExperimentWordNetDB(experimentRootNode,
+                    new ITaxonomyInfoConfigurator[0]);
             
             // We get the taxonomy associated to the WN database
             
@@ -362,7 +377,7 @@ abstract class XmlBenchmarkReader
             // is because of the WN DB has not been loaded. Thus, we force
             // here the loading of the WN DB.
             
-            getExpWordNetDB(strWNfullpath);
+            getExpWordNetDB(strWNfullpath, new ITaxonomyInfoConfigurator[0]);
             
             // We get the taxonomy associated to the WN database
             
@@ -374,6 +389,94 @@ abstract class XmlBenchmarkReader
         return (taxonomy);
     }
     
+    /**
+     * This function returns the name of the snapshot file of the
+     * pre-processed taxonomy of a WordNet database, which is placed
+     * into the snapshot directory. The snapshot directory is created
+     * when it does not exist.
+     * @param strWNfullpath WordNet database file
+     * @return Snapshot filename
+     * @throws Exception The snapshot directory cannot be created
+     */
+    
+    private String getSnapshotFilename(
+            String  strWNfullpath) throws Exception
+    {
+        File    wordNetFile = new File(strWNfullpath).getCanonicalFile();
+        File    snapshotDir = new File(m_strSnapshotDir);
+        
+        // We create the snapshot directory
+        
+        if (!snapshotDir.exists() && !snapshotDir.mkdirs())
+        {
+            throw (new IOException("The snapshot directory "
+                    + snapshotDir.getCanonicalPath() + " cannot be created"));
+        }
+        
+        // We name the snapshot by the WordNet database file and a hash
+        // of its full path in order to distinguish the WordNet versions
+        
+        String  strSnapshotFilename = String.format("%s_%08x.snapshot",
+                                        wordNetFile.getName(),
+                                        wordNetFile.getPath().hashCode());
+        
+        // We return the result
+        
+        return (new File(snapshotDir, strSnapshotFilename).getPath());
+    }
+    
+    /**
+     * This function returns the IC models to be stored into the snapshot
+     * of a taxonomy, removing the null values and the repeated IC models.
+     * @param icModels IC models of the experiment
+     * @return IC models to be stored
+     */
+    
+    private ITaxonomyInfoConfigurator[] getSnapshotICmodels(
+            ITaxonomyInfoConfigurator[] icModels)
+    {
+        HashMap<String, ITaxonomyInfoConfigurator>  uniqueICmodels = new LinkedHashMap<>();
+        
+        // We index the IC models by their names
+        
+        for (ITaxonomyInfoConfigurator icModel: icModels)
+        {
+            if (icModel != null)
+            {
+                uniqueICmodels.putIfAbsent(icModel.toString(), icModel);
+            }
+        }
+        
+        // We return the result
+        
+        return (uniqueICmodels.values().toArray(new ITaxonomyInfoConfigurator[0]));
+    }
+    
+    /**
+     * This function converts a collection of intrinsic IC model types
+     * into IC model instances.
+     * @param icModelTypes Intrinsic IC model types
+     * @return IC models
+     * @throws Exception Unexpected error
+     */
+    
+    protected ITaxonomyInfoConfigurator[] getIntrinsicICmodels(
+            IntrinsicICModelType[]  icModelTypes) throws Exception
+    {
+        ITaxonomyInfoConfigurator[] icModels = new ITaxonomyInfoConfigurator[icModelTypes.length];
+        
+        // We create the IC models
+        
+        for (int i = 0; i < icModelTypes.length; i++)
+        {
+            icModels[i] = ICModelsFactory.getIntrinsicICmodel(icModelTypes[i]);
+        }
+        
+        // We return the result
+        
+        return (icModels);
+    }
+    
     /**
      * This function returns the correlation metric programmed as output
      * of the experiment.